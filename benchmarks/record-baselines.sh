@@ -0,0 +1,87 @@
+#!/usr/bin/env bash
+#
+# Records the JMH baselines of a change: the selected benchmarks are run on the tree before the
+# change and on the tree after it, and the results are written to
+# benchmarks/baselines/<name>-before.json and <name>-after.json.
+#
+# The "before" tree is either a git ref, or the "after" tree with a range of commits reverted, for
+# changes the benchmarks were added after.
+#
+# Both sides run the benchmark sources of the "after" tree when they compile against the "before"
+# tree, so both runs measure the same harness. Otherwise the "before" tree runs its own sources, and
+# benchmarks it does not have are skipped.
+#
+# Usage: benchmarks/record-baselines.sh <name> <benchmarks> <before> <after>
+#        benchmarks/record-baselines.sh --revert <range> <name> <benchmarks> <after>
+#   <benchmarks> is a JMH regexp, e.g.
+#   benchmarks/record-baselines.sh single-pass-wrap WrapBenchmark abc1234^ abc1234
+#   benchmarks/record-baselines.sh --revert abc1234^..abc1234 render-buffers 'FormatBenchmark|ExceptionBenchmark' def5678
+# JMH options can be passed in JMH_OPTS, e.g. JMH_OPTS="-f 1 -wi 3 -i 5" for a quick run.
+
+set -euo pipefail
+
+usage() {
+    echo "Usage: $0 <name> <benchmarks> <before> <after>" >&2
+    echo "       $0 --revert <range> <name> <benchmarks> <after>" >&2
+    exit 2
+}
+
+revert=""
+if [ "${1:-}" = "--revert" ]; then
+    [ $# -eq 5 ] || usage
+    revert=$2
+    name=$3 benchmarks=$4 after=$5 before=$5
+else
+    [ $# -eq 4 ] || usage
+    name=$1 benchmarks=$2 before=$3 after=$4
+fi
+
+ROOT=$(git rev-parse --show-toplevel)
+OUT="$ROOT/benchmarks/baselines"
+WORK=$(mktemp -d)
+JMH_OPTS=${JMH_OPTS:-}
+
+cleanup() {
+    for tree in "$WORK"/*; do
+        [ -d "$tree" ] && git -C "$ROOT" worktree remove --force "$tree" > /dev/null 2>&1 || true
+    done
+    rm -rf "$WORK"
+}
+trap cleanup EXIT
+
+build() {
+    (cd "$1" && mvn -B -q package -pl benchmarks -am -DskipTests)
+}
+
+# tree, result file
+run() {
+    # shellcheck disable=SC2086
+    if java -jar "$1/benchmarks/target/benchmarks.jar" "$benchmarks" -rf json -rff "$2" $JMH_OPTS; then
+        echo "Recorded $2"
+    else
+        echo "No result for $2: none of $benchmarks ran on this tree" >&2
+        rm -f "$2"
+    fi
+}
+
+after=$(git -C "$ROOT" rev-parse --verify "$after^{commit}")
+before=$(git -C "$ROOT" rev-parse --verify "$before^{commit}")
+
+after_tree="$WORK/after" before_tree="$WORK/before"
+git -C "$ROOT" worktree add --detach "$after_tree" "$after" > /dev/null
+build "$after_tree"
+run "$after_tree" "$OUT/$name-after.json"
+
+git -C "$ROOT" worktree add --detach "$before_tree" "$before" > /dev/null
+if [ -n "$revert" ] && ! git -C "$before_tree" revert --no-commit "$revert"; then
+    echo "Could not revert $revert on $after, no before baseline" >&2
+    exit 1
+fi
+git -C "$before_tree" checkout "$after" -- benchmarks/src
+if ! build "$before_tree"; then
+    echo "Benchmarks of $after do not compile before the change, running the older benchmarks" >&2
+    rm -rf "$before_tree/benchmarks/src"
+    git -C "$before_tree" checkout HEAD -- benchmarks/src
+    build "$before_tree"
+fi
+run "$before_tree" "$OUT/$name-before.json"
@@ -0,0 +1,94 @@
+package io.quarkiverse.logging.dev.benchmarks;
+
+import static io.quarkiverse.logging.dev.benchmarks.Records.record;
+import static org.jboss.logmanager.ExtLogRecord.FormatStyle.PRINTF;
+import static org.jboss.logmanager.Level.ERROR;
+import static org.jboss.logmanager.Level.INFO;
+
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import org.jboss.logmanager.ExtFormatter;
+import org.jboss.logmanager.ExtLogRecord;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import io.quarkiverse.logging.dev.runtime.AsyncConfig.Overflow;
+import io.quarkiverse.logging.dev.runtime.AsyncDevFormatter;
+
+/**
+ * Time spent in the logging thread per log call, with the synchronous formatter and with the
+ * asynchronous formatter blocking or discarding when its queue is full. Four threads log
+ * concurrently, like event loops sharing the console.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(4)
+public class AsyncFormatBenchmark {
+
+    @Param({ "sync", "block", "discard" })
+    String mode;
+
+    ExtFormatter formatter;
+    ExtLogRecord printf;
+    ExtLogRecord exception;
+
+    @Setup
+    public void setup() {
+        var devFormatter = Records.formatter();
+        switch (mode) {
+            case "block":
+                formatter = new AsyncDevFormatter(devFormatter, 512, Overflow.BLOCK, nullOutput());
+                break;
+            case "discard":
+                formatter = new AsyncDevFormatter(devFormatter, 512, Overflow.DISCARD, nullOutput());
+                break;
+            default:
+                formatter = devFormatter;
+                break;
+        }
+        printf = record(INFO, "Loaded %s entities of type %s for tenant %s", PRINTF,
+                new Object[] { 42, AsyncFormatBenchmark.class, UUID.randomUUID() }, "io.quarkiverse.logging.dev.benchmarks");
+        exception = record(ERROR, "Request processing failed", "io.quarkus.vertx.http.runtime.QuarkusErrorHandler");
+        exception.setThrown(Records.causeChain(5));
+    }
+
+    @TearDown
+    public void tearDown() {
+        if (formatter instanceof AsyncDevFormatter) {
+            ((AsyncDevFormatter) formatter).close();
+        }
+    }
+
+    @Benchmark
+    public String printf() {
+        return formatter.format(printf);
+    }
+
+    @Benchmark
+    public String exception() {
+        return formatter.format(exception);
+    }
+
+    private static PrintStream nullOutput() {
+        return new PrintStream(OutputStream.nullOutputStream());
+    }
+
+}
@@ -0,0 +1,144 @@
+package io.quarkiverse.logging.dev.benchmarks;
+
+import static io.quarkiverse.logging.dev.benchmarks.Records.record;
+import static org.jboss.logmanager.ExtLogRecord.FormatStyle.PRINTF;
+import static org.jboss.logmanager.Level.INFO;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.PrintStream;
+import java.io.Writer;
+import java.nio.ByteBuffer;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import org.jboss.logmanager.ExtLogRecord;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import io.quarkiverse.logging.dev.runtime.DevFormatter;
+import io.quarkiverse.logging.dev.runtime.DirectConsoleHandler;
+
+/**
+ * Records written to the console through the console handler's path, a {@code String} encoded by a
+ * {@code Writer} into {@code System.out} and flushed per record, and through {@link DirectConsoleHandler}.
+ * Four threads log concurrently, like event loops sharing the console.
+ * <p>
+ * The output is discarded; the {@code bytes} and {@code writes} counters are the bytes and write calls that
+ * reached the output, so {@code writes / score * 1000} is the number of syscalls per 1000 records.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(4)
+public class ConsoleOutputBenchmark {
+
+    private static final ThreadLocal<Counters> COUNTERS = new ThreadLocal<>();
+
+    @Param({ "writer", "direct" })
+    String path;
+
+    DevFormatter formatter;
+    Writer writer;
+    DirectConsoleHandler handler;
+    ExtLogRecord printf;
+
+    @Setup
+    public void setup() {
+        formatter = Records.formatter();
+        if (path.equals("direct")) {
+            handler = new DirectConsoleHandler(formatter, new CountingChannel(), 64 * 1024);
+        } else {
+            // As the console handler wraps System.out
+            var out = new PrintStream(new BufferedOutputStream(new CountingOutputStream(), 8192));
+            writer = new OutputStreamWriter(out, StandardCharsets.UTF_8);
+        }
+        printf = record(INFO, "Loaded %s entities of type %s for tenant %s", PRINTF,
+                new Object[] { 42, ConsoleOutputBenchmark.class, UUID.randomUUID() },
+                "io.quarkiverse.logging.dev.benchmarks");
+    }
+
+    @Benchmark
+    public void printf(Counters counters) throws IOException {
+        if (handler != null) {
+            handler.publish(printf);
+            return;
+        }
+        var formatted = formatter.format(printf);
+        synchronized (writer) {
+            writer.write(formatted);
+            writer.flush();
+        }
+    }
+
+    @AuxCounters(AuxCounters.Type.OPERATIONS)
+    @State(Scope.Thread)
+    public static class Counters {
+
+        public long bytes;
+        public long writes;
+
+        @Setup
+        public void setup() {
+            COUNTERS.set(this);
+        }
+    }
+
+    private static void count(int bytes) {
+        var counters = COUNTERS.get();
+        counters.bytes += bytes;
+        counters.writes++;
+    }
+
+    private static final class CountingChannel implements WritableByteChannel {
+
+        @Override
+        public int write(ByteBuffer src) {
+            var bytes = src.remaining();
+            src.position(src.limit());
+            count(bytes);
+            return bytes;
+        }
+
+        @Override
+        public boolean isOpen() {
+            return true;
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+
+    private static final class CountingOutputStream extends OutputStream {
+
+        @Override
+        public void write(int b) {
+            count(1);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            count(len);
+        }
+    }
+
+}
@@ -0,0 +1,52 @@
+package io.quarkiverse.logging.dev.benchmarks;
+
+import static io.quarkiverse.logging.dev.benchmarks.Records.record;
+import static org.jboss.logmanager.Level.ERROR;
+
+import java.util.concurrent.TimeUnit;
+
+import org.jboss.logmanager.ExtLogRecord;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import io.quarkiverse.logging.dev.runtime.DevFormatter;
+import io.quarkiverse.logging.dev.runtime.ExceptionCollector;
+import io.quarkiverse.logging.dev.runtime.ExceptionsConfig.Storage;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class DeepExceptionBenchmark {
+
+    @Param({ "0", "10" })
+    int repeatThreshold;
+
+    DevFormatter formatter;
+    ExtLogRecord record;
+
+    @Setup
+    public void setup() {
+        ExceptionCollector.configure(Storage.SNAPSHOT, 1000, 32 * 1024 * 1024, repeatThreshold);
+        formatter = Records.formatter();
+        record = record(ERROR, "Request processing failed", "io.quarkus.vertx.http.runtime.QuarkusErrorHandler");
+        record.setThrown(Records.deepCauseChain(10, 200));
+    }
+
+    @Benchmark
+    public String deepTraces() {
+        return formatter.format(record);
+    }
+
+}
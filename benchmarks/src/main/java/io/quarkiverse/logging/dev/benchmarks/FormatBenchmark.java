@@ -0,0 +1,93 @@
+package io.quarkiverse.logging.dev.benchmarks;
+
+import static io.quarkiverse.logging.dev.benchmarks.Records.HTTP_ACCESS_LOGGER_NAME;
+import static io.quarkiverse.logging.dev.benchmarks.Records.record;
+import static org.jboss.logmanager.ExtLogRecord.FormatStyle.MESSAGE_FORMAT;
+import static org.jboss.logmanager.ExtLogRecord.FormatStyle.PRINTF;
+import static org.jboss.logmanager.Level.INFO;
+
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import org.jboss.logmanager.ExtLogRecord;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import io.quarkiverse.logging.dev.runtime.AccessLogEntry;
+import io.quarkiverse.logging.dev.runtime.ColorMode;
+import io.quarkiverse.logging.dev.runtime.DevFormatter;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class FormatBenchmark {
+
+    /**
+     * {@code NONE} is the plain text output, e.g. to a file with {@code quarkus.log.dev.colors=none}.
+     */
+    @Param({ "ANSI_256", "NONE" })
+    ColorMode colors;
+
+    DevFormatter formatter;
+    ExtLogRecord plainInfo;
+    ExtLogRecord printf;
+    ExtLogRecord messageFormat;
+    ExtLogRecord http;
+    ExtLogRecord httpEntry;
+
+    @Setup
+    public void setup() {
+        formatter = Records.formatter(colors);
+        plainInfo = record(INFO, "Profile dev activated. Live Coding activated.", "io.quarkus");
+        printf = record(INFO, "Loaded %s entities of type %s for tenant %s", PRINTF,
+                new Object[] { 42, FormatBenchmark.class, UUID.randomUUID() }, "io.quarkiverse.logging.dev.benchmarks");
+        messageFormat = record(INFO, "Loaded {0} entities of type {1} for tenant {2}", MESSAGE_FORMAT,
+                new Object[] { 42, FormatBenchmark.class, UUID.randomUUID() }, "io.quarkiverse.logging.dev.benchmarks");
+        http = record(INFO,
+                "127.0.0.1 - auth0|5cec35fb94f02a0e160b5fad 08/Sep/2022:21:25:23 -0700 " +
+                        "\"GET /api/v1/user/teams/3UZATo6sz3juEcN9pE3LX0 HTTP/1.1\" 200 1817",
+                HTTP_ACCESS_LOGGER_NAME);
+        httpEntry = record(INFO, "{0}", MESSAGE_FORMAT,
+                new Object[] { new AccessLogEntry("GET", "/api/v1/user/teams/3UZATo6sz3juEcN9pE3LX0", "HTTP/1.1", 200,
+                        "auth0|5cec35fb94f02a0e160b5fad", 1817, 12_345_678) },
+                HTTP_ACCESS_LOGGER_NAME);
+    }
+
+    @Benchmark
+    public String plainInfo() {
+        return formatter.format(plainInfo);
+    }
+
+    @Benchmark
+    public String printf() {
+        return formatter.format(printf);
+    }
+
+    @Benchmark
+    public String messageFormat() {
+        return formatter.format(messageFormat);
+    }
+
+    @Benchmark
+    public String http() {
+        return formatter.formatHttp(http);
+    }
+
+    @Benchmark
+    public String httpEntry() {
+        return formatter.formatHttp(httpEntry);
+    }
+
+}
@@ -0,0 +1,98 @@
+package io.quarkiverse.logging.dev.benchmarks;
+
+import static org.jboss.logmanager.ExtLogRecord.FormatStyle.NO_FORMAT;
+
+import java.time.Instant;
+import java.util.Map;
+import java.util.logging.Level;
+
+import org.jboss.logmanager.ExtLogRecord;
+
+import io.quarkiverse.logging.dev.runtime.ColorMode;
+import io.quarkiverse.logging.dev.runtime.DevFormatter;
+
+class Records {
+
+    static final String HTTP_ACCESS_LOGGER_NAME = "io.quarkus.http.access-log";
+
+    static DevFormatter formatter() {
+        return new DevFormatter("localhost", 8080, true);
+    }
+
+    static DevFormatter formatter(ColorMode colors) {
+        return new DevFormatter("localhost", 8080, true, colors);
+    }
+
+    static ExtLogRecord record(Level level, String message, String loggerName) {
+        return record(level, message, NO_FORMAT, null, loggerName);
+    }
+
+    static ExtLogRecord record(Level level, String message, ExtLogRecord.FormatStyle formatStyle, Object[] parameters,
+            String loggerName) {
+        var record = new ExtLogRecord(level, message, formatStyle, Records.class.getName());
+        record.setParameters(parameters);
+        record.setLoggerName(loggerName);
+        record.setThreadName("executor-thread-1");
+        record.setMdc(Map.of("traceId", "51793732132590713", "spanId", "1497135987135289"));
+        record.setInstant(Instant.now());
+        return record;
+    }
+
+    static Throwable causeChain(int depth) {
+        Throwable cause = null;
+        for (int level = depth; level > 0; --level) {
+            cause = new IllegalStateException("Failure at level " + level + " while processing the request", cause);
+        }
+        return cause;
+    }
+
+    /**
+     * Builds a cause chain whose exceptions each have a stack trace of {@code frames} frames, sharing their bottom
+     * frames like the exceptions of a reactive pipeline.
+     */
+    static Throwable deepCauseChain(int depth, int frames) {
+        var shared = new StackTraceElement[frames];
+        for (int frame = 0; frame < frames; ++frame) {
+            shared[frame] = new StackTraceElement("io.smallrye.mutiny.operators.uni.UniOperator" + frame % 20,
+                    "subscribe", "UniOperator" + frame % 20 + ".java", 40 + frame);
+        }
+        Throwable cause = null;
+        for (int level = depth; level > 0; --level) {
+            cause = new IllegalStateException("Failure at level " + level + " while processing the request", cause);
+            var trace = shared.clone();
+            trace[0] = new StackTraceElement("org.acme.Service" + level, "process", "Service" + level + ".java", level);
+            cause.setStackTrace(trace);
+        }
+        return cause;
+    }
+
+    /**
+     * Builds a message of {@code length} visible characters where every word is individually colorized.
+     */
+    static String coloredMessage(int length) {
+        return coloredMessage(length,
+                new String[] { "lorem", "ipsum", "dolor", "sit", "amet,", "consectetur", "adipiscing", "elit." });
+    }
+
+    /**
+     * Builds a message of about {@code length} characters of wide (two column) CJK words, every word individually
+     * colorized.
+     */
+    static String coloredWideMessage(int length) {
+        return coloredMessage(length, new String[] { "日本語", "漢字", "中文文本", "한국어", "東京", "処理中", "要求", "完了。" });
+    }
+
+    private static String coloredMessage(int length, String[] words) {
+        var message = new StringBuilder();
+        int visible = 0;
+        for (int word = 0; visible < length; ++word) {
+            var text = words[word % words.length];
+            message.append("\u001b[38;5;").append(16 + word % 216).append('m')
+                    .append(text)
+                    .append("\u001b[39m ");
+            visible += text.length() + 1;
+        }
+        return message.toString();
+    }
+
+}
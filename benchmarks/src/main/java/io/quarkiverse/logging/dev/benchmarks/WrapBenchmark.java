@@ -0,0 +1,57 @@
+package io.quarkiverse.logging.dev.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import io.quarkiverse.logging.dev.runtime.DevFormatter;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class WrapBenchmark {
+
+    private static final int WRAP_LENGTH = 160;
+    private static final String INDENT = "                 ";
+
+    @Param({ "80", "160", "2000" })
+    int length;
+
+    @Param({ "ascii", "wide" })
+    String script;
+
+    String message;
+    StringBuilder target;
+
+    @Setup
+    public void setup() {
+        message = "wide".equals(script) ? Records.coloredWideMessage(length) : Records.coloredMessage(length);
+        target = new StringBuilder(message.length() * 2);
+    }
+
+    @Benchmark
+    public String wrap() {
+        return DevFormatter.wrap(message, WRAP_LENGTH, INDENT);
+    }
+
+    @Benchmark
+    public StringBuilder wrapInto() {
+        target.setLength(0);
+        DevFormatter.wrap(message, WRAP_LENGTH, INDENT, target);
+        return target;
+    }
+
+}
@@ -0,0 +1,19 @@
+package io.quarkiverse.logging.dev.deployment;
+
+import io.quarkus.runtime.annotations.ConfigGroup;
+import io.quarkus.runtime.annotations.ConfigItem;
+
+@ConfigGroup
+public class AccessLogConfig {
+
+    /**
+     * Whether HTTP requests are logged by the extension, with their fields captured from the request
+     * rather than parsed from the access log line, and with their duration.
+     * <p>
+     * Use instead of `quarkus.http.access-log.enabled`; with both enabled, requests are logged twice.
+     * Fixed at build time, so that no filter is installed when disabled.
+     */
+    @ConfigItem(defaultValue = "false")
+    public boolean enabled;
+
+}
@@ -0,0 +1,16 @@
+package io.quarkiverse.logging.dev.deployment;
+
+import io.quarkus.runtime.annotations.ConfigItem;
+import io.quarkus.runtime.annotations.ConfigPhase;
+import io.quarkus.runtime.annotations.ConfigRoot;
+
+@ConfigRoot(name = "log.dev", phase = ConfigPhase.BUILD_TIME)
+public class DevLoggingBuildTimeConfig {
+
+    /**
+     * HTTP access log
+     */
+    @ConfigItem
+    public AccessLogConfig accessLog;
+
+}
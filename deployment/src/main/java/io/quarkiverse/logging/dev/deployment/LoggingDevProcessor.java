@@ -4,14 +4,28 @@ import static io.quarkiverse.logging.dev.runtime.ExceptionsRouteHandler.ID_PARAM
 import static io.quarkiverse.logging.dev.runtime.ExceptionsRouteHandler.ROUTE_PATH;
 import static io.quarkus.deployment.annotations.ExecutionTime.RUNTIME_INIT;
 
+import java.util.HashMap;
+import java.util.List;
+import java.util.Optional;
+
+import io.quarkiverse.logging.dev.runtime.DevLoggingConfig;
+import io.quarkiverse.logging.dev.runtime.DevLoggingMeterBinder;
 import io.quarkiverse.logging.dev.runtime.DevLoggingRecorder;
+import io.quarkiverse.logging.dev.runtime.ExceptionsIndexRouteHandler;
 import io.quarkiverse.logging.dev.runtime.ExceptionsRouteHandler;
+import io.quarkiverse.logging.dev.runtime.LogSearchRouteHandler;
+import io.quarkiverse.logging.dev.runtime.LogStreamRouteHandler;
+import io.quarkus.arc.deployment.AdditionalBeanBuildItem;
 import io.quarkus.deployment.Capabilities;
 import io.quarkus.deployment.Capability;
+import io.quarkus.deployment.annotations.BuildProducer;
 import io.quarkus.deployment.annotations.BuildStep;
 import io.quarkus.deployment.annotations.Record;
 import io.quarkus.deployment.builditem.FeatureBuildItem;
 import io.quarkus.deployment.builditem.LogConsoleFormatBuildItem;
+import io.quarkus.deployment.builditem.ShutdownContextBuildItem;
+import io.quarkus.deployment.console.ConsoleInstalledBuildItem;
+import io.quarkus.vertx.http.deployment.FilterBuildItem;
 import io.quarkus.vertx.http.deployment.NonApplicationRootPathBuildItem;
 import io.quarkus.vertx.http.deployment.RouteBuildItem;
 import io.quarkus.vertx.http.runtime.HttpConfiguration;
@@ -19,6 +33,8 @@ import io.quarkus.vertx.http.runtime.HttpConfiguration;
 class LoggingDevProcessor {
 
     private static final String FEATURE = "logging-dev";
+    // Before any filter that may end the response, so every request is timed and logged
+    private static final int ACCESS_LOG_PRIORITY = Integer.MAX_VALUE;
 
     @BuildStep
     FeatureBuildItem feature() {
@@ -29,12 +45,40 @@ class LoggingDevProcessor {
     @Record(RUNTIME_INIT)
     LogConsoleFormatBuildItem setUpFormatter(
             HttpConfiguration httpConfig,
+            DevLoggingConfig devConfig,
             Capabilities capabilities,
+            List<TypeColorBuildItem> typeColorItems,
+            Optional<ConsoleInstalledBuildItem> consoleInstalled,
+            ShutdownContextBuildItem shutdownContext,
             DevLoggingRecorder recorder) {
 
         var showTraceContext = capabilities.isPresent(Capability.OPENTELEMETRY_TRACER);
 
-        return new LogConsoleFormatBuildItem(recorder.createFormatter(httpConfig, showTraceContext));
+        var typeColors = new HashMap<String, String>();
+        for (var typeColor : typeColorItems) {
+            typeColors.put(typeColor.getTypeName(), typeColor.getColor());
+        }
+
+        return new LogConsoleFormatBuildItem(recorder.createFormatter(httpConfig, devConfig, showTraceContext,
+                typeColors, consoleInstalled.isPresent(), shutdownContext));
+    }
+
+    @BuildStep
+    void setUpMetrics(Capabilities capabilities, BuildProducer<AdditionalBeanBuildItem> additionalBeans) {
+
+        if (capabilities.isPresent(Capability.MICROMETER)) {
+            additionalBeans.produce(AdditionalBeanBuildItem.unremovableOf(DevLoggingMeterBinder.class));
+        }
+    }
+
+    @BuildStep
+    @Record(RUNTIME_INIT)
+    void setUpAccessLog(DevLoggingBuildTimeConfig buildTimeConfig, DevLoggingRecorder recorder,
+            BuildProducer<FilterBuildItem> filters) {
+
+        if (buildTimeConfig.accessLog.enabled) {
+            filters.produce(new FilterBuildItem(recorder.createAccessLogHandler(), ACCESS_LOG_PRIORITY));
+        }
     }
 
     @BuildStep
@@ -46,4 +90,34 @@ class LoggingDevProcessor {
                 .handler(new ExceptionsRouteHandler())
                 .build();
     }
+
+    @BuildStep
+    RouteBuildItem setUpIndexRoute(NonApplicationRootPathBuildItem nonApplicationRootPath) {
+
+        return nonApplicationRootPath.routeBuilder()
+                .route(ROUTE_PATH)
+                .displayOnNotFoundPage()
+                .handler(new ExceptionsIndexRouteHandler())
+                .build();
+    }
+
+    @BuildStep
+    RouteBuildItem setUpLogStreamRoute(NonApplicationRootPathBuildItem nonApplicationRootPath) {
+
+        return nonApplicationRootPath.routeBuilder()
+                .route(LogStreamRouteHandler.ROUTE_PATH)
+                .displayOnNotFoundPage()
+                .handler(new LogStreamRouteHandler())
+                .build();
+    }
+
+    @BuildStep
+    RouteBuildItem setUpLogSearchRoute(NonApplicationRootPathBuildItem nonApplicationRootPath) {
+
+        return nonApplicationRootPath.routeBuilder()
+                .route(LogSearchRouteHandler.ROUTE_PATH)
+                .displayOnNotFoundPage()
+                .handler(new LogSearchRouteHandler())
+                .build();
+    }
 }
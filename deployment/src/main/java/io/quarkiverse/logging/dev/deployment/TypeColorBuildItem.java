@@ -0,0 +1,32 @@
+package io.quarkiverse.logging.dev.deployment;
+
+import io.quarkus.builder.item.MultiBuildItem;
+
+/**
+ * Color of printf arguments of a type, and of its subtypes, in the development log.
+ * <p>
+ * Colors configured with {@code quarkus.log.dev.type-colors} take precedence.
+ */
+public final class TypeColorBuildItem extends MultiBuildItem {
+
+    private final String typeName;
+    private final String color;
+
+    /**
+     * @param typeName Name of a class or interface.
+     * @param color Color as {@code #rrggbb}.
+     */
+    public TypeColorBuildItem(String typeName, String color) {
+        this.typeName = typeName;
+        this.color = color;
+    }
+
+    public String getTypeName() {
+        return typeName;
+    }
+
+    public String getColor() {
+        return color;
+    }
+
+}
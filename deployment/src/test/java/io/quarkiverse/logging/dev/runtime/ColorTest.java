@@ -0,0 +1,102 @@
+package io.quarkiverse.logging.dev.runtime;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import org.jboss.logmanager.Level;
+import org.junit.jupiter.api.Test;
+
+public class ColorTest {
+
+    @Test
+    public void testSequences() {
+        var color = Color.of(0x00, 0xaa, 0xff);
+        assertThat(new String(color.fgTrueColor), equalTo("\u001b[38;2;0;170;255m"));
+        assertThat(new String(color.bgTrueColor), equalTo("\u001b[48;2;0;170;255m"));
+        assertThat(new String(color.fg256Color), equalTo("\u001b[38;5;39m"));
+        assertThat(new String(color.bg256Color), equalTo("\u001b[48;5;39m"));
+    }
+
+    @Test
+    public void testSequencesClipChannels() {
+        var color = Color.of(300, -5, 128);
+        assertThat(new String(color.fgTrueColor), equalTo("\u001b[38;2;255;0;128m"));
+        assertThat(new String(color.fg256Color), equalTo("\u001b[38;5;198m"));
+    }
+
+    @Test
+    public void testParse() {
+        var color = Color.parse("#00aaff");
+        assertThat(color.r, equalTo(0x00));
+        assertThat(color.g, equalTo(0xaa));
+        assertThat(color.b, equalTo(0xff));
+        assertThat(new String(Color.parse("00aaff").fgTrueColor), equalTo(new String(color.fgTrueColor)));
+
+        assertThrows(IllegalArgumentException.class, () -> Color.parse("#0af"));
+        assertThrows(IllegalArgumentException.class, () -> Color.parse("#00aafg"));
+    }
+
+    @Test
+    public void testDarken() {
+        var color = Color.of(0x00, 0xaa, 0xff);
+        var darkened = color.darken(0.15f);
+        assertThat(darkened.r, equalTo(0));
+        assertThat(darkened.g, equalTo(144));
+        assertThat(darkened.b, equalTo(216));
+        assertThat(color.darken(0.15f), sameInstance(darkened));
+
+        var darker = color.darken(0.5f);
+        assertThat(darker.g, equalTo(85));
+        assertThat(darker.b, equalTo(127));
+    }
+
+    @Test
+    public void testMultiplyClamps() {
+        var color = Color.of(0x80, 0xaa, 0xff).multiply(1.5f);
+        assertThat(color.r, equalTo(192));
+        assertThat(color.g, equalTo(255));
+        assertThat(color.b, equalTo(255));
+    }
+
+    @Test
+    public void testLevelColors() {
+        var info = Colors.levelColor(Level.INFO);
+        assertThat(info.r, equalTo(129));
+        assertThat(info.g, equalTo(192));
+        assertThat(info.b, equalTo(66));
+
+        var trace = Colors.levelColor(Level.TRACE);
+        assertThat(trace.r, equalTo(66));
+        assertThat(trace.g, equalTo(66));
+        assertThat(trace.b, equalTo(66));
+
+        var error = Colors.levelColor(Level.ERROR);
+        assertThat(error.r, equalTo(255));
+        assertThat(error.g, equalTo(66));
+        assertThat(error.b, equalTo(66));
+
+        // Levels outside TRACE..ERROR take the closest color
+        assertThat(Colors.levelColor(Level.FATAL), sameInstance(error));
+        assertThat(Colors.levelColor(java.util.logging.Level.ALL), sameInstance(trace));
+        assertThat(Colors.levelColor(Level.INFO), sameInstance(info));
+    }
+
+    @Test
+    public void testColorize() {
+        var fg = Color.of(0x00, 0xaa, 0xff);
+        var bg = Color.of(0xff, 0x42, 0x42);
+        assertThat(ColorUtil.colorize("x", fg, false), equalTo("\u001b[38;5;39mx\u001b[39m"));
+        assertThat(ColorUtil.colorize("x", fg, true), equalTo("\u001b[38;2;0;170;255mx\u001b[39m"));
+        assertThat(ColorUtil.colorize("x", fg, bg, true),
+                equalTo("\u001b[38;2;0;170;255m\u001b[48;2;255;66;66mx\u001b[49m\u001b[39m"));
+        assertThat(ColorUtil.colorize("x", null, bg, false), equalTo("\u001b[48;5;203mx\u001b[49m"));
+
+        var target = new StringBuilder("> ");
+        ColorUtil.colorize(target, "abcdef", 2, 4, fg, false);
+        assertThat(target.toString(), equalTo("> \u001b[38;5;39mcd\u001b[39m"));
+
+        assertThat(ColorUtil.bold("x"), equalTo("\u001b[1mx\u001b[0m"));
+    }
+}
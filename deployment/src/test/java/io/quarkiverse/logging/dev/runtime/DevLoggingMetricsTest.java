@@ -0,0 +1,157 @@
+package io.quarkiverse.logging.dev.runtime;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.Matchers.greaterThanOrEqualTo;
+
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import org.jboss.logmanager.ExtLogRecord;
+import org.jboss.logmanager.Level;
+import org.junit.jupiter.api.Test;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.quarkiverse.logging.dev.runtime.ExceptionsConfig.Storage;
+
+public class DevLoggingMetricsTest {
+
+    private static final String[] COUNTERS = {
+            "log.dev.format.output",
+            "log.dev.wrap",
+            "log.dev.logger-names.hits",
+            "log.dev.logger-names.misses",
+            "log.dev.logger-names.evictions",
+            "log.dev.throttle.suppressed",
+            "log.dev.exceptions.collected",
+            "log.dev.exceptions.repeated",
+            "log.dev.exceptions.evicted",
+    };
+
+    @Test
+    public void testMetersAreRegistered() {
+        var registry = bind();
+        assertThat(DevLoggingMetrics.isEnabled(), equalTo(true));
+
+        for (var kind : new String[] { "general", "http", "exception" }) {
+            assertThat(registry.get("log.dev.format").tag("kind", kind).functionTimer().count(),
+                    greaterThanOrEqualTo(0.0));
+        }
+        for (var route : new String[] { "exception", "exceptions", "log-search" }) {
+            assertThat(registry.get("log.dev.route").tag("route", route).functionTimer().count(),
+                    greaterThanOrEqualTo(0.0));
+        }
+        for (var counter : COUNTERS) {
+            assertThat(registry.get(counter).functionCounter().count(), greaterThanOrEqualTo(0.0));
+        }
+        assertThat(registry.get("log.dev.exceptions.stored").gauge().value(), greaterThanOrEqualTo(0.0));
+        assertThat(registry.get("log.dev.exceptions.memory").gauge().value(), greaterThanOrEqualTo(0.0));
+        assertThat(registry.get("log.dev.logger-names.cached").gauge().value(), greaterThanOrEqualTo(0.0));
+    }
+
+    @Test
+    public void testFormattingIsCounted() {
+        var registry = bind();
+        var general = registry.get("log.dev.format").tag("kind", "general").functionTimer();
+        var generalCount = general.count();
+        var generalTime = general.totalTime(TimeUnit.NANOSECONDS);
+        var output = registry.get("log.dev.format.output").functionCounter();
+        var outputCount = output.count();
+
+        var record = new ExtLogRecord(Level.INFO, "Started", DevLoggingMetricsTest.class.getName());
+        record.setLoggerName("io.quarkus");
+        var formatted = new DevFormatter("localhost", 8080, false, ColorMode.NONE).format(record);
+
+        assertThat(general.count() - generalCount, equalTo(1.0));
+        assertThat(general.totalTime(TimeUnit.NANOSECONDS), greaterThan(generalTime));
+        assertThat(output.count() - outputCount, equalTo((double) formatted.length()));
+    }
+
+    @Test
+    public void testLoggerNamesAreCounted() {
+        var registry = bind();
+        var formatter = new DevFormatter("localhost", 8080, false, ColorMode.NONE);
+        formatter.setLoggerNameCacheSize(1);
+        DevLoggingMetrics.loggerNameCache(formatter.getLoggerNameCache());
+        try {
+            for (var loggerName : new String[] { "org.acme.First", "org.acme.First", "org.acme.Second" }) {
+                var record = new ExtLogRecord(Level.INFO, "Started", DevLoggingMetricsTest.class.getName());
+                record.setLoggerName(loggerName);
+                formatter.format(record);
+            }
+
+            assertThat(registry.get("log.dev.logger-names.hits").functionCounter().count(), equalTo(1.0));
+            assertThat(registry.get("log.dev.logger-names.misses").functionCounter().count(), equalTo(2.0));
+            assertThat(registry.get("log.dev.logger-names.evictions").functionCounter().count(), equalTo(1.0));
+            assertThat(registry.get("log.dev.logger-names.cached").gauge().value(), equalTo(1.0));
+        } finally {
+            DevLoggingMetrics.loggerNameCache(null);
+        }
+    }
+
+    @Test
+    public void testExceptionsAreCounted() {
+        var registry = bind();
+        ExceptionCollector.configure(Storage.SNAPSHOT, 2, ExceptionCollector.DEFAULT_MAX_MEMORY, 3);
+        try {
+            var formatted = registry.get("log.dev.format").tag("kind", "exception").functionTimer();
+            var collected = registry.get("log.dev.exceptions.collected").functionCounter();
+            var repeated = registry.get("log.dev.exceptions.repeated").functionCounter();
+            var evicted = registry.get("log.dev.exceptions.evicted").functionCounter();
+            var formattedCount = formatted.count();
+            var collectedCount = collected.count();
+            var repeatedCount = repeated.count();
+            var evictedCount = evicted.count();
+
+            var formatter = new DevFormatter("localhost", 8080, false, ColorMode.NONE);
+            var exception = new IllegalStateException(UUID.randomUUID().toString());
+            formatter.format(exceptionRecord(exception));
+            assertThat(formatted.count() - formattedCount, equalTo(1.0));
+            assertThat(collected.count() - collectedCount, equalTo(1.0));
+            assertThat(registry.get("log.dev.exceptions.stored").gauge().value(), equalTo(1.0));
+            assertThat(registry.get("log.dev.exceptions.memory").gauge().value(), greaterThan(0.0));
+
+            // Past the repeat threshold, the stored exception is kept
+            for (int idx = 0; idx < 5; ++idx) {
+                formatter.format(exceptionRecord(exception));
+            }
+            assertThat(collected.count() - collectedCount, equalTo(3.0));
+            assertThat(repeated.count() - repeatedCount, equalTo(3.0));
+
+            formatter.format(exceptionRecord(new IllegalArgumentException(UUID.randomUUID().toString())));
+            formatter.format(exceptionRecord(new UnsupportedOperationException(UUID.randomUUID().toString())));
+            assertThat(evicted.count() - evictedCount, equalTo(1.0));
+            assertThat(registry.get("log.dev.exceptions.stored").gauge().value(), equalTo(2.0));
+        } finally {
+            ExceptionCollector.configure(Storage.SNAPSHOT, ExceptionCollector.DEFAULT_MAX_EXCEPTIONS,
+                    ExceptionCollector.DEFAULT_MAX_MEMORY, ExceptionCollector.DEFAULT_REPEAT_THRESHOLD);
+        }
+    }
+
+    @Test
+    public void testRoutesAreTimed() {
+        var registry = bind();
+        var route = registry.get("log.dev.route").tag("route", "exception").functionTimer();
+        var routeCount = route.count();
+
+        var http = new FakeHttp().pathParam(ExceptionsRouteHandler.ID_PARAM, "unknown");
+        new ExceptionsRouteHandler().handle(http.routingContext());
+        assertThat(http.statusCode, equalTo(404));
+        assertThat(route.count() - routeCount, equalTo(1.0));
+    }
+
+    private static MeterRegistry bind() {
+        var registry = new SimpleMeterRegistry();
+        new DevLoggingMeterBinder().bindTo(registry);
+        return registry;
+    }
+
+    private static ExtLogRecord exceptionRecord(Throwable exception) {
+        var record = new ExtLogRecord(Level.ERROR, "Request failed", DevLoggingMetricsTest.class.getName());
+        record.setLoggerName("io.quarkus");
+        record.setThrown(exception);
+        return record;
+    }
+}
@@ -0,0 +1,145 @@
+package io.quarkiverse.logging.dev.runtime;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.notNullValue;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.time.Instant;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.Test;
+
+import io.quarkiverse.logging.dev.runtime.ExceptionIndex.Entry;
+import io.quarkiverse.logging.dev.runtime.ExceptionIndex.Page;
+
+public class ExceptionIndexTest {
+
+    private static final Instant T0 = Instant.parse("2022-09-01T10:00:00Z");
+    private static final String STATE = IllegalStateException.class.getName();
+    private static final String ARGUMENT = IllegalArgumentException.class.getName();
+
+    private final ExceptionIndex index = new ExceptionIndex();
+
+    @Test
+    public void testNewestFirst() {
+        addSample();
+        assertThat(ids(index.find(null, null, null, null, 10, entry -> true)), equalTo(List.of("4", "3", "2", "1")));
+    }
+
+    @Test
+    public void testFilters() {
+        addSample();
+        assertThat(ids(find(STATE, null, null)), equalTo(List.of("4", "3", "1")));
+        assertThat(ids(find(null, "org.acme.b", null)), equalTo(List.of("3", "2")));
+        assertThat(ids(find(STATE, "org.acme.b", null)), equalTo(List.of("3")));
+        assertThat(ids(find(ARGUMENT, "org.acme.a", null)), equalTo(List.of()));
+        assertThat(ids(find(null, null, T0.plusSeconds(2))), equalTo(List.of("4", "3")));
+        assertThat(ids(find(STATE, null, T0.plusSeconds(1))), equalTo(List.of("4", "3")));
+        assertThat(ids(find(null, "org.acme.a", T0.plusSeconds(1))), equalTo(List.of("4")));
+        assertThat(ids(find(UnsupportedOperationException.class.getName(), null, null)), equalTo(List.of()));
+        assertThat(ids(find(null, "org.acme.unknown", null)), equalTo(List.of()));
+    }
+
+    @Test
+    public void testPagesAreStableWhileCollecting() {
+        for (int idx = 1; idx <= 5; ++idx) {
+            add(Integer.toString(idx), STATE, "org.acme.a", T0.plusSeconds(idx));
+        }
+        var first = index.find(null, null, null, null, 2, entry -> true);
+        assertThat(ids(first), equalTo(List.of("5", "4")));
+        assertThat(first.nextCursor, notNullValue());
+
+        // Newer, and logged at the same time as the cursor entry but collected after it
+        add("6", STATE, "org.acme.a", T0.plusSeconds(6));
+        add("7", STATE, "org.acme.a", T0.plusSeconds(4));
+
+        var second = index.find(null, null, null, first.nextCursor, 2, entry -> true);
+        assertThat(ids(second), equalTo(List.of("3", "2")));
+        var third = index.find(null, null, null, second.nextCursor, 2, entry -> true);
+        assertThat(ids(third), equalTo(List.of("1")));
+        assertThat(third.nextCursor, equalTo(null));
+
+        // A full last page has no next page either
+        assertThat(index.find(null, null, null, second.nextCursor, 1, entry -> true).nextCursor, equalTo(null));
+    }
+
+    @Test
+    public void testInvalidCursor() {
+        addSample();
+        for (var cursor : new String[] { "", "1.2", "a.b.c", "1.2.3.4" }) {
+            assertThrows(IllegalArgumentException.class,
+                    () -> index.find(null, null, null, cursor, 10, entry -> true));
+        }
+    }
+
+    @Test
+    public void testReplacingAnId() {
+        addSample();
+        add("1", ARGUMENT, "org.acme.c", T0.plusSeconds(5));
+        assertThat(index.size(), equalTo(4));
+        assertThat(ids(find(null, null, null)), equalTo(List.of("1", "4", "3", "2")));
+        assertThat(ids(find(STATE, null, null)), equalTo(List.of("4", "3")));
+        assertThat(ids(find(null, "org.acme.c", null)), equalTo(List.of("1")));
+    }
+
+    @Test
+    public void testEvictedEntriesArePruned() {
+        addSample();
+        Set<String> evicted = new HashSet<>(Set.of("1", "3"));
+        var page = index.find(STATE, null, null, null, 10, entry -> !evicted.contains(entry.exceptionId));
+        assertThat(ids(page), equalTo(List.of("4")));
+        assertThat(index.size(), equalTo(2));
+
+        // Pruned from every index, not only the one walked
+        assertThat(ids(find(null, null, null)), equalTo(List.of("4", "2")));
+        assertThat(ids(find(null, "org.acme.b", null)), equalTo(List.of("2")));
+
+        // Pruned entries do not count toward the limit
+        add("5", STATE, "org.acme.b", T0.plusSeconds(5));
+        evicted.add("5");
+        evicted.add("4");
+        page = index.find(null, null, null, null, 1, entry -> !evicted.contains(entry.exceptionId));
+        assertThat(ids(page), equalTo(List.of("2")));
+        assertThat(page.nextCursor, equalTo(null));
+        assertThat(index.size(), equalTo(1));
+        assertThat(ids(find(STATE, null, null)), equalTo(List.of()));
+    }
+
+    @Test
+    public void testRemoveOnlyRemovesTheSameException() {
+        var first = add("1", STATE, "org.acme.a", T0);
+        var second = add("1", STATE, "org.acme.a", T0.plusSeconds(1));
+        index.remove("1", first);
+        assertThat(ids(find(null, null, null)), equalTo(List.of("1")));
+        index.remove("1", second);
+        assertThat(index.size(), equalTo(0));
+        assertThat(ids(find(STATE, null, null)), equalTo(List.of()));
+    }
+
+    private void addSample() {
+        add("1", STATE, "org.acme.a", T0);
+        add("2", ARGUMENT, "org.acme.b", T0.plusSeconds(1));
+        add("3", STATE, "org.acme.b", T0.plusSeconds(2));
+        add("4", STATE, "org.acme.a", T0.plusSeconds(3));
+    }
+
+    private CollectedException add(String exceptionId, String className, String loggerName, Instant instant) {
+        var exception = CollectedException.live(className.equals(STATE)
+                ? new IllegalStateException()
+                : new IllegalArgumentException());
+        index.add(exceptionId, instant, loggerName, exception);
+        return exception;
+    }
+
+    private Page find(String className, String loggerName, Instant since) {
+        return index.find(className, loggerName, since, null, 10, entry -> true);
+    }
+
+    private static List<String> ids(Page page) {
+        return page.entries.stream().map((Entry entry) -> entry.exceptionId).collect(Collectors.toList());
+    }
+}
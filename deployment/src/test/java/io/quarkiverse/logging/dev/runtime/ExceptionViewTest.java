@@ -0,0 +1,240 @@
+package io.quarkiverse.logging.dev.runtime;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.endsWith;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.not;
+
+import java.io.PrintWriter;
+import java.io.StringWriter;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.jboss.logmanager.ExtLogRecord;
+import org.jboss.logmanager.Level;
+import org.junit.jupiter.api.Test;
+
+import io.quarkiverse.logging.dev.runtime.ExceptionsConfig.Storage;
+
+public class ExceptionViewTest {
+
+    @Test
+    public void testCompleteView() {
+        var exception = new CountedException("Root", null);
+        exception.addSuppressed(new CountedException("Suppressed", null));
+        exception.initCause(new CountedException("Cause", exception));
+
+        var view = ExceptionView.of(exception);
+        assertThat(view.isComplete(), equalTo(true));
+        assertThat(view.isTruncated(), equalTo(false));
+        assertThat(view.size(), equalTo(3));
+        assertThat(view.analyzedSize(), equalTo(3));
+        assertThat(view.message(0), equalTo("Root"));
+        assertThat(view.message(view.cause(0)), equalTo("Cause"));
+        assertThat(view.message(view.suppressed(0)[0]), equalTo("Suppressed"));
+        // Cycles are kept
+        assertThat(view.cause(view.cause(0)), equalTo(0));
+    }
+
+    @Test
+    public void testLongCauseChain() {
+        var exceptions = chain(1_000);
+        var view = ExceptionView.of(exceptions[0], 4, 8);
+
+        assertThat(view.isComplete(), equalTo(false));
+        assertThat(view.isTruncated(), equalTo(true));
+        // The causes of the fingerprint are analyzed beyond the depth
+        assertThat(view.analyzedSize(), equalTo(ExceptionFingerprint.MAX_CAUSES));
+        assertThat(analyzedCount(exceptions), equalTo(ExceptionFingerprint.MAX_CAUSES));
+        assertThat(view.size(), equalTo(ExceptionFingerprint.MAX_CAUSES + ExceptionView.COUNT_LIMIT));
+        assertThat(linkedCount(exceptions), equalTo(view.size()));
+
+        var complete = ExceptionView.of(exceptions[0]);
+        assertThat(complete.size(), equalTo(1_000));
+        assertThat(view.id(), equalTo(complete.id()));
+        assertThat(view.fingerprint(), equalTo(complete.fingerprint()));
+
+        // Not analyzed, but linked up to the count limit
+        var node = 0;
+        for (int depth = 1; depth < view.size(); ++depth) {
+            node = view.cause(node);
+        }
+        assertThat(view.cause(node), equalTo(ExceptionView.UNCOUNTED));
+    }
+
+    @Test
+    public void testManySuppressed() {
+        var exception = new CountedException("Root", null);
+        var suppressed = new CountedException[10_000];
+        for (int idx = 0; idx < suppressed.length; ++idx) {
+            suppressed[idx] = new CountedException("Suppressed " + idx, null);
+            exception.addSuppressed(suppressed[idx]);
+        }
+        var view = ExceptionView.of(exception, 4, 8);
+
+        assertThat(view.analyzedSize(), equalTo(9));
+        assertThat(view.size(), equalTo(9 + ExceptionView.COUNT_LIMIT));
+        assertThat(view.isTruncated(), equalTo(true));
+        assertThat(view.suppressed(0).length, equalTo(8));
+        assertThat(view.suppressedCount(0), equalTo(10_000));
+        assertThat(view.message(view.suppressed(0)[7]), equalTo("Suppressed 7"));
+        assertThat(analyzedCount(suppressed), equalTo(8));
+        assertThat(linkedCount(suppressed), equalTo(8 + ExceptionView.COUNT_LIMIT));
+    }
+
+    @Test
+    public void testExceptionsWithinLimitsAreAnalyzed() {
+        var exception = new CountedException("Root", null);
+        var first = new CountedException("First", null);
+        var second = new CountedException("Second", new CountedException("Cause of second", null));
+        var shared = new CountedException("Shared", new CountedException("Cause of shared", null));
+        var cause = new CountedException("Cause of first", shared);
+        first.initCause(cause);
+        exception.addSuppressed(first);
+        exception.addSuppressed(second);
+        // Past the depth as the cause of a cause, but within it as a suppressed exception
+        first.addSuppressed(shared);
+
+        var view = ExceptionView.of(exception, 3, 1);
+        assertThat(view.size(), equalTo(7));
+        assertThat(view.isTruncated(), equalTo(false));
+        assertThat(view.analyzedSize(), equalTo(4));
+        assertThat(first.analyzed.get(), equalTo(1));
+        assertThat(cause.analyzed.get(), equalTo(1));
+        assertThat(shared.analyzed.get(), equalTo(1));
+        assertThat(((CountedException) shared.getCause()).analyzed.get(), equalTo(0));
+        assertThat(second.analyzed.get(), equalTo(0));
+        assertThat(((CountedException) second.getCause()).analyzed.get(), equalTo(0));
+    }
+
+    @Test
+    public void testRenderingIsBounded() {
+        // Live exceptions are not analyzed by the collector
+        ExceptionCollector.configure(Storage.LIVE, ExceptionCollector.DEFAULT_MAX_EXCEPTIONS,
+                ExceptionCollector.DEFAULT_MAX_MEMORY, ExceptionCollector.DEFAULT_REPEAT_THRESHOLD);
+        try {
+            var exceptions = chain(10_000);
+            var formatter = new DevFormatter("localhost", 8080, false, ColorMode.NONE);
+            formatter.setExceptionTreeLimits(4, 2);
+            var record = new ExtLogRecord(Level.ERROR, "Failed", ExceptionViewTest.class.getName());
+            record.setLoggerName("org.acme");
+            record.setThrown(exceptions[0]);
+
+            var uncounted = ExceptionFingerprint.MAX_CAUSES + ExceptionView.COUNT_LIMIT - 4 + 1;
+            assertThat(formatter.format(record), containsString("… ≥" + uncounted + " more causes"));
+            assertThat(analyzedCount(exceptions), equalTo(ExceptionFingerprint.MAX_CAUSES));
+            assertThat(linkedCount(exceptions), equalTo(ExceptionFingerprint.MAX_CAUSES + ExceptionView.COUNT_LIMIT));
+        } finally {
+            ExceptionCollector.configure(Storage.SNAPSHOT, ExceptionCollector.DEFAULT_MAX_EXCEPTIONS,
+                    ExceptionCollector.DEFAULT_MAX_MEMORY, ExceptionCollector.DEFAULT_REPEAT_THRESHOLD);
+        }
+    }
+
+    @Test
+    public void testSnapshotsWithinLimits() {
+        var exception = chain(ExceptionSnapshot.MAX_DEPTH)[0];
+        for (int idx = 0; idx < ExceptionSnapshot.MAX_SUPPRESSED; ++idx) {
+            exception.addSuppressed(new CountedException("Suppressed " + idx, null));
+        }
+        var expected = new StringWriter();
+        exception.printStackTrace(new PrintWriter(expected));
+        // Analyzed again by the snapshot when the view does not cover its limits
+        assertThat(ExceptionView.of(exception, 4, 8).covers(ExceptionSnapshot.MAX_DEPTH,
+                ExceptionSnapshot.MAX_SUPPRESSED), equalTo(false));
+        assertThat(print(ExceptionSnapshot.of(exception)), equalTo(expected.toString()));
+        assertThat(print(ExceptionSnapshot.of(ExceptionView.of(exception))), equalTo(expected.toString()));
+    }
+
+    @Test
+    public void testSnapshotsAreBounded() {
+        var exceptions = chain(10_000);
+        for (int idx = 0; idx < 1_000; ++idx) {
+            exceptions[0].addSuppressed(new CountedException("Suppressed " + idx, null));
+        }
+        var printed = print(ExceptionSnapshot.of(exceptions[0]));
+
+        var lineSeparator = System.lineSeparator();
+        assertThat(printed, containsString("Suppressed: [OMITTED: " + (1_000 - ExceptionSnapshot.MAX_SUPPRESSED)
+                + " more]" + lineSeparator));
+        assertThat(printed, containsString("Exception " + (ExceptionSnapshot.MAX_DEPTH - 1) + lineSeparator));
+        assertThat(printed, not(containsString("Exception " + ExceptionSnapshot.MAX_DEPTH + lineSeparator)));
+        assertThat(printed, endsWith("Caused by: [OMITTED]" + lineSeparator));
+        assertThat(analyzedCount(exceptions), equalTo(ExceptionSnapshot.MAX_DEPTH));
+    }
+
+    @Test
+    public void testCollectedSnapshotsAreBounded() {
+        var exceptions = chain(10_000);
+        var formatter = new DevFormatter("localhost", 8080, false, ColorMode.NONE);
+        var record = new ExtLogRecord(Level.ERROR, "Failed", ExceptionViewTest.class.getName());
+        record.setLoggerName("org.acme");
+        record.setThrown(exceptions[0]);
+        formatter.format(record);
+
+        // Once by the formatter and once by the snapshot, as the view of the formatter does not cover the snapshot
+        assertThat(analyzedCount(exceptions), equalTo(ExceptionSnapshot.MAX_DEPTH));
+        var printed = new StringWriter();
+        ExceptionCollector.find(ExceptionCollector.exceptionId(exceptions[0]))
+                .printStackTrace(new PrintWriter(printed));
+        assertThat(printed.toString(), endsWith("Caused by: [OMITTED]" + System.lineSeparator()));
+    }
+
+    private static String print(ExceptionSnapshot snapshot) {
+        var printed = new StringWriter();
+        snapshot.printStackTrace(new PrintWriter(printed));
+        snapshot.release();
+        return printed.toString();
+    }
+
+    private static CountedException[] chain(int length) {
+        var exceptions = new CountedException[length];
+        for (int idx = length - 1; idx >= 0; --idx) {
+            exceptions[idx] = new CountedException("Exception " + idx, idx + 1 < length ? exceptions[idx + 1] : null);
+        }
+        return exceptions;
+    }
+
+    private static int analyzedCount(CountedException[] exceptions) {
+        var count = 0;
+        for (var exception : exceptions) {
+            count += exception.analyzed.get() > 0 ? 1 : 0;
+        }
+        return count;
+    }
+
+    private static int linkedCount(CountedException[] exceptions) {
+        var count = 0;
+        for (var exception : exceptions) {
+            count += exception.linked.get() > 0 ? 1 : 0;
+        }
+        return count;
+    }
+
+    /**
+     * Counts the captures of its stack trace, and the lookups of its cause.
+     */
+    private static final class CountedException extends RuntimeException {
+
+        final AtomicInteger analyzed = new AtomicInteger();
+        final AtomicInteger linked = new AtomicInteger();
+
+        CountedException(String message, Throwable cause) {
+            super(message);
+            if (cause != null) {
+                initCause(cause);
+            }
+        }
+
+        @Override
+        public StackTraceElement[] getStackTrace() {
+            analyzed.incrementAndGet();
+            return super.getStackTrace();
+        }
+
+        @Override
+        public synchronized Throwable getCause() {
+            linked.incrementAndGet();
+            return super.getCause();
+        }
+    }
+}
@@ -0,0 +1,185 @@
+package io.quarkiverse.logging.dev.runtime;
+
+import static io.quarkiverse.logging.dev.runtime.ExceptionsRouteHandlerTest.trace;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.lessThan;
+import static org.hamcrest.Matchers.not;
+
+import java.time.Instant;
+import java.util.UUID;
+
+import org.jboss.logmanager.ExtLogRecord;
+import org.jboss.logmanager.Level;
+import org.junit.jupiter.api.Test;
+
+import io.quarkiverse.logging.dev.runtime.ExceptionsConfig.Storage;
+
+public class ExceptionsIndexRouteHandlerTest {
+
+    private static final Instant T0 = Instant.parse("2022-09-01T10:00:00Z");
+
+    private final DevFormatter formatter = new DevFormatter("localhost", 8080, false, ColorMode.NONE);
+    private final String logger = "org.acme." + UUID.randomUUID();
+
+    @Test
+    public void testJson() {
+        var first = collect(new IllegalStateException("First"), logger, T0);
+        var second = collect(new IllegalArgumentException("Second"), logger, T0.plusSeconds(1));
+
+        var http = get("logger", logger, "format", "json");
+        assertThat(http.statusCode, equalTo(200));
+        assertThat(http.responseHeaders.get("Content-Type"), equalTo("application/json; charset=utf-8"));
+        assertThat(http.responseHeaders.get("Cache-Control"), equalTo("no-store"));
+        assertThat(http.bodyText(), equalTo("{\"exceptions\":["
+                + "{\"id\":\"" + second + "\",\"class\":\"java.lang.IllegalArgumentException\",\"logger\":\"" + logger
+                + "\",\"time\":\"2022-09-01T10:00:01Z\"},"
+                + "{\"id\":\"" + first + "\",\"class\":\"java.lang.IllegalStateException\",\"logger\":\"" + logger
+                + "\",\"time\":\"2022-09-01T10:00:00Z\"}"
+                + "],\"nextCursor\":null}"));
+
+        var accepted = new FakeHttp()
+                .queryParam("logger", logger)
+                .header("Accept", "application/json, text/plain");
+        new ExceptionsIndexRouteHandler().handle(accepted.routingContext());
+        assertThat(accepted.bodyText(), equalTo(http.bodyText()));
+    }
+
+    @Test
+    public void testFilters() {
+        var otherLogger = logger + ".other";
+        var first = collect(new IllegalStateException("First"), logger, T0);
+        var second = collect(new IllegalArgumentException("Second"), logger, T0.plusSeconds(1));
+        var third = collect(new IllegalStateException("Third"), otherLogger, T0.plusSeconds(2));
+        var fourth = collect(new IllegalStateException("Fourth"), logger, T0.plusSeconds(3));
+
+        var byClassAndLogger = get("class", IllegalStateException.class.getName(), "logger", logger, "format", "json")
+                .bodyText();
+        assertOrder(byClassAndLogger, fourth, first);
+        assertThat(byClassAndLogger, not(containsString(second)));
+        assertThat(byClassAndLogger, not(containsString(third)));
+
+        var since = get("logger", logger, "since", "2022-09-01T10:00:01Z", "format", "json").bodyText();
+        assertOrder(since, fourth, second);
+        assertThat(since, not(containsString(first)));
+
+        var none = get("logger", logger, "class", "java.lang.Error", "format", "json").bodyText();
+        assertThat(none, equalTo("{\"exceptions\":[],\"nextCursor\":null}"));
+    }
+
+    @Test
+    public void testPagesAreStableWhileCollecting() {
+        var first = collect(new IllegalStateException("First"), logger, T0);
+        var second = collect(new IllegalStateException("Second"), logger, T0.plusSeconds(1));
+        var third = collect(new IllegalStateException("Third"), logger, T0.plusSeconds(2));
+
+        var page = get("logger", logger, "limit", "2", "format", "json").bodyText();
+        assertOrder(page, third, second);
+        var cursor = cursor(page);
+
+        collect(new IllegalStateException("Newer"), logger, T0.plusSeconds(3));
+
+        var next = get("logger", logger, "limit", "2", "cursor", cursor, "format", "json").bodyText();
+        assertThat(next, containsString("\"id\":\"" + first + "\""));
+        assertThat(next, not(containsString(third)));
+        assertThat(next, containsString("\"nextCursor\":null"));
+    }
+
+    @Test
+    public void testEvictedExceptionsAreNotListed() {
+        ExceptionCollector.configure(Storage.SNAPSHOT, 2, ExceptionCollector.DEFAULT_MAX_MEMORY,
+                ExceptionCollector.DEFAULT_REPEAT_THRESHOLD);
+        try {
+            var first = collect(new IllegalStateException("First"), logger, T0);
+            var second = collect(new IllegalStateException("Second"), logger, T0.plusSeconds(1));
+            var third = collect(new IllegalStateException("Third"), logger, T0.plusSeconds(2));
+
+            var page = get("logger", logger, "format", "json").bodyText();
+            assertOrder(page, third, second);
+            assertThat(page, not(containsString(first)));
+        } finally {
+            ExceptionCollector.configure(Storage.SNAPSHOT, ExceptionCollector.DEFAULT_MAX_EXCEPTIONS,
+                    ExceptionCollector.DEFAULT_MAX_MEMORY, ExceptionCollector.DEFAULT_REPEAT_THRESHOLD);
+        }
+    }
+
+    @Test
+    public void testHtml() {
+        var htmlLogger = logger + ".<b>";
+        var first = collect(new IllegalStateException("First"), htmlLogger, T0);
+        var second = collect(new IllegalStateException("Second"), htmlLogger, T0.plusSeconds(1));
+
+        var http = get("logger", htmlLogger, "limit", "1");
+        assertThat(http.statusCode, equalTo(200));
+        assertThat(http.responseHeaders.get("Content-Type"), equalTo("text/html; charset=utf-8"));
+        assertThat(http.ended, equalTo(true));
+
+        var body = http.bodyText();
+        assertThat(body, containsString("<a href=\"exceptions/" + second + "\">java.lang.IllegalStateException</a>"));
+        assertThat(body, not(containsString(first)));
+        assertThat(body, containsString("<td>" + logger + ".&lt;b&gt;</td>"));
+        assertThat(body, not(containsString(".<b>")));
+        // Link to the next page keeps the filters, encoded
+        assertThat(body, containsString("<a href=\"?logger=" + logger + ".%3Cb%3E&amp;limit=1&amp;cursor="));
+
+        var compressed = new FakeHttp()
+                .queryParam("logger", htmlLogger)
+                .queryParam("limit", "1")
+                .header("Accept-Encoding", "gzip");
+        new ExceptionsIndexRouteHandler().handle(compressed.routingContext());
+        assertThat(compressed.responseHeaders.get("Content-Encoding"), equalTo("gzip"));
+        assertThat(compressed.bodyText(), equalTo(body));
+
+        var empty = get("logger", logger + ".none").bodyText();
+        assertThat(empty, containsString("No exceptions found"));
+    }
+
+    @Test
+    public void testInvalidParameters() {
+        assertBadRequest("since", "yesterday");
+        assertBadRequest("limit", "0");
+        assertBadRequest("limit", "-1");
+        assertBadRequest("limit", "many");
+        assertBadRequest("cursor", "not-a-cursor");
+    }
+
+    private static void assertBadRequest(String name, String value) {
+        var http = get(name, value);
+        assertThat(name + "=" + value, http.statusCode, equalTo(400));
+        assertThat(http.statusMessage, equalTo("BAD REQUEST"));
+        assertThat(http.ended, equalTo(true));
+        assertThat(http.bodyText().isEmpty(), equalTo(false));
+    }
+
+    private static void assertOrder(String body, String... ids) {
+        for (int idx = 1; idx < ids.length; ++idx) {
+            assertThat(body.indexOf("\"id\":\"" + ids[idx - 1] + "\""), lessThan(body.indexOf("\"id\":\"" + ids[idx] + "\"")));
+        }
+        assertThat(body.indexOf("\"id\":\"" + ids[0] + "\"") >= 0, equalTo(true));
+    }
+
+    private static String cursor(String body) {
+        var start = body.indexOf("\"nextCursor\":\"") + "\"nextCursor\":\"".length();
+        return body.substring(start, body.indexOf('"', start));
+    }
+
+    private String collect(Throwable exception, String loggerName, Instant instant) {
+        exception.setStackTrace(trace(UUID.randomUUID().toString(), 5));
+        var record = new ExtLogRecord(Level.ERROR, "Request failed", ExceptionsIndexRouteHandlerTest.class.getName());
+        record.setLoggerName(loggerName);
+        record.setInstant(instant);
+        record.setThrown(exception);
+        formatter.format(record);
+        return ExceptionCollector.exceptionId(exception);
+    }
+
+    private static FakeHttp get(String... params) {
+        var http = new FakeHttp();
+        for (int idx = 0; idx < params.length; idx += 2) {
+            http.queryParam(params[idx], params[idx + 1]);
+        }
+        new ExceptionsIndexRouteHandler().handle(http.routingContext());
+        return http;
+    }
+}
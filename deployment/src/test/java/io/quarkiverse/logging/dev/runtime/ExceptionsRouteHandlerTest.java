@@ -0,0 +1,120 @@
+package io.quarkiverse.logging.dev.runtime;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.Matchers.lessThanOrEqualTo;
+import static org.hamcrest.Matchers.not;
+
+import java.util.UUID;
+
+import org.jboss.logmanager.ExtLogRecord;
+import org.jboss.logmanager.Level;
+import org.junit.jupiter.api.Test;
+
+public class ExceptionsRouteHandlerTest {
+
+    private final DevFormatter formatter = new DevFormatter("localhost", 8080, false, ColorMode.NONE);
+
+    @Test
+    public void testUnknownExceptionIsNotFound() {
+        var http = get("unknown");
+        assertThat(http.statusCode, equalTo(404));
+        assertThat(http.statusMessage, equalTo("NOT FOUND"));
+        assertThat(http.ended, equalTo(true));
+    }
+
+    @Test
+    public void testTraceIsStreamedEscaped() {
+        var exception = new IllegalStateException("<script>alert('x')</script> & \"quoted\"");
+        exception.setStackTrace(trace(UUID.randomUUID().toString(), 500));
+        var exceptionId = collect(exception);
+
+        var http = get(exceptionId);
+        assertThat(http.statusCode, equalTo(200));
+        assertThat(http.responseHeaders.get("Content-Type"), equalTo("text/html; charset=utf-8"));
+        assertThat(http.chunked, equalTo(true));
+        assertThat(http.ended, equalTo(true));
+
+        var body = http.bodyText();
+        assertThat(body, containsString("<h2 class=\"container\">java.lang.IllegalStateException</h2>"));
+        assertThat(body, containsString(
+                "java.lang.IllegalStateException: &lt;script&gt;alert(&#39;x&#39;)&lt;/script&gt; &amp; &quot;quoted&quot;"));
+        assertThat(body, not(containsString("<script>")));
+        assertThat(body, containsString("\tat org.acme.generated.Handler"));
+        assertThat(body, containsString("</pre>\n</div>\n</body>\n</html>\n"));
+
+        // Written as it is rendered, in chunks
+        assertThat(body.length(), greaterThan(4 * HtmlResponseWriter.CHUNK_SIZE));
+        assertThat(http.writes.size(), greaterThan(4));
+        for (var chunk : http.writes) {
+            assertThat(chunk.length, lessThanOrEqualTo(2 * HtmlResponseWriter.CHUNK_SIZE));
+        }
+    }
+
+    @Test
+    public void testNotModifiedUntilSeenAgain() {
+        var exception = new IllegalArgumentException("Invalid tenant");
+        exception.setStackTrace(trace(UUID.randomUUID().toString(), 10));
+        var exceptionId = collect(exception);
+
+        var first = get(exceptionId);
+        var etag = first.responseHeaders.get("ETag");
+        assertThat(etag, equalTo("\"" + exceptionId + "-1\""));
+        assertThat(first.responseHeaders.get("Cache-Control"), equalTo("no-cache"));
+
+        var cached = get(exceptionId, "If-None-Match", etag);
+        assertThat(cached.statusCode, equalTo(304));
+        assertThat(cached.ended, equalTo(true));
+        assertThat(cached.body().length, equalTo(0));
+        assertThat(cached.responseHeaders.get("ETag"), equalTo(etag));
+
+        collect(exception);
+        var changed = get(exceptionId, "If-None-Match", etag);
+        assertThat(changed.statusCode, equalTo(200));
+        assertThat(changed.responseHeaders.get("ETag"), equalTo("\"" + exceptionId + "-2\""));
+        assertThat(changed.bodyText(), containsString("Seen 2 times"));
+    }
+
+    @Test
+    public void testCompressedWhenAccepted() {
+        var exception = new UnsupportedOperationException("Not yet");
+        exception.setStackTrace(trace(UUID.randomUUID().toString(), 200));
+        var exceptionId = collect(exception);
+
+        var plain = get(exceptionId);
+        var compressed = get(exceptionId, "Accept-Encoding", "gzip, deflate, br");
+        assertThat(plain.responseHeaders.get("Content-Encoding"), equalTo(null));
+        assertThat(compressed.responseHeaders.get("Content-Encoding"), equalTo("gzip"));
+        assertThat(compressed.responseHeaders.get("Vary"), equalTo("Accept-Encoding"));
+        assertThat(compressed.bodyText(), equalTo(plain.bodyText()));
+        assertThat(compressed.body().length, lessThanOrEqualTo(plain.body().length / 4));
+    }
+
+    private String collect(Throwable exception) {
+        var record = new ExtLogRecord(Level.ERROR, "Request failed", ExceptionsRouteHandlerTest.class.getName());
+        record.setLoggerName("org.acme");
+        record.setThrown(exception);
+        formatter.format(record);
+        return ExceptionCollector.exceptionId(exception);
+    }
+
+    private static FakeHttp get(String exceptionId, String... headers) {
+        var http = new FakeHttp().pathParam(ExceptionsRouteHandler.ID_PARAM, exceptionId);
+        for (int idx = 0; idx < headers.length; idx += 2) {
+            http.header(headers[idx], headers[idx + 1]);
+        }
+        new ExceptionsRouteHandler().handle(http.routingContext());
+        return http;
+    }
+
+    static StackTraceElement[] trace(String prefix, int depth) {
+        var trace = new StackTraceElement[depth];
+        for (int idx = 0; idx < depth; ++idx) {
+            trace[idx] = new StackTraceElement("org.acme.generated.Handler" + prefix, "handle" + idx,
+                    "Handler.java", idx + 1);
+        }
+        return trace;
+    }
+}
@@ -0,0 +1,262 @@
+package io.quarkiverse.logging.dev.runtime;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.zip.GZIPInputStream;
+
+import io.vertx.core.Context;
+import io.vertx.core.Handler;
+import io.vertx.core.Vertx;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.http.HttpServerRequest;
+import io.vertx.core.http.HttpServerResponse;
+import io.vertx.ext.web.RoutingContext;
+
+/**
+ * In-memory request, response and context for driving route handlers and the log stream, recording
+ * what is written to the response. Tasks run on the context are queued until {@link #runTasks()}.
+ */
+final class FakeHttp {
+
+    final Map<String, String> requestHeaders = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+    final Map<String, String> pathParams = new HashMap<>();
+    final Map<String, List<String>> queryParams = new HashMap<>();
+
+    final Map<String, String> responseHeaders = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+    final List<byte[]> writes = new ArrayList<>();
+    int statusCode = 200;
+    String statusMessage;
+    boolean chunked;
+    boolean ended;
+    boolean closed;
+    boolean writeQueueFull;
+
+    private final ArrayDeque<Handler<Void>> tasks = new ArrayDeque<>();
+    private Handler<Void> closeHandler;
+    private Handler<Void> drainHandler;
+
+    private final HttpServerRequest request = proxy(HttpServerRequest.class, this::request);
+    private final HttpServerResponse response = proxy(HttpServerResponse.class, this::response);
+    private final Context context = proxy(Context.class, this::context);
+    private final Vertx vertx = proxy(Vertx.class, (method, args) -> {
+        if (method.getName().equals("getOrCreateContext")) {
+            return context;
+        }
+        throw new UnsupportedOperationException(method.toString());
+    });
+    private final RoutingContext routingContext = proxy(RoutingContext.class, this::routingContext);
+
+    FakeHttp header(String name, String value) {
+        requestHeaders.put(name, value);
+        return this;
+    }
+
+    FakeHttp pathParam(String name, String value) {
+        pathParams.put(name, value);
+        return this;
+    }
+
+    FakeHttp queryParam(String name, String value) {
+        queryParams.computeIfAbsent(name, k -> new ArrayList<>()).add(value);
+        return this;
+    }
+
+    RoutingContext routingContext() {
+        return routingContext;
+    }
+
+    HttpServerResponse response() {
+        return response;
+    }
+
+    Context context() {
+        return context;
+    }
+
+    /**
+     * Runs the tasks queued on the context, including those queued while running.
+     */
+    int runTasks() {
+        int count = 0;
+        Handler<Void> task;
+        while ((task = tasks.poll()) != null) {
+            task.handle(null);
+            ++count;
+        }
+        return count;
+    }
+
+    /**
+     * Frees the write queue, calling the drain handler.
+     */
+    void drain() {
+        writeQueueFull = false;
+        if (drainHandler != null) {
+            drainHandler.handle(null);
+        }
+    }
+
+    /**
+     * Closes the connection, calling the close handler.
+     */
+    void close() {
+        closed = true;
+        if (closeHandler != null) {
+            closeHandler.handle(null);
+        }
+    }
+
+    byte[] body() {
+        var body = new ByteArrayOutputStream();
+        for (var write : writes) {
+            body.writeBytes(write);
+        }
+        return body.toByteArray();
+    }
+
+    /**
+     * The response body as text, decompressed when gzip encoded.
+     */
+    String bodyText() {
+        var body = body();
+        if ("gzip".equals(responseHeaders.get("Content-Encoding"))) {
+            try (var in = new GZIPInputStream(new ByteArrayInputStream(body))) {
+                body = in.readAllBytes();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+        return new String(body, StandardCharsets.UTF_8);
+    }
+
+    private Object routingContext(Method method, Object[] args) {
+        switch (method.getName()) {
+            case "request":
+                return request;
+            case "response":
+                return response;
+            case "vertx":
+                return vertx;
+            case "pathParam":
+                return pathParams.get((String) args[0]);
+            case "queryParam":
+                return queryParams.getOrDefault((String) args[0], List.of());
+            default:
+                throw new UnsupportedOperationException(method.toString());
+        }
+    }
+
+    private Object request(Method method, Object[] args) {
+        if (method.getName().equals("getHeader")) {
+            return requestHeaders.get(args[0].toString());
+        }
+        throw new UnsupportedOperationException(method.toString());
+    }
+
+    private Object context(Method method, Object[] args) {
+        if (method.getName().equals("runOnContext")) {
+            @SuppressWarnings("unchecked")
+            var task = (Handler<Void>) args[0];
+            tasks.add(task);
+            return null;
+        }
+        throw new UnsupportedOperationException(method.toString());
+    }
+
+    private Object response(Method method, Object[] args) {
+        switch (method.getName()) {
+            case "setStatusCode":
+                statusCode = (Integer) args[0];
+                return response;
+            case "setStatusMessage":
+                statusMessage = (String) args[0];
+                return response;
+            case "putHeader":
+                responseHeaders.put(args[0].toString(), args[1].toString());
+                return response;
+            case "setChunked":
+                chunked = (Boolean) args[0];
+                return response;
+            case "closeHandler":
+                @SuppressWarnings("unchecked")
+                var onClose = (Handler<Void>) args[0];
+                closeHandler = onClose;
+                return response;
+            case "drainHandler":
+                @SuppressWarnings("unchecked")
+                var onDrain = (Handler<Void>) args[0];
+                drainHandler = onDrain;
+                return response;
+            case "write":
+                assertWritable();
+                record(args[0]);
+                return null;
+            case "end":
+            case "send":
+                assertWritable();
+                if (args != null && args.length == 1) {
+                    record(args[0]);
+                }
+                ended = true;
+                return null;
+            case "writeQueueFull":
+                return writeQueueFull;
+            case "closed":
+                return closed;
+            case "ended":
+                return ended;
+            case "getStatusCode":
+                return statusCode;
+            default:
+                throw new UnsupportedOperationException(method.toString());
+        }
+    }
+
+    private void assertWritable() {
+        if (ended) {
+            throw new IllegalStateException("Response has already been written");
+        }
+    }
+
+    private void record(Object chunk) {
+        if (chunk instanceof Buffer) {
+            writes.add(((Buffer) chunk).getBytes());
+        } else {
+            writes.add(chunk.toString().getBytes(StandardCharsets.UTF_8));
+        }
+    }
+
+    @FunctionalInterface
+    private interface Invocation {
+        Object invoke(Method method, Object[] args);
+    }
+
+    private static <T> T proxy(Class<T> type, Invocation invocation) {
+        InvocationHandler handler = (proxy, method, args) -> {
+            if (method.getDeclaringClass() == Object.class) {
+                switch (method.getName()) {
+                    case "equals":
+                        return proxy == args[0];
+                    case "hashCode":
+                        return System.identityHashCode(proxy);
+                    default:
+                        return type.getSimpleName() + "@" + Integer.toHexString(System.identityHashCode(proxy));
+                }
+            }
+            return invocation.invoke(method, args);
+        };
+        return type.cast(Proxy.newProxyInstance(FakeHttp.class.getClassLoader(), new Class<?>[] { type }, handler));
+    }
+}
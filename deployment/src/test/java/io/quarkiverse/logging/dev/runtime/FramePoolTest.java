@@ -0,0 +1,76 @@
+package io.quarkiverse.logging.dev.runtime;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.lessThanOrEqualTo;
+
+import java.util.UUID;
+
+import org.jboss.logmanager.ExtLogRecord;
+import org.jboss.logmanager.Level;
+import org.junit.jupiter.api.Test;
+
+import io.quarkiverse.logging.dev.runtime.ExceptionsConfig.Storage;
+
+public class FramePoolTest {
+
+    @Test
+    public void testWeightIsChargedOnceAndCreditedOnRemoval() {
+        var trace = trace(UUID.randomUUID().toString(), 10);
+        var initialWeight = FramePool.weight();
+        long framesWeight = 0;
+        for (var frame : trace) {
+            framesWeight += FramePool.estimateSize(frame);
+        }
+
+        var first = FramePool.acquire(trace);
+        assertThat(FramePool.weight() - initialWeight, equalTo(framesWeight));
+
+        var second = FramePool.acquire(trace);
+        assertThat(second, equalTo(first));
+        assertThat(FramePool.weight() - initialWeight, equalTo(framesWeight));
+
+        FramePool.release(first);
+        assertThat(FramePool.weight() - initialWeight, equalTo(framesWeight));
+
+        FramePool.release(second);
+        assertThat(FramePool.weight(), equalTo(initialWeight));
+    }
+
+    @Test
+    public void testFramesCountTowardMaxMemory() {
+        var maxMemory = 256 * 1024L;
+        ExceptionCollector.configure(Storage.SNAPSHOT, 1000, maxMemory, 0);
+        try {
+            var formatter = new DevFormatter("localhost", 8080, false, ColorMode.NONE);
+            var prefix = UUID.randomUUID().toString();
+            for (int c = 0; c < 200; ++c) {
+                // Distinct 200 frame traces, so no frame is shared between exceptions
+                var exception = new IllegalStateException("Failure " + c);
+                exception.setStackTrace(trace(prefix + c, 200));
+
+                var record = new ExtLogRecord(Level.ERROR, "Request failed", FramePoolTest.class.getName());
+                record.setLoggerName("io.quarkus");
+                record.setThrown(exception);
+                formatter.format(record);
+
+                assertThat(ExceptionCollector.weight(), lessThanOrEqualTo(maxMemory));
+            }
+
+            // Snapshots alone weigh about 1KB each, but their frames about 90KB
+            assertThat(ExceptionCollector.size(), lessThanOrEqualTo(3));
+        } finally {
+            ExceptionCollector.configure(Storage.SNAPSHOT, ExceptionCollector.DEFAULT_MAX_EXCEPTIONS,
+                    ExceptionCollector.DEFAULT_MAX_MEMORY, ExceptionCollector.DEFAULT_REPEAT_THRESHOLD);
+        }
+    }
+
+    private static StackTraceElement[] trace(String prefix, int depth) {
+        var trace = new StackTraceElement[depth];
+        for (int idx = 0; idx < depth; ++idx) {
+            trace[idx] = new StackTraceElement("org.acme.generated.Handler" + prefix, "handle" + idx,
+                    "Handler.java", idx + 1);
+        }
+        return trace;
+    }
+}
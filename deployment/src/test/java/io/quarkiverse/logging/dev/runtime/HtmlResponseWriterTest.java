@@ -0,0 +1,71 @@
+package io.quarkiverse.logging.dev.runtime;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.Matchers.lessThanOrEqualTo;
+
+import java.nio.ByteBuffer;
+
+import org.junit.jupiter.api.Test;
+
+import io.quarkiverse.logging.dev.runtime.HtmlResponseWriter.Markup;
+
+public class HtmlResponseWriterTest {
+
+    @Test
+    public void testTextIsEscapedAndMarkupIsNot() {
+        var http = new FakeHttp();
+        try (var output = new HtmlResponseWriter(http.response(), false)) {
+            output.writeHtml("<p>");
+            output.write("<a href=\"x\">'&'</a>");
+            output.write('<');
+            output.write(new char[] { 'x', '>', 'y' }, 1, 1);
+            output.writeHtml(new Markup("</p>"));
+            output.writeHtml(ByteBuffer.wrap("<br>".getBytes(UTF_8)));
+        }
+        assertThat(http.bodyText(),
+                equalTo("<p>&lt;a href=&quot;x&quot;&gt;&#39;&amp;&#39;&lt;/a&gt;&lt;&gt;</p><br>"));
+        assertThat(http.ended, equalTo(false));
+    }
+
+    @Test
+    public void testTextIsWrittenInChunks() {
+        var http = new FakeHttp();
+        var line = "at org.acme.Handler.handle(Handler.java:42) <caller>\n";
+        var expected = new StringBuilder();
+        try (var output = new HtmlResponseWriter(http.response(), false)) {
+            for (int idx = 0; idx < 1000; ++idx) {
+                output.write(line);
+                expected.append("at org.acme.Handler.handle(Handler.java:42) &lt;caller&gt;\n");
+            }
+            // Written while writing, not held until closed
+            assertThat(http.writes.size(), greaterThan(4));
+        }
+        for (var chunk : http.writes) {
+            assertThat(chunk.length, lessThanOrEqualTo(HtmlResponseWriter.CHUNK_SIZE + 2 * line.length()));
+        }
+        assertThat(http.bodyText(), equalTo(expected.toString()));
+    }
+
+    @Test
+    public void testCompressedOutput() {
+        var plain = new FakeHttp();
+        var compressed = new FakeHttp();
+        compressed.responseHeaders.put("Content-Encoding", "gzip");
+        for (var http : new FakeHttp[] { plain, compressed }) {
+            try (var output = new HtmlResponseWriter(http.response(), http == compressed)) {
+                output.writeHtml(new Markup("<pre>\n"));
+                for (int idx = 0; idx < 2000; ++idx) {
+                    output.write("Caused by: java.lang.IllegalStateException: <" + idx + ">\n");
+                }
+                output.writeHtml(ByteBuffer.wrap(new byte[3 * HtmlResponseWriter.CHUNK_SIZE]));
+                output.writeHtml("</pre>\n");
+            }
+        }
+        assertThat(compressed.bodyText(), equalTo(plain.bodyText()));
+        assertThat(compressed.writes.size(), greaterThan(1));
+        assertThat(plain.body().length, greaterThan(compressed.body().length));
+    }
+}
@@ -0,0 +1,180 @@
+package io.quarkiverse.logging.dev.runtime;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.Test;
+
+import io.quarkiverse.logging.dev.runtime.LogBuffer.Page;
+
+public class LogBufferTest {
+
+    private static final Instant T0 = Instant.parse("2022-09-01T10:00:00Z");
+
+    @Test
+    public void testSearchByTokens() {
+        var buffer = new LogBuffer(100, 64 * 1024);
+        buffer.add(T0, "INFO", "org.acme.orders", null, "Order 42 shipped to Berlin\n");
+        buffer.add(T0, "WARN", "org.acme.orders", null, "Order 43 delayed, \u001b[38;5;39mBERLIN\u001b[39m depot closed\n");
+        buffer.add(T0, "INFO", "org.acme.users", null, "User a logged in from Berlin\n");
+
+        assertThat(texts(buffer.search("berlin", null, null, null, null, 10)), equalTo(List.of(
+                "User a logged in from Berlin\n",
+                "Order 43 delayed, \u001b[38;5;39mBERLIN\u001b[39m depot closed\n",
+                "Order 42 shipped to Berlin\n")));
+        // Every token must match
+        assertThat(texts(buffer.search("Berlin ORDER", null, null, null, null, 10)), equalTo(List.of(
+                "Order 43 delayed, \u001b[38;5;39mBERLIN\u001b[39m depot closed\n",
+                "Order 42 shipped to Berlin\n")));
+        assertThat(texts(buffer.search("depot 42", null, null, null, null, 10)), equalTo(List.of()));
+        // Escape sequences are not tokens, nor are single characters
+        assertThat(texts(buffer.search("39m", null, null, null, null, 10)), equalTo(List.of()));
+        assertThat(texts(buffer.search("user a", null, null, null, null, 10)).size(), equalTo(1));
+        assertThat(texts(buffer.search("unknown", null, null, null, null, 10)), equalTo(List.of()));
+    }
+
+    @Test
+    public void testSearchByLevelLoggerAndTrace() {
+        var buffer = new LogBuffer(100, 64 * 1024);
+        buffer.add(T0, "INFO", "org.acme.orders", "trace1", "Order received\n");
+        buffer.add(T0, "ERROR", "org.acme.payments", "trace1", "Payment declined\n");
+        buffer.add(T0, "ERROR", "org.acme.orders", "trace2", "Order rejected\n");
+        buffer.add(T0, "INFO", "org.acme.orders", "trace2", "Order received\n");
+
+        assertThat(texts(buffer.search(null, "error", null, null, null, 10)),
+                equalTo(List.of("Order rejected\n", "Payment declined\n")));
+        assertThat(texts(buffer.search(null, null, "org.acme.payments", null, null, 10)),
+                equalTo(List.of("Payment declined\n")));
+        assertThat(texts(buffer.search(null, null, null, "trace1", null, 10)),
+                equalTo(List.of("Payment declined\n", "Order received\n")));
+        assertThat(texts(buffer.search("order", "ERROR", "org.acme.orders", "trace2", null, 10)),
+                equalTo(List.of("Order rejected\n")));
+        assertThat(texts(buffer.search(null, null, "org.acme", null, null, 10)), equalTo(List.of()));
+
+        var record = buffer.search(null, null, null, "trace1", null, 1).records.get(0);
+        assertThat(record.level, equalTo("ERROR"));
+        assertThat(record.loggerName, equalTo("org.acme.payments"));
+        assertThat(record.traceId, equalTo("trace1"));
+        assertThat(record.instant, equalTo(T0));
+    }
+
+    @Test
+    public void testEvictionByCount() {
+        var buffer = new LogBuffer(3, 64 * 1024);
+        for (int idx = 0; idx < 3; ++idx) {
+            buffer.add(T0.plusSeconds(idx), null, null, null, "record token" + idx);
+        }
+        assertThat(buffer.termCount(), equalTo(4));
+
+        for (int idx = 3; idx < 5; ++idx) {
+            buffer.add(T0.plusSeconds(idx), null, null, null, "record token" + idx);
+        }
+        assertThat(buffer.size(), equalTo(3));
+        // Terms of evicted records are dropped, shared terms are kept
+        assertThat(buffer.termCount(), equalTo(4));
+        assertThat(texts(buffer.search("token0", null, null, null, null, 10)), equalTo(List.of()));
+        assertThat(texts(buffer.search("token1", null, null, null, null, 10)), equalTo(List.of()));
+        assertThat(texts(buffer.search("record", null, null, null, null, 10)),
+                equalTo(List.of("record token4", "record token3", "record token2")));
+        assertThat(texts(buffer.search(null, null, null, null, null, 10)),
+                equalTo(List.of("record token4", "record token3", "record token2")));
+
+        buffer.clear();
+        assertThat(buffer.size(), equalTo(0));
+        assertThat(buffer.termCount(), equalTo(0));
+    }
+
+    @Test
+    public void testEvictionByBytes() {
+        // Room for three records of 20 bytes
+        var buffer = new LogBuffer(100, 64);
+        for (int idx = 0; idx < 10; ++idx) {
+            buffer.add(T0, "INFO", null, null, String.format("record %02d ü payload", idx));
+            assertThat(buffer.size(), equalTo(Math.min(idx + 1, 3)));
+        }
+        // Read back across the end of the circular buffer
+        assertThat(texts(buffer.search(null, null, null, null, null, 10)), equalTo(List.of(
+                "record 09 ü payload",
+                "record 08 ü payload",
+                "record 07 ü payload")));
+        assertThat(texts(buffer.search("record", "INFO", null, null, null, 10)).size(), equalTo(3));
+        // record, payload, the three numbers and the level
+        assertThat(buffer.termCount(), equalTo(6));
+
+        // Larger than the whole buffer, so not kept
+        buffer.add(T0, "INFO", null, null, "x".repeat(65));
+        assertThat(buffer.size(), equalTo(3));
+
+        // A record of the whole buffer's size evicts every other one
+        buffer.add(T0, "INFO", null, null, "y".repeat(64));
+        assertThat(buffer.size(), equalTo(1));
+        assertThat(texts(buffer.search(null, null, null, null, null, 10)), equalTo(List.of("y".repeat(64))));
+    }
+
+    @Test
+    public void testPostingsAreTrimmedAsRecordsAreEvicted() {
+        var buffer = new LogBuffer(10, 1024 * 1024);
+        for (int idx = 0; idx < 10_000; ++idx) {
+            buffer.add(T0, idx % 2 == 0 ? "INFO" : "DEBUG", null, null, "common text " + idx);
+        }
+        assertThat(buffer.size(), equalTo(10));
+        assertThat(buffer.termCount(), equalTo(2 + 10 + 2));
+        assertThat(texts(buffer.search("common", "info", null, null, null, 3)),
+                equalTo(List.of("common text 9998", "common text 9996", "common text 9994")));
+    }
+
+    @Test
+    public void testPagesAreStableWhileRecordsArrive() {
+        assertPagesAreStable(null);
+        assertPagesAreStable("item");
+    }
+
+    @Test
+    public void testCursorOfEvictedRecords() {
+        var buffer = new LogBuffer(5, 64 * 1024);
+        for (int idx = 0; idx < 5; ++idx) {
+            buffer.add(T0, "INFO", null, null, "item " + idx);
+        }
+        var first = buffer.search("item", null, null, null, null, 2);
+        for (int idx = 5; idx < 7; ++idx) {
+            buffer.add(T0, "INFO", null, null, "item " + idx);
+        }
+        // The oldest records of the next page have since been evicted
+        assertThat(texts(buffer.search("item", null, null, null, first.nextCursor, 10)), equalTo(List.of("item 2")));
+        assertThat(texts(buffer.search(null, null, null, null, first.nextCursor, 10)), equalTo(List.of("item 2")));
+
+        assertThrows(IllegalArgumentException.class, () -> buffer.search("item", null, null, null, "abc", 10));
+    }
+
+    @Test
+    public void testInvalidLimits() {
+        assertThrows(IllegalArgumentException.class, () -> new LogBuffer(0, 1024));
+        assertThrows(IllegalArgumentException.class, () -> new LogBuffer(10, 0));
+    }
+
+    private static void assertPagesAreStable(String query) {
+        var buffer = new LogBuffer(100, 64 * 1024);
+        for (int idx = 0; idx < 10; ++idx) {
+            buffer.add(T0, "INFO", null, null, "item " + idx);
+        }
+        var first = buffer.search(query, null, null, null, null, 4);
+        assertThat(texts(first), equalTo(List.of("item 9", "item 8", "item 7", "item 6")));
+
+        buffer.add(T0, "INFO", null, null, "item new");
+
+        var second = buffer.search(query, null, null, null, first.nextCursor, 4);
+        assertThat(texts(second), equalTo(List.of("item 5", "item 4", "item 3", "item 2")));
+        var third = buffer.search(query, null, null, null, second.nextCursor, 4);
+        assertThat(texts(third), equalTo(List.of("item 1", "item 0")));
+        assertThat(third.nextCursor, equalTo(null));
+    }
+
+    private static List<String> texts(Page page) {
+        return page.records.stream().map(record -> record.formatted).collect(Collectors.toList());
+    }
+}
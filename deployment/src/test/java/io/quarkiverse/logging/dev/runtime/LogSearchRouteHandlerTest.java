@@ -0,0 +1,168 @@
+package io.quarkiverse.logging.dev.runtime;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.not;
+
+import java.time.Instant;
+import java.util.Map;
+
+import org.jboss.logmanager.ExtLogRecord;
+import org.jboss.logmanager.Level;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class LogSearchRouteHandlerTest {
+
+    private static final Instant T0 = Instant.parse("2022-09-01T10:00:00Z");
+
+    @BeforeEach
+    public void enable() {
+        LogCollector.configure(true, 100, 64 * 1024);
+        add(Level.INFO, "org.acme.orders", "trace1", "\u001b[38;5;39mOrder\u001b[39m received\n\n", 0);
+        add(Level.ERROR, "org.acme.payments", "trace1", "Payment <declined> & refunded\n\n", 1);
+        add(Level.ERROR, "org.acme.orders", null, "Order rejected\n\n", 2);
+    }
+
+    @AfterEach
+    public void disable() {
+        LogCollector.configure(false, 0, 0);
+    }
+
+    @Test
+    public void testJson() {
+        var http = get("q", "order", "format", "json");
+        assertThat(http.statusCode, equalTo(200));
+        assertThat(http.responseHeaders.get("Content-Type"), equalTo("application/json; charset=utf-8"));
+        assertThat(http.responseHeaders.get("Cache-Control"), equalTo("no-store"));
+        assertThat(http.bodyText(), equalTo("{\"records\":["
+                + "{\"time\":\"2022-09-01T10:00:02Z\",\"level\":\"ERROR\",\"logger\":\"org.acme.orders\",\"traceId\":null,"
+                + "\"text\":\"Order rejected\"},"
+                + "{\"time\":\"2022-09-01T10:00:00Z\",\"level\":\"INFO\",\"logger\":\"org.acme.orders\",\"traceId\":\"trace1\","
+                + "\"text\":\"Order received\"}"
+                + "],\"nextCursor\":null}"));
+
+        var accepted = new FakeHttp().queryParam("q", "order").header("Accept", "application/json");
+        new LogSearchRouteHandler().handle(accepted.routingContext());
+        assertThat(accepted.bodyText(), equalTo(http.bodyText()));
+    }
+
+    @Test
+    public void testFilters() {
+        assertThat(get("level", "error", "format", "json").bodyText(), not(containsString("Order received")));
+        assertThat(get("level", "error", "format", "json").bodyText(), containsString("Payment"));
+
+        var byLogger = get("logger", "org.acme.payments", "format", "json").bodyText();
+        assertThat(byLogger, containsString("Payment"));
+        assertThat(byLogger, not(containsString("Order")));
+
+        var byTrace = get("traceId", "trace1", "format", "json").bodyText();
+        assertThat(byTrace, containsString("Payment"));
+        assertThat(byTrace, containsString("Order received"));
+        assertThat(byTrace, not(containsString("Order rejected")));
+
+        var combined = get("q", "order", "level", "ERROR", "logger", "org.acme.orders", "format", "json").bodyText();
+        assertThat(combined, containsString("Order rejected"));
+        assertThat(combined, not(containsString("Order received")));
+    }
+
+    @Test
+    public void testPagesAreStableWhileRecordsArrive() {
+        var first = get("limit", "2", "format", "json").bodyText();
+        assertThat(first, containsString("Order rejected"));
+        assertThat(first, containsString("Payment"));
+        var cursor = cursor(first);
+
+        add(Level.INFO, "org.acme.orders", null, "Order received again\n", 3);
+
+        var second = get("limit", "2", "cursor", cursor, "format", "json").bodyText();
+        assertThat(second, containsString("\"text\":\"Order received\""));
+        assertThat(second, not(containsString("again")));
+        assertThat(second, containsString("\"nextCursor\":null"));
+    }
+
+    @Test
+    public void testHtml() {
+        var http = get("q", "<declined>", "limit", "1");
+        assertThat(http.statusCode, equalTo(200));
+        assertThat(http.responseHeaders.get("Content-Type"), equalTo("text/html; charset=utf-8"));
+        assertThat(http.ended, equalTo(true));
+
+        var body = http.bodyText();
+        assertThat(body, containsString("<input name=\"q\" placeholder=\"Text\" value=\"&lt;declined&gt;\">"));
+        assertThat(body, containsString("Payment &lt;declined&gt; &amp; refunded"));
+        assertThat(body, not(containsString("<declined>")));
+        assertThat(body, containsString("<a href=\"?traceId=trace1&amp;limit=1\">All records of trace trace1</a>"));
+
+        var compressed = new FakeHttp()
+                .queryParam("q", "<declined>")
+                .queryParam("limit", "1")
+                .header("Accept-Encoding", "gzip");
+        new LogSearchRouteHandler().handle(compressed.routingContext());
+        assertThat(compressed.responseHeaders.get("Content-Encoding"), equalTo("gzip"));
+        assertThat(compressed.bodyText(), equalTo(body));
+
+        assertThat(get("q", "unknown").bodyText(), containsString("No log records found"));
+    }
+
+    @Test
+    public void testOlderRecordsLink() {
+        var body = get("level", "ERROR", "limit", "1").bodyText();
+        assertThat(body, containsString("<a href=\"?level=ERROR&amp;limit=1&amp;cursor="));
+        assertThat(get("level", "ERROR").bodyText(), not(containsString("Older records")));
+    }
+
+    @Test
+    public void testInvalidParameters() {
+        assertBadRequest("limit", "0");
+        assertBadRequest("limit", "-5");
+        assertBadRequest("limit", "all");
+        assertBadRequest("cursor", "not-a-cursor");
+
+        // Limits above the maximum are capped
+        assertThat(get("limit", "1000000").statusCode, equalTo(200));
+    }
+
+    @Test
+    public void testDisabled() {
+        LogCollector.configure(false, 0, 0);
+        var http = get("q", "order");
+        assertThat(http.statusCode, equalTo(404));
+        assertThat(http.ended, equalTo(true));
+        assertThat(http.bodyText(), containsString("quarkus.log.dev.search.enabled=true"));
+    }
+
+    private static void assertBadRequest(String name, String value) {
+        var http = get(name, value);
+        assertThat(name + "=" + value, http.statusCode, equalTo(400));
+        assertThat(http.statusMessage, equalTo("BAD REQUEST"));
+        assertThat(http.ended, equalTo(true));
+        assertThat(http.bodyText().isEmpty(), equalTo(false));
+    }
+
+    private static String cursor(String body) {
+        var start = body.indexOf("\"nextCursor\":\"") + "\"nextCursor\":\"".length();
+        return body.substring(start, body.indexOf('"', start));
+    }
+
+    private static void add(Level level, String loggerName, String traceId, String formatted, int seconds) {
+        var record = new ExtLogRecord(level, formatted, LogSearchRouteHandlerTest.class.getName());
+        record.setLoggerName(loggerName);
+        record.setInstant(T0.plusSeconds(seconds));
+        if (traceId != null) {
+            record.setMdc(Map.of(DevFormatter.MDC_TRACE_ID_NAME, traceId));
+        }
+        LogCollector.add(record, formatted);
+    }
+
+    private static FakeHttp get(String... params) {
+        var http = new FakeHttp();
+        for (int idx = 0; idx < params.length; idx += 2) {
+            http.queryParam(params[idx], params[idx + 1]);
+        }
+        new LogSearchRouteHandler().handle(http.routingContext());
+        return http;
+    }
+}
@@ -0,0 +1,112 @@
+package io.quarkiverse.logging.dev.runtime;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.not;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+public class LogStreamTest {
+
+    @AfterEach
+    public void restoreQueueLength() {
+        LogStream.configure(LogStream.DEFAULT_QUEUE_LENGTH);
+    }
+
+    @Test
+    public void testRecordsAreWrittenAsEvents() {
+        var http = subscribe();
+        try {
+            LogStream.publish("first line\nsecond line\n");
+            LogStream.publish("");
+            assertThat(http.runTasks(), equalTo(1));
+            assertThat(http.bodyText(), equalTo("data: first line\ndata: second line\n\n"));
+        } finally {
+            http.close();
+        }
+    }
+
+    @Test
+    public void testRecordsAreBatchedIntoOneTask() {
+        var http = subscribe();
+        try {
+            for (int idx = 0; idx < 10; ++idx) {
+                LogStream.publish("record " + idx);
+            }
+            assertThat(http.runTasks(), equalTo(1));
+            assertThat(http.writes.size(), equalTo(1));
+            assertThat(http.bodyText(), containsString("data: record 9\n\n"));
+
+            LogStream.publish("record 10");
+            assertThat(http.runTasks(), equalTo(1));
+            assertThat(http.writes.size(), equalTo(2));
+        } finally {
+            http.close();
+        }
+    }
+
+    @Test
+    public void testSlowSubscriberDropsOldestRecords() {
+        LogStream.configure(3);
+        var http = subscribe();
+        try {
+            http.writeQueueFull = true;
+            for (int idx = 0; idx < 5; ++idx) {
+                LogStream.publish("record " + idx);
+            }
+            http.runTasks();
+            assertThat(http.writes.size(), equalTo(0));
+
+            http.drain();
+            var body = http.bodyText();
+            assertThat(body, not(containsString("record 0")));
+            assertThat(body, not(containsString("record 1")));
+            assertThat(body, equalTo("event: dropped\n" +
+                    "data: 2 log records were dropped, the log stream fell behind\n\n" +
+                    "data: record 2\n\n" +
+                    "data: record 3\n\n" +
+                    "data: record 4\n\n"));
+
+            // The count restarts once reported
+            LogStream.publish("record 5");
+            http.runTasks();
+            assertThat(http.bodyText(), not(containsString("data: 0 log records")));
+            assertThat(http.bodyText(), containsString("data: record 5\n\n"));
+        } finally {
+            http.close();
+        }
+    }
+
+    @Test
+    public void testClosedSubscriberIsRemoved() {
+        var first = subscribe();
+        var second = subscribe();
+        try {
+            LogStream.publish("both");
+            first.runTasks();
+            second.runTasks();
+            assertThat(first.bodyText(), equalTo("data: both\n\n"));
+            assertThat(second.bodyText(), equalTo("data: both\n\n"));
+
+            first.close();
+            LogStream.publish("second only");
+            assertThat(first.runTasks(), equalTo(0));
+            second.runTasks();
+            assertThat(first.bodyText(), equalTo("data: both\n\n"));
+            assertThat(second.bodyText(), equalTo("data: both\n\ndata: second only\n\n"));
+        } finally {
+            first.close();
+            second.close();
+        }
+        assertThat(LogStream.hasSubscribers(), equalTo(false));
+    }
+
+    private static FakeHttp subscribe() {
+        var http = new FakeHttp();
+        LogStream.subscribe(http.context(), http.response());
+        assertThat(LogStream.hasSubscribers(), equalTo(true));
+        return http;
+    }
+}
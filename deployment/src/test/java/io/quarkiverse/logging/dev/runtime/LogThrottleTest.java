@@ -0,0 +1,179 @@
+package io.quarkiverse.logging.dev.runtime;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.lessThanOrEqualTo;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.notNullValue;
+import static org.hamcrest.Matchers.nullValue;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.logging.Level;
+
+import org.junit.jupiter.api.Test;
+
+public class LogThrottleTest {
+
+    private static final Instant T0 = Instant.parse("2022-09-01T10:00:00Z");
+
+    @Test
+    public void testBurst() {
+        var throttle = new LogThrottle(10, 3, Duration.ofSeconds(5), 16);
+        var bucket = throttle.bucket("org.acme", "Order {0} received", T0);
+        assertThat(bucket.tryAcquire(T0), equalTo(true));
+        assertThat(bucket.tryAcquire(T0), equalTo(true));
+        assertThat(bucket.tryAcquire(T0), equalTo(true));
+        assertThat(bucket.tryAcquire(T0), equalTo(false));
+        assertThat(bucket.tryAcquire(at(99)), equalTo(false));
+
+        // One token every 100ms
+        assertThat(bucket.tryAcquire(at(100)), equalTo(true));
+        assertThat(bucket.tryAcquire(at(100)), equalTo(false));
+
+        // Full again 300ms after the last token was taken
+        assertThat(bucket.tryAcquire(at(400)), equalTo(true));
+        assertThat(bucket.tryAcquire(at(400)), equalTo(true));
+        assertThat(bucket.tryAcquire(at(400)), equalTo(true));
+        assertThat(bucket.tryAcquire(at(400)), equalTo(false));
+    }
+
+    @Test
+    public void testRate() {
+        var throttle = new LogThrottle(10, 1, Duration.ofSeconds(5), 16);
+        var bucket = throttle.bucket("org.acme", "Order {0} received", T0);
+        var acquired = 0;
+        for (int millis = 0; millis < 10_000; ++millis) {
+            if (bucket.tryAcquire(at(millis))) {
+                ++acquired;
+            }
+        }
+        assertThat(acquired, equalTo(100));
+
+        // Late records are throttled by their own instants
+        var late = throttle.bucket("org.acme", "Order {0} shipped", T0);
+        assertThat(late.tryAcquire(at(1_000)), equalTo(true));
+        assertThat(late.tryAcquire(at(500)), equalTo(false));
+    }
+
+    @Test
+    public void testSummaryInterval() {
+        var throttle = new LogThrottle(1, 1, Duration.ofSeconds(5), 16);
+        var bucket = throttle.bucket("org.acme", "Order {0} received", T0);
+        assertThat(bucket.takeSummary(T0), equalTo(0L));
+
+        assertThat(bucket.suppress(T0, Level.INFO), equalTo(0L));
+        assertThat(bucket.suppress(at(1_000), Level.INFO), equalTo(0L));
+        assertThat(bucket.takeSummary(at(4_999)), equalTo(0L));
+        assertThat(bucket.takeSummary(at(5_000)), equalTo(2L));
+        assertThat(bucket.takeSummary(at(20_000)), equalTo(0L));
+
+        // The next interval starts with the next suppressed record
+        assertThat(bucket.suppress(at(20_000), Level.INFO), equalTo(0L));
+        assertThat(bucket.suppress(at(21_000), Level.INFO), equalTo(0L));
+        assertThat(bucket.suppress(at(25_000), Level.INFO), equalTo(3L));
+        assertThat(bucket.takeSummary(at(40_000)), equalTo(0L));
+    }
+
+    @Test
+    public void testDueSummaries() {
+        var throttle = new LogThrottle(1, 1, Duration.ofSeconds(5), 16);
+        var bucket = throttle.bucket("org.acme", "Order {0} received", T0);
+        bucket.tryAcquire(T0);
+        bucket.suppress(T0, Level.WARNING);
+        bucket.suppress(at(100), Level.WARNING);
+        assertThat(throttle.takeDueSummaries(at(4_999)), hasSize(0));
+
+        // Taken without another record of the call site, at most once per second
+        assertThat(throttle.takeDueSummaries(at(5_000)), hasSize(0));
+        var summaries = throttle.takeDueSummaries(at(6_000));
+        assertThat(summaries, hasSize(1));
+        assertThat(summaries.get(0).loggerName, equalTo("org.acme"));
+        assertThat(summaries.get(0).level, equalTo(Level.WARNING));
+        assertThat(summaries.get(0).suppressed, equalTo(2L));
+        assertThat(throttle.takeDueSummaries(at(20_000)), hasSize(0));
+    }
+
+    @Test
+    public void testAllSummaries() {
+        var throttle = new LogThrottle(1, 1, Duration.ofSeconds(5), 16);
+        var first = throttle.bucket("org.acme.first", "Order {0} received", T0);
+        var second = throttle.bucket("org.acme.second", "Order {0} received", T0);
+        first.tryAcquire(T0);
+        first.suppress(T0, Level.INFO);
+        second.tryAcquire(T0);
+
+        var summaries = throttle.takeAllSummaries();
+        assertThat(summaries, hasSize(1));
+        assertThat(summaries.get(0).loggerName, equalTo("org.acme.first"));
+        assertThat(summaries.get(0).suppressed, equalTo(1L));
+        assertThat(throttle.takeAllSummaries(), hasSize(0));
+    }
+
+    @Test
+    public void testCallSites() {
+        var throttle = new LogThrottle(1, 1, Duration.ofSeconds(5), 16);
+        var bucket = throttle.bucket("org.acme", "Order {0} received", T0);
+        assertThat(throttle.bucket("org.acme", "Order {0} received", T0), sameInstance(bucket));
+        assertThat(throttle.bucket("org.acme", "Order {0} shipped", T0), not(sameInstance(bucket)));
+        assertThat(throttle.bucket("org.other", "Order {0} received", T0), not(sameInstance(bucket)));
+        assertThat(throttle.bucket(null, null, T0), sameInstance(throttle.bucket(null, null, T0)));
+    }
+
+    @Test
+    public void testMaxCallSites() {
+        var throttle = new LogThrottle(10, 1, Duration.ofSeconds(5), 2);
+        var first = throttle.bucket("org.acme.first", "Order {0} received", T0);
+        var second = throttle.bucket("org.acme.second", "Order {0} received", T0);
+        first.tryAcquire(T0);
+        second.tryAcquire(T0);
+        second.suppress(T0, Level.INFO);
+
+        // Both buckets are in use, so not dropped
+        assertThat(throttle.bucket("org.acme.third", "Order {0} received", T0), nullValue());
+        assertThat(throttle.bucket("org.acme.first", "Order {0} received", T0), sameInstance(first));
+
+        // The first bucket is full again, but idle buckets are dropped at most once per second
+        assertThat(throttle.bucket("org.acme.third", "Order {0} received", at(500)), nullValue());
+        var third = throttle.bucket("org.acme.third", "Order {0} received", at(1_000));
+        assertThat(third, notNullValue());
+
+        // The second bucket has suppressed records to report, so is kept
+        assertThat(throttle.loggerCount(), equalTo(2));
+        assertThat(throttle.bucket("org.acme.second", "Order {0} received", at(1_000)), sameInstance(second));
+        assertThat(throttle.bucket("org.acme.first", "Order {0} received", at(1_000)), nullValue());
+
+        // Until they are reported
+        assertThat(throttle.takeDueSummaries(at(5_000)), hasSize(1));
+        assertThat(throttle.bucket("org.acme.first", "Order {0} received", at(5_000)), notNullValue());
+        assertThat(throttle.bucket("org.acme.second", "Order {0} received", at(5_000)), not(sameInstance(second)));
+    }
+
+    @Test
+    public void testIdleLoggersAreDropped() {
+        var throttle = new LogThrottle(1, 1, Duration.ofSeconds(5), 16);
+        for (int idx = 0; idx < 10_000; ++idx) {
+            var instant = T0.plusSeconds(idx);
+            var bucket = throttle.bucket("org.acme.Session" + idx, "Session closed", instant);
+            if (bucket != null) {
+                bucket.tryAcquire(instant);
+            }
+            assertThat(throttle.loggerCount(), lessThanOrEqualTo(16));
+        }
+    }
+
+    @Test
+    public void testInvalidArguments() {
+        assertThrows(IllegalArgumentException.class, () -> new LogThrottle(0, 1, Duration.ofSeconds(5), 16));
+        assertThrows(IllegalArgumentException.class, () -> new LogThrottle(Double.NaN, 1, Duration.ofSeconds(5), 16));
+        assertThrows(IllegalArgumentException.class, () -> new LogThrottle(1, 0, Duration.ofSeconds(5), 16));
+        assertThrows(IllegalArgumentException.class, () -> new LogThrottle(1, 1, Duration.ofSeconds(5), 0));
+    }
+
+    private static Instant at(long millis) {
+        return T0.plusMillis(millis);
+    }
+}
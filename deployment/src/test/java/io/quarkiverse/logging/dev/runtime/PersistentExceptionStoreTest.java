@@ -0,0 +1,314 @@
+package io.quarkiverse.logging.dev.runtime;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.Matchers.lessThanOrEqualTo;
+import static org.hamcrest.Matchers.notNullValue;
+import static org.hamcrest.Matchers.nullValue;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.io.StringWriter;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import io.quarkiverse.logging.dev.runtime.PersistentExceptionStore.PersistedException;
+
+public class PersistentExceptionStoreTest {
+
+    // Segments of 64KB
+    private static final long MAX_SIZE = 4 * 64 * 1024;
+
+    @TempDir
+    Path directory;
+
+    @Test
+    public void testFindAcrossReopen() {
+        var first = new IllegalStateException("Order <42> & \"friends\"");
+        var second = new IllegalArgumentException("Invalid tenant");
+        var store = new PersistentExceptionStore(directory, MAX_SIZE, id -> true);
+        store.put("1", counted(first));
+        store.put("2", counted(second));
+        store.close();
+
+        var reopened = new PersistentExceptionStore(directory, MAX_SIZE, id -> true);
+        assertPersisted(reopened.find("1"), first);
+        assertPersisted(reopened.find("2"), second);
+        assertThat(reopened.find("3"), nullValue());
+        assertThat(reopened.find("not-an-id"), nullValue());
+
+        var html = UTF_8.decode(reopened.find("1").stackTraceHtml()).toString();
+        assertThat(html, containsString("Order &lt;42&gt; &amp; &quot;friends&quot;"));
+    }
+
+    @Test
+    public void testIndexIsRebuiltFromSegments() throws IOException {
+        var first = new IllegalStateException("First");
+        var replacement = new IllegalStateException("Replacement");
+        var store = new PersistentExceptionStore(directory, MAX_SIZE, id -> true);
+        store.put("1", counted(first));
+        store.put("1", counted(replacement));
+        store.close();
+
+        Files.delete(directory.resolve("index.dat"));
+        var reopened = new PersistentExceptionStore(directory, MAX_SIZE, id -> true);
+        // Later records replace earlier ones
+        assertPersisted(reopened.find("1"), replacement);
+    }
+
+    @Test
+    public void testPutIsWrittenByFlush() {
+        var store = new PersistentExceptionStore(directory, MAX_SIZE, id -> true);
+        var exception = counted(new IllegalStateException("Queued"));
+        store.put("7", exception);
+        store.flush();
+        assertPersisted(store.find("7"), exception.exception);
+        assertThat(exception.released.get(), equalTo(1));
+        store.close();
+    }
+
+    @Test
+    public void testSegmentsRoll() throws IOException {
+        var store = new PersistentExceptionStore(directory, MAX_SIZE, id -> true);
+        var exceptions = new ArrayList<Throwable>();
+        for (int idx = 0; idx < 20; ++idx) {
+            var exception = exception("Exception " + idx, 100);
+            exceptions.add(exception);
+            store.put(Integer.toString(idx), counted(exception));
+        }
+        store.flush();
+
+        assertThat(segmentFiles().size(), greaterThan(1));
+        for (int idx = 0; idx < exceptions.size(); ++idx) {
+            assertPersisted(store.find(Integer.toString(idx)), exceptions.get(idx));
+        }
+        store.close();
+    }
+
+    @Test
+    public void testCompactionKeepsOnlyLiveExceptions() throws IOException {
+        var live = Set.of("1", "2");
+        var store = new PersistentExceptionStore(directory, MAX_SIZE, live::contains);
+        var exceptions = new ArrayList<Throwable>();
+        for (int idx = 0; idx < 80; ++idx) {
+            var exception = exception("Exception " + idx, 100);
+            exceptions.add(exception);
+            store.put(Integer.toString(idx), counted(exception));
+        }
+        store.flush();
+
+        assertThat(segmentFiles().size(), lessThanOrEqualTo(PersistentExceptionStore.MAX_SEGMENTS));
+        assertThat(segmentFiles().contains("segment-00000001.dat"), equalTo(false));
+        assertPersisted(store.find("1"), exceptions.get(1));
+        assertPersisted(store.find("2"), exceptions.get(2));
+        assertThat(store.find("0"), nullValue());
+        assertThat(store.find("3"), nullValue());
+        assertPersisted(store.find("79"), exceptions.get(79));
+        store.close();
+
+        // Compacted segments are gone after a restart too
+        var reopened = new PersistentExceptionStore(directory, MAX_SIZE, live::contains);
+        assertPersisted(reopened.find("1"), exceptions.get(1));
+        assertThat(reopened.find("3"), nullValue());
+    }
+
+    @Test
+    public void testFoundExceptionsOutliveCompaction() {
+        var store = new PersistentExceptionStore(directory, MAX_SIZE, id -> false);
+        var first = exception("First", 100);
+        store.put("1", counted(first));
+        store.flush();
+        var found = store.find("1");
+
+        for (int idx = 0; idx < 80; ++idx) {
+            store.put(Integer.toString(100 + idx), counted(exception("Filler " + idx, 100)));
+        }
+        store.flush();
+        assertThat(store.find("1"), nullValue());
+        assertPersisted(found, first);
+        store.close();
+    }
+
+    @Test
+    public void testRetiredSegmentsAreDeletedOnOpen() throws IOException {
+        var exception = new IllegalStateException("Kept");
+        var store = new PersistentExceptionStore(directory, MAX_SIZE, id -> true);
+        store.put("1", counted(exception));
+        store.close();
+
+        // As left by a compaction that could not delete the file of a segment still mapped
+        var retired = ByteBuffer.allocate(64 * 1024);
+        retired.putInt(0, 0x4c44_5254);
+        Files.write(directory.resolve("segment-00000000.dat"), retired.array());
+
+        var reopened = new PersistentExceptionStore(directory, MAX_SIZE, id -> true);
+        assertPersisted(reopened.find("1"), exception);
+        assertThat(segmentFiles(), equalTo(Set.of("segment-00000001.dat")));
+        reopened.close();
+    }
+
+    @Test
+    public void testIndexCollisions() {
+        // Ids probing from the same slot, and one whose own slot is taken by them
+        var colliding = collidingIds(3);
+        var next = idWithHome(home(colliding.get(0)) + 1);
+        var ids = new ArrayList<>(colliding);
+        ids.add(next);
+
+        var removed = Integer.toUnsignedString(colliding.get(1));
+        var store = new PersistentExceptionStore(directory, MAX_SIZE, id -> !id.equals(removed) && !id.startsWith("9"));
+        var exceptions = new ArrayList<Throwable>();
+        for (var id : ids) {
+            var exception = exception("Exception " + id, 3);
+            exceptions.add(exception);
+            store.put(Integer.toUnsignedString(id), counted(exception));
+        }
+        store.flush();
+        for (int idx = 0; idx < ids.size(); ++idx) {
+            assertPersisted(store.find(Integer.toUnsignedString(ids.get(idx))), exceptions.get(idx));
+        }
+
+        // Compacts the first segment, removing one id from the middle of the probe sequence
+        for (int idx = 0; idx < 60; ++idx) {
+            store.put(Integer.toString(900_000 + idx), counted(exception("Filler " + idx, 100)));
+        }
+        store.flush();
+        for (int idx = 0; idx < ids.size(); ++idx) {
+            var id = Integer.toUnsignedString(ids.get(idx));
+            if (id.equals(removed)) {
+                assertThat(store.find(id), nullValue());
+            } else {
+                assertPersisted(store.find(id), exceptions.get(idx));
+            }
+        }
+        store.close();
+    }
+
+    @Test
+    public void testTooLargeIsNotStored() {
+        var store = new PersistentExceptionStore(directory, MAX_SIZE, id -> true);
+        var exception = counted(exception("Too large", 2000));
+        store.put("1", exception);
+        store.flush();
+        assertThat(store.find("1"), nullValue());
+        assertThat(exception.released.get(), equalTo(1));
+        store.close();
+    }
+
+    @Test
+    public void testUnusableDirectoryDisablesStore() throws IOException {
+        var file = Files.createFile(directory.resolve("file"));
+        var store = new PersistentExceptionStore(file, MAX_SIZE, id -> true);
+        var first = counted(new IllegalStateException("First"));
+        store.put("1", first);
+        store.flush();
+        assertThat(store.find("1"), nullValue());
+        assertThat(first.released.get(), equalTo(1));
+
+        // Released without being queued
+        var second = counted(new IllegalStateException("Second"));
+        store.put("2", second);
+        assertThat(second.released.get(), equalTo(1));
+        store.close();
+    }
+
+    private static void assertPersisted(PersistedException persisted, Throwable exception) {
+        assertThat(persisted, notNullValue());
+        assertThat(persisted.getClassName(), equalTo(exception.getClass().getName()));
+        var expected = new StringWriter();
+        exception.printStackTrace(new PrintWriter(expected));
+        var actual = new StringWriter();
+        persisted.printStackTrace(new PrintWriter(actual));
+        assertThat(actual.toString(), equalTo(expected.toString()));
+    }
+
+    private Set<String> segmentFiles() throws IOException {
+        try (var files = Files.list(directory)) {
+            return files.map(path -> path.getFileName().toString())
+                    .filter(name -> name.startsWith("segment-"))
+                    .collect(Collectors.toCollection(HashSet::new));
+        }
+    }
+
+    private static Throwable exception(String message, int depth) {
+        var exception = new IllegalStateException(message);
+        exception.setStackTrace(ExceptionsRouteHandlerTest.trace(message.replace(' ', '_'), depth));
+        return exception;
+    }
+
+    private static List<Integer> collidingIds(int count) {
+        var ids = new ArrayList<Integer>();
+        var home = home(1);
+        for (int id = 1; ids.size() < count; ++id) {
+            if (home(id) == home) {
+                ids.add(id);
+            }
+        }
+        return ids;
+    }
+
+    private static int idWithHome(int home) {
+        for (int id = 1;; ++id) {
+            if (home(id) == (home & 0xffff)) {
+                return id;
+            }
+        }
+    }
+
+    /**
+     * Slot at which the store starts probing for an id.
+     */
+    private static int home(int id) {
+        var key = (id & 0xffff_ffffL) + 1;
+        return (int) ((key * 0x9e37_79b9_7f4a_7c15L) >>> 32) & 0xffff;
+    }
+
+    private static CountedException counted(Throwable exception) {
+        return new CountedException(exception);
+    }
+
+    private static final class CountedException implements CollectedException {
+
+        final Throwable exception;
+        final CollectedException delegate;
+        final AtomicInteger released = new AtomicInteger();
+
+        CountedException(Throwable exception) {
+            this.exception = exception;
+            this.delegate = CollectedException.live(exception);
+        }
+
+        @Override
+        public String getClassName() {
+            return delegate.getClassName();
+        }
+
+        @Override
+        public void printStackTrace(PrintWriter writer) {
+            delegate.printStackTrace(writer);
+        }
+
+        @Override
+        public long estimatedSize() {
+            return 0;
+        }
+
+        @Override
+        public void release() {
+            released.incrementAndGet();
+        }
+    }
+}
@@ -0,0 +1,134 @@
+package io.quarkiverse.logging.dev.runtime;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.Random;
+import java.util.TimeZone;
+
+import org.junit.jupiter.api.Test;
+
+public class TimestampCacheTest {
+
+    private static final DateTimeFormatter EXPECTED = DateTimeFormatter.ofPattern("HH:mm:ss");
+    private static final String[] ZONES = {
+            "UTC",
+            "America/New_York",
+            "Europe/Berlin",
+            // Half hour offset
+            "Asia/Kolkata",
+            // Quarter hour offset
+            "Asia/Kathmandu",
+            // Half hour daylight saving time shift
+            "Australia/Lord_Howe",
+    };
+
+    @Test
+    public void testColors() {
+        var color = Color.of(0x00, 0xaa, 0xff);
+        var instant = Instant.parse("2022-03-27T10:15:30.042Z");
+        withDefaultZone("UTC", () -> {
+            assertThat(render(TimestampCache.seconds(color, ColorMode.NONE), instant), equalTo("10:15:30"));
+            assertThat(render(TimestampCache.seconds(color, ColorMode.TRUECOLOR), instant),
+                    equalTo("\u001b[38;2;0;170;255m10:15:30\u001b[39m"));
+            assertThat(render(TimestampCache.seconds(color, ColorMode.ANSI_256), instant),
+                    equalTo("\u001b[38;5;39m10:15:30\u001b[39m"));
+        });
+    }
+
+    @Test
+    public void testDaylightSavingTimeTransitions() {
+        var cache = TimestampCache.seconds(Color.of(0, 0, 0), ColorMode.NONE);
+        // Seconds around spring forward and fall back in each zone
+        assertTransitions(cache, "America/New_York", "2022-03-13T06:59:58Z", "2022-11-06T05:59:58Z");
+        assertTransitions(cache, "Europe/Berlin", "2022-03-27T00:59:58Z", "2022-10-30T00:59:58Z");
+        assertTransitions(cache, "Australia/Lord_Howe", "2022-04-02T14:59:58Z", "2022-10-01T15:29:58Z");
+    }
+
+    @Test
+    public void testFallBackRepeatsLocalTime() {
+        var cache = TimestampCache.seconds(Color.of(0, 0, 0), ColorMode.NONE);
+        withDefaultZone("Europe/Berlin", () -> {
+            // The same local hour is rendered twice, an hour apart
+            assertThat(render(cache, Instant.parse("2022-10-30T00:30:00Z")), equalTo("02:30:00"));
+            assertThat(render(cache, Instant.parse("2022-10-30T01:30:00Z")), equalTo("02:30:00"));
+            assertThat(render(cache, Instant.parse("2022-10-30T02:30:00Z")), equalTo("03:30:00"));
+        });
+        withDefaultZone("Asia/Kathmandu", () -> {
+            assertThat(render(cache, Instant.parse("2022-10-30T02:30:01Z")), equalTo("08:15:01"));
+        });
+    }
+
+    @Test
+    public void testZoneChangesApplyFromTheNextSecond() {
+        var cache = TimestampCache.seconds(Color.of(0, 0, 0), ColorMode.NONE);
+        var instant = Instant.parse("2022-10-30T02:30:00.250Z");
+        withDefaultZone("UTC", () -> {
+            assertThat(render(cache, instant), equalTo("02:30:00"));
+        });
+        withDefaultZone("Asia/Kathmandu", () -> {
+            // The zone is not looked up again within a rendered second
+            assertThat(render(cache, instant.plusMillis(500)), equalTo("02:30:00"));
+            assertThat(render(cache, instant.plusMillis(1000)), equalTo("08:15:01"));
+        });
+    }
+
+    @Test
+    public void testSwitchingZones() {
+        var cache = TimestampCache.seconds(Color.of(0, 0, 0), ColorMode.NONE);
+        var random = new Random(42);
+        // Spans a year, so every zone goes through its transitions
+        var start = Instant.parse("2022-01-01T00:00:00Z").toEpochMilli();
+        var span = 366L * 24 * 60 * 60 * 1000;
+        var original = TimeZone.getDefault();
+        try {
+            var instant = Instant.ofEpochMilli(start);
+            for (int idx = 0; idx < 500_000; ++idx) {
+                // The zone applies from the next second rendered, so zones are switched along with a jump
+                var switchZone = idx % 1000 == 0;
+                if (switchZone) {
+                    TimeZone.setDefault(TimeZone.getTimeZone(ZONES[random.nextInt(ZONES.length)]));
+                }
+                // Mostly records within the same few seconds, sometimes a jump
+                instant = switchZone || random.nextInt(100) == 0
+                        ? Instant.ofEpochMilli(start + (long) (random.nextDouble() * span))
+                        : instant.plusMillis(random.nextInt(1500) - 500);
+                assertThat(render(cache, instant), equalTo(EXPECTED.format(instant.atZone(ZoneId.systemDefault()))));
+            }
+        } finally {
+            TimeZone.setDefault(original);
+        }
+    }
+
+    private static void assertTransitions(TimestampCache cache, String zone, String... starts) {
+        withDefaultZone(zone, () -> {
+            for (var start : starts) {
+                var instant = Instant.parse(start);
+                for (int idx = 0; idx < 16; ++idx) {
+                    var expected = EXPECTED.format(instant.atZone(ZoneId.of(zone)));
+                    assertThat(render(cache, instant), equalTo(expected));
+                    instant = instant.plusMillis(250);
+                }
+            }
+        });
+    }
+
+    private static void withDefaultZone(String zone, Runnable runnable) {
+        var original = TimeZone.getDefault();
+        TimeZone.setDefault(TimeZone.getTimeZone(zone));
+        try {
+            runnable.run();
+        } finally {
+            TimeZone.setDefault(original);
+        }
+    }
+
+    private static String render(TimestampCache cache, Instant instant) {
+        var out = new StringBuilder();
+        cache.render(instant, out);
+        return out.toString();
+    }
+}
@@ -0,0 +1,42 @@
+package io.quarkiverse.logging.dev.test;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+
+import org.junit.jupiter.api.Test;
+
+import io.quarkiverse.logging.dev.runtime.AnsiHtml;
+
+public class AnsiHtmlTest {
+
+    @Test
+    public void testColors() {
+        var ansi = "\u001b[38;5;102m12:34:56\u001b[39m \u001b[38;2;255;0;16mERROR\u001b[39m done";
+
+        assertThat(AnsiHtml.toHtml(ansi), equalTo("<span style=\"color:#878787;\">12:34:56</span> " +
+                "<span style=\"color:#ff0010;\">ERROR</span> done"));
+    }
+
+    @Test
+    public void testNestedStyles() {
+        var ansi = "\u001b[1m\u001b[38;5;196mbold red\u001b[39m bold\u001b[0m plain";
+
+        assertThat(AnsiHtml.toHtml(ansi), equalTo("<span style=\"color:#ff0000;font-weight:bold;\">bold red</span>" +
+                "<span style=\"font-weight:bold;\"> bold</span> plain"));
+    }
+
+    @Test
+    public void testEscapesText() {
+        var ansi = "<a href='x'>&\"</a>";
+
+        assertThat(AnsiHtml.toHtml(ansi), equalTo("&lt;a href=&#39;x&#39;&gt;&amp;&quot;&lt;/a&gt;"));
+    }
+
+    @Test
+    public void testDropsOtherEscapeSequences() {
+        var ansi = "\u001b[2Kcleared\u001b[1A";
+
+        assertThat(AnsiHtml.toHtml(ansi), equalTo("cleared"));
+    }
+
+}
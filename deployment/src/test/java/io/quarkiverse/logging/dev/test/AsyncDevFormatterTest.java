@@ -0,0 +1,75 @@
+package io.quarkiverse.logging.dev.test;
+
+import static java.util.logging.Level.INFO;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.nio.charset.Charset;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.Map;
+
+import org.jboss.logmanager.ExtLogRecord;
+import org.junit.jupiter.api.Test;
+
+import io.quarkiverse.logging.dev.runtime.AsyncConfig.Overflow;
+import io.quarkiverse.logging.dev.runtime.AsyncDevFormatter;
+import io.quarkiverse.logging.dev.runtime.DevFormatter;
+
+public class AsyncDevFormatterTest {
+
+    @Test
+    public void testWritesRecordsInOrderOnClose() {
+        var formatter = new DevFormatter("localhost", 8080, true);
+        var output = new ByteArrayOutputStream();
+        var asyncFormatter = new AsyncDevFormatter(formatter, 16, Overflow.BLOCK, new PrintStream(output));
+
+        var expected = new StringBuilder();
+        for (int c = 0; c < 1_000; ++c) {
+            var record = record("Record " + c);
+            expected.append(formatter.format(record));
+            assertThat(asyncFormatter.format(record), equalTo(""));
+        }
+        asyncFormatter.close();
+
+        assertThat(output.toString(Charset.defaultCharset()), equalTo(expected.toString()));
+    }
+
+    @Test
+    public void testCapturesRecordFields() {
+        var formatter = new DevFormatter("localhost", 8080, true);
+        var output = new ByteArrayOutputStream();
+        var asyncFormatter = new AsyncDevFormatter(formatter, 16, Overflow.BLOCK, new PrintStream(output));
+
+        var record = record("Before");
+        var expected = formatter.format(record);
+        asyncFormatter.format(record);
+        record.setMessage("After");
+        record.setThreadName("Other Thread");
+        asyncFormatter.close();
+
+        assertThat(output.toString(Charset.defaultCharset()), equalTo(expected));
+    }
+
+    @Test
+    public void testFormatsSynchronouslyAfterClose() {
+        var formatter = new DevFormatter("localhost", 8080, false);
+        var output = new ByteArrayOutputStream();
+        var asyncFormatter = new AsyncDevFormatter(formatter, 16, Overflow.DISCARD, new PrintStream(output));
+        asyncFormatter.close();
+
+        var record = record("Late");
+        assertThat(asyncFormatter.format(record), equalTo(formatter.format(record)));
+    }
+
+    private static ExtLogRecord record(String message) {
+        var record = new ExtLogRecord(INFO, message, AsyncDevFormatterTest.class.getName());
+        record.setThreadName("Quarkus Main");
+        record.setMdc(Map.of("traceId", "51793732132590713", "spanId", "1497135987135289"));
+        record.setInstant(ZonedDateTime.of(2001, 1, 1, 12, 34, 56, 0, ZoneId.systemDefault()).toInstant());
+        record.setLoggerName("io.quarkus");
+        return record;
+    }
+}
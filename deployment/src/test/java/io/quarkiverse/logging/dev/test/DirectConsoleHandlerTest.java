@@ -0,0 +1,129 @@
+package io.quarkiverse.logging.dev.test;
+
+import static java.util.logging.Level.INFO;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.jboss.logmanager.ExtLogRecord;
+import org.junit.jupiter.api.Test;
+
+import io.quarkiverse.logging.dev.runtime.ColorMode;
+import io.quarkiverse.logging.dev.runtime.DevFormatter;
+import io.quarkiverse.logging.dev.runtime.DirectConsoleHandler;
+
+public class DirectConsoleHandlerTest {
+
+    @Test
+    public void testEncodesRecordsAsUtf8() {
+        var formatter = new DevFormatter("localhost", 8080, true, ColorMode.ANSI_256);
+        var output = new ByteArrayOutputStream();
+        // Smaller than a record, so records are split across writes
+        var handler = new DirectConsoleHandler(formatter, Channels.newChannel(output), 64);
+
+        var expected = new StringBuilder();
+        for (var message : new String[] { "Plain ASCII", "Café crème brûlée", "日本語のメッセージ", "Emoji 🚀 launched",
+                "Unpaired \ud800 surrogate" }) {
+            var record = record(message);
+            expected.append(formatter.format(record));
+            handler.publish(record);
+        }
+        handler.flush();
+
+        assertThat(output.toByteArray(), equalTo(expected.toString().getBytes(StandardCharsets.UTF_8)));
+    }
+
+    @Test
+    public void testConcurrentRecordsAreWrittenWhole() throws Exception {
+        var formatter = new DevFormatter("localhost", 8080, false, ColorMode.NONE);
+        var output = new ByteArrayOutputStream();
+        var handler = new DirectConsoleHandler(formatter, Channels.newChannel(output), 8 * 1024);
+        var expected = formatter.format(record("Record"));
+
+        var executor = Executors.newFixedThreadPool(4);
+        try {
+            var futures = new ArrayList<Future<?>>();
+            for (int thread = 0; thread < 4; ++thread) {
+                futures.add(executor.submit(() -> {
+                    for (int c = 0; c < 1_000; ++c) {
+                        handler.publish(record("Record"));
+                    }
+                }));
+            }
+            for (var future : futures) {
+                future.get(30, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdown();
+        }
+        handler.close();
+
+        assertThat(output.toString(StandardCharsets.UTF_8), equalTo(expected.repeat(4_000)));
+    }
+
+    @Test
+    public void testRedirectedStandardOutputIsWritten() {
+        var formatter = new DevFormatter("localhost", 8080, false, ColorMode.NONE);
+        var output = new ByteArrayOutputStream();
+        var standardOut = System.out;
+        var handler = new DirectConsoleHandler(formatter, Channels.newChannel(output), 8 * 1024, standardOut);
+        var expected = formatter.format(record("Record"));
+
+        handler.publish(record("Record"));
+        var captured = new ByteArrayOutputStream();
+        System.setOut(new PrintStream(captured, true, StandardCharsets.UTF_8));
+        try {
+            handler.publish(record("Record"));
+            handler.flush();
+        } finally {
+            System.setOut(standardOut);
+        }
+        handler.publish(record("Record"));
+        handler.flush();
+
+        assertThat(output.toString(StandardCharsets.UTF_8), equalTo(expected.repeat(2)));
+        assertThat(captured.toString(StandardCharsets.UTF_8), equalTo(expected));
+    }
+
+    @Test
+    public void testPrintStreamSubclassIsWritten() {
+        var formatter = new DevFormatter("localhost", 8080, false, ColorMode.NONE);
+        var output = new ByteArrayOutputStream();
+        var captured = new ByteArrayOutputStream();
+        var standardOut = System.out;
+        // Such as the redirection of the dev console, already installed when the handler starts
+        var redirect = new PrintStream(captured, true, StandardCharsets.UTF_8) {
+        };
+        System.setOut(redirect);
+        try {
+            var handler = new DirectConsoleHandler(formatter, Channels.newChannel(output), 8 * 1024, redirect);
+            handler.publish(record("Record"));
+            handler.flush();
+        } finally {
+            System.setOut(standardOut);
+        }
+
+        assertThat(output.size(), equalTo(0));
+        assertThat(captured.toString(StandardCharsets.UTF_8), equalTo(formatter.format(record("Record"))));
+    }
+
+    private static ExtLogRecord record(String message) {
+        var record = new ExtLogRecord(INFO, message, DirectConsoleHandlerTest.class.getName());
+        record.setThreadName("Quarkus Main");
+        record.setMdc(Map.of("traceId", "51793732132590713", "spanId", "1497135987135289"));
+        record.setInstant(ZonedDateTime.of(2001, 1, 1, 12, 34, 56, 0, ZoneId.systemDefault()).toInstant());
+        record.setLoggerName("io.quarkus");
+        return record;
+    }
+}
@@ -0,0 +1,75 @@
+package io.quarkiverse.logging.dev.test;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.io.StringWriter;
+import java.io.UncheckedIOException;
+
+import org.junit.jupiter.api.Test;
+
+import io.quarkiverse.logging.dev.runtime.CollectedException;
+import io.quarkiverse.logging.dev.runtime.ExceptionSnapshot;
+
+public class ExceptionSnapshotTest {
+
+    @Test
+    public void testCauseChain() {
+        assertPrintsLikeThrowable(TestExceptions.getEx1());
+    }
+
+    @Test
+    public void testSuppressed() {
+        var exception = new IllegalStateException("Closing failed", TestExceptions.getEx3());
+        var suppressed = new UncheckedIOException(new IOException("Flush failed"));
+        suppressed.addSuppressed(new IllegalArgumentException("Nested"));
+        exception.addSuppressed(suppressed);
+        exception.addSuppressed(new RuntimeException());
+
+        assertPrintsLikeThrowable(exception);
+    }
+
+    @Test
+    public void testCauseCycle() {
+        var first = new RuntimeException("first");
+        var second = new IllegalStateException("second", first);
+        first.initCause(second);
+        first.addSuppressed(second);
+
+        assertPrintsLikeThrowable(first);
+    }
+
+    @Test
+    public void testClassName() {
+        assertThat(ExceptionSnapshot.of(TestExceptions.getEx2()).getClassName(), equalTo(IOException.class.getName()));
+    }
+
+    @Test
+    public void testSharedFramesSurviveRelease() {
+        var exception = TestExceptions.getEx1();
+        var first = ExceptionSnapshot.of(exception);
+        var second = ExceptionSnapshot.of(exception);
+        var expected = print(first);
+
+        first.release();
+
+        assertThat(first.retain(), equalTo(false));
+        assertThat(second.retain(), equalTo(true));
+        assertThat(print(second), equalTo(expected));
+    }
+
+    private static void assertPrintsLikeThrowable(Throwable exception) {
+        var expected = new StringWriter();
+        exception.printStackTrace(new PrintWriter(expected));
+
+        assertThat(print(ExceptionSnapshot.of(exception)), equalTo(expected.toString()));
+    }
+
+    private static String print(CollectedException exception) {
+        var output = new StringWriter();
+        exception.printStackTrace(new PrintWriter(output));
+        return output.toString();
+    }
+}
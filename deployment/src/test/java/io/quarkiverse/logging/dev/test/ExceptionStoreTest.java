@@ -0,0 +1,252 @@
+package io.quarkiverse.logging.dev.test;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.lessThanOrEqualTo;
+import static org.hamcrest.Matchers.notNullValue;
+import static org.hamcrest.Matchers.nullValue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.Test;
+
+import io.quarkiverse.logging.dev.runtime.ExceptionStore;
+
+public class ExceptionStoreTest {
+
+    private static final int THREADS = 8;
+
+    @Test
+    public void testEvictsOldestFirst() {
+        var store = new ExceptionStore<Throwable>(3);
+        for (var id : new String[] { "a", "b", "c", "d" }) {
+            store.put(id, new RuntimeException(id));
+        }
+
+        assertThat(store.size(), equalTo(3));
+        assertThat(store.get("a"), nullValue());
+        assertThat(store.get("b"), notNullValue());
+        assertThat(store.get("d"), notNullValue());
+    }
+
+    @Test
+    public void testReplacingDoesNotConsumeCapacity() {
+        var store = new ExceptionStore<Throwable>(2);
+        store.put("a", new RuntimeException("first"));
+        store.put("a", new RuntimeException("second"));
+        store.put("b", new RuntimeException("b"));
+
+        assertThat(store.size(), equalTo(2));
+        assertThat(store.get("a").getMessage(), equalTo("second"));
+    }
+
+    @Test
+    public void testCountsEvictions() {
+        var store = new ExceptionStore<Throwable>(2);
+        for (var id : new String[] { "a", "b", "a", "c", "d" }) {
+            store.put(id, new RuntimeException(id));
+        }
+        store.clear();
+
+        assertThat(store.evictions(), equalTo(2L));
+    }
+
+    @Test
+    public void testWeightLimitEvictsOldest() {
+        var store = new ExceptionStore<String>(100, 10, String::length);
+        store.put("a", "aaaa");
+        store.put("b", "bbbb");
+        store.put("c", "cccc");
+
+        assertThat(store.get("a"), nullValue());
+        assertThat(store.get("b"), notNullValue());
+        assertThat(store.get("c"), notNullValue());
+        assertThat(store.weight(), equalTo(8L));
+
+        assertThat(store.put("d", "ddddddddddd"), equalTo(false));
+        assertThat(store.size(), equalTo(2));
+    }
+
+    @Test
+    public void testGrowingEntryThatDoesNotFitKeepsExisting() {
+        var removed = new ArrayList<String>();
+        var store = new ExceptionStore<String>(10, 10, String::length, (id, e) -> removed.add(e));
+        store.put("a", "aaaa");
+        store.put("b", "bbbb");
+
+        assertThat(store.put("a", "aaaaaaaa"), equalTo(false));
+        assertThat(store.get("a"), equalTo("aaaa"));
+        assertThat(store.get("b"), equalTo("bbbb"));
+        assertThat(store.weight(), equalTo(8L));
+        assertThat(store.evictions(), equalTo(0L));
+        assertThat(removed, equalTo(List.of("aaaaaaaa")));
+
+        // Growing within the max weight still replaces
+        assertThat(store.put("a", "aaaaaa"), equalTo(true));
+        assertThat(store.get("a"), equalTo("aaaaaa"));
+        assertThat(store.weight(), equalTo(10L));
+    }
+
+    @Test
+    public void testRemovedEntriesAreHandedToListener() {
+        var removed = new ArrayList<String>();
+        var store = new ExceptionStore<String>(2, 10, String::length, (id, e) -> removed.add(e));
+        store.put("a", "a1");
+        store.put("a", "a2");
+        store.put("b", "b");
+        store.put("c", "c");
+        store.put("d", "ddddddddddd");
+
+        assertThat(removed, equalTo(List.of("a1", "a2", "ddddddddddd")));
+
+        store.clear();
+        assertThat(store.size(), equalTo(0));
+        assertThat(removed, equalTo(List.of("a1", "a2", "ddddddddddd", "b", "c")));
+    }
+
+    @Test
+    public void testSharedWeightCountsTowardMaxWeight() {
+        // Each entry weighs 2 and holds 3 of shared weight, acquired before it is stored
+        var shared = new AtomicLong();
+        var store = new ExceptionStore<String>(100, 10, String::length, (id, e) -> shared.addAndGet(-3), shared::get);
+        for (var id : new String[] { "a", "b", "c" }) {
+            shared.addAndGet(3);
+            store.put(id, id + id);
+        }
+
+        assertThat(store.get("a"), nullValue());
+        assertThat(store.get("b"), notNullValue());
+        assertThat(store.get("c"), notNullValue());
+        assertThat(store.weight(), equalTo(10L));
+        assertThat(store.evictions(), equalTo(1L));
+
+        // Shared weight that evicting can't release does not block inserts
+        shared.addAndGet(20);
+        assertThat(store.put("d", "dd"), equalTo(true));
+        assertThat(store.size(), equalTo(1));
+    }
+
+    @Test
+    public void testWeightLimitHoldsUnderContention() throws Exception {
+        var maxWeight = 1_000L;
+        var store = new ExceptionStore<String>(10_000, maxWeight, String::length);
+        var maxObservedWeight = new AtomicLong();
+
+        runConcurrently(thread -> {
+            for (int c = 0; c < 20_000; ++c) {
+                store.put(thread + ":" + c, "x".repeat(1 + c % 50));
+                maxObservedWeight.accumulateAndGet(store.weight(), Math::max);
+            }
+        });
+
+        assertThat(maxObservedWeight.get() <= maxWeight, equalTo(true));
+        assertThat(store.weight() <= maxWeight, equalTo(true));
+    }
+
+    @Test
+    public void testBoundHoldsUnderContention() throws Exception {
+        var capacity = 64;
+        var store = new ExceptionStore<Throwable>(capacity);
+        var maxObservedSize = new AtomicInteger();
+        var done = new AtomicBoolean();
+
+        var monitor = new Thread(() -> {
+            while (!done.get()) {
+                maxObservedSize.accumulateAndGet(store.size(), Math::max);
+            }
+        });
+        monitor.start();
+
+        runConcurrently(thread -> {
+            for (int c = 0; c < 20_000; ++c) {
+                store.put(thread + ":" + c, new RuntimeException());
+                maxObservedSize.accumulateAndGet(store.size(), Math::max);
+            }
+        });
+
+        done.set(true);
+        monitor.join();
+
+        assertThat(maxObservedSize.get(), lessThanOrEqualTo(capacity));
+        assertThat(store.size(), equalTo(capacity));
+
+        // No slots leaked, a full set of new entries still fits
+        for (int c = 0; c < capacity; ++c) {
+            store.put("after:" + c, new RuntimeException());
+        }
+        assertThat(store.size(), equalTo(capacity));
+        for (int c = 0; c < capacity; ++c) {
+            assertThat(store.get("after:" + c), notNullValue());
+        }
+    }
+
+    @Test
+    public void testNoEntriesLostBelowCapacity() throws Exception {
+        var perThread = 2_000;
+        var store = new ExceptionStore<Throwable>(THREADS * perThread);
+
+        runConcurrently(thread -> {
+            for (int c = 0; c < perThread; ++c) {
+                store.put(thread + ":" + c, new RuntimeException());
+            }
+        });
+
+        assertThat(store.size(), equalTo(THREADS * perThread));
+        for (int thread = 0; thread < THREADS; ++thread) {
+            for (int c = 0; c < perThread; ++c) {
+                assertThat(store.get(thread + ":" + c), notNullValue());
+            }
+        }
+    }
+
+    @Test
+    public void testConcurrentDuplicatesAreStoredOnce() throws Exception {
+        var store = new ExceptionStore<Throwable>(16);
+
+        runConcurrently(thread -> {
+            for (int c = 0; c < 10_000; ++c) {
+                store.put("id-" + (c % 10), new RuntimeException());
+            }
+        });
+
+        assertThat(store.size(), equalTo(10));
+        for (int c = 0; c < 10; ++c) {
+            assertThat(store.get("id-" + c), notNullValue());
+        }
+    }
+
+    interface Task {
+        void run(int thread) throws Exception;
+    }
+
+    private static void runConcurrently(Task task) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            var start = new CountDownLatch(1);
+            var results = new ArrayList<Future<?>>();
+            for (int thread = 0; thread < THREADS; ++thread) {
+                var threadIdx = thread;
+                results.add(executor.submit(() -> {
+                    start.await();
+                    task.run(threadIdx);
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (var result : results) {
+                result.get(60, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
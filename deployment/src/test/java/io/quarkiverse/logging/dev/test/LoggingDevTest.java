@@ -2,12 +2,21 @@ package io.quarkiverse.logging.dev.test;
 
 import static java.util.logging.Level.INFO;
 import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsString;
 import static org.hamcrest.Matchers.equalTo;
+import static org.jboss.logmanager.ExtLogRecord.FormatStyle.MESSAGE_FORMAT;
+import static org.jboss.logmanager.ExtLogRecord.FormatStyle.PRINTF;
 import static org.jboss.logmanager.Level.ERROR;
 
+import java.io.IOException;
+import java.time.Duration;
+import java.time.Instant;
 import java.time.ZoneId;
 import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
+import java.util.UUID;
 
 import org.jboss.logmanager.ExtLogRecord;
 import org.jboss.shrinkwrap.api.ShrinkWrap;
@@ -15,11 +24,17 @@ import org.jboss.shrinkwrap.api.spec.JavaArchive;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.RegisterExtension;
 
+import io.quarkiverse.logging.dev.runtime.AccessLogEntry;
+import io.quarkiverse.logging.dev.runtime.ColorMode;
 import io.quarkiverse.logging.dev.runtime.DevFormatter;
+import io.quarkiverse.logging.dev.runtime.ExceptionCollector;
+import io.quarkiverse.logging.dev.runtime.LogThrottle;
 import io.quarkus.test.QuarkusUnitTest;
 
 public class LoggingDevTest {
 
+    private static final UUID UUID_VALUE = UUID.fromString("5f4dcc3b-5aa7-4c2b-9d2e-3b1e9f0a7d11");
+
     // Start unit test with your extension loaded
     @RegisterExtension
     static final QuarkusUnitTest unitTest = new QuarkusUnitTest()
@@ -43,6 +58,75 @@ public class LoggingDevTest {
         assertThat(removeEscapes(formatted), equalTo(expected));
     }
 
+    @Test
+    public void testHTTPNonStandardFormat() {
+        var msg = "127.0.0.1 GET /api/v1/user/teams 200";
+        var record = new ExtLogRecord(INFO, msg, getClass().getName());
+        record.setThreadName("Quarkus Main");
+        record.setInstant(ZonedDateTime.of(2001, 1, 1, 12, 34, 56, 0, ZoneId.systemDefault()).toInstant());
+        record.setLoggerName("io.quarkus.http.access-log");
+
+        var formatted = new DevFormatter("localhost", 8080, false).format(record);
+        System.out.println(formatted);
+
+        var expected = "12:34:56 INFO  127.0.0.1 GET /api/v1/user/teams 200\n" +
+                "               [io.qua.htt.access-log] (Quarkus Main)\n\n";
+        assertThat(removeEscapes(formatted), equalTo(expected));
+    }
+
+    @Test
+    public void testHTTPAccessLogEntry() {
+        var entry = new AccessLogEntry("GET", "/api/v1/user/teams?page=2", "HTTP/1.1", 404, "alice", 0, 12_345_678);
+        var record = new ExtLogRecord(INFO, "{0}", MESSAGE_FORMAT, getClass().getName());
+        record.setParameters(new Object[] { entry });
+        record.setThreadName("Quarkus Main");
+        record.setInstant(ZonedDateTime.of(2001, 1, 1, 12, 34, 56, 0, ZoneId.systemDefault()).toInstant());
+        record.setLoggerName("io.quarkus.http.access-log");
+
+        var formatted = new DevFormatter("localhost", 8080, false).format(record);
+        System.out.println(formatted);
+
+        var expected = "12:34:56 HTTP  GET /api/v1/user/teams?page=2 HTTP/1.1\n" +
+                "               |404 Not Found| <alice> 12.3 ms\n" +
+                "               [io.qua.htt.access-log] (Quarkus Main)\n\n";
+        assertThat(removeEscapes(formatted), equalTo(expected));
+    }
+
+    @Test
+    public void testHTTPExceptionDetailRequestsAreFiltered() {
+        var msg = "127.0.0.1 - - 08/Sep/2022:21:25:23 -0700 \"GET /q/exceptions/1323516898 HTTP/1.1\" 200 1817";
+        var record = new ExtLogRecord(INFO, msg, getClass().getName());
+        record.setLoggerName("io.quarkus.http.access-log");
+
+        var formatted = new DevFormatter("localhost", 8080, false).format(record);
+
+        assertThat(formatted, equalTo(""));
+    }
+
+    @Test
+    public void testHTTPExtensionRequestsAreFiltered() {
+        var formatter = new DevFormatter("localhost", 8080, false);
+        for (var path : new String[] { "/q/exceptions", "/q/exceptions?class=java.lang.Error&limit=10",
+                "/q/logs/stream", "/q/logs/search?q=timeout&level=ERROR" }) {
+            var msg = "127.0.0.1 - - 08/Sep/2022:21:25:23 -0700 \"GET " + path + " HTTP/1.1\" 200 1817";
+            var record = new ExtLogRecord(INFO, msg, getClass().getName());
+            record.setLoggerName("io.quarkus.http.access-log");
+            assertThat(path, formatter.format(record), equalTo(""));
+
+            var entry = new AccessLogEntry("GET", path, "HTTP/1.1", 200, null, 1817, 12_345_678);
+            record = new ExtLogRecord(INFO, "{0}", MESSAGE_FORMAT, getClass().getName());
+            record.setParameters(new Object[] { entry });
+            record.setLoggerName("io.quarkus.http.access-log");
+            assertThat(path, formatter.format(record), equalTo(""));
+        }
+
+        // Only the extension's routes, not paths sharing their prefix
+        var msg = "127.0.0.1 - - 08/Sep/2022:21:25:23 -0700 \"GET /q/exceptionsx HTTP/1.1\" 200 1817";
+        var record = new ExtLogRecord(INFO, msg, getClass().getName());
+        record.setLoggerName("io.quarkus.http.access-log");
+        assertThat(removeEscapes(formatter.format(record)), containsString("HTTP  GET /q/exceptionsx HTTP/1.1"));
+    }
+
     @Test
     public void testFullRecord() {
         var record = new ExtLogRecord(ERROR, "A serious error occurred", getClass().getName());
@@ -69,6 +153,244 @@ public class LoggingDevTest {
         assertThat(removeEscapes(formatted), equalTo(expected));
     }
 
+    @Test
+    public void testRepeatedExceptionIsSummarized() {
+        var formatter = new DevFormatter("localhost", 8080, false);
+        String formatted = null;
+        String exceptionId = null;
+        for (int c = 1; c <= 11; ++c) {
+            var record = new ExtLogRecord(ERROR, "Request failed", getClass().getName());
+            record.setThreadName("Quarkus Main");
+            record.setThrown(repeatedFailure(c));
+            record.setInstant(ZonedDateTime.of(2001, 1, 1, 12, 34, 56, 0, ZoneId.systemDefault()).toInstant());
+            record.setLoggerName("io.quarkus");
+
+            formatted = formatter.format(record);
+            exceptionId = ExceptionCollector.exceptionId(record.getThrown());
+        }
+        System.out.println(formatted);
+
+        var expected = "12:34:56 ERROR Request failed\n" +
+                "               [io.quarkus] (Quarkus Main)\n" +
+                "               ↪ IllegalStateException seen 11× — http://localhost:8080/q/exceptions/" + exceptionId
+                + "\n\n";
+        assertThat(removeEscapes(formatted), equalTo(expected));
+    }
+
+    private static IllegalStateException repeatedFailure(int attempt) {
+        return new IllegalStateException("Attempt " + attempt + " failed");
+    }
+
+    @Test
+    public void testExceptionTreeShowsSuppressedAndCircularReferences() {
+        var formatter = new DevFormatter("localhost", 8080, false, ColorMode.NONE);
+        formatter.setExceptionTreeLimits(16, 1);
+
+        var failure = exception(new IOException("Request failed"), "Handler", "handle", 10);
+        var cause = exception(new IllegalArgumentException("Bad input"), "Parser", "parse", 30);
+        failure.initCause(cause);
+        cause.initCause(failure);
+        failure.addSuppressed(exception(new IllegalStateException("Close failed"), "Resource", "close", 20));
+        failure.addSuppressed(exception(new IllegalStateException("Close failed"), "Pool", "close", 40));
+        failure.addSuppressed(exception(new IllegalStateException("Close failed"), "Pool", "close", 50));
+
+        var record = new ExtLogRecord(ERROR, "Request failed", getClass().getName());
+        record.setThreadName("Quarkus Main");
+        record.setThrown(failure);
+        record.setInstant(ZonedDateTime.of(2001, 1, 1, 12, 34, 56, 0, ZoneId.systemDefault()).toInstant());
+        record.setLoggerName("io.quarkus");
+
+        var formatted = formatter.format(record);
+        System.out.println(formatted);
+
+        var expected = "12:34:56 ERROR Request failed\n" +
+                "               [io.quarkus] (Quarkus Main)\n" +
+                "               ↪ Request failed\n" +
+                "                 IOException Handler.handle(Handler.java:10)\n" +
+                "                 ↪ suppressed: Close failed\n" +
+                "                   IllegalStateException Resource.close(Resource.java:20)\n" +
+                "                 … 2 more suppressed\n" +
+                "                 ↪ Bad input\n" +
+                "                   IllegalArgumentException Parser.parse(Parser.java:30)\n" +
+                "                   ↪ circular reference: IOException\n" +
+                "               http://localhost:8080/q/exceptions/" + ExceptionCollector.exceptionId(failure) + "\n\n";
+        assertThat(formatted, equalTo(expected));
+    }
+
+    @Test
+    public void testDeepCauseChainIsElided() {
+        var formatter = new DevFormatter("localhost", 8080, false, ColorMode.NONE);
+        formatter.setExceptionTreeLimits(3, 8);
+
+        Throwable failure = null;
+        for (int level = 1000; level > 0; --level) {
+            failure = exception(new IllegalStateException("Level " + level, failure), "Wrapper", "wrap", level);
+        }
+
+        var record = new ExtLogRecord(ERROR, "Request failed", getClass().getName());
+        record.setThreadName("Quarkus Main");
+        record.setThrown(failure);
+        record.setInstant(ZonedDateTime.of(2001, 1, 1, 12, 34, 56, 0, ZoneId.systemDefault()).toInstant());
+        record.setLoggerName("io.quarkus");
+
+        var formatted = formatter.format(record);
+        System.out.println(formatted);
+
+        var expected = "12:34:56 ERROR Request failed\n" +
+                "               [io.quarkus] (Quarkus Main)\n" +
+                "               ↪ Level 1\n" +
+                "                 IllegalStateException Wrapper.wrap(Wrapper.java:1)\n" +
+                "                 ↪ Level 2\n" +
+                "                   IllegalStateException Wrapper.wrap(Wrapper.java:2)\n" +
+                "                   ↪ Level 3\n" +
+                "                     IllegalStateException Wrapper.wrap(Wrapper.java:3)\n" +
+                "                     … ≥94 more causes\n" +
+                "               http://localhost:8080/q/exceptions/" + ExceptionCollector.exceptionId(failure) + "\n\n";
+        assertThat(formatted, equalTo(expected));
+    }
+
+    private static <T extends Throwable> T exception(T exception, String className, String methodName, int line) {
+        exception.setStackTrace(new StackTraceElement[] {
+                new StackTraceElement("org.acme." + className, methodName, className + ".java", line)
+        });
+        return exception;
+    }
+
+    @Test
+    public void testLogStormIsThrottled() {
+        var formatter = new DevFormatter("localhost", 8080, false);
+        formatter.setThrottle(new LogThrottle(1, 2, Duration.ofSeconds(5), 16));
+        var start = ZonedDateTime.of(2001, 1, 1, 12, 34, 56, 0, ZoneId.systemDefault()).toInstant();
+
+        var formatted = new ArrayList<String>();
+        for (int idx = 0; idx < 5; ++idx) {
+            formatted.add(formatter.format(stormRecord("Request {0} failed", idx, start)));
+        }
+        var other = formatter.format(stormRecord("Request {0} retried", 0, start));
+        var later = formatter.format(stormRecord("Request {0} failed", 5, start.plusSeconds(10)));
+
+        assertThat(formatted.get(1).isEmpty(), equalTo(false));
+        assertThat(formatted.subList(2, 5), equalTo(List.of("", "", "")));
+        assertThat(other.isEmpty(), equalTo(false));
+        assertThat(removeEscapes(later), equalTo("12:35:06 ERROR suppressed 3 similar messages from [storm]\n\n" +
+                "12:35:06 ERROR Request 5 failed\n" +
+                "               [storm] (Quarkus Main)\n\n"));
+    }
+
+    @Test
+    public void testLogStormSummaryIsPeriodic() {
+        var formatter = new DevFormatter("localhost", 8080, false);
+        formatter.setThrottle(new LogThrottle(1, 1, Duration.ofSeconds(5), 16));
+        var start = ZonedDateTime.of(2001, 1, 1, 12, 34, 56, 0, ZoneId.systemDefault()).toInstant();
+
+        var summaries = new ArrayList<String>();
+        for (int idx = 0; idx < 1000; ++idx) {
+            // Ten records per second, over the rate of one
+            var formatted = formatter.format(stormRecord("Request {0} failed", idx, start.plusMillis(idx * 100L)));
+            if (!formatted.isEmpty() && removeEscapes(formatted).contains("suppressed")) {
+                summaries.add(removeEscapes(formatted));
+            }
+        }
+
+        assertThat(summaries.size(), equalTo(19));
+        assertThat(summaries.get(0), equalTo("12:35:01 ERROR suppressed 46 similar messages from [storm]\n\n"));
+    }
+
+    @Test
+    public void testLogStormSummaryWithoutLaterRecords() {
+        var formatter = new DevFormatter("localhost", 8080, false);
+        formatter.setThrottle(new LogThrottle(1, 1, Duration.ofSeconds(5), 16));
+        var start = ZonedDateTime.of(2001, 1, 1, 12, 34, 56, 0, ZoneId.systemDefault()).toInstant();
+
+        for (int idx = 0; idx < 4; ++idx) {
+            formatter.format(stormRecord("Request {0} failed", idx, start));
+        }
+        // Reported with the record of another call site, once due
+        var other = formatter.format(stormRecord("Request {0} retried", 0, start.plusSeconds(10)));
+        assertThat(removeEscapes(other), equalTo("12:35:06 ERROR suppressed 3 similar messages from [storm]\n\n" +
+                "12:35:06 ERROR Request 0 retried\n" +
+                "               [storm] (Quarkus Main)\n\n"));
+    }
+
+    private ExtLogRecord stormRecord(String template, int requestNumber, Instant instant) {
+        var record = new ExtLogRecord(ERROR, template, MESSAGE_FORMAT, getClass().getName());
+        record.setParameters(new Object[] { requestNumber });
+        record.setLoggerName("storm");
+        record.setThreadName("Quarkus Main");
+        record.setInstant(instant);
+        return record;
+    }
+
+    @Test
+    public void testPlainTextHasNoEscapes() {
+        var colored = new DevFormatter("localhost", 8080, true, ColorMode.ANSI_256);
+        var plain = new DevFormatter("localhost", 8080, true, ColorMode.NONE);
+
+        var printf = new ExtLogRecord(INFO, "Loaded %s entities of type %s", PRINTF, getClass().getName());
+        printf.setParameters(new Object[] { 42, LoggingDevTest.class });
+        var wrapped = new ExtLogRecord(INFO, "Lorem ipsum dolor sit amet, consectetur adipiscing elit. ".repeat(8),
+                getClass().getName());
+        var http = new ExtLogRecord(INFO,
+                "127.0.0.1 - - 08/Sep/2022:21:25:23 -0700 \"GET /api/v1/user/teams HTTP/1.1\" 404 0",
+                getClass().getName());
+        http.setLoggerName("io.quarkus.http.access-log");
+
+        for (var record : List.of(printf, wrapped, http)) {
+            record.setThreadName("Quarkus Main");
+            record.setMdc(Map.of("traceId", "51793732132590713", "spanId", "1497135987135289"));
+            record.setInstant(ZonedDateTime.of(2001, 1, 1, 12, 34, 56, 0, ZoneId.systemDefault()).toInstant());
+            if (record.getLoggerName() == null) {
+                record.setLoggerName("io.quarkiverse.logging.dev.test");
+            }
+
+            var formatted = plain.format(record);
+
+            assertThat(formatted.indexOf('\u001b'), equalTo(-1));
+            assertThat(formatted, equalTo(removeEscapes(colored.format(record))));
+        }
+    }
+
+    @Test
+    public void testPrintfArgumentsColoredByType() {
+        var formatter = new DevFormatter("localhost", 8080, false, ColorMode.ANSI_256);
+        formatter.setTypeColors(Map.of(Duration.class, "#ff0000", CharSequence.class, "#0000ff"));
+
+        var record = new ExtLogRecord(INFO, "%s %s %s %s", PRINTF, getClass().getName());
+        record.setParameters(new Object[] { Duration.ofSeconds(1), new StringBuilder("text"), 42, UUID_VALUE });
+        record.setLoggerName("types");
+        var formatted = formatter.format(record);
+
+        // Registered class, subtype of a registered interface, unregistered type and default type
+        assertThat(formatted.contains("\u001b[38;5;196mPT1S\u001b[39m"), equalTo(true));
+        assertThat(formatted.contains("\u001b[38;5;21mtext\u001b[39m"), equalTo(true));
+        assertThat(formatted.contains("\u001b[38;5;188m42\u001b[39m"), equalTo(true));
+        assertThat(formatted.contains("\u001b[38;5;194m" + UUID_VALUE + "\u001b[39m"), equalTo(true));
+    }
+
+    @Test
+    public void testLoggerNamesAreCached() {
+        var formatter = new DevFormatter("localhost", 8080, false);
+        String formatted = null;
+        for (int c = 0; c < 3; ++c) {
+            var record = new ExtLogRecord(INFO, "Started", getClass().getName());
+            record.setThreadName("Quarkus Main");
+            record.setInstant(ZonedDateTime.of(2001, 1, 1, 12, 34, 56, 0, ZoneId.systemDefault()).toInstant());
+            record.setLoggerName("io.quarkus.vertx..http.");
+
+            formatted = formatter.format(record);
+        }
+
+        var expected = "12:34:56 INFO  Started\n" +
+                "               [io.qua.ver..http] (Quarkus Main)\n\n";
+        assertThat(removeEscapes(formatted), equalTo(expected));
+
+        var cache = formatter.getLoggerNameCache();
+        assertThat(cache.size(), equalTo(1));
+        assertThat(cache.misses(), equalTo(1L));
+        assertThat(cache.hits(), equalTo(2L));
+        assertThat(cache.evictions(), equalTo(0L));
+    }
+
     @Test
     public void testNoTrace() {
         var record = new ExtLogRecord(ERROR, "A serious error occurred", getClass().getName());
@@ -166,6 +488,21 @@ public class LoggingDevTest {
         assertThat(removeEscapes(formatted), equalTo(expected));
     }
 
+    @Test
+    public void testWrapCountsDisplayColumns() {
+        var wide = DevFormatter.wrap("漢字漢字 漢字漢字 漢字漢字 漢字", 20, "  ");
+        assertThat(wide, equalTo("漢字漢字 漢字漢字\n  漢字漢字 漢字"));
+
+        var combining = DevFormatter.wrap("e\u0301e\u0301e\u0301 e\u0301e\u0301e\u0301 e\u0301e\u0301e\u0301", 9, "  ");
+        assertThat(combining, equalTo("e\u0301e\u0301e\u0301 e\u0301e\u0301e\u0301\n  e\u0301e\u0301e\u0301"));
+
+        var emoji = DevFormatter.wrap("\uD83D\uDE00\uD83D\uDE00 \uD83D\uDE00\uD83D\uDE00", 6, "  ");
+        assertThat(emoji, equalTo("\uD83D\uDE00\uD83D\uDE00\n  \uD83D\uDE00\uD83D\uDE00"));
+
+        var hyperlink = DevFormatter.wrap("\u001b]8;;http://localhost/\u001b\\abc\u001b]8;;\u001b\\ def", 8, "  ");
+        assertThat(hyperlink, equalTo("\u001b]8;;http://localhost/\u001b\\abc\u001b]8;;\u001b\\ def"));
+    }
+
     static String removeEscapes(String str) {
         return str.replaceAll("\u001B\\[[;\\d]*m", "");
     }
@@ -0,0 +1,81 @@
+package io.quarkiverse.logging.dev.runtime;
+
+/**
+ * Fields of an HTTP request, published by {@link AccessLogHandler} as the only parameter of its
+ * access log records, so the formatter reads them without parsing the access log line.
+ * <p>
+ * The message of the records is {@code {0}}, so other formatters log the {@link #toString() text}
+ * of the entry.
+ */
+public final class AccessLogEntry {
+
+    private final String method;
+    private final String uri;
+    private final String protocol;
+    private final int status;
+    private final String user;
+    private final long bytes;
+    private final long durationNanos;
+
+    /**
+     * @param user Name of the authenticated user, or {@code null} for anonymous requests.
+     */
+    public AccessLogEntry(String method, String uri, String protocol, int status, String user, long bytes,
+            long durationNanos) {
+        this.method = method;
+        this.uri = uri;
+        this.protocol = protocol;
+        this.status = status;
+        this.user = user;
+        this.bytes = bytes;
+        this.durationNanos = durationNanos;
+    }
+
+    public String getMethod() {
+        return method;
+    }
+
+    public String getUri() {
+        return uri;
+    }
+
+    public String getProtocol() {
+        return protocol;
+    }
+
+    public int getStatus() {
+        return status;
+    }
+
+    /**
+     * Name of the authenticated user, or {@code null} for anonymous requests.
+     */
+    public String getUser() {
+        return user;
+    }
+
+    /**
+     * Number of bytes of the response body.
+     */
+    public long getBytes() {
+        return bytes;
+    }
+
+    /**
+     * Time from the start of the request to the end of the response, in nanoseconds.
+     */
+    public long getDurationNanos() {
+        return durationNanos;
+    }
+
+    /**
+     * Entry in the common log format, without the remote host and timestamp, followed by the duration,
+     * e.g. {@code - "GET /path HTTP/1.1" 200 1817 12ms}.
+     */
+    @Override
+    public String toString() {
+        return (user != null ? user : "-") + " \"" + method + ' ' + uri + ' ' + protocol + "\" " + status + ' '
+                + bytes + ' ' + durationNanos / 1_000_000 + "ms";
+    }
+
+}
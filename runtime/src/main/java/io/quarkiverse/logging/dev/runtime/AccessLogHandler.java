@@ -0,0 +1,75 @@
+package io.quarkiverse.logging.dev.runtime;
+
+import org.jboss.logmanager.ExtLogRecord;
+import org.jboss.logmanager.Level;
+import org.jboss.logmanager.Logger;
+
+import io.quarkus.vertx.http.runtime.security.QuarkusHttpUser;
+import io.vertx.core.Handler;
+import io.vertx.core.http.HttpVersion;
+import io.vertx.ext.web.RoutingContext;
+
+/**
+ * Logs an access log record for each HTTP request, when its response ends.
+ * <p>
+ * The fields of the request are captured from the routing context and published as an {@link AccessLogEntry},
+ * rather than rendered into an access log line, so the formatter never parses the line back and any
+ * {@code quarkus.http.access-log.pattern} is irrelevant.
+ */
+public class AccessLogHandler implements Handler<RoutingContext> {
+
+    static final String LOGGER_NAME = "io.quarkus.http.access-log";
+
+    private static final String MESSAGE = "{0}";
+
+    private final Logger logger = Logger.getLogger(LOGGER_NAME);
+
+    @Override
+    public void handle(RoutingContext event) {
+        var start = System.nanoTime();
+        event.addBodyEndHandler(ignored -> log(event, start));
+        event.next();
+    }
+
+    private void log(RoutingContext event, long start) {
+        if (!logger.isLoggable(Level.INFO)) {
+            return;
+        }
+        var request = event.request();
+        var response = event.response();
+        var entry = new AccessLogEntry(request.method().name(), request.uri(), protocol(request.version()),
+                response.getStatusCode(), userName(event), response.bytesWritten(), System.nanoTime() - start);
+
+        var record = new ExtLogRecord(Level.INFO, MESSAGE, ExtLogRecord.FormatStyle.MESSAGE_FORMAT,
+                AccessLogHandler.class.getName());
+        record.setParameters(new Object[] { entry });
+        record.setLoggerName(LOGGER_NAME);
+        logger.logRaw(record);
+    }
+
+    private static String protocol(HttpVersion version) {
+        if (version == null) {
+            return "-";
+        }
+        switch (version) {
+            case HTTP_1_0:
+                return "HTTP/1.0";
+            case HTTP_1_1:
+                return "HTTP/1.1";
+            case HTTP_2:
+                return "HTTP/2";
+            default:
+                return version.name();
+        }
+    }
+
+    private static String userName(RoutingContext event) {
+        var user = event.user();
+        if (!(user instanceof QuarkusHttpUser)) {
+            return null;
+        }
+        var identity = ((QuarkusHttpUser) user).getSecurityIdentity();
+        return identity.isAnonymous() ? null : identity.getPrincipal().getName();
+    }
+
+}
@@ -0,0 +1,216 @@
+package io.quarkiverse.logging.dev.runtime;
+
+import java.util.Objects;
+
+/**
+ * Converts text colored with ANSI SGR escape sequences to HTML.
+ * <p>
+ * Text is escaped and every run of text sharing the same colors and weight is wrapped in a single
+ * styled {@code span}. Escape sequences other than SGR are dropped.
+ */
+public final class AnsiHtml {
+
+    private static final char ESC = '\u001b';
+    private static final char[] HEX_DIGITS = "0123456789abcdef".toCharArray();
+    private static final String[] BASIC_COLORS = {
+            "#000000", "#cd0000", "#00cd00", "#cdcd00", "#0000ee", "#cd00cd", "#00cdcd", "#e5e5e5",
+            "#7f7f7f", "#ff0000", "#00ff00", "#ffff00", "#5c5cff", "#ff00ff", "#00ffff", "#ffffff",
+    };
+    private static final int[] CUBE_LEVELS = { 0, 95, 135, 175, 215, 255 };
+    private static final String[] PALETTE = new String[256];
+    static {
+        System.arraycopy(BASIC_COLORS, 0, PALETTE, 0, BASIC_COLORS.length);
+        for (int idx = 0; idx < 216; ++idx) {
+            PALETTE[16 + idx] = hex(CUBE_LEVELS[idx / 36], CUBE_LEVELS[(idx / 6) % 6], CUBE_LEVELS[idx % 6]);
+        }
+        for (int idx = 0; idx < 24; ++idx) {
+            var level = 8 + idx * 10;
+            PALETTE[232 + idx] = hex(level, level, level);
+        }
+    }
+
+    private AnsiHtml() {
+    }
+
+    public static String toHtml(CharSequence ansi) {
+        var html = new StringBuilder(ansi.length() + 64);
+        toHtml(ansi, html);
+        return html.toString();
+    }
+
+    public static void toHtml(CharSequence ansi, StringBuilder html) {
+        var style = new Style();
+        var open = false;
+        var changed = false;
+        int idx = 0;
+        int length = ansi.length();
+        while (idx < length) {
+            var ch = ansi.charAt(idx);
+            if (ch != ESC) {
+                // Spans are opened lazily, so consecutive sequences produce a single span
+                if (changed) {
+                    open = style.open(html);
+                    changed = false;
+                }
+                escape(ch, html);
+                ++idx;
+                continue;
+            }
+
+            // Parse ESC '[' params final-byte; anything else is dropped with its introducer
+            int end = idx + 1;
+            if (end < length && ansi.charAt(end) == '[') {
+                ++end;
+                while (end < length && !isFinalByte(ansi.charAt(end))) {
+                    ++end;
+                }
+                if (end < length && ansi.charAt(end) == 'm') {
+                    if (style.apply(ansi, idx + 2, end)) {
+                        if (open) {
+                            html.append("</span>");
+                            open = false;
+                        }
+                        changed = true;
+                    }
+                }
+                ++end;
+            }
+            idx = end;
+        }
+        if (open) {
+            html.append("</span>");
+        }
+    }
+
+    private static boolean isFinalByte(char ch) {
+        return ch >= '@' && ch <= '~';
+    }
+
+    private static void escape(char ch, StringBuilder html) {
+        switch (ch) {
+            case '<':
+                html.append("&lt;");
+                break;
+            case '>':
+                html.append("&gt;");
+                break;
+            case '&':
+                html.append("&amp;");
+                break;
+            case '"':
+                html.append("&quot;");
+                break;
+            case '\'':
+                html.append("&#39;");
+                break;
+            default:
+                html.append(ch);
+        }
+    }
+
+    private static String hex(int r, int g, int b) {
+        var rgb = ((r & 0xff) << 16) | ((g & 0xff) << 8) | (b & 0xff);
+        var hex = new char[7];
+        hex[0] = '#';
+        for (int idx = 6; idx > 0; --idx) {
+            hex[idx] = HEX_DIGITS[rgb & 0xf];
+            rgb >>>= 4;
+        }
+        return new String(hex);
+    }
+
+    private static final class Style {
+
+        String fg;
+        String bg;
+        boolean bold;
+
+        /**
+         * Applies the parameters of an SGR sequence.
+         *
+         * @return Whether the style changed.
+         */
+        boolean apply(CharSequence ansi, int start, int end) {
+            var previousFg = fg;
+            var previousBg = bg;
+            var previousBold = bold;
+
+            var params = ansi.subSequence(start, end).toString().split(";", -1);
+            for (int idx = 0; idx < params.length; ++idx) {
+                var code = parse(params[idx]);
+                if (code == 0) {
+                    fg = null;
+                    bg = null;
+                    bold = false;
+                } else if (code == 1) {
+                    bold = true;
+                } else if (code == 22) {
+                    bold = false;
+                } else if (code >= 30 && code <= 37) {
+                    fg = BASIC_COLORS[code - 30];
+                } else if (code >= 90 && code <= 97) {
+                    fg = BASIC_COLORS[code - 90 + 8];
+                } else if (code >= 40 && code <= 47) {
+                    bg = BASIC_COLORS[code - 40];
+                } else if (code >= 100 && code <= 107) {
+                    bg = BASIC_COLORS[code - 100 + 8];
+                } else if (code == 39) {
+                    fg = null;
+                } else if (code == 49) {
+                    bg = null;
+                } else if (code == 38 || code == 48) {
+                    String color = null;
+                    if (idx + 2 < params.length && parse(params[idx + 1]) == 5) {
+                        var index = parse(params[idx + 2]);
+                        color = index >= 0 && index < PALETTE.length ? PALETTE[index] : null;
+                        idx += 2;
+                    } else if (idx + 4 < params.length && parse(params[idx + 1]) == 2) {
+                        color = hex(parse(params[idx + 2]), parse(params[idx + 3]), parse(params[idx + 4]));
+                        idx += 4;
+                    }
+                    if (code == 38) {
+                        fg = color;
+                    } else {
+                        bg = color;
+                    }
+                }
+            }
+            return !Objects.equals(fg, previousFg) || !Objects.equals(bg, previousBg) || bold != previousBold;
+        }
+
+        /**
+         * Opens a span for the style, unless it is the default style.
+         *
+         * @return Whether a span was opened.
+         */
+        boolean open(StringBuilder html) {
+            if (fg == null && bg == null && !bold) {
+                return false;
+            }
+            html.append("<span style=\"");
+            if (fg != null) {
+                html.append("color:").append(fg).append(';');
+            }
+            if (bg != null) {
+                html.append("background-color:").append(bg).append(';');
+            }
+            if (bold) {
+                html.append("font-weight:bold;");
+            }
+            html.append("\">");
+            return true;
+        }
+
+        private static int parse(String param) {
+            if (param.isEmpty()) {
+                return 0;
+            }
+            try {
+                return Integer.parseInt(param);
+            } catch (NumberFormatException e) {
+                return -1;
+            }
+        }
+    }
+
+}
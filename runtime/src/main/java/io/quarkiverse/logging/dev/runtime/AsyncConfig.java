@@ -0,0 +1,38 @@
+package io.quarkiverse.logging.dev.runtime;
+
+import io.quarkus.runtime.annotations.ConfigGroup;
+import io.quarkus.runtime.annotations.ConfigItem;
+
+@ConfigGroup
+public class AsyncConfig {
+
+    /**
+     * Whether log records are formatted on a dedicated thread instead of the logging thread.
+     * <p>
+     * Logging threads only copy the record's fields. Log parameters are rendered later on the
+     * formatter thread, so mutable parameters may be rendered with their later state.
+     */
+    @ConfigItem(defaultValue = "false")
+    public boolean enabled;
+
+    /**
+     * Maximum number of log records waiting to be formatted.
+     */
+    @ConfigItem(defaultValue = "512")
+    public int queueLength;
+
+    /**
+     * What logging threads do when the queue is full.
+     * <p>
+     * `block` waits for the formatter thread to catch up. `discard` drops the record; the number of
+     * dropped records is logged once the formatter thread catches up.
+     */
+    @ConfigItem(defaultValue = "block")
+    public Overflow overflow;
+
+    public enum Overflow {
+        BLOCK,
+        DISCARD
+    }
+
+}
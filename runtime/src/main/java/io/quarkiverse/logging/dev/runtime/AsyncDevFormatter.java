@@ -0,0 +1,184 @@
+package io.quarkiverse.logging.dev.runtime;
+
+import static io.quarkiverse.logging.dev.runtime.DevFormatter.MDC_SPAN_ID_NAME;
+import static io.quarkiverse.logging.dev.runtime.DevFormatter.MDC_TRACE_ID_NAME;
+
+import java.io.PrintStream;
+import java.nio.charset.Charset;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+import org.jboss.logmanager.ExtFormatter;
+import org.jboss.logmanager.ExtLogRecord;
+import org.jboss.logmanager.Level;
+
+import io.quarkiverse.logging.dev.runtime.AsyncConfig.Overflow;
+
+/**
+ * Formats records with a {@link DevFormatter} on a dedicated thread.
+ * <p>
+ * The logging thread only copies the record fields the formatter uses and queues the copy.
+ * The formatter thread renders queued records in batches and writes each batch to the output
+ * with a single write. {@link #format} returns an empty string, which the console handler skips.
+ */
+public class AsyncDevFormatter extends ExtFormatter implements AutoCloseable {
+
+    static final String THREAD_NAME = "dev-log-formatter";
+    static final int MAX_BATCH_SIZE = 256;
+
+    private static final String DROPPED_MESSAGE = "%d log records were dropped, the log formatting queue was full";
+    private static final String DROPPED_LOGGER_NAME = "io.quarkiverse.logging.dev";
+    private static final long IDLE_WAIT_NANOS = TimeUnit.MILLISECONDS.toNanos(100);
+    private static final long BLOCK_WAIT_NANOS = TimeUnit.MICROSECONDS.toNanos(50);
+    private static final long CLOSE_TIMEOUT_MILLIS = TimeUnit.SECONDS.toMillis(5);
+    private static final int INITIAL_BATCH_CAPACITY = 8 * 1024;
+    private static final int MAX_RETAINED_BATCH_CAPACITY = 256 * 1024;
+
+    private final DevFormatter formatter;
+    private final Overflow overflow;
+    private final PrintStream output;
+    private final Charset charset = Charset.defaultCharset();
+    private final MpscRing<ExtLogRecord> queue;
+    private final LongAdder dropped = new LongAdder();
+    private final Thread worker;
+    private StringBuilder batch = new StringBuilder(INITIAL_BATCH_CAPACITY);
+    private volatile boolean waiting;
+    private volatile boolean closed;
+
+    public AsyncDevFormatter(DevFormatter formatter, int queueLength, Overflow overflow, PrintStream output) {
+        this.formatter = formatter;
+        this.overflow = overflow;
+        this.output = output;
+        this.queue = new MpscRing<>(queueLength);
+        this.worker = new Thread(this::run, THREAD_NAME);
+        this.worker.setDaemon(true);
+        this.worker.start();
+    }
+
+    @Override
+    public String format(ExtLogRecord record) {
+        if (closed || Thread.currentThread() == worker) {
+            // Shut down, or logging while formatting; render in place rather than wait on ourselves
+            return formatter.format(record);
+        }
+
+        var captured = capture(record);
+        while (!queue.offer(captured)) {
+            if (overflow == Overflow.DISCARD) {
+                dropped.increment();
+                return "";
+            }
+            if (closed) {
+                return formatter.format(record);
+            }
+            LockSupport.unpark(worker);
+            LockSupport.parkNanos(BLOCK_WAIT_NANOS);
+        }
+        if (waiting) {
+            LockSupport.unpark(worker);
+        }
+        return "";
+    }
+
+    /**
+     * Formats and writes the queued records, then stops the formatter thread. Records logged
+     * afterwards are formatted synchronously.
+     */
+    @Override
+    public void close() {
+        closed = true;
+        LockSupport.unpark(worker);
+        try {
+            worker.join(CLOSE_TIMEOUT_MILLIS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void run() {
+        while (true) {
+            if (queue.drain(this::render, MAX_BATCH_SIZE) > 0) {
+                renderDropped();
+                write();
+                continue;
+            }
+            if (closed && queue.isEmpty()) {
+                return;
+            }
+            waiting = true;
+            if (queue.isEmpty() && !closed) {
+                LockSupport.parkNanos(this, IDLE_WAIT_NANOS);
+            }
+            waiting = false;
+        }
+    }
+
+    private void render(ExtLogRecord record) {
+        var start = batch.length();
+        try {
+            formatter.formatTo(record, batch);
+        } catch (RuntimeException e) {
+            batch.setLength(start);
+            batch.append(record.getMessage()).append('\n');
+        }
+    }
+
+    private void renderDropped() {
+        var count = dropped.sumThenReset();
+        if (count > 0) {
+            var record = new ExtLogRecord(Level.WARN, DROPPED_MESSAGE, ExtLogRecord.FormatStyle.PRINTF,
+                    AsyncDevFormatter.class.getName());
+            record.setParameters(new Object[] { count });
+            record.setLoggerName(DROPPED_LOGGER_NAME);
+            record.setThreadName(THREAD_NAME);
+            record.setInstant(Instant.now());
+            render(record);
+        }
+    }
+
+    private void write() {
+        if (batch.length() > 0) {
+            var bytes = batch.toString().getBytes(charset);
+            output.write(bytes, 0, bytes.length);
+            output.flush();
+        }
+        if (batch.capacity() > MAX_RETAINED_BATCH_CAPACITY) {
+            batch = new StringBuilder(INITIAL_BATCH_CAPACITY);
+        } else {
+            batch.setLength(0);
+        }
+    }
+
+    private static ExtLogRecord capture(ExtLogRecord record) {
+        var captured = new ExtLogRecord(record.getLevel(), record.getMessage(), record.getFormatStyle(),
+                record.getLoggerClassName());
+        captured.setParameters(record.getParameters());
+        captured.setLoggerName(record.getLoggerName());
+        captured.setThreadName(record.getThreadName());
+        captured.setInstant(record.getInstant());
+        captured.setThrown(record.getThrown());
+        captured.setMdc(captureMdc(record));
+        return captured;
+    }
+
+    private static Map<String, String> captureMdc(ExtLogRecord record) {
+        var traceId = record.getMdc(MDC_TRACE_ID_NAME);
+        var spanId = record.getMdc(MDC_SPAN_ID_NAME);
+        if (traceId == null && spanId == null) {
+            return Map.of();
+        }
+        var mdc = new HashMap<String, String>(4);
+        if (traceId != null) {
+            mdc.put(MDC_TRACE_ID_NAME, traceId);
+        }
+        if (spanId != null) {
+            mdc.put(MDC_SPAN_ID_NAME, spanId);
+        }
+        return mdc;
+    }
+
+}
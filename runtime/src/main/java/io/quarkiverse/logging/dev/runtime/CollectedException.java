@@ -0,0 +1,59 @@
+package io.quarkiverse.logging.dev.runtime;
+
+import java.io.PrintWriter;
+
+/**
+ * An exception kept by {@link ExceptionCollector} for the exception detail page.
+ */
+public interface CollectedException {
+
+    /**
+     * Fully qualified class name of the exception.
+     */
+    String getClassName();
+
+    /**
+     * Prints the stack trace exactly as {@link Throwable#printStackTrace(PrintWriter)} would.
+     */
+    void printStackTrace(PrintWriter writer);
+
+    /**
+     * Approximate number of bytes retained by this exception, {@code 0} if unknown.
+     */
+    long estimatedSize();
+
+    /**
+     * Adds a reader reference, preventing the exception's data from being released while read.
+     *
+     * @return {@code false} if the exception has already been released and can't be read.
+     */
+    default boolean retain() {
+        return true;
+    }
+
+    /**
+     * Removes a reference; the store's reference is removed when the exception is evicted.
+     */
+    default void release() {
+    }
+
+    static CollectedException live(Throwable exception) {
+        return new CollectedException() {
+            @Override
+            public String getClassName() {
+                return exception.getClass().getName();
+            }
+
+            @Override
+            public void printStackTrace(PrintWriter writer) {
+                exception.printStackTrace(writer);
+            }
+
+            @Override
+            public long estimatedSize() {
+                return 0;
+            }
+        };
+    }
+
+}
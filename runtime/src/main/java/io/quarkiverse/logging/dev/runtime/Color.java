@@ -3,23 +3,68 @@ package io.quarkiverse.logging.dev.runtime;
 import static java.lang.Math.max;
 import static java.lang.Math.min;
 
-class Color {
-    int r;
-    int g;
-    int b;
+/**
+ * Immutable RGB color, with its ANSI escape sequences rendered once.
+ */
+final class Color {
 
-    Color(int r, int g, int b) {
+    private static final int FG_MODE = 38;
+    private static final int BG_MODE = 48;
+
+    final int r;
+    final int g;
+    final int b;
+
+    final char[] fgTrueColor;
+    final char[] bgTrueColor;
+    final char[] fg256Color;
+    final char[] bg256Color;
+
+    private volatile Darkened darkened;
+
+    private Color(int r, int g, int b) {
         this.r = r;
         this.g = g;
         this.b = b;
+        this.fgTrueColor = trueColorSequence(FG_MODE, r, g, b);
+        this.bgTrueColor = trueColorSequence(BG_MODE, r, g, b);
+        this.fg256Color = color256Sequence(FG_MODE, r, g, b);
+        this.bg256Color = color256Sequence(BG_MODE, r, g, b);
     }
 
     static Color of(int r, int g, int b) {
         return new Color(r, g, b);
     }
 
+    /**
+     * Color of a {@code #rrggbb} string.
+     */
+    static Color parse(String hex) {
+        var digits = hex.startsWith("#") ? hex.substring(1) : hex;
+        if (digits.length() != 6) {
+            throw new IllegalArgumentException("Color must be #rrggbb: " + hex);
+        }
+        int rgb;
+        try {
+            rgb = Integer.parseInt(digits, 16);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Color must be #rrggbb: " + hex, e);
+        }
+        return new Color(rgb >> 16, (rgb >> 8) & 0xff, rgb & 0xff);
+    }
+
+    /**
+     * Darkened color; the last result is kept, so repeatedly darkening by the same amount does not
+     * allocate.
+     */
     Color darken(float amount) {
-        return multiply(1.0f - amount);
+        var cached = darkened;
+        if (cached != null && cached.amount == amount) {
+            return cached.color;
+        }
+        var color = multiply(1.0f - amount);
+        darkened = new Darkened(amount, color);
+        return color;
     }
 
     Color multiply(float amount) {
@@ -29,4 +74,41 @@ class Color {
     private static int clamp(float value) {
         return max(min((int) value, 255), 0);
     }
+
+    private static int clip(int channel) {
+        return min(max(0, channel), 255);
+    }
+
+    private static char[] trueColorSequence(int mode, int r, int g, int b) {
+        return new StringBuilder(19)
+                .append('\u001b').append('[').append(mode).append(';').append(2)
+                .append(';').append(clip(r))
+                .append(';').append(clip(g))
+                .append(';').append(clip(b))
+                .append('m')
+                .toString()
+                .toCharArray();
+    }
+
+    private static char[] color256Sequence(int mode, int r, int g, int b) {
+        int ar = (5 * clip(r)) / 255;
+        int ag = (5 * clip(g)) / 255;
+        int ab = (5 * clip(b)) / 255;
+        int col = 16 + 36 * ar + 6 * ag + ab;
+        return new StringBuilder(11)
+                .append('\u001b').append('[').append(mode).append(';').append('5').append(';').append(col).append('m')
+                .toString()
+                .toCharArray();
+    }
+
+    private static final class Darkened {
+
+        final float amount;
+        final Color color;
+
+        Darkened(float amount, Color color) {
+            this.amount = amount;
+            this.color = color;
+        }
+    }
 }
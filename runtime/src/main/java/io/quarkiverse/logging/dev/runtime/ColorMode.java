@@ -0,0 +1,60 @@
+package io.quarkiverse.logging.dev.runtime;
+
+/**
+ * How the formatter colors its output.
+ */
+public enum ColorMode {
+
+    /**
+     * Colors, with true colors when the terminal advertises them in {@code COLORTERM}. No colors when
+     * {@code NO_COLOR} is set or when {@code TERM} is {@code dumb}.
+     * <p>
+     * A missing {@link System#console() console} is not taken as a reason not to color: IDE consoles
+     * render escape sequences, but are not terminals to the JVM.
+     */
+    AUTO,
+
+    /**
+     * 24-bit colors.
+     */
+    TRUECOLOR,
+
+    /**
+     * Colors of the 256 color palette.
+     */
+    ANSI_256,
+
+    /**
+     * Plain text, without escape sequences.
+     */
+    NONE;
+
+    /**
+     * Mode to use, detected from the environment for {@link #AUTO}.
+     */
+    ColorMode resolve() {
+        if (this != AUTO) {
+            return this;
+        }
+        var noColor = System.getenv("NO_COLOR");
+        if (noColor != null && !noColor.isEmpty()) {
+            return NONE;
+        }
+        if ("dumb".equals(System.getenv("TERM"))) {
+            return NONE;
+        }
+        return colorDepth();
+    }
+
+    /**
+     * {@link #TRUECOLOR} when the terminal advertises true colors in {@code COLORTERM}, {@link #ANSI_256}
+     * otherwise.
+     */
+    static ColorMode colorDepth() {
+        var colorterm = System.getenv("COLORTERM");
+        return colorterm != null && (colorterm.contains("truecolor") || colorterm.contains("24bit"))
+                ? TRUECOLOR
+                : ANSI_256;
+    }
+
+}
@@ -1,22 +1,19 @@
 package io.quarkiverse.logging.dev.runtime;
 
 import java.util.Locale;
-import java.util.Map;
 
 import org.wildfly.common.format.GeneralFlags;
 import org.wildfly.common.format.Printf;
 
 class ColorPrintf extends Printf {
 
-    private final Color defaultColor;
-    private final Map<Class<?>, Color> typeColors;
-    private final float darken;
+    private final TypeColors typeColors;
+    private final boolean trueColor;
 
-    ColorPrintf(Color defaultColor, Map<Class<?>, Color> typeColors, float darken) {
+    ColorPrintf(TypeColors typeColors, boolean trueColor) {
         super(Locale.getDefault());
-        this.defaultColor = defaultColor;
         this.typeColors = typeColors;
-        this.darken = darken;
+        this.trueColor = trueColor;
     }
 
     public StringBuilder formatDirect(StringBuilder destination, String format, Object... params) {
@@ -27,19 +24,12 @@ class ColorPrintf extends Printf {
 
     protected void formatPlainString(StringBuilder target, Object item, GeneralFlags genFlags,
             int width, int precision) {
-        ColorUtil.startFgColor(target, getColor(item).darken(darken));
+        ColorUtil.startFgColor(target, typeColors.darkened(item), trueColor);
         super.formatPlainString(target, item, genFlags, width, precision);
         ColorUtil.endFgColor(target);
     }
 
     protected Color getColor(Object item) {
-        if (!typeColors.isEmpty()) {
-            for (Map.Entry<Class<?>, Color> entry : typeColors.entrySet()) {
-                if (entry.getKey().isInstance(item)) {
-                    return entry.getValue();
-                }
-            }
-        }
-        return defaultColor;
+        return typeColors.color(item);
     }
 }
@@ -2,30 +2,50 @@ package io.quarkiverse.logging.dev.runtime;
 
 class ColorUtil {
 
+    private static final char[] START_BOLD = "\u001b[1m".toCharArray();
+    private static final char[] END_BOLD = "\u001b[0m".toCharArray();
+    private static final char[] END_FG_COLOR = "\u001b[39m".toCharArray();
+    private static final char[] END_BG_COLOR = "\u001b[49m".toCharArray();
+
     static String bold(CharSequence section) {
         return "\u001b[1m" + section + "\u001b[0m";
     }
 
-    static String colorize(CharSequence section, Color fgColor) {
-        return colorize(section, fgColor, null);
+    static void startBold(StringBuilder target) {
+        target.append(START_BOLD);
+    }
+
+    static void endBold(StringBuilder target) {
+        target.append(END_BOLD);
+    }
+
+    static String colorize(CharSequence section, Color fgColor, boolean trueColor) {
+        return colorize(section, fgColor, null, trueColor);
     }
 
-    static String colorize(CharSequence section, Color fgColor, Color bgColor) {
+    static String colorize(CharSequence section, Color fgColor, Color bgColor, boolean trueColor) {
         var target = new StringBuilder();
-        colorize(target, section, fgColor, bgColor);
+        colorize(target, section, fgColor, bgColor, trueColor);
         return target.toString();
     }
 
-    static void colorize(StringBuilder target, CharSequence section, Color fgColor) {
-        colorize(target, section, fgColor, null);
+    static void colorize(StringBuilder target, CharSequence section, Color fgColor, boolean trueColor) {
+        colorize(target, section, fgColor, null, trueColor);
     }
 
-    static void colorize(StringBuilder target, CharSequence section, Color fgColor, Color bgColor) {
+    static void colorize(StringBuilder target, CharSequence section, int start, int end, Color fgColor,
+            boolean trueColor) {
+        startFgColor(target, fgColor, trueColor);
+        target.append(section, start, end);
+        endFgColor(target);
+    }
+
+    static void colorize(StringBuilder target, CharSequence section, Color fgColor, Color bgColor, boolean trueColor) {
         if (fgColor != null) {
-            startFgColor(target, fgColor);
+            startFgColor(target, fgColor, trueColor);
         }
         if (bgColor != null) {
-            startBgColor(target, bgColor);
+            startBgColor(target, bgColor, trueColor);
         }
         target.append(section);
         if (bgColor != null) {
@@ -36,51 +56,20 @@ class ColorUtil {
         }
     }
 
-    static void startFgColor(StringBuilder target, Color color) {
-        startColor(target, 38, color);
+    static void startFgColor(StringBuilder target, Color color, boolean trueColor) {
+        target.append(trueColor ? color.fgTrueColor : color.fg256Color);
     }
 
-    static void startBgColor(StringBuilder target, Color color) {
-        startColor(target, 48, color);
-    }
-
-    private static void startColor(StringBuilder target, int mode, Color color) {
-        var r = color.r;
-        var g = color.g;
-        var b = color.b;
-        if (trueColor) {
-            target.appendCodePoint(27).append('[').append(mode).append(';').append(2).append(';').append(clip(r))
-                    .append(';').append(clip(g)).append(';').append(clip(b)).append('m');
-        } else {
-            int ar = (5 * clip(r)) / 255;
-            int ag = (5 * clip(g)) / 255;
-            int ab = (5 * clip(b)) / 255;
-            int col = 16 + 36 * ar + 6 * ag + ab;
-            target.appendCodePoint(27).append('[').append(mode).append(';').append('5').append(';').append(col).append('m');
-        }
-    }
-
-    private static int clip(int channel) {
-        return Math.min(Math.max(0, channel), 255);
+    static void startBgColor(StringBuilder target, Color color, boolean trueColor) {
+        target.append(trueColor ? color.bgTrueColor : color.bg256Color);
     }
 
     static void endFgColor(StringBuilder target) {
-        endColor(target, 39);
+        target.append(END_FG_COLOR);
     }
 
     static void endBgColor(StringBuilder target) {
-        endColor(target, 49);
-    }
-
-    private static void endColor(StringBuilder target, int mode) {
-        target.appendCodePoint(27).append('[').append(mode).append('m');
-    }
-
-    static final boolean trueColor = determineTrueColor();
-
-    static boolean determineTrueColor() {
-        final String colorterm = System.getenv("COLORTERM");
-        return (colorterm != null && (colorterm.contains("truecolor") || colorterm.contains("24bit")));
+        target.append(END_BG_COLOR);
     }
 
 }
@@ -0,0 +1,27 @@
+package io.quarkiverse.logging.dev.runtime;
+
+import io.quarkus.runtime.annotations.ConfigGroup;
+import io.quarkus.runtime.annotations.ConfigItem;
+import io.quarkus.runtime.configuration.MemorySize;
+
+@ConfigGroup
+public class ConsoleConfig {
+
+    /**
+     * Whether formatted records are written straight to the standard output channel as UTF-8, instead
+     * of through the console handler's writer. Records logged concurrently are written together.
+     * <p>
+     * Records are written to `System.out` instead while it is redirected after startup, e.g. captured by a
+     * test. Ignored when the Quarkus dev console is installed, as it redirects the standard output to keep
+     * its status lines in place, and when asynchronous formatting is enabled, which writes its own batches.
+     */
+    @ConfigItem(defaultValue = "false")
+    public boolean direct;
+
+    /**
+     * Size of the buffer records are encoded into before being written.
+     */
+    @ConfigItem(defaultValue = "64K")
+    public MemorySize bufferSize;
+
+}
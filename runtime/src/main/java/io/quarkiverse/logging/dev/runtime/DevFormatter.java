@@ -1,31 +1,23 @@
 package io.quarkiverse.logging.dev.runtime;
 
-import static io.quarkiverse.logging.dev.runtime.ColorUtil.bold;
-import static io.quarkiverse.logging.dev.runtime.ColorUtil.colorize;
 import static io.quarkiverse.logging.dev.runtime.Colors.*;
 import static io.quarkiverse.logging.dev.runtime.ExceptionsRouteHandler.ROUTE_PATH;
-import static java.lang.Math.max;
-import static java.time.temporal.ChronoField.*;
-import static java.util.Arrays.stream;
-import static java.util.logging.Level.INFO;
-import static java.util.regex.Pattern.compile;
-import static java.util.stream.Collectors.joining;
-import static org.jboss.logmanager.Level.ERROR;
 
 import java.text.MessageFormat;
 import java.time.Instant;
-import java.time.ZoneId;
-import java.time.format.DateTimeFormatter;
-import java.time.format.DateTimeFormatterBuilder;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Locale;
 import java.util.Map;
 import java.util.UUID;
-import java.util.concurrent.atomic.AtomicInteger;
-import java.util.regex.Pattern;
+import java.util.logging.Level;
+import java.util.logging.Logger;
 
 import org.jboss.logmanager.ExtFormatter;
 import org.jboss.logmanager.ExtLogRecord;
+import org.wildfly.common.format.Printf;
 
-import io.netty.handler.codec.http.HttpResponseStatus;
+import io.quarkiverse.logging.dev.runtime.DevLoggingMetrics.RecordKind;
 
 public class DevFormatter extends ExtFormatter {
 
@@ -36,17 +28,45 @@ public class DevFormatter extends ExtFormatter {
     private static final String HTTP_SECURITY_BEG_DELIM = "<";
     private static final String HTTP_SECURITY_END_DELIM = ">";
     private static final String HTTP_SECURITY_NO_USER = "none";
-    private static final String HTTP_UNKNOWN_STATUS = "Unknown";
-    private static final Pattern HTTP_LOG_PATTERN = compile(
-            "([^ ]+) ([^ ]+) ([^ ]+) (\\d{2}/\\w+/\\d{4}:\\d{2}:\\d{2}:\\d{2} [+\\-]?\\d+) \"([^\"]+)\" (\\d+) (\\d+)");
-    private static final Pattern HTTP_REQ_PATTERN = compile("(\\w+) ([^ ]+) (HTTP/.*)");
+    private static final String HTTP_DURATION_MILLIS = " ms";
+    private static final String HTTP_DURATION_SECONDS = " s";
+    private static final long NO_DURATION = -1;
 
     private static final String EXC_PATH = "/q/" + ROUTE_PATH + "/";
+    // Paths of the extension's own routes, whose access logs are filtered out
+    private static final String[] OWN_PATHS = {
+            "/q/" + ROUTE_PATH,
+            "/q/" + LogStreamRouteHandler.ROUTE_PATH,
+            "/q/" + LogSearchRouteHandler.ROUTE_PATH,
+    };
     private static final String EXC_MESSAGE_BEG = "↪ ";
-    private static final String EXC_URL_FORMAT = "http://%s:%d" + EXC_PATH + "%s";
+    private static final String EXC_URL_SCHEME = "http://";
+    private static final char EXC_URL_PORT_DELIM = ':';
     private static final String EXC_TRACE_LOC_BEG_DELIM = "(";
     private static final String EXC_TRACE_LOC_END_DELIM = ")";
     private static final String EXC_TRACE_LOC_SEP_DELIM = ":";
+    private static final String EXC_REPEAT_SEEN = "seen ";
+    private static final String EXC_REPEAT_TIMES = "×";
+    private static final String EXC_REPEAT_LINK_DELIM = " — ";
+    private static final char EXC_REPEAT_GROUP_DELIM = ',';
+    private static final String EXC_SUPPRESSED_LABEL = "suppressed: ";
+    private static final String EXC_CIRCULAR_LABEL = "circular reference: ";
+    private static final String EXC_ELIDED_BEG = "… ";
+    private static final String EXC_AT_LEAST = "≥";
+    private static final String EXC_MORE_CAUSE = " more cause";
+    private static final String EXC_MORE_CAUSES = " more causes";
+    private static final String EXC_MORE_SUPPRESSED = " more suppressed";
+    private static final String EXC_MORE_EXCEPTIONS = " more exceptions";
+    private static final int EXC_ENTRY_CAUSE = 0;
+    private static final int EXC_ENTRY_SUPPRESSED = 1;
+    private static final int EXC_ENTRY_MORE_CAUSES = 2;
+    private static final int EXC_ENTRY_MORE_SUPPRESSED = 3;
+    static final int DEFAULT_MAX_EXCEPTION_DEPTH = 16;
+    static final int DEFAULT_MAX_SUPPRESSED_EXCEPTIONS = 8;
+
+    private static final String THR_SUPPRESSED = "suppressed ";
+    private static final String THR_SIMILAR_FROM = " similar messages from ";
+    private static final String THR_PENDING_FORMAT = "Suppressed {0} similar messages";
 
     private static final String CTX_LOGGER_BEG_DELIM = "[";
     private static final String CTX_LOGGER_END_DELIM = "]";
@@ -58,248 +78,691 @@ public class DevFormatter extends ExtFormatter {
     private static final String CTX_TELEMETRY_VALUE_DELIM = ":";
     private static final String CTX_TELEMETRY_FIELD_DELIM = ",";
     private static final String CTX_TELEMETRY_END_DELIM = ">";
+    private static final String CTX_TELEMETRY_TRACE_LABEL = CTX_TELEMETRY_TRACE_NAME + CTX_TELEMETRY_VALUE_DELIM;
+    private static final String CTX_TELEMETRY_SPAN_LABEL = CTX_TELEMETRY_SPAN_NAME + CTX_TELEMETRY_VALUE_DELIM;
     private static final String CTX_TELEMETRY_NO_TRACE = "none";
     private static final String CTX_TELEMETRY_NO_SPAN = "none";
-    private static final String MDC_TRACE_ID_NAME = "traceId";
-    private static final String MDC_SPAN_ID_NAME = "spanId";
+    static final String MDC_TRACE_ID_NAME = "traceId";
+    static final String MDC_SPAN_ID_NAME = "spanId";
 
     private static final int LEVEL_PAD_LENGTH = 5;
     private static final int MAX_LOG_SECTION_LENGTH = 3;
 
-    private static final String NO_LOG = "";
-    private static final String EMPTY_MESSAGE = "";
     private static final String INDENT = blankString(15);
     private static final String MSG_EXTRA_INDENT = blankString(2);
+    private static final String MSG_INDENT = INDENT + MSG_EXTRA_INDENT;
+    private static final String[] INDENTS = new String[16];
+    static {
+        for (int level = 0; level < INDENTS.length; ++level) {
+            INDENTS[level] = INDENT + blankString(level * MSG_EXTRA_INDENT.length());
+        }
+    }
     private static final String NEWLINE = "\n";
     private static final String SPACE = " ";
     private static final String DOUBLE_NEWLINE = NEWLINE + NEWLINE;
-    private static final Pattern LOGGER_NAME_SPLIT_PATTERN = Pattern.compile("\\.");
-    private static final String LOGGER_NAME_SPLIT = ".";
+    private static final char LOGGER_NAME_SPLIT = '.';
+    static final int DEFAULT_LOGGER_NAME_CACHE_SIZE = 1024;
     private static final char CLASS_NAME_SPLIT = '.';
+    private static final Map<Class<?>, Color> DEFAULT_TYPE_COLORS = Map.of(
+            UUID.class, Color.of(0xdd, 0xff, 0xdd),
+            Class.class, Color.of(0xff, 0xff, 0xdd));
 
     String httpHost;
     int httpPort;
     boolean showTraceContext;
+    final ColorMode colors;
+    // No escape sequences at all, the color helpers only append the text. A branch on a final field rather than
+    // separate plain and colored implementations: it is always predicted the same way, and the helpers stay
+    // small enough to be inlined, which a call through an interface would not make any cheaper
+    private final boolean plain;
+    private final boolean trueColor;
+    private Printf printf;
+    final TimestampCache timestamps;
+    LoggerNameCache loggerNames = new LoggerNameCache(DEFAULT_LOGGER_NAME_CACHE_SIZE, this::renderLoggerName);
+    LogThrottle throttle;
+    int maxExceptionDepth = DEFAULT_MAX_EXCEPTION_DEPTH;
+    int maxSuppressedExceptions = DEFAULT_MAX_SUPPRESSED_EXCEPTIONS;
 
+    /**
+     * Formatter that always colors its output, with true colors when the terminal advertises them.
+     */
     public DevFormatter(String httpHost, int httpPort, boolean showTraceContext) {
+        this(httpHost, httpPort, showTraceContext, ColorMode.colorDepth());
+    }
+
+    public DevFormatter(String httpHost, int httpPort, boolean showTraceContext, ColorMode colors) {
         this.httpHost = httpHost;
         this.httpPort = httpPort;
         this.showTraceContext = showTraceContext;
+        this.colors = colors.resolve();
+        this.plain = this.colors == ColorMode.NONE;
+        this.trueColor = this.colors == ColorMode.TRUECOLOR;
+        this.printf = newPrintf(DEFAULT_TYPE_COLORS);
+        this.timestamps = TimestampCache.seconds(LO_TEXT_COLOR, this.colors);
+    }
+
+    /**
+     * Limits the rate of general records logged by each call site, or {@code null} to log every record.
+     */
+    public void setThrottle(LogThrottle throttle) {
+        this.throttle = throttle;
+    }
+
+    /**
+     * Limits the cause trees of logged exceptions. Causes below the maximum depth, and suppressed exceptions beyond the
+     * maximum per exception, are logged as a count.
+     *
+     * @param maxDepth Maximum number of nested causes and suppressed exceptions logged.
+     * @param maxSuppressed Maximum number of suppressed exceptions logged per exception.
+     */
+    public void setExceptionTreeLimits(int maxDepth, int maxSuppressed) {
+        if (maxDepth < 1) {
+            throw new IllegalArgumentException("Max depth must be positive: " + maxDepth);
+        }
+        if (maxSuppressed < 0) {
+            throw new IllegalArgumentException("Max suppressed must not be negative: " + maxSuppressed);
+        }
+        this.maxExceptionDepth = maxDepth;
+        this.maxSuppressedExceptions = maxSuppressed;
+    }
+
+    /**
+     * Colors printf arguments by type, in addition to the default colors of {@link UUID UUIDs} and
+     * classes. Arguments are colored by their most specific registered class or interface.
+     *
+     * @param typeColors Colors by type, as {@code #rrggbb}.
+     */
+    public void setTypeColors(Map<Class<?>, String> typeColors) {
+        var colors = new HashMap<>(DEFAULT_TYPE_COLORS);
+        typeColors.forEach((type, color) -> colors.put(type, Color.parse(color)));
+        printf = newPrintf(colors);
+    }
+
+    private Printf newPrintf(Map<Class<?>, Color> typeColors) {
+        if (plain) {
+            return new Printf(Locale.getDefault());
+        }
+        return new ColorPrintf(new TypeColors(HI_TEXT_COLOR, typeColors, 0), trueColor);
+    }
+
+    /**
+     * Limits the number of logger names kept rendered for the context line, replacing the cache.
+     */
+    public void setLoggerNameCacheSize(int maxSize) {
+        loggerNames = new LoggerNameCache(maxSize, this::renderLoggerName);
+    }
+
+    /**
+     * Cache of the rendered logger names of the context line.
+     */
+    public LoggerNameCache getLoggerNameCache() {
+        return loggerNames;
     }
 
     @Override
     public String format(ExtLogRecord record) {
-        if (HTTP_ACCESS_LOGGER_NAME.equals(record.getLoggerName())) {
-            return formatHttp(record);
+        var start = DevLoggingMetrics.start();
+        var http = HTTP_ACCESS_LOGGER_NAME.equals(record.getLoggerName());
+        var formatted = http
+                ? formatHttp(record)
+                : formatGeneral(record);
+        DevLoggingMetrics.formatted(recordKind(record, http), start, formatted.length());
+        collect(record, formatted);
+        return formatted;
+    }
+
+    /**
+     * Formats a record, appending it to {@code out}.
+     */
+    void formatTo(ExtLogRecord record, StringBuilder out) {
+        var start = DevLoggingMetrics.start();
+        var buffers = RenderBuffers.acquire();
+        try {
+            var http = HTTP_ACCESS_LOGGER_NAME.equals(record.getLoggerName());
+            if (http) {
+                renderHttp(record, buffers);
+            } else {
+                renderGeneral(record, buffers);
+            }
+            out.append(buffers.out);
+            DevLoggingMetrics.formatted(recordKind(record, http), start, buffers.out.length());
+            if (LogStream.hasSubscribers() || LogCollector.isEnabled()) {
+                collect(record, buffers.out.toString());
+            }
+        } finally {
+            buffers.release();
         }
-        return formatGeneral(record);
+    }
+
+    private static RecordKind recordKind(ExtLogRecord record, boolean http) {
+        if (http) {
+            return RecordKind.HTTP;
+        }
+        return record.getThrown() != null ? RecordKind.EXCEPTION : RecordKind.GENERAL;
+    }
+
+    /**
+     * Hands a formatted record to the live log stream and the log search.
+     */
+    private static void collect(ExtLogRecord record, String formatted) {
+        if (LogStream.hasSubscribers()) {
+            LogStream.publish(formatted);
+        }
+        LogCollector.add(record, formatted);
     }
 
     public String formatHttp(ExtLogRecord record) {
+        var buffers = RenderBuffers.acquire();
+        try {
+            renderHttp(record, buffers);
+            return buffers.out.toString();
+        } finally {
+            buffers.release();
+        }
+    }
 
-        var logMatcher = HTTP_LOG_PATTERN.matcher(record.getMessage());
-        if (!logMatcher.matches()) {
-            return formatGeneral(record);
+    public String formatGeneral(ExtLogRecord record) {
+        var buffers = RenderBuffers.acquire();
+        try {
+            renderGeneral(record, buffers);
+            return buffers.out.toString();
+        } finally {
+            buffers.release();
         }
+    }
+
+    private void renderHttp(ExtLogRecord record, RenderBuffers buffers) {
 
-        var reqMatcher = HTTP_REQ_PATTERN.matcher(logMatcher.group(5));
-        if (!reqMatcher.matches()) {
-            return formatGeneral(record);
+        var entry = accessLogEntry(record);
+        if (entry != null) {
+            renderHttpEntry(record, entry, buffers.out);
+            return;
+        }
+
+        var line = record.getMessage();
+        var parser = buffers.httpParser;
+        if (!parser.parse(line)) {
+            renderGeneralLines(record, buffers);
+            return;
         }
 
         // Filter out access logs for our requests...
-        if (reqMatcher.group(2).startsWith(EXC_PATH)) {
-            return NO_LOG;
+        if (isOwnPath(line, parser.pathStart, parser.pathEnd)) {
+            return;
         }
 
         int statusCode;
         String statusMessage;
-        try {
-            statusCode = Integer.parseInt(logMatcher.group(6));
-            var status = HttpResponseStatus.valueOf(statusCode);
-            if (status != null) {
-                statusMessage = status.reasonPhrase();
-            } else {
-                statusMessage = HTTP_UNKNOWN_STATUS;
-            }
-        } catch (Throwable ignored) {
+        if (parser.status != HttpAccessLogParser.INVALID_STATUS) {
+            statusCode = parser.status;
+            statusMessage = HttpStatuses.reasonPhrase(statusCode);
+        } else {
             statusCode = 0;
-            statusMessage = HTTP_UNKNOWN_STATUS;
+            statusMessage = HttpStatuses.UNKNOWN_REASON_PHRASE;
         }
 
-        var statusLevel = statusCode >= 100 && statusCode < 400 ? INFO : ERROR;
-        var statusColor = levelColor(statusLevel);
+        var out = buffers.out;
 
-        return formatHttpMessageLine(record.getInstant(), statusColor, reqMatcher.group(1), reqMatcher.group(2),
-                reqMatcher.group(3)) +
-                NEWLINE +
-                formatHttpContextLine(statusColor, statusCode, statusMessage, logMatcher.group(3)) +
-                NEWLINE +
-                formatContextLine(record) +
-                DOUBLE_NEWLINE;
+        renderHttpMessageLine(record.getInstant(), statusCode, line, parser, out);
+        out.append(NEWLINE);
+        renderHttpContextLine(statusCode, statusMessage, line, parser.userStart, parser.userEnd, NO_DURATION, out);
+        out.append(NEWLINE);
+        renderContextLine(record, out);
+        out.append(DOUBLE_NEWLINE);
     }
 
-    private String formatHttpMessageLine(Instant instant, Color statusColor, String method, String message,
-            String httpVersion) {
+    /**
+     * Entry published by {@link AccessLogHandler}, or {@code null} for access log lines to parse.
+     */
+    private static AccessLogEntry accessLogEntry(ExtLogRecord record) {
+        var parameters = record.getParameters();
+        if (parameters != null && parameters.length == 1 && parameters[0] instanceof AccessLogEntry) {
+            return (AccessLogEntry) parameters[0];
+        }
+        return null;
+    }
+
+    private void renderHttpEntry(ExtLogRecord record, AccessLogEntry entry, StringBuilder out) {
 
-        var timestamp = instant.atZone(ZoneId.systemDefault());
+        // Filter out access logs for our requests...
+        var uri = entry.getUri();
+        if (isOwnPath(uri, 0, uri.length())) {
+            return;
+        }
 
-        return colorize(TIMESTAMP_FORMATTER.format(timestamp), LO_TEXT_COLOR) +
-                SPACE +
-                colorize(padLevel(HTTP_LOG_LEVEL), LO_TEXT_COLOR) +
-                SPACE +
-                colorize(method, statusColor) +
-                SPACE +
-                colorize(message, HI_TEXT_COLOR) +
-                SPACE +
-                colorize(httpVersion, LO_TEXT_COLOR);
+        var statusCode = entry.getStatus();
+
+        renderTimestamp(record.getInstant(), out);
+        out.append(SPACE);
+        renderLevel(HTTP_LOG_LEVEL, LO_TEXT_COLOR, out);
+        out.append(SPACE);
+        colorize(out, entry.getMethod(), HttpStatuses.color(statusCode));
+        out.append(SPACE);
+        colorize(out, entry.getUri(), HI_TEXT_COLOR);
+        out.append(SPACE);
+        colorize(out, entry.getProtocol(), LO_TEXT_COLOR);
+        out.append(NEWLINE);
+
+        var user = entry.getUser() != null ? entry.getUser() : HTTP_MISSING_FIELD;
+        renderHttpContextLine(statusCode, HttpStatuses.reasonPhrase(statusCode), user, 0, user.length(),
+                entry.getDurationNanos(), out);
+        out.append(NEWLINE);
+        renderContextLine(record, out);
+        out.append(DOUBLE_NEWLINE);
     }
 
-    private String formatHttpContextLine(Color statusColor, int statusCode, String statusMessage, String user) {
+    private void renderHttpMessageLine(Instant instant, int statusCode, String line, HttpAccessLogParser parser,
+            StringBuilder out) {
+
+        renderTimestamp(instant, out);
+        out.append(SPACE);
+        renderLevel(HTTP_LOG_LEVEL, LO_TEXT_COLOR, out);
+        out.append(SPACE);
+        colorize(out, line, parser.methodStart, parser.methodEnd, HttpStatuses.color(statusCode));
+        out.append(SPACE);
+        colorize(out, line, parser.pathStart, parser.pathEnd, HI_TEXT_COLOR);
+        out.append(SPACE);
+        colorize(out, line, parser.protocolStart, parser.protocolEnd, LO_TEXT_COLOR);
+    }
 
-        if (user.isBlank() || user.equals(HTTP_MISSING_FIELD)) {
-            user = HTTP_SECURITY_NO_USER;
+    private void renderHttpContextLine(int statusCode, String statusMessage, String line, int userStart, int userEnd,
+            long durationNanos, StringBuilder out) {
+
+        var statusColor = HttpStatuses.color(statusCode);
+
+        out.append(INDENT);
+        colorize(out, HTTP_RESPONSE_DELIM, DELIM_COLOR);
+        startFgColor(out, statusColor);
+        out.append(statusCode);
+        endFgColor(out);
+        out.append(SPACE);
+        colorize(out, statusMessage, HttpStatuses.messageColor(statusCode));
+        colorize(out, HTTP_RESPONSE_DELIM, DELIM_COLOR);
+        out.append(SPACE);
+        colorize(out, HTTP_SECURITY_BEG_DELIM, DELIM_COLOR);
+        if (isBlank(line, userStart, userEnd) || isMissingField(line, userStart, userEnd)) {
+            colorize(out, HTTP_SECURITY_NO_USER, HTTP_CTX_IMPORTANT_COLOR);
+        } else {
+            colorize(out, line, userStart, userEnd, HTTP_CTX_IMPORTANT_COLOR);
         }
+        colorize(out, HTTP_SECURITY_END_DELIM, DELIM_COLOR);
+        if (durationNanos != NO_DURATION) {
+            out.append(SPACE);
+            renderDuration(durationNanos, out);
+        }
+    }
 
-        return INDENT +
-                colorize(HTTP_RESPONSE_DELIM, DELIM_COLOR) +
-                colorize(Integer.toString(statusCode), statusColor) +
-                SPACE +
-                colorize(statusMessage, statusColor.darken(0.15f)) +
-                colorize(HTTP_RESPONSE_DELIM, DELIM_COLOR) +
-                SPACE +
-                colorize(HTTP_SECURITY_BEG_DELIM, DELIM_COLOR) +
-                colorize(user, HTTP_CTX_IMPORTANT_COLOR) +
-                colorize(HTTP_SECURITY_END_DELIM, DELIM_COLOR);
+    /**
+     * Renders a duration as milliseconds with one decimal below a second, as seconds with two decimals above.
+     */
+    private void renderDuration(long nanos, StringBuilder out) {
+        startFgColor(out, HTTP_CTX_PRIMARY_COLOR);
+        if (nanos < 1_000_000_000) {
+            var tenths = nanos / 100_000;
+            out.append(tenths / 10)
+                    .append('.')
+                    .append(tenths % 10)
+                    .append(HTTP_DURATION_MILLIS);
+        } else {
+            var hundredths = nanos / 10_000_000;
+            out.append(hundredths / 100)
+                    .append('.');
+            if (hundredths % 100 < 10) {
+                out.append('0');
+            }
+            out.append(hundredths % 100)
+                    .append(HTTP_DURATION_SECONDS);
+        }
+        endFgColor(out);
     }
 
-    public String formatGeneral(ExtLogRecord record) {
-        var out = new StringBuilder();
+    private void renderGeneral(ExtLogRecord record, RenderBuffers buffers) {
+        var throttle = this.throttle;
+        if (throttle != null && isSuppressed(record, throttle, buffers.out)) {
+            return;
+        }
+        renderGeneralLines(record, buffers);
+    }
 
-        out.append(formatGeneralMessageLine(record))
-                .append(NEWLINE);
+    /**
+     * Whether a record is over the rate of its call site, and is suppressed. Renders the summary of the
+     * call site's suppressed records when due, and those due of the other call sites.
+     */
+    private boolean isSuppressed(ExtLogRecord record, LogThrottle throttle, StringBuilder out) {
+        var instant = record.getInstant();
+        for (var summary : throttle.takeDueSummaries(instant)) {
+            renderSuppressedLine(instant, summary.level, summary.loggerName, summary.suppressed, out);
+        }
+        var bucket = throttle.bucket(record.getLoggerName(), record.getMessage(), instant);
+        if (bucket == null) {
+            return false;
+        }
 
-        var context = formatContextLine(record);
-        if (!context.isBlank()) {
-            out.append(context)
-                    .append(NEWLINE);
+        long suppressed;
+        var acquired = bucket.tryAcquire(instant);
+        if (acquired) {
+            suppressed = bucket.takeSummary(instant);
+        } else {
+            DevLoggingMetrics.recordSuppressed();
+            suppressed = bucket.suppress(instant, record.getLevel());
         }
+        if (suppressed > 0) {
+            renderSuppressedLine(instant, record.getLevel(), record.getLoggerName(), suppressed, out);
+        }
+        return !acquired;
+    }
 
-        var exception = formatGeneralExceptionLines(record);
-        if (!exception.isBlank()) {
-            out.append(exception)
-                    .append(NEWLINE);
+    /**
+     * Logs the summaries of the records suppressed by the throttle and not reported yet, such as on shutdown.
+     */
+    public void logPendingSummaries() {
+        var throttle = this.throttle;
+        if (throttle == null) {
+            return;
         }
+        for (var summary : throttle.takeAllSummaries()) {
+            Logger.getLogger(summary.loggerName)
+                    .log(summary.level, THR_PENDING_FORMAT, summary.suppressed);
+        }
+    }
+
+    private void renderSuppressedLine(Instant instant, Level level, String loggerName,
+            long suppressed, StringBuilder out) {
+        renderTimestamp(instant, out);
+        out.append(SPACE);
+        renderLevel(level.getName(), levelColor(level), out);
+        out.append(SPACE);
+        startFgColor(out, LO_TEXT_COLOR);
+        out.append(THR_SUPPRESSED);
+        appendGrouped(suppressed, out);
+        out.append(THR_SIMILAR_FROM)
+                .append(CTX_LOGGER_BEG_DELIM)
+                .append(loggerName)
+                .append(CTX_LOGGER_END_DELIM);
+        endFgColor(out);
+        out.append(DOUBLE_NEWLINE);
+    }
 
+    private void renderGeneralLines(ExtLogRecord record, RenderBuffers buffers) {
+        var out = buffers.out;
+
+        renderGeneralMessageLine(record, buffers);
         out.append(NEWLINE);
 
-        return out.toString();
+        renderContextLine(record, out);
+        out.append(NEWLINE);
+
+        var thrown = record.getThrown();
+        if (thrown != null) {
+            renderGeneralExceptionLines(thrown, record, buffers);
+            out.append(NEWLINE);
+        }
+
+        out.append(NEWLINE);
     }
 
-    private String formatGeneralMessageLine(ExtLogRecord record) {
+    private void renderGeneralMessageLine(ExtLogRecord record, RenderBuffers buffers) {
+        var messageLine = buffers.scratch();
 
-        var timestamp = record.getInstant().atZone(ZoneId.systemDefault());
-        var level = padLevel(record.getLevel().getName());
+        renderTimestamp(record.getInstant(), messageLine);
+        messageLine.append(SPACE);
+        renderLevel(record.getLevel().getName(), levelColor(record.getLevel()), messageLine);
+        messageLine.append(SPACE);
 
-        String message;
         if (record.getParameters() != null) {
             switch (record.getFormatStyle()) {
                 case PRINTF:
-                    message = COLOR_PRINTF.format(record.getMessage(), record.getParameters());
+                    printf.formatDirect(messageLine, record.getMessage(), record.getParameters());
                     break;
                 case MESSAGE_FORMAT:
-                    message = colorize(MessageFormat.format(record.getMessage(), record.getParameters()), HI_TEXT_COLOR);
+                    colorize(messageLine, MessageFormat.format(record.getMessage(), record.getParameters()), HI_TEXT_COLOR);
                     break;
                 case NO_FORMAT:
-                    message = colorize(record.getMessage(), HI_TEXT_COLOR);
+                    colorize(messageLine, record.getMessage(), HI_TEXT_COLOR);
                     break;
                 default:
-                    message = EMPTY_MESSAGE;
                     break;
             }
         } else {
-            message = colorize(record.getMessage(), HI_TEXT_COLOR);
+            colorize(messageLine, record.getMessage(), HI_TEXT_COLOR);
         }
 
-        var messageLine = colorize(TIMESTAMP_FORMATTER.format(timestamp), LO_TEXT_COLOR) +
-                SPACE +
-                colorize(level, levelColor(record.getLevel())) +
-                SPACE +
-                message;
-
-        return wrapMessage(messageLine, INDENT + MSG_EXTRA_INDENT);
+        wrapMessage(messageLine, MSG_INDENT, buffers.out);
     }
 
-    private String formatGeneralExceptionLines(ExtLogRecord record) {
-        var thrown = record.getThrown();
-        if (thrown == null) {
-            return EMPTY_MESSAGE;
+    private void renderGeneralExceptionLines(Throwable thrown, ExtLogRecord record, RenderBuffers buffers) {
+        var out = buffers.out;
+
+        var view = ExceptionView.of(thrown, maxExceptionDepth, maxSuppressedExceptions);
+        var exceptionId = view.id();
+        var occurrence = ExceptionCollector.add(view, thrown, record.getInstant(), record.getLoggerName());
+        if (ExceptionCollector.isRepeat(occurrence)) {
+            renderRepeatedExceptionLine(view, exceptionId, occurrence, out);
+            return;
         }
 
-        var builder = new StringBuilder();
+        renderExceptionTree(view, buffers);
 
-        addGeneralException(thrown, 1, builder);
+        out.append(NEWLINE)
+                .append(INDENT);
+        renderExceptionLink(exceptionId, out);
+    }
 
-        var exceptionId = ExceptionCollector.add(thrown);
-        var exceptionLink = String.format(EXC_URL_FORMAT, httpHost, httpPort, exceptionId);
+    private void renderRepeatedExceptionLine(ExceptionView view, String exceptionId, long occurrence, StringBuilder out) {
+        out.append(INDENT);
+        colorize(out, EXC_MESSAGE_BEG, EXC_PRIMARY_COLOR);
+        colorize(out, view.type(0).getSimpleName(), EXC_PRIMARY_COLOR);
+        out.append(SPACE);
+        startFgColor(out, EXC_MESSAGE_COLOR);
+        out.append(EXC_REPEAT_SEEN);
+        appendGrouped(occurrence, out);
+        out.append(EXC_REPEAT_TIMES);
+        endFgColor(out);
+        colorize(out, EXC_REPEAT_LINK_DELIM, DELIM_COLOR);
+        renderExceptionLink(exceptionId, out);
+    }
 
-        builder.append(NEWLINE)
-                .append(INDENT)
-                .append(bold(colorize(exceptionLink, EXC_QUATERNARY_COLOR)));
+    private void renderExceptionLink(String exceptionId, StringBuilder out) {
+        startBold(out);
+        startFgColor(out, EXC_QUATERNARY_COLOR);
+        out.append(EXC_URL_SCHEME)
+                .append(httpHost)
+                .append(EXC_URL_PORT_DELIM)
+                .append(httpPort)
+                .append(EXC_PATH)
+                .append(exceptionId);
+        endFgColor(out);
+        endBold(out);
+    }
 
-        return builder.toString();
+    private static void appendGrouped(long value, StringBuilder out) {
+        var digits = Long.toString(value);
+        var groupOffset = digits.length() % 3;
+        for (int idx = 0; idx < digits.length(); ++idx) {
+            if (idx > 0 && (idx - groupOffset) % 3 == 0) {
+                out.append(EXC_REPEAT_GROUP_DELIM);
+            }
+            out.append(digits.charAt(idx));
+        }
     }
 
-    private void addGeneralException(Throwable x, int level, StringBuilder builder) {
-        var messageIndent = new StringBuilder(INDENT);
-        var levelIndent = new StringBuilder(INDENT);
-        for (int c = 0; c < level - 1; ++c) {
-            messageIndent.append(MSG_EXTRA_INDENT);
-            levelIndent.append(MSG_EXTRA_INDENT);
+    /**
+     * Renders the cause tree of an exception: each cause, and each suppressed exception as a branch, one level
+     * deeper than the exception it belongs to.
+     * <p>
+     * The tree is walked with an explicit stack, each exception is rendered at most once and the tree is cut at the
+     * configured depth and breadth, so the rendered size is bounded by the limits rather than by the exception.
+     */
+    private void renderExceptionTree(ExceptionView view, RenderBuffers buffers) {
+        var out = buffers.out;
+        var maxDepth = this.maxExceptionDepth;
+        var maxSuppressed = this.maxSuppressedExceptions;
+        var budget = (long) maxDepth * (maxSuppressed + 1);
+        // Only analyzed exceptions are within the limits, so can be rendered
+        var analyzedSize = view.analyzedSize();
+        var rendered = buffers.renderedFlags(analyzedSize);
+        var renderedCount = 0;
+        var elidedCount = 0;
+
+        var pending = buffers.exceptionStack;
+        pending.clear();
+        pending.push(EXC_ENTRY_CAUSE, 0, 1);
+        for (var first = true; !pending.isEmpty(); first = false) {
+            int kind = pending.kind();
+            int value = pending.value();
+            int level = pending.level();
+            pending.pop();
+
+            if (!first) {
+                out.append(NEWLINE);
+            }
+            if (budget-- == 0) {
+                renderOmittedExceptions(view, renderedCount + elidedCount, level, out);
+                break;
+            }
+            if (kind == EXC_ENTRY_MORE_CAUSES) {
+                // Negative when counted up to the uncounted exceptions of the view
+                var count = Math.abs(value);
+                renderElidedExceptions(count, value < 0, count == 1 ? EXC_MORE_CAUSE : EXC_MORE_CAUSES, level, out);
+                elidedCount += count;
+                continue;
+            }
+            if (kind == EXC_ENTRY_MORE_SUPPRESSED) {
+                renderElidedExceptions(value, false, EXC_MORE_SUPPRESSED, level, out);
+                elidedCount += value;
+                continue;
+            }
+            if (value < 0 || value >= analyzedSize) {
+                // Left unanalyzed by the view as past the exceptions the budget allows
+                renderOmittedExceptions(view, renderedCount + elidedCount, level, out);
+                break;
+            }
+
+            var node = value;
+            var suppressed = kind == EXC_ENTRY_SUPPRESSED;
+            if (rendered[node]) {
+                renderCircularReference(view, node, suppressed, level, out);
+                continue;
+            }
+            rendered[node] = true;
+            ++renderedCount;
+            renderException(view, node, suppressed, level, buffers);
+
+            // Pushed in reverse: suppressed exceptions first, then the cause, as printStackTrace() prints them
+            var cause = view.cause(node);
+            if (cause != ExceptionView.NO_CAUSE && cause != node) {
+                if (level < maxDepth) {
+                    pending.push(EXC_ENTRY_CAUSE, cause, level + 1);
+                } else {
+                    pending.push(EXC_ENTRY_MORE_CAUSES, countCauses(view, cause, rendered), level + 1);
+                }
+            }
+            var suppressedNodes = view.suppressed(node);
+            var suppressedCount = view.suppressedCount(node);
+            var shown = level < maxDepth ? Math.min(suppressedNodes.length, maxSuppressed) : 0;
+            if (shown < suppressedCount) {
+                pending.push(EXC_ENTRY_MORE_SUPPRESSED, suppressedCount - shown, level + 1);
+            }
+            for (int idx = shown - 1; idx >= 0; --idx) {
+                pending.push(EXC_ENTRY_SUPPRESSED, suppressedNodes[idx], level + 1);
+            }
         }
-        messageIndent.append(colorize(EXC_MESSAGE_BEG, EXC_PRIMARY_COLOR));
-        levelIndent.append(MSG_EXTRA_INDENT);
+    }
 
-        var colorMessage = colorize(x.getMessage(), EXC_MESSAGE_COLOR);
-        var message = wrapMessage(messageIndent + colorMessage, levelIndent + MSG_EXTRA_INDENT);
+    /**
+     * Number of exceptions in a cause chain, up to the first exception already rendered. Negated when the chain
+     * reaches an {@link ExceptionView#UNCOUNTED uncounted} exception, the number being then a lower bound.
+     */
+    private static int countCauses(ExceptionView view, int node, boolean[] rendered) {
+        var analyzedSize = view.analyzedSize();
+        var counted = 0;
+        // A chain can't be longer than the number of exceptions, whatever cycles are not yet rendered
+        while (node >= 0 && (node >= analyzedSize || !rendered[node]) && counted < view.size()) {
+            ++counted;
+            var cause = view.cause(node);
+            node = cause != node ? cause : ExceptionView.NO_CAUSE;
+        }
+        return node == ExceptionView.UNCOUNTED ? -(counted + 1) : counted;
+    }
 
-        String exceptionCtxLine = colorize(x.getClass().getSimpleName(), EXC_PRIMARY_COLOR);
-        if (x.getStackTrace() != null && x.getStackTrace().length > 0) {
-            var stackTop = x.getStackTrace()[0];
+    private void renderException(ExceptionView view, int node, boolean suppressed, int level, RenderBuffers buffers) {
+        var out = buffers.out;
+        var levelIndent = indent(level);
+
+        var message = buffers.scratch()
+                .append(indent(level - 1));
+        colorize(message, EXC_MESSAGE_BEG, EXC_PRIMARY_COLOR);
+        if (suppressed) {
+            colorize(message, EXC_SUPPRESSED_LABEL, LO_TEXT_COLOR);
+        }
+        colorize(message, view.message(node), EXC_MESSAGE_COLOR);
+        wrapMessage(message, indent(level + 1), out);
+
+        out.append(NEWLINE)
+                .append(levelIndent);
+
+        colorize(out, view.type(node).getSimpleName(), EXC_PRIMARY_COLOR);
+        var stackTrace = view.trace(node);
+        if (stackTrace.length > 0) {
+            var stackTop = stackTrace[0];
             var className = stackTop.getClassName();
             var simpleClassNameIdx = className.lastIndexOf(CLASS_NAME_SPLIT);
-            var simpleClassName = className.substring(simpleClassNameIdx == -1 ? 0 : simpleClassNameIdx + 1);
-            exceptionCtxLine += SPACE +
-                    colorize(simpleClassName + CLASS_NAME_SPLIT + stackTop.getMethodName(), EXC_SECONDARY_COLOR) +
-                    colorize(EXC_TRACE_LOC_BEG_DELIM, DELIM_COLOR) +
-                    colorize(stackTop.getFileName(), EXC_TERTIARY_COLOR) +
-                    colorize(EXC_TRACE_LOC_SEP_DELIM, DELIM_COLOR) +
-                    colorize(Integer.toString(stackTop.getLineNumber()), EXC_TERTIARY_COLOR) +
-                    colorize(EXC_TRACE_LOC_END_DELIM, DELIM_COLOR);
+            out.append(SPACE);
+            startFgColor(out, EXC_SECONDARY_COLOR);
+            out.append(className, simpleClassNameIdx == -1 ? 0 : simpleClassNameIdx + 1, className.length())
+                    .append(CLASS_NAME_SPLIT)
+                    .append(stackTop.getMethodName());
+            endFgColor(out);
+            colorize(out, EXC_TRACE_LOC_BEG_DELIM, DELIM_COLOR);
+            colorize(out, stackTop.getFileName(), EXC_TERTIARY_COLOR);
+            colorize(out, EXC_TRACE_LOC_SEP_DELIM, DELIM_COLOR);
+            startFgColor(out, EXC_TERTIARY_COLOR);
+            out.append(stackTop.getLineNumber());
+            endFgColor(out);
+            colorize(out, EXC_TRACE_LOC_END_DELIM, DELIM_COLOR);
+        }
+    }
+
+    private void renderCircularReference(ExceptionView view, int node, boolean suppressed, int level,
+            StringBuilder out) {
+        out.append(indent(level - 1));
+        colorize(out, EXC_MESSAGE_BEG, EXC_PRIMARY_COLOR);
+        if (suppressed) {
+            colorize(out, EXC_SUPPRESSED_LABEL, LO_TEXT_COLOR);
         }
+        colorize(out, EXC_CIRCULAR_LABEL, LO_TEXT_COLOR);
+        colorize(out, view.type(node).getSimpleName(), EXC_PRIMARY_COLOR);
+    }
 
-        builder.append(message)
-                .append(NEWLINE)
-                .append(levelIndent)
-                .append(exceptionCtxLine);
+    /**
+     * Renders whatever is left of the tree, in summary.
+     */
+    private void renderOmittedExceptions(ExceptionView view, int shownCount, int level, StringBuilder out) {
+        var omitted = Math.max(view.size() - shownCount, 1);
+        renderElidedExceptions(omitted, view.isTruncated(), EXC_MORE_EXCEPTIONS, level, out);
+    }
 
-        Throwable cause = x.getCause();
-        if (cause != null && cause != x) {
-            builder.append(NEWLINE);
-            addGeneralException(cause, level + 1, builder);
+    private void renderElidedExceptions(int count, boolean atLeast, String label, int level, StringBuilder out) {
+        out.append(indent(level - 1));
+        startFgColor(out, LO_TEXT_COLOR);
+        out.append(EXC_ELIDED_BEG);
+        if (atLeast) {
+            out.append(EXC_AT_LEAST);
         }
+        out.append(count)
+                .append(label);
+        endFgColor(out);
     }
 
-    private String formatContextLine(ExtLogRecord record) {
+    private void renderContextLine(ExtLogRecord record, StringBuilder out) {
 
-        var builder = new StringBuilder(INDENT)
-                .append(colorize(CTX_LOGGER_BEG_DELIM, DELIM_COLOR))
-                .append(colorize(shortenLoggerName(record.getLoggerName()), CTX_TERTIARY_COLOR))
-                .append(colorize(CTX_LOGGER_END_DELIM, DELIM_COLOR))
-                .append(SPACE)
-                .append(colorize(CTX_THREAD_BEG_DELIM, DELIM_COLOR))
-                .append(colorize(record.getThreadName(), CTX_SECONDARY_COLOR))
-                .append(colorize(CTX_THREAD_END_DELIM, DELIM_COLOR));
+        out.append(INDENT);
+        var loggerName = record.getLoggerName();
+        out.append(loggerName != null ? loggerNames.get(loggerName) : renderLoggerName(loggerName));
+        out.append(SPACE);
+        colorize(out, CTX_THREAD_BEG_DELIM, DELIM_COLOR);
+        colorize(out, record.getThreadName(), CTX_SECONDARY_COLOR);
+        colorize(out, CTX_THREAD_END_DELIM, DELIM_COLOR);
 
         if (showTraceContext) {
             var traceId = record.getMdc(MDC_TRACE_ID_NAME);
@@ -308,25 +771,111 @@ public class DevFormatter extends ExtFormatter {
             var spanId = record.getMdc(MDC_SPAN_ID_NAME);
             spanId = spanId != null ? spanId : CTX_TELEMETRY_NO_SPAN;
 
-            builder.append(SPACE)
-                    .append(colorize(CTX_TELEMETRY_BEG_DELIM, DELIM_COLOR))
-                    .append(colorize(CTX_TELEMETRY_TRACE_NAME + CTX_TELEMETRY_VALUE_DELIM, LO_TEXT_COLOR))
-                    .append(colorize(traceId, CTX_PRIMARY_COLOR))
-                    .append(colorize(CTX_TELEMETRY_FIELD_DELIM, DELIM_COLOR))
-                    .append(colorize(CTX_TELEMETRY_SPAN_NAME + CTX_TELEMETRY_VALUE_DELIM, LO_TEXT_COLOR))
-                    .append(colorize(spanId, CTX_PRIMARY_COLOR))
-                    .append(colorize(CTX_TELEMETRY_END_DELIM, DELIM_COLOR));
+            out.append(SPACE);
+            colorize(out, CTX_TELEMETRY_BEG_DELIM, DELIM_COLOR);
+            colorize(out, CTX_TELEMETRY_TRACE_LABEL, LO_TEXT_COLOR);
+            colorize(out, traceId, CTX_PRIMARY_COLOR);
+            colorize(out, CTX_TELEMETRY_FIELD_DELIM, DELIM_COLOR);
+            colorize(out, CTX_TELEMETRY_SPAN_LABEL, LO_TEXT_COLOR);
+            colorize(out, spanId, CTX_PRIMARY_COLOR);
+            colorize(out, CTX_TELEMETRY_END_DELIM, DELIM_COLOR);
+        }
+    }
+
+    private void renderTimestamp(Instant instant, StringBuilder out) {
+        timestamps.render(instant, out);
+    }
+
+    private void renderLevel(String level, Color levelColor, StringBuilder out) {
+        startFgColor(out, levelColor);
+        out.append(level);
+        for (int c = level.length(); c < LEVEL_PAD_LENGTH; ++c) {
+            out.append(' ');
+        }
+        endFgColor(out);
+    }
+
+    private static boolean isBlank(String str, int start, int end) {
+        for (int offset = start; offset < end; ++offset) {
+            if (!Character.isWhitespace(str.charAt(offset))) {
+                return false;
+            }
         }
+        return true;
+    }
+
+    /**
+     * Whether the path between {@code start} and {@code end} is one of the extension's routes, including
+     * exception pages under the exceptions route and requests with a query.
+     */
+    private static boolean isOwnPath(String str, int start, int end) {
+        for (var ownPath : OWN_PATHS) {
+            int ownPathEnd = start + ownPath.length();
+            if (ownPathEnd <= end && str.startsWith(ownPath, start)
+                    && (ownPathEnd == end || str.charAt(ownPathEnd) == '/' || str.charAt(ownPathEnd) == '?')) {
+                return true;
+            }
+        }
+        return false;
+    }
 
-        return builder.toString();
+    private static boolean isMissingField(String str, int start, int end) {
+        return end - start == HTTP_MISSING_FIELD.length() && str.startsWith(HTTP_MISSING_FIELD, start);
+    }
+
+    private static String indent(int level) {
+        if (level < INDENTS.length) {
+            return INDENTS[level];
+        }
+        return INDENT + blankString(level * MSG_EXTRA_INDENT.length());
     }
 
     private static String blankString(int length) {
         return new String(new char[length]).replace('\0', ' ');
     }
 
-    private static String wrapMessage(String message, String wrapIndent) {
-        return wrap(message, 160, wrapIndent);
+    private void wrapMessage(CharSequence message, String wrapIndent, StringBuilder target) {
+        LineWrapper.wrap(message, 160, wrapIndent, target, !plain);
+    }
+
+    private void colorize(StringBuilder out, CharSequence text, Color color) {
+        if (plain) {
+            out.append(text);
+        } else {
+            ColorUtil.colorize(out, text, color, trueColor);
+        }
+    }
+
+    private void colorize(StringBuilder out, CharSequence text, int start, int end, Color color) {
+        if (plain) {
+            out.append(text, start, end);
+        } else {
+            ColorUtil.colorize(out, text, start, end, color, trueColor);
+        }
+    }
+
+    private void startFgColor(StringBuilder out, Color color) {
+        if (!plain) {
+            ColorUtil.startFgColor(out, color, trueColor);
+        }
+    }
+
+    private void endFgColor(StringBuilder out) {
+        if (!plain) {
+            ColorUtil.endFgColor(out);
+        }
+    }
+
+    private void startBold(StringBuilder out) {
+        if (!plain) {
+            ColorUtil.startBold(out);
+        }
+    }
+
+    private void endBold(StringBuilder out) {
+        if (!plain) {
+            ColorUtil.endBold(out);
+        }
     }
 
     /**
@@ -343,136 +892,158 @@ public class DevFormatter extends ExtFormatter {
         }
 
         var wrappedLines = new StringBuilder(str.length() + 32);
+        wrap(str, wrapLength, indent, wrappedLines);
+        return wrappedLines.toString();
+    }
 
-        var lineOffset = new AtomicInteger();
+    /**
+     * Wrap character sequence skipping escape sequences, appending the wrapped lines to {@code target}.
+     * Lines are measured in terminal columns, so wide characters count as two columns and combining
+     * marks as none.
+     *
+     * @param str Characters to break into wrapped lines.
+     * @param wrapLength Length at which to wrap lines.
+     * @param indent Indent to use for wrapped lines.
+     * @param target Builder the wrapped lines are appended to.
+     */
+    public static void wrap(final CharSequence str, int wrapLength, String indent, StringBuilder target) {
+        LineWrapper.wrap(str, wrapLength, indent, target, true);
+    }
 
-        int strLength = str.length();
-        int strOffset = -1;
+    private String renderLoggerName(String loggerName) {
+        var out = new StringBuilder();
+        colorize(out, CTX_LOGGER_BEG_DELIM, DELIM_COLOR);
+        colorize(out, shortenLoggerName(loggerName), CTX_TERTIARY_COLOR);
+        colorize(out, CTX_LOGGER_END_DELIM, DELIM_COLOR);
+        return out.toString();
+    }
 
-        while (strOffset < strLength) {
+    private static String shortenLoggerName(String str) {
+        // Trailing empty sections are ignored
+        var end = str.length();
+        while (end > 0 && str.charAt(end - 1) == LOGGER_NAME_SPLIT) {
+            --end;
+        }
+        var lastSplit = str.lastIndexOf(LOGGER_NAME_SPLIT, end - 1);
+        if (lastSplit == -1) {
+            return str.substring(0, end);
+        }
+        var shortened = new StringBuilder(end);
+        var sectionStart = 0;
+        while (sectionStart <= lastSplit) {
+            var sectionEnd = str.indexOf(LOGGER_NAME_SPLIT, sectionStart);
+            shortened.append(str, sectionStart, Math.min(sectionEnd, sectionStart + MAX_LOG_SECTION_LENGTH))
+                    .append(LOGGER_NAME_SPLIT);
+            sectionStart = sectionEnd + 1;
+        }
+        return shortened.append(str, lastSplit + 1, end).toString();
+    }
 
-            var wordStrOffset = max(strOffset, 0);
-            var wordLineOffset = lineOffset.get();
-            strOffset = wrapAdvance(str, strOffset + 1, strLength, lineOffset);
+    /**
+     * Buffers reused by all records formatted on a thread, so sections render directly into
+     * the output instead of into intermediate strings.
+     */
+    private static final class RenderBuffers {
+
+        private static final int INITIAL_CAPACITY = 512;
+        private static final int MAX_RETAINED_CAPACITY = 64 * 1024;
+        private static final int INITIAL_EXCEPTION_CAPACITY = 64;
+        private static final ThreadLocal<RenderBuffers> CURRENT = ThreadLocal.withInitial(RenderBuffers::new);
+
+        final HttpAccessLogParser httpParser = new HttpAccessLogParser();
+        final ExceptionStack exceptionStack = new ExceptionStack();
+        StringBuilder out = new StringBuilder(INITIAL_CAPACITY);
+        private StringBuilder scratch = new StringBuilder(INITIAL_CAPACITY);
+        private boolean[] renderedFlags = new boolean[INITIAL_EXCEPTION_CAPACITY];
+        private boolean inUse;
+
+        static RenderBuffers acquire() {
+            var buffers = CURRENT.get();
+            if (buffers.inUse) {
+                // Formatting re-entered on this thread (e.g. a parameter's toString logged)
+                return new RenderBuffers();
+            }
+            buffers.inUse = true;
+            return buffers;
+        }
 
-            // Handle explicit line breaks
-            if (str.charAt(wordStrOffset) == '\n') {
-                if (strOffset >= strLength) {
-                    break;
-                }
+        /**
+         * Scratch space for sections that must be wrapped before being appended to {@link #out}.
+         */
+        StringBuilder scratch() {
+            scratch.setLength(0);
+            return scratch;
+        }
 
-                wrappedLines
-                        .append(NEWLINE)
-                        .append(indent);
-                wordStrOffset++;
-                lineOffset.set(indent.length());
+        /**
+         * Cleared flags of the exceptions of a tree already rendered, one per analyzed exception. The view bounds the
+         * analyzed exceptions by the limits of the formatter, and so the flags retained.
+         */
+        boolean[] renderedFlags(int size) {
+            if (renderedFlags.length < size) {
+                renderedFlags = new boolean[Math.max(size, renderedFlags.length * 2)];
+            } else {
+                Arrays.fill(renderedFlags, 0, size, false);
             }
+            return renderedFlags;
+        }
 
-            if (lineOffset.get() >= wrapLength) {
-
-                // Ensure no dangling spaces and, if possible,
-                // keep separator on current line
-                if (str.charAt(wordStrOffset) == ' ') {
-                    wordStrOffset++;
-                } else if (wordLineOffset < wrapLength) {
-                    wrappedLines.append(str, wordStrOffset, wordStrOffset + 1);
-                    wordStrOffset++;
-                }
+        void release() {
+            if (out.capacity() > MAX_RETAINED_CAPACITY) {
+                out = new StringBuilder(INITIAL_CAPACITY);
+            } else {
+                out.setLength(0);
+            }
+            if (scratch.capacity() > MAX_RETAINED_CAPACITY) {
+                scratch = new StringBuilder(INITIAL_CAPACITY);
+            }
+            inUse = false;
+        }
+    }
 
-                wrappedLines.append(NEWLINE)
-                        .append(indent)
-                        .append(str, wordStrOffset, strOffset);
+    /**
+     * Stack of the entries of an exception tree still to render, as {@code (kind, value, level)} triples.
+     */
+    private static final class ExceptionStack {
 
-                var overage = lineOffset.get() - wordLineOffset;
-                lineOffset.set(indent.length() + overage);
+        private static final int ENTRY_SIZE = 3;
 
-                // Skip leading whitespace
-                if (overage == 1) {
-                    while (strOffset < strLength && str.charAt(strOffset) == ' ') {
-                        strOffset++;
-                    }
-                }
+        private int[] entries = new int[16 * ENTRY_SIZE];
+        private int top;
 
-            } else {
-                wrappedLines.append(str, wordStrOffset, strOffset);
+        void push(int kind, int value, int level) {
+            if (top + ENTRY_SIZE > entries.length) {
+                entries = Arrays.copyOf(entries, entries.length * 2);
             }
+            entries[top] = kind;
+            entries[top + 1] = value;
+            entries[top + 2] = level;
+            top += ENTRY_SIZE;
         }
 
-        return wrappedLines.toString();
-    }
+        boolean isEmpty() {
+            return top == 0;
+        }
 
-    private static int wrapAdvance(String str, int strOffset, int strLength, AtomicInteger logicalOffset) {
-        while (strOffset < strLength) {
-            var ch = str.charAt(strOffset);
-            switch (ch) {
-                case ' ':
-                case ',':
-                case '.':
-                case ';':
-                case '|':
-                case '\n':
-                    logicalOffset.incrementAndGet();
-                    return strOffset;
-
-                case '\u001b':
-                case '\u009b':
-                    var nextOffset = strOffset + 1;
-                    if (nextOffset < strLength && str.charAt(nextOffset) == '[') {
-                        // skip to end of escape
-                        strOffset = nextOffset + 1;
-                        while (strOffset < strLength && isEscapeChar(str, strOffset)) {
-                            strOffset++;
-                        }
-                        strOffset++;
-                        break;
-                    }
+        int kind() {
+            return entries[top - ENTRY_SIZE];
+        }
 
-                default:
-                    strOffset++;
-                    logicalOffset.incrementAndGet();
-            }
+        int value() {
+            return entries[top - ENTRY_SIZE + 1];
         }
-        return strOffset;
-    }
 
-    private static boolean isEscapeChar(String str, int offset) {
-        var ch = str.charAt(offset);
-        return ch >= '0' && ch <= '?';
-    }
+        int level() {
+            return entries[top - ENTRY_SIZE + 2];
+        }
 
-    private static String padLevel(String str) {
-        var needed = LEVEL_PAD_LENGTH - str.length();
-        if (needed <= 0) {
-            return str;
+        void pop() {
+            top -= ENTRY_SIZE;
         }
-        return str + blankString(needed);
-    }
 
-    private static String shortenLoggerName(String str) {
-        var sections = LOGGER_NAME_SPLIT_PATTERN.split(str);
-        var last = sections[sections.length - 1];
-        if (sections.length == 1) {
-            return last;
-        }
-        var prefix = stream(sections, 0, sections.length - 1)
-                .map(s -> s.length() > MAX_LOG_SECTION_LENGTH ? s.substring(0, MAX_LOG_SECTION_LENGTH) : s)
-                .collect(joining(LOGGER_NAME_SPLIT));
-        return prefix + LOGGER_NAME_SPLIT + last;
-    }
-
-    private static final ColorPrintf COLOR_PRINTF = new ColorPrintf(
-            HI_TEXT_COLOR,
-            Map.of(
-                    UUID.class, Color.of(0xdd, 0xff, 0xdd),
-                    Class.class, Color.of(0xff, 0xff, 0xdd)),
-            0);
-
-    static private final DateTimeFormatter TIMESTAMP_FORMATTER = new DateTimeFormatterBuilder()
-            .appendValue(HOUR_OF_DAY, 2)
-            .appendLiteral(':')
-            .appendValue(MINUTE_OF_HOUR, 2)
-            .appendLiteral(':')
-            .appendValue(SECOND_OF_MINUTE, 2)
-            .toFormatter();
+        void clear() {
+            top = 0;
+        }
+    }
 
 }
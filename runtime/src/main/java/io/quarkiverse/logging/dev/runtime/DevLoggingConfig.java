@@ -0,0 +1,76 @@
+package io.quarkiverse.logging.dev.runtime;
+
+import java.util.Map;
+
+import io.quarkus.runtime.annotations.ConfigItem;
+import io.quarkus.runtime.annotations.ConfigPhase;
+import io.quarkus.runtime.annotations.ConfigRoot;
+
+@ConfigRoot(name = "log.dev", phase = ConfigPhase.RUN_TIME)
+public class DevLoggingConfig {
+
+    /**
+     * How log records are colored.
+     * <p>
+     * `auto` colors records, using true colors when the terminal advertises them in `COLORTERM`, and
+     * writes plain text when `NO_COLOR` is set or `TERM` is `dumb`. Redirected output is still colored,
+     * as IDE consoles are not terminals either; set `none` or `NO_COLOR` for plain text there.
+     * `truecolor` and `ansi-256` always color records, `none` never does.
+     */
+    @ConfigItem(defaultValue = "auto")
+    public ColorMode colors;
+
+    /**
+     * Colors of printf arguments by type name, as `#rrggbb`, e.g.
+     * `quarkus.log.dev.type-colors."java.time.Duration"=#ddddff`.
+     * <p>
+     * Arguments are colored by their most specific registered class or interface. UUIDs and classes
+     * are colored by default.
+     */
+    @ConfigItem
+    public Map<String, String> typeColors;
+
+    /**
+     * Maximum number of logger names kept rendered for the context line of records. Loggers beyond it,
+     * such as loggers named per instance, evict the oldest names, which are rendered again when logged.
+     */
+    @ConfigItem(defaultValue = "1024")
+    public int loggerNameCacheSize;
+
+    /**
+     * Collected exceptions
+     */
+    @ConfigItem
+    public ExceptionsConfig exceptions;
+
+    /**
+     * Asynchronous formatting
+     */
+    @ConfigItem
+    public AsyncConfig async;
+
+    /**
+     * Live log stream
+     */
+    @ConfigItem
+    public StreamConfig stream;
+
+    /**
+     * Log search
+     */
+    @ConfigItem
+    public SearchConfig search;
+
+    /**
+     * Throttling of log storms
+     */
+    @ConfigItem
+    public ThrottleConfig throttle;
+
+    /**
+     * Console output
+     */
+    @ConfigItem
+    public ConsoleConfig console;
+
+}
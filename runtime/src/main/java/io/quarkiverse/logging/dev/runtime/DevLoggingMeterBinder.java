@@ -0,0 +1,104 @@
+package io.quarkiverse.logging.dev.runtime;
+
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.ToLongFunction;
+
+import javax.inject.Singleton;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.FunctionTimer;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.quarkiverse.logging.dev.runtime.DevLoggingMetrics.RecordKind;
+import io.quarkiverse.logging.dev.runtime.DevLoggingMetrics.Route;
+import io.quarkiverse.logging.dev.runtime.DevLoggingMetrics.TimeStats;
+
+/**
+ * Registers the {@link DevLoggingMetrics} as Micrometer meters and enables recording them.
+ * <p>
+ * Meters read the statistics when published, so recording never goes through the registry.
+ * Only registered as a bean when Micrometer is present.
+ */
+@Singleton
+public class DevLoggingMeterBinder implements MeterBinder {
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+
+        for (var kind : RecordKind.values()) {
+            timer("log.dev.format", "Time spent formatting log records", kind.stats)
+                    .tag("kind", tagValue(kind))
+                    .register(registry);
+        }
+        counter("log.dev.format.output", "Characters of formatted log records", DevLoggingMetrics.formattedChars)
+                .baseUnit("characters")
+                .register(registry);
+        counter("log.dev.wrap", "Line breaks inserted wrapping log messages", DevLoggingMetrics.wrappedLines)
+                .register(registry);
+        loggerNameCounter("log.dev.logger-names.hits", "Logger names found rendered in the cache",
+                LoggerNameCache::hits)
+                .register(registry);
+        loggerNameCounter("log.dev.logger-names.misses", "Logger names rendered for lack of a cached one",
+                LoggerNameCache::misses)
+                .register(registry);
+        loggerNameCounter("log.dev.logger-names.evictions", "Logger names evicted from a full cache",
+                LoggerNameCache::evictions)
+                .register(registry);
+        Gauge.builder("log.dev.logger-names.cached", () -> DevLoggingMetrics.loggerNameCacheStat(LoggerNameCache::size))
+                .description("Logger names currently cached")
+                .register(registry);
+        counter("log.dev.throttle.suppressed", "Records suppressed for exceeding the rate of their call site",
+                DevLoggingMetrics.suppressedRecords)
+                .register(registry);
+
+        counter("log.dev.exceptions.collected", "Exceptions stored by the exception collector",
+                DevLoggingMetrics.collectedExceptions)
+                .register(registry);
+        counter("log.dev.exceptions.repeated", "Repeated exceptions not stored again",
+                DevLoggingMetrics.repeatedExceptions)
+                .register(registry);
+        FunctionCounter.builder("log.dev.exceptions.evicted", ExceptionCollector.class,
+                collector -> ExceptionCollector.evictions())
+                .description("Exceptions evicted to make room for newer ones")
+                .register(registry);
+        Gauge.builder("log.dev.exceptions.stored", ExceptionCollector::size)
+                .description("Exceptions currently stored")
+                .register(registry);
+        Gauge.builder("log.dev.exceptions.memory", ExceptionCollector::weight)
+                .description("Estimated memory of the exceptions currently stored")
+                .baseUnit("bytes")
+                .register(registry);
+
+        for (var route : Route.values()) {
+            timer("log.dev.route", "Time spent handling requests to the extension's routes", route.stats)
+                    .tag("route", tagValue(route))
+                    .register(registry);
+        }
+
+        DevLoggingMetrics.enable();
+    }
+
+    private static FunctionTimer.Builder<TimeStats> timer(String name, String description, TimeStats stats) {
+        return FunctionTimer.builder(name, stats, TimeStats::count, TimeStats::totalNanos, TimeUnit.NANOSECONDS)
+                .description(description);
+    }
+
+    private static FunctionCounter.Builder<LongAdder> counter(String name, String description, LongAdder adder) {
+        return FunctionCounter.builder(name, adder, LongAdder::sum)
+                .description(description);
+    }
+
+    private static FunctionCounter.Builder<Class<LoggerNameCache>> loggerNameCounter(String name, String description,
+            ToLongFunction<LoggerNameCache> stat) {
+        return FunctionCounter.builder(name, LoggerNameCache.class, type -> DevLoggingMetrics.loggerNameCacheStat(stat))
+                .description(description);
+    }
+
+    private static String tagValue(Enum<?> value) {
+        return value.name().toLowerCase(Locale.ROOT).replace('_', '-');
+    }
+
+}
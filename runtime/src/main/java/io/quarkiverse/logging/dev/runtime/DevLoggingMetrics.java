@@ -0,0 +1,139 @@
+package io.quarkiverse.logging.dev.runtime;
+
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.ToLongFunction;
+
+/**
+ * Statistics of the formatter, the exception collector and the route handlers.
+ * <p>
+ * Nothing is recorded until metrics are {@link #enable() enabled}, which {@link DevLoggingMeterBinder}
+ * does when Micrometer is present. Statistics are kept in striped counters, so recording neither
+ * allocates nor contends with other logging threads.
+ */
+public final class DevLoggingMetrics {
+
+    /**
+     * Kind of a formatted record.
+     */
+    public enum RecordKind {
+        GENERAL,
+        HTTP,
+        EXCEPTION;
+
+        final TimeStats stats = new TimeStats();
+    }
+
+    /**
+     * Route handled by the extension.
+     */
+    public enum Route {
+        EXCEPTION,
+        EXCEPTIONS,
+        LOG_SEARCH;
+
+        final TimeStats stats = new TimeStats();
+    }
+
+    /**
+     * Number and total duration of timed operations.
+     */
+    static final class TimeStats {
+
+        final LongAdder count = new LongAdder();
+        final LongAdder totalNanos = new LongAdder();
+
+        void record(long startNanos) {
+            totalNanos.add(System.nanoTime() - startNanos);
+            count.increment();
+        }
+
+        long count() {
+            return count.sum();
+        }
+
+        double totalNanos() {
+            return totalNanos.sum();
+        }
+    }
+
+    static final LongAdder formattedChars = new LongAdder();
+    static final LongAdder wrappedLines = new LongAdder();
+    static final LongAdder collectedExceptions = new LongAdder();
+    static final LongAdder repeatedExceptions = new LongAdder();
+    static final LongAdder suppressedRecords = new LongAdder();
+
+    private static volatile boolean enabled;
+    // Of the formatter in use, which counts its own lookups
+    private static volatile LoggerNameCache loggerNameCache;
+
+    private DevLoggingMetrics() {
+    }
+
+    static void enable() {
+        enabled = true;
+    }
+
+    public static boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Publishes the statistics of the logger name cache of the formatter in use.
+     */
+    static void loggerNameCache(LoggerNameCache cache) {
+        loggerNameCache = cache;
+    }
+
+    /**
+     * A statistic of the logger name cache of the formatter in use, {@code 0} when there is none.
+     */
+    static long loggerNameCacheStat(ToLongFunction<LoggerNameCache> stat) {
+        var cache = loggerNameCache;
+        return cache != null ? stat.applyAsLong(cache) : 0;
+    }
+
+    /**
+     * Start time of a timed operation, or {@code 0} when metrics are disabled.
+     */
+    static long start() {
+        return enabled ? System.nanoTime() : 0;
+    }
+
+    static void formatted(RecordKind kind, long startNanos, int length) {
+        if (startNanos != 0) {
+            kind.stats.record(startNanos);
+            formattedChars.add(length);
+        }
+    }
+
+    static void handled(Route route, long startNanos) {
+        if (startNanos != 0) {
+            route.stats.record(startNanos);
+        }
+    }
+
+    static void wrapped(int lines) {
+        if (enabled) {
+            wrappedLines.add(lines);
+        }
+    }
+
+    static void recordSuppressed() {
+        if (enabled) {
+            suppressedRecords.increment();
+        }
+    }
+
+    static void exceptionCollected() {
+        if (enabled) {
+            collectedExceptions.increment();
+        }
+    }
+
+    static void exceptionRepeated() {
+        if (enabled) {
+            repeatedExceptions.increment();
+        }
+    }
+
+}
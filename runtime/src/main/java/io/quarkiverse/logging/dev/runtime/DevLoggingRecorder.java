@@ -1,17 +1,98 @@
 package io.quarkiverse.logging.dev.runtime;
 
+import java.util.HashMap;
+import java.util.Map;
 import java.util.Optional;
 import java.util.logging.Formatter;
 
+import org.jboss.logging.Logger;
+
 import io.quarkus.runtime.RuntimeValue;
+import io.quarkus.runtime.ShutdownContext;
 import io.quarkus.runtime.annotations.Recorder;
 import io.quarkus.vertx.http.runtime.HttpConfiguration;
+import io.vertx.core.Handler;
+import io.vertx.ext.web.RoutingContext;
 
 @Recorder
 public class DevLoggingRecorder {
 
-    public RuntimeValue<Optional<Formatter>> createFormatter(HttpConfiguration config, boolean showTraceContext) {
-        return new RuntimeValue<>(Optional.of(new DevFormatter(config.host, config.port, showTraceContext)));
+    private static final Logger LOG = Logger.getLogger(DevLoggingRecorder.class);
+
+    /**
+     * @param devConsoleInstalled Whether the Quarkus dev console redirects the standard output, which the direct
+     *        console output would bypass.
+     */
+    public RuntimeValue<Optional<Formatter>> createFormatter(HttpConfiguration config, DevLoggingConfig devConfig,
+            boolean showTraceContext, Map<String, String> typeColors, boolean devConsoleInstalled,
+            ShutdownContext shutdownContext) {
+
+        var exceptionsConfig = devConfig.exceptions;
+        ExceptionCollector.configure(exceptionsConfig.storage, exceptionsConfig.maxCount,
+                exceptionsConfig.maxMemory.asLongValue(), exceptionsConfig.repeatThreshold);
+        var persistenceConfig = exceptionsConfig.persistence;
+        ExceptionCollector.configurePersistence(persistenceConfig.enabled, persistenceConfig.directory,
+                persistenceConfig.maxSize.asLongValue());
+        if (persistenceConfig.enabled) {
+            shutdownContext.addShutdownTask(ExceptionCollector::flushPersistence);
+        }
+        LogStream.configure(devConfig.stream.queueLength);
+        var searchConfig = devConfig.search;
+        LogCollector.configure(searchConfig.enabled, searchConfig.maxCount,
+                (int) Math.min(searchConfig.maxMemory.asLongValue(), Integer.MAX_VALUE));
+
+        var formatter = new DevFormatter(config.host, config.port, showTraceContext, devConfig.colors);
+        var allTypeColors = new HashMap<>(typeColors);
+        allTypeColors.putAll(devConfig.typeColors);
+        if (!allTypeColors.isEmpty()) {
+            formatter.setTypeColors(loadTypes(allTypeColors));
+        }
+        formatter.setExceptionTreeLimits(exceptionsConfig.maxDepth, exceptionsConfig.maxSuppressed);
+        formatter.setLoggerNameCacheSize(devConfig.loggerNameCacheSize);
+        DevLoggingMetrics.loggerNameCache(formatter.getLoggerNameCache());
+        var throttleConfig = devConfig.throttle;
+        if (throttleConfig.enabled) {
+            formatter.setThrottle(new LogThrottle(throttleConfig.rate, throttleConfig.burst,
+                    throttleConfig.summaryInterval, throttleConfig.maxCallSites));
+        }
+
+        Formatter consoleFormatter = formatter;
+        var asyncConfig = devConfig.async;
+        if (asyncConfig.enabled) {
+            var asyncFormatter = new AsyncDevFormatter(formatter, asyncConfig.queueLength, asyncConfig.overflow,
+                    System.out);
+            shutdownContext.addShutdownTask(asyncFormatter::close);
+            consoleFormatter = asyncFormatter;
+        } else if (devConfig.console.direct && devConsoleInstalled) {
+            LOG.warn("Ignoring quarkus.log.dev.console.direct, as the dev console redirects the standard output");
+        } else if (devConfig.console.direct) {
+            var handler = new DirectConsoleHandler(formatter,
+                    (int) Math.min(devConfig.console.bufferSize.asLongValue(), Integer.MAX_VALUE));
+            shutdownContext.addShutdownTask(handler::close);
+            consoleFormatter = handler.consoleFormatter();
+        }
+        if (throttleConfig.enabled) {
+            // Shutdown tasks run in reverse order, so the summaries are logged before the output is closed
+            shutdownContext.addShutdownTask(formatter::logPendingSummaries);
+        }
+        return new RuntimeValue<>(Optional.of(consoleFormatter));
+    }
+
+    public Handler<RoutingContext> createAccessLogHandler() {
+        return new AccessLogHandler();
+    }
+
+    private static Map<Class<?>, String> loadTypes(Map<String, String> colorsByTypeName) {
+        var classLoader = Thread.currentThread().getContextClassLoader();
+        var colors = new HashMap<Class<?>, String>();
+        for (var entry : colorsByTypeName.entrySet()) {
+            try {
+                colors.put(Class.forName(entry.getKey(), false, classLoader), entry.getValue());
+            } catch (ClassNotFoundException e) {
+                throw new IllegalArgumentException("Unknown type of type color: " + entry.getKey(), e);
+            }
+        }
+        return colors;
     }
 
 }
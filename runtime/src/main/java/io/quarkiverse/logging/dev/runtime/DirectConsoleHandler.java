@@ -0,0 +1,172 @@
+package io.quarkiverse.logging.dev.runtime;
+
+import java.io.FileDescriptor;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.channels.WritableByteChannel;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.logging.ErrorManager;
+
+import org.jboss.logmanager.ExtFormatter;
+import org.jboss.logmanager.ExtHandler;
+import org.jboss.logmanager.ExtLogRecord;
+
+/**
+ * Writes records formatted by a {@link DevFormatter} to a channel, by default the channel of the standard output,
+ * encoding them as UTF-8 into a reusable direct buffer.
+ * <p>
+ * Records are rendered outside the lock, on the logging thread. While other threads wait for the lock, the
+ * records are only buffered; the last waiting thread writes the whole buffer, so records logged concurrently
+ * are written together.
+ * <p>
+ * Writing to the standard output channel bypasses {@link System#out}, so it is only done while {@code System.out}
+ * is the stream the handler started with, and is not a subclass of {@link PrintStream} such as the redirection
+ * of the Quarkus dev console. Otherwise, such as when the output is captured after the handler started, records
+ * are written to {@code System.out}. A capture installed before the handler started, with a plain
+ * {@code PrintStream}, can't be told apart from the standard output.
+ */
+public class DirectConsoleHandler extends ExtHandler {
+
+    private static final ThreadLocal<RenderBuffer> RENDER_BUFFERS = ThreadLocal.withInitial(RenderBuffer::new);
+
+    private final DevFormatter formatter;
+    private final Utf8ChannelOutput output;
+    private final ReentrantLock lock = new ReentrantLock();
+    // System.out when writing to the standard output channel, null when writing to another channel
+    private final PrintStream standardOut;
+
+    /**
+     * Handler writing to the standard output.
+     */
+    public DirectConsoleHandler(DevFormatter formatter, int bufferSize) {
+        this(formatter, new FileOutputStream(FileDescriptor.out).getChannel(), bufferSize, System.out);
+    }
+
+    public DirectConsoleHandler(DevFormatter formatter, WritableByteChannel channel, int bufferSize) {
+        this(formatter, channel, bufferSize, null);
+    }
+
+    /**
+     * @param standardOut {@link System#out} of which the channel is the underlying channel; records are written to
+     *        {@code System.out} instead of the channel once it is another stream.
+     */
+    public DirectConsoleHandler(DevFormatter formatter, WritableByteChannel channel, int bufferSize,
+            PrintStream standardOut) {
+        this.formatter = formatter;
+        this.output = new Utf8ChannelOutput(channel, bufferSize);
+        this.standardOut = standardOut;
+    }
+
+    /**
+     * Stream to write to instead of the channel, or {@code null}.
+     */
+    private PrintStream redirectedOut() {
+        if (standardOut == null) {
+            return null;
+        }
+        var out = System.out;
+        return out != standardOut || out.getClass() != PrintStream.class ? out : null;
+    }
+
+    /**
+     * Formatter for the console handler, publishing records to this handler and returning an empty string,
+     * which the console handler skips.
+     */
+    public ExtFormatter consoleFormatter() {
+        return new ExtFormatter() {
+            @Override
+            public String format(ExtLogRecord record) {
+                publish(record);
+                return "";
+            }
+        };
+    }
+
+    @Override
+    protected void doPublish(ExtLogRecord record) {
+        var renderBuffer = RenderBuffer.acquire();
+        try {
+            var text = renderBuffer.text;
+            formatter.formatTo(record, text);
+            if (text.length() == 0) {
+                return;
+            }
+
+            lock.lock();
+            try {
+                var redirectedOut = redirectedOut();
+                if (redirectedOut != null) {
+                    // After the records buffered before the redirection
+                    if (!output.isEmpty()) {
+                        output.flush();
+                    }
+                    redirectedOut.append(text);
+                    redirectedOut.flush();
+                    return;
+                }
+                output.append(text);
+                if (!lock.hasQueuedThreads()) {
+                    output.flush();
+                }
+            } finally {
+                lock.unlock();
+            }
+        } catch (IOException e) {
+            reportError("Failed to write log record", e, ErrorManager.WRITE_FAILURE);
+        } finally {
+            renderBuffer.release();
+        }
+    }
+
+    @Override
+    public void flush() {
+        lock.lock();
+        try {
+            if (!output.isEmpty()) {
+                output.flush();
+            }
+        } catch (IOException e) {
+            reportError("Failed to flush log records", e, ErrorManager.FLUSH_FAILURE);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Flushes buffered records. The channel is left open, as it is usually the standard output.
+     */
+    @Override
+    public void close() {
+        flush();
+    }
+
+    private static final class RenderBuffer {
+
+        private static final int INITIAL_CAPACITY = 512;
+        private static final int MAX_RETAINED_CAPACITY = 64 * 1024;
+
+        StringBuilder text = new StringBuilder(INITIAL_CAPACITY);
+        private boolean inUse;
+
+        static RenderBuffer acquire() {
+            var buffer = RENDER_BUFFERS.get();
+            if (buffer.inUse) {
+                // Logging re-entered on this thread (e.g. a parameter's toString logged)
+                return new RenderBuffer();
+            }
+            buffer.inUse = true;
+            return buffer;
+        }
+
+        void release() {
+            if (text.capacity() > MAX_RETAINED_CAPACITY) {
+                text = new StringBuilder(INITIAL_CAPACITY);
+            } else {
+                text.setLength(0);
+            }
+            inUse = false;
+        }
+    }
+
+}
@@ -0,0 +1,107 @@
+package io.quarkiverse.logging.dev.runtime;
+
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Number of terminal columns taken by code points.
+ * <p>
+ * East Asian wide and fullwidth characters, and emoji presentation characters, take two columns;
+ * combining marks, format characters and other zero-width characters take none. Control characters
+ * are counted as one column, as the formatter has always counted them. Widths are looked up in
+ * per-block tables of 256 code points, computed on first use.
+ */
+final class DisplayWidth {
+
+    /**
+     * Code points below this take one column.
+     */
+    static final int NARROW_LIMIT = 0x300;
+
+    private static final int BLOCK_SHIFT = 8;
+    private static final int BLOCK_SIZE = 1 << BLOCK_SHIFT;
+    private static final int BLOCK_COUNT = (Character.MAX_CODE_POINT + 1) >> BLOCK_SHIFT;
+
+    /**
+     * Inclusive ranges of wide code points, sorted.
+     */
+    private static final int[] WIDE = {
+            0x1100, 0x115f, 0x231a, 0x231b, 0x2329, 0x232a, 0x23e9, 0x23ec, 0x23f0, 0x23f0, 0x23f3, 0x23f3,
+            0x25fd, 0x25fe, 0x2614, 0x2615, 0x2648, 0x2653, 0x267f, 0x267f, 0x2693, 0x2693, 0x26a1, 0x26a1,
+            0x26aa, 0x26ab, 0x26bd, 0x26be, 0x26c4, 0x26c5, 0x26ce, 0x26ce, 0x26d4, 0x26d4, 0x26ea, 0x26ea,
+            0x26f2, 0x26f3, 0x26f5, 0x26f5, 0x26fa, 0x26fa, 0x26fd, 0x26fd, 0x2705, 0x2705, 0x270a, 0x270b,
+            0x2728, 0x2728, 0x274c, 0x274c, 0x274e, 0x274e, 0x2753, 0x2755, 0x2757, 0x2757, 0x2795, 0x2797,
+            0x27b0, 0x27b0, 0x27bf, 0x27bf, 0x2b1b, 0x2b1c, 0x2b50, 0x2b50, 0x2b55, 0x2b55, 0x2e80, 0x303e,
+            0x3041, 0x33ff, 0x3400, 0x4dbf, 0x4e00, 0x9fff, 0xa000, 0xa4cf, 0xa960, 0xa97f, 0xac00, 0xd7a3,
+            0xf900, 0xfaff, 0xfe10, 0xfe19, 0xfe30, 0xfe6f, 0xff00, 0xff60, 0xffe0, 0xffe6,
+            0x16fe0, 0x16fe4, 0x17000, 0x18aff, 0x1b000, 0x1b2ff, 0x1f004, 0x1f004, 0x1f0cf, 0x1f0cf,
+            0x1f18e, 0x1f18e, 0x1f191, 0x1f19a, 0x1f200, 0x1f251, 0x1f300, 0x1f320, 0x1f32d, 0x1f335,
+            0x1f337, 0x1f37c, 0x1f37e, 0x1f393, 0x1f3a0, 0x1f3ca, 0x1f3cf, 0x1f3d3, 0x1f3e0, 0x1f3f0,
+            0x1f3f4, 0x1f3f4, 0x1f3f8, 0x1f43e, 0x1f440, 0x1f440, 0x1f442, 0x1f4fc, 0x1f4ff, 0x1f53d,
+            0x1f54b, 0x1f54e, 0x1f550, 0x1f567, 0x1f57a, 0x1f57a, 0x1f595, 0x1f596, 0x1f5a4, 0x1f5a4,
+            0x1f5fb, 0x1f64f, 0x1f680, 0x1f6c5, 0x1f6cc, 0x1f6cc, 0x1f6d0, 0x1f6d2, 0x1f6d5, 0x1f6d7,
+            0x1f6eb, 0x1f6ec, 0x1f6f4, 0x1f6fc, 0x1f7e0, 0x1f7eb, 0x1f90c, 0x1f93a, 0x1f93c, 0x1f945,
+            0x1f947, 0x1f9ff, 0x1fa70, 0x1faff, 0x20000, 0x2fffd, 0x30000, 0x3fffd,
+    };
+
+    private static final AtomicReferenceArray<byte[]> BLOCKS = new AtomicReferenceArray<>(BLOCK_COUNT);
+
+    private DisplayWidth() {
+    }
+
+    /**
+     * Number of columns taken by a code point: {@code 0}, {@code 1} or {@code 2}.
+     */
+    static int of(int codePoint) {
+        if (codePoint < NARROW_LIMIT) {
+            return 1;
+        }
+        var blockIndex = codePoint >>> BLOCK_SHIFT;
+        var block = BLOCKS.get(blockIndex);
+        if (block == null) {
+            // Racing threads compute identical blocks
+            block = computeBlock(blockIndex);
+            BLOCKS.set(blockIndex, block);
+        }
+        return block[codePoint & (BLOCK_SIZE - 1)];
+    }
+
+    private static byte[] computeBlock(int blockIndex) {
+        var block = new byte[BLOCK_SIZE];
+        var first = blockIndex << BLOCK_SHIFT;
+        for (int idx = 0; idx < BLOCK_SIZE; ++idx) {
+            block[idx] = (byte) compute(first + idx);
+        }
+        return block;
+    }
+
+    private static int compute(int codePoint) {
+        if (codePoint == 0x200b || (codePoint >= 0x1160 && codePoint <= 0x11ff)) {
+            return 0;
+        }
+        switch (Character.getType(codePoint)) {
+            case Character.NON_SPACING_MARK:
+            case Character.ENCLOSING_MARK:
+            case Character.FORMAT:
+                return 0;
+            default:
+                return isWide(codePoint) ? 2 : 1;
+        }
+    }
+
+    private static boolean isWide(int codePoint) {
+        int low = 0;
+        int high = WIDE.length / 2 - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            if (codePoint < WIDE[mid * 2]) {
+                high = mid - 1;
+            } else if (codePoint > WIDE[mid * 2 + 1]) {
+                low = mid + 1;
+            } else {
+                return true;
+            }
+        }
+        return false;
+    }
+
+}
@@ -1,31 +1,200 @@
 package io.quarkiverse.logging.dev.runtime;
 
-import java.util.*;
+import static io.quarkiverse.logging.dev.runtime.ExceptionsConfig.Storage.SNAPSHOT;
+
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.Arrays;
+
+import io.quarkiverse.logging.dev.runtime.ExceptionsConfig.Storage;
 
 public class ExceptionCollector {
 
-    private static final int MAX_EXCEPTIONS = 1000;
+    static final int DEFAULT_MAX_EXCEPTIONS = 1000;
+    static final long DEFAULT_MAX_MEMORY = 32 * 1024 * 1024;
+    static final int DEFAULT_REPEAT_THRESHOLD = 10;
 
-    private static final Map<String, Throwable> exceptions = new HashMap<>();
-    private static final List<Throwable> exceptionsOrder = new ArrayList<>();
+    private static volatile Storage storage = SNAPSHOT;
+    private static volatile int repeatThreshold = DEFAULT_REPEAT_THRESHOLD;
+    private static volatile ExceptionStore<CollectedException> exceptions = newStore(DEFAULT_MAX_EXCEPTIONS,
+            DEFAULT_MAX_MEMORY);
+    private static volatile ExceptionStore<ExceptionOccurrences> occurrencesByFingerprint = new ExceptionStore<>(
+            DEFAULT_MAX_EXCEPTIONS);
+    private static volatile ExceptionStore<ExceptionOccurrences> occurrencesById = new ExceptionStore<>(
+            DEFAULT_MAX_EXCEPTIONS);
+    private static final ExceptionIndex index = new ExceptionIndex();
+    private static volatile PersistentExceptionStore persistentStore;
+    private static volatile long previousEvictions;
+
+    /**
+     * Sets how exceptions are stored and the limits of the store. Exceptions already collected are
+     * kept unless the limits change.
+     */
+    public static void configure(Storage storage, int maxExceptions, long maxMemory, int repeatThreshold) {
+        var maxWeight = storage == SNAPSHOT ? maxMemory : Long.MAX_VALUE;
+        if (exceptions.capacity() != maxExceptions || exceptions.maxWeight() != maxWeight) {
+            var previous = exceptions;
+            exceptions = newStore(maxExceptions, maxWeight);
+            occurrencesByFingerprint = new ExceptionStore<>(maxExceptions);
+            occurrencesById = new ExceptionStore<>(maxExceptions);
+            previous.clear();
+            previousEvictions += previous.evictions();
+            index.clear();
+        }
+        ExceptionCollector.storage = storage;
+        ExceptionCollector.repeatThreshold = repeatThreshold;
+    }
 
-    public static String add(Throwable exception) {
-        var exceptionId = exceptionId(exception);
-        exceptions.put(exceptionId, exception);
-        if (exceptions.size() > MAX_EXCEPTIONS) {
-            var removed = exceptionsOrder.remove(exceptionsOrder.size() - 1);
-            var removedExceptionId = exceptionId(removed);
-            exceptions.remove(removedExceptionId);
+    /**
+     * Enables keeping collected exceptions in files under a directory, so their detail pages survive
+     * restarts, or disables it. The files are only opened when first used.
+     */
+    public static void configurePersistence(boolean enabled, Path directory, long maxSize) {
+        var current = persistentStore;
+        if (!enabled) {
+            persistentStore = null;
+        } else if (current == null || !current.directory().equals(directory) || current.maxSize() != maxSize) {
+            persistentStore = new PersistentExceptionStore(directory, maxSize,
+                    exceptionId -> exceptions.get(exceptionId) != null);
+        }
+        if (current != null && current != persistentStore) {
+            current.close();
         }
-        return exceptionId;
     }
 
-    public static Throwable find(String exceptionId) {
-        return exceptions.get(exceptionId);
+    /**
+     * Writes the exceptions queued for persistence and forces them to disk.
+     */
+    public static void flushPersistence() {
+        var current = persistentStore;
+        if (current != null) {
+            current.flush();
+        }
+    }
+
+    /**
+     * Collects an exception, recording an occurrence of its fingerprint.
+     * <p>
+     * Once an exception is a {@link #isRepeat(long) repeat}, an exception already stored under the same
+     * id is kept rather than replaced.
+     *
+     * @param view Analysis of the exception, providing its id and fingerprint, possibly limited to the exceptions
+     *        rendered by the formatter.
+     * @return Number of occurrences of the exception's fingerprint, including this one.
+     */
+    static long add(ExceptionView view, Throwable exception, Instant instant, String loggerName) {
+        var exceptionId = view.id();
+        var fingerprint = view.fingerprint();
+        var occurrences = occurrencesByFingerprint.get(fingerprint);
+        if (occurrences == null) {
+            occurrences = occurrencesByFingerprint.putIfAbsent(fingerprint, new ExceptionOccurrences(instant));
+        }
+        var occurrence = occurrences.record(view.message(0), instant);
+        occurrencesById.put(exceptionId, occurrences);
+
+        if (!isRepeat(occurrence) || exceptions.get(exceptionId) == null) {
+            // A view limited to the rendered exceptions is analyzed again, within the limits of snapshots
+            var collected = storage == SNAPSHOT
+                    ? ExceptionSnapshot.of(view.covers(ExceptionSnapshot.MAX_DEPTH, ExceptionSnapshot.MAX_SUPPRESSED)
+                            ? view
+                            : ExceptionView.of(exception, ExceptionSnapshot.MAX_DEPTH, ExceptionSnapshot.MAX_SUPPRESSED))
+                    : CollectedException.live(exception);
+            // Not stored when too heavy, or when a heavier replacement does not fit and the stored one is kept
+            if (exceptions.put(exceptionId, collected)) {
+                DevLoggingMetrics.exceptionCollected();
+                index.add(exceptionId, instant, loggerName, collected);
+                var persistent = persistentStore;
+                if (persistent != null && collected.retain()) {
+                    // Released by the store once written
+                    persistent.put(exceptionId, collected);
+                }
+            }
+        } else {
+            DevLoggingMetrics.exceptionRepeated();
+        }
+        return occurrence;
+    }
+
+    /**
+     * Number of exceptions currently stored.
+     */
+    public static int size() {
+        return exceptions.size();
+    }
+
+    /**
+     * Estimated memory of the exceptions currently stored, in bytes, including their pooled stack frames.
+     * Only tracked for {@link Storage#SNAPSHOT snapshots}.
+     */
+    public static long weight() {
+        return exceptions.weight();
+    }
+
+    /**
+     * Number of exceptions evicted to make room for newer ones, since startup.
+     */
+    public static long evictions() {
+        return previousEvictions + exceptions.evictions();
+    }
+
+    /**
+     * Whether an occurrence is past the repeat threshold, and should be logged in summary.
+     */
+    public static boolean isRepeat(long occurrence) {
+        var threshold = repeatThreshold;
+        return threshold > 0 && occurrence > threshold;
+    }
+
+    /**
+     * Finds a collected exception, retaining it. Callers must {@link CollectedException#release() release}
+     * the exception when done reading it.
+     * <p>
+     * Exceptions no longer in memory, such as exceptions collected before a restart, are read from the
+     * persistent store when enabled.
+     */
+    public static CollectedException find(String exceptionId) {
+        var exception = exceptions.get(exceptionId);
+        if (exception != null && exception.retain()) {
+            return exception;
+        }
+        var persistent = persistentStore;
+        return persistent != null ? persistent.find(exceptionId) : null;
+    }
+
+    /**
+     * Finds the occurrences of the fingerprint most recently collected under an exception id.
+     */
+    public static ExceptionOccurrences findOccurrences(String exceptionId) {
+        return occurrencesById.get(exceptionId);
+    }
+
+    /**
+     * Finds collected exceptions, newest first. Exceptions collected after the first page was returned
+     * are not included in later pages.
+     *
+     * @param className Exception class name to match, or {@code null}.
+     * @param loggerName Logger name to match, or {@code null}.
+     * @param since Oldest time to include, or {@code null}.
+     * @param cursor Cursor returned with the previous page, or {@code null} for the first page.
+     * @throws IllegalArgumentException If the cursor is invalid.
+     */
+    static ExceptionIndex.Page list(String className, String loggerName, Instant since, String cursor, int limit) {
+        var store = exceptions;
+        return index.find(className, loggerName, since, cursor, limit,
+                entry -> store.get(entry.exceptionId) == entry.exception);
     }
 
     public static String exceptionId(Throwable exception) {
         return Integer.toUnsignedString(Arrays.hashCode(exception.getStackTrace()));
     }
 
+    private static ExceptionStore<CollectedException> newStore(int maxExceptions, long maxWeight) {
+        // Snapshot frames live in the frame pool, charged to the same budget as the snapshots
+        return new ExceptionStore<>(maxExceptions, maxWeight, CollectedException::estimatedSize,
+                (exceptionId, exception) -> {
+                    index.remove(exceptionId, exception);
+                    exception.release();
+                }, FramePool::weight);
+    }
+
 }
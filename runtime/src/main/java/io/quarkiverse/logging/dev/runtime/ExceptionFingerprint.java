@@ -0,0 +1,34 @@
+package io.quarkiverse.logging.dev.runtime;
+
+/**
+ * Identifies repeats of the same failure, regardless of messages and of frames below the top of
+ * the stack, such as the frames of different callers.
+ * <p>
+ * The fingerprint covers the class and top stack frames of the exception and of each exception in
+ * its cause chain.
+ */
+final class ExceptionFingerprint {
+
+    static final int TOP_FRAMES = 10;
+    static final int MAX_CAUSES = 32;
+
+    private ExceptionFingerprint() {
+    }
+
+    static String of(ExceptionView view) {
+        long hash = 1;
+        var node = 0;
+        for (int depth = 0; node != ExceptionView.NO_CAUSE && depth < MAX_CAUSES; ++depth) {
+            hash = 31 * hash + view.type(node).getName().hashCode();
+            var stackTrace = view.trace(node);
+            var frames = Math.min(stackTrace.length, TOP_FRAMES);
+            for (int idx = 0; idx < frames; ++idx) {
+                hash = 31 * hash + stackTrace[idx].hashCode();
+            }
+            var cause = view.cause(node);
+            node = cause != node ? cause : ExceptionView.NO_CAUSE;
+        }
+        return Long.toUnsignedString(hash, 36);
+    }
+
+}
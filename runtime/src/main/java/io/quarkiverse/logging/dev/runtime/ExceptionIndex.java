@@ -0,0 +1,211 @@
+package io.quarkiverse.logging.dev.runtime;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.NavigableMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Predicate;
+
+/**
+ * Secondary indexes of the stored exceptions, by time, exception class and logger.
+ * <p>
+ * Every index is ordered by the time the exception was logged, then by collection order, so a
+ * query walks a single index from its cursor and returns the newest entries first. Exceptions
+ * collected after a page was returned sort after its cursor, keeping later pages stable.
+ */
+final class ExceptionIndex {
+
+    static final class Key implements Comparable<Key> {
+
+        private static final Comparator<Key> ORDER = Comparator.<Key, Instant> comparing(key -> key.instant)
+                .thenComparingLong(key -> key.seq);
+
+        final Instant instant;
+        final long seq;
+
+        Key(Instant instant, long seq) {
+            this.instant = instant;
+            this.seq = seq;
+        }
+
+        @Override
+        public int compareTo(Key other) {
+            return ORDER.compare(this, other);
+        }
+
+        /**
+         * Opaque cursor string of the key.
+         */
+        String toCursor() {
+            return instant.getEpochSecond() + "." + instant.getNano() + "." + seq;
+        }
+
+        /**
+         * @throws IllegalArgumentException If the cursor is invalid.
+         */
+        static Key ofCursor(String cursor) {
+            var parts = cursor.split("\\.");
+            if (parts.length != 3) {
+                throw new IllegalArgumentException("Invalid cursor: " + cursor);
+            }
+            try {
+                return new Key(Instant.ofEpochSecond(Long.parseLong(parts[0]), Long.parseLong(parts[1])),
+                        Long.parseLong(parts[2]));
+            } catch (RuntimeException e) {
+                throw new IllegalArgumentException("Invalid cursor: " + cursor, e);
+            }
+        }
+    }
+
+    static final class Entry {
+
+        final Key key;
+        final String exceptionId;
+        final String className;
+        final String loggerName;
+        final CollectedException exception;
+
+        Entry(Key key, String exceptionId, String loggerName, CollectedException exception) {
+            this.key = key;
+            this.exceptionId = exceptionId;
+            this.className = exception.getClassName();
+            this.loggerName = loggerName;
+            this.exception = exception;
+        }
+    }
+
+    static final class Page {
+
+        final List<Entry> entries;
+        /**
+         * Cursor of the next page, {@code null} if this is the last page.
+         */
+        final String nextCursor;
+
+        Page(List<Entry> entries, String nextCursor) {
+            this.entries = entries;
+            this.nextCursor = nextCursor;
+        }
+    }
+
+    private final AtomicLong seq = new AtomicLong();
+    private final ConcurrentHashMap<String, Entry> entriesById = new ConcurrentHashMap<>();
+    private final ConcurrentSkipListMap<Key, Entry> byTime = new ConcurrentSkipListMap<>();
+    private final ConcurrentHashMap<String, ConcurrentSkipListMap<Key, Entry>> byClass = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, ConcurrentSkipListMap<Key, Entry>> byLogger = new ConcurrentHashMap<>();
+
+    /**
+     * Indexes an exception stored under an id, replacing the entry of any exception previously stored
+     * under the same id.
+     */
+    void add(String exceptionId, Instant instant, String loggerName, CollectedException exception) {
+        var entry = new Entry(new Key(instant, seq.incrementAndGet()), exceptionId,
+                loggerName != null ? loggerName : "", exception);
+        var previous = entriesById.put(exceptionId, entry);
+        if (previous != null) {
+            unindex(previous);
+        }
+        byTime.put(entry.key, entry);
+        index(byClass, entry.className, entry);
+        index(byLogger, entry.loggerName, entry);
+    }
+
+    /**
+     * Removes the entry of an exception, unless another exception is now indexed under its id.
+     */
+    void remove(String exceptionId, CollectedException exception) {
+        var entry = entriesById.get(exceptionId);
+        if (entry != null && entry.exception == exception && entriesById.remove(exceptionId, entry)) {
+            unindex(entry);
+        }
+    }
+
+    void clear() {
+        entriesById.clear();
+        byTime.clear();
+        byClass.clear();
+        byLogger.clear();
+    }
+
+    int size() {
+        return entriesById.size();
+    }
+
+    /**
+     * Finds indexed exceptions, newest first.
+     *
+     * @param className Exception class name to match, or {@code null}.
+     * @param loggerName Logger name to match, or {@code null}.
+     * @param since Oldest time to include, or {@code null}.
+     * @param cursor Cursor returned with the previous page, or {@code null} for the first page.
+     * @param isLive Whether an entry's exception is still stored; other entries are removed.
+     */
+    Page find(String className, String loggerName, Instant since, String cursor, int limit, Predicate<Entry> isLive) {
+        NavigableMap<Key, Entry> index;
+        if (className != null) {
+            index = byClass.get(className);
+        } else if (loggerName != null) {
+            index = byLogger.get(loggerName);
+        } else {
+            index = byTime;
+        }
+        if (index == null) {
+            return new Page(List.of(), null);
+        }
+
+        var view = (ConcurrentNavigableMap<Key, Entry>) index;
+        if (cursor != null) {
+            view = view.headMap(Key.ofCursor(cursor), false);
+        }
+        if (since != null) {
+            view = view.tailMap(new Key(since, Long.MIN_VALUE), true);
+        }
+
+        var entries = new ArrayList<Entry>(Math.min(limit, 64));
+        for (var entry : view.descendingMap().values()) {
+            if (loggerName != null && !loggerName.equals(entry.loggerName)) {
+                continue;
+            }
+            if (!isLive.test(entry)) {
+                remove(entry.exceptionId, entry.exception);
+                continue;
+            }
+            if (entries.size() == limit) {
+                return new Page(entries, entries.get(limit - 1).key.toCursor());
+            }
+            entries.add(entry);
+        }
+        return new Page(entries, null);
+    }
+
+    private void unindex(Entry entry) {
+        byTime.remove(entry.key);
+        unindex(byClass, entry.className, entry);
+        unindex(byLogger, entry.loggerName, entry);
+    }
+
+    private static void index(ConcurrentHashMap<String, ConcurrentSkipListMap<Key, Entry>> index, String name,
+            Entry entry) {
+        index.compute(name, (key, entries) -> {
+            if (entries == null) {
+                entries = new ConcurrentSkipListMap<>();
+            }
+            entries.put(entry.key, entry);
+            return entries;
+        });
+    }
+
+    private static void unindex(ConcurrentHashMap<String, ConcurrentSkipListMap<Key, Entry>> index, String name,
+            Entry entry) {
+        index.computeIfPresent(name, (key, entries) -> {
+            entries.remove(entry.key);
+            return entries.isEmpty() ? null : entries;
+        });
+    }
+
+}
@@ -0,0 +1,67 @@
+package io.quarkiverse.logging.dev.runtime;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Occurrences of exceptions sharing the same {@link ExceptionFingerprint fingerprint}.
+ */
+public final class ExceptionOccurrences {
+
+    static final int SAMPLE_COUNT = 5;
+
+    private final Instant firstSeen;
+    private final AtomicLong count = new AtomicLong();
+    private final AtomicReferenceArray<String> sampleMessages = new AtomicReferenceArray<>(SAMPLE_COUNT);
+    private volatile Instant lastSeen;
+
+    ExceptionOccurrences(Instant firstSeen) {
+        this.firstSeen = firstSeen;
+        this.lastSeen = firstSeen;
+    }
+
+    /**
+     * Records an occurrence.
+     *
+     * @return Number of occurrences, including this one.
+     */
+    long record(String message, Instant instant) {
+        var occurrence = count.incrementAndGet();
+        sampleMessages.set((int) ((occurrence - 1) % SAMPLE_COUNT), message);
+        if (instant.isAfter(lastSeen)) {
+            lastSeen = instant;
+        }
+        return occurrence;
+    }
+
+    public long getCount() {
+        return count.get();
+    }
+
+    public Instant getFirstSeen() {
+        return firstSeen;
+    }
+
+    public Instant getLastSeen() {
+        return lastSeen;
+    }
+
+    /**
+     * Messages of the most recent occurrences, newest first.
+     */
+    public List<String> getSampleMessages() {
+        var newest = count.get();
+        var samples = new ArrayList<String>(SAMPLE_COUNT);
+        for (long occurrence = newest; occurrence > 0 && occurrence > newest - SAMPLE_COUNT; --occurrence) {
+            var message = sampleMessages.get((int) ((occurrence - 1) % SAMPLE_COUNT));
+            if (message != null) {
+                samples.add(message);
+            }
+        }
+        return samples;
+    }
+
+}
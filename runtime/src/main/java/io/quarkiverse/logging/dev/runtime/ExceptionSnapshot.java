@@ -0,0 +1,215 @@
+package io.quarkiverse.logging.dev.runtime;
+
+import java.io.PrintWriter;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Compact, immutable copy of an exception, its causes and its suppressed exceptions.
+ * <p>
+ * Only what is needed to print the stack trace is kept; the captured exceptions, and anything
+ * referenced from their fields, can be garbage collected. Stack traces are stored as frame ids
+ * into the shared {@link FramePool}, so the frames of repeated failures are stored once.
+ * <p>
+ * Exceptions are stored as nodes indexed in arrays, with node {@code 0} being the snapshot
+ * exception, so that cause and suppressed cycles are kept as they are in the original graph.
+ * <p>
+ * A snapshot is limited to the exceptions within {@link #MAX_DEPTH} and {@link #MAX_SUPPRESSED}, as analyzed by
+ * the {@link ExceptionView}, so a pathological exception graph costs no more than these to capture; the exceptions
+ * past the limits are printed as omitted.
+ * <p>
+ * A snapshot holds references to its frames until {@link #release() released}; readers must
+ * {@link #retain()} it while reading.
+ */
+public final class ExceptionSnapshot implements CollectedException {
+
+    static final int MAX_DEPTH = 32;
+    static final int MAX_SUPPRESSED = 16;
+
+    private static final int NO_CAUSE = ExceptionView.NO_CAUSE;
+    private static final int OMITTED = -2;
+    private static final int[] NO_SUPPRESSED = new int[0];
+
+    private static final String CAUSE_CAPTION = "Caused by: ";
+    private static final String SUPPRESSED_CAPTION = "Suppressed: ";
+
+    private static final int OBJECT_HEADER_SIZE = 16;
+    private static final int ARRAY_HEADER_SIZE = 16;
+    private static final int REFERENCE_SIZE = 4;
+    private static final int STRING_SIZE = 40;
+
+    private final String className;
+    private final String[] descriptions;
+    private final int[][] traces;
+    private final int[] causes;
+    private final int[][] suppressed;
+    private final int[] omittedSuppressed;
+    private final long estimatedSize;
+    private final AtomicInteger references = new AtomicInteger(1);
+
+    private ExceptionSnapshot(String className, String[] descriptions, int[][] traces, int[] causes,
+            int[][] suppressed, int[] omittedSuppressed) {
+        this.className = className;
+        this.descriptions = descriptions;
+        this.traces = traces;
+        this.causes = causes;
+        this.suppressed = suppressed;
+        this.omittedSuppressed = omittedSuppressed;
+        this.estimatedSize = estimateSize();
+    }
+
+    public static ExceptionSnapshot of(Throwable exception) {
+        return of(ExceptionView.of(exception, MAX_DEPTH, MAX_SUPPRESSED));
+    }
+
+    /**
+     * @param view Analysis of the exception {@link ExceptionView#covers(int, int) covering} the limits of snapshots.
+     */
+    static ExceptionSnapshot of(ExceptionView view) {
+        var nodeCount = view.analyzedSize();
+        var descriptions = new String[nodeCount];
+        var traces = new int[nodeCount][];
+        var causes = new int[nodeCount];
+        var suppressed = new int[nodeCount][];
+        var omittedSuppressed = new int[nodeCount];
+        for (int node = 0; node < nodeCount; ++node) {
+            descriptions[node] = view.description(node);
+            traces[node] = FramePool.acquire(view.trace(node));
+            var cause = view.cause(node);
+            causes[node] = cause == NO_CAUSE || isAnalyzed(cause, nodeCount) ? cause : OMITTED;
+
+            // Suppressed exceptions left unanalyzed are only counted
+            var suppressedNodes = view.suppressed(node);
+            var kept = 0;
+            for (var suppressedNode : suppressedNodes) {
+                kept += isAnalyzed(suppressedNode, nodeCount) ? 1 : 0;
+            }
+            if (kept == suppressedNodes.length) {
+                suppressed[node] = kept != 0 ? suppressedNodes : NO_SUPPRESSED;
+            } else {
+                suppressed[node] = new int[kept];
+                kept = 0;
+                for (var suppressedNode : suppressedNodes) {
+                    if (isAnalyzed(suppressedNode, nodeCount)) {
+                        suppressed[node][kept++] = suppressedNode;
+                    }
+                }
+            }
+            omittedSuppressed[node] = view.suppressedCount(node) - kept;
+        }
+        return new ExceptionSnapshot(view.type(0).getName(), descriptions, traces, causes, suppressed,
+                omittedSuppressed);
+    }
+
+    private static boolean isAnalyzed(int node, int analyzedSize) {
+        return node >= 0 && node < analyzedSize;
+    }
+
+    @Override
+    public String getClassName() {
+        return className;
+    }
+
+    /**
+     * Estimated size of the snapshot itself. Its frames are shared with other snapshots and accounted by
+     * the {@link FramePool}.
+     */
+    @Override
+    public long estimatedSize() {
+        return estimatedSize;
+    }
+
+    @Override
+    public boolean retain() {
+        while (true) {
+            int current = references.get();
+            if (current == 0) {
+                return false;
+            }
+            if (references.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    @Override
+    public void release() {
+        if (references.decrementAndGet() == 0) {
+            for (var trace : traces) {
+                FramePool.release(trace);
+            }
+        }
+    }
+
+    @Override
+    public void printStackTrace(PrintWriter writer) {
+        var printed = new boolean[descriptions.length];
+        printed[0] = true;
+
+        writer.println(descriptions[0]);
+        var trace = traces[0];
+        for (var frame : trace) {
+            writer.println("\tat " + FramePool.frame(frame));
+        }
+        printEnclosedExceptions(writer, 0, trace, "", printed);
+    }
+
+    private void printEnclosedExceptions(PrintWriter writer, int node, int[] trace, String prefix,
+            boolean[] printed) {
+        for (var suppressedNode : suppressed[node]) {
+            printEnclosed(writer, suppressedNode, trace, SUPPRESSED_CAPTION, prefix + "\t", printed);
+        }
+        if (omittedSuppressed[node] != 0) {
+            writer.println(prefix + "\t" + SUPPRESSED_CAPTION + "[OMITTED: " + omittedSuppressed[node] + " more]");
+        }
+        if (causes[node] == OMITTED) {
+            writer.println(prefix + CAUSE_CAPTION + "[OMITTED]");
+        } else if (causes[node] != NO_CAUSE) {
+            printEnclosed(writer, causes[node], trace, CAUSE_CAPTION, prefix, printed);
+        }
+    }
+
+    private void printEnclosed(PrintWriter writer, int node, int[] enclosingTrace, String caption,
+            String prefix, boolean[] printed) {
+
+        if (printed[node]) {
+            writer.println(prefix + caption + "[CIRCULAR REFERENCE: " + descriptions[node] + "]");
+            return;
+        }
+        printed[node] = true;
+
+        // Compute number of frames in common with the enclosing trace
+        var trace = traces[node];
+        int m = trace.length - 1;
+        int n = enclosingTrace.length - 1;
+        while (m >= 0 && n >= 0 && trace[m] == enclosingTrace[n]) {
+            m--;
+            n--;
+        }
+        int framesInCommon = trace.length - 1 - m;
+
+        writer.println(prefix + caption + descriptions[node]);
+        for (int idx = 0; idx <= m; idx++) {
+            writer.println(prefix + "\tat " + FramePool.frame(trace[idx]));
+        }
+        if (framesInCommon != 0) {
+            writer.println(prefix + "\t... " + framesInCommon + " more");
+        }
+
+        printEnclosedExceptions(writer, node, trace, prefix, printed);
+    }
+
+    private long estimateSize() {
+        int nodeCount = descriptions.length;
+        long size = OBJECT_HEADER_SIZE + STRING_SIZE + 2L * className.length() +
+                5L * (ARRAY_HEADER_SIZE + (long) REFERENCE_SIZE * nodeCount);
+        for (int node = 0; node < nodeCount; ++node) {
+            size += STRING_SIZE + 2L * descriptions[node].length();
+            size += ARRAY_HEADER_SIZE + (long) Integer.BYTES * traces[node].length;
+            if (suppressed[node] != NO_SUPPRESSED) {
+                size += ARRAY_HEADER_SIZE + (long) Integer.BYTES * suppressed[node].length;
+            }
+        }
+        return size;
+    }
+
+}
@@ -0,0 +1,268 @@
+package io.quarkiverse.logging.dev.runtime;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.BiConsumer;
+import java.util.function.LongSupplier;
+import java.util.function.ToLongFunction;
+
+/**
+ * Thread-safe store of exceptions by id that never holds more than {@code capacity} entries, nor
+ * entries weighing more than {@code maxWeight} in total.
+ * <p>
+ * Inserting a new id first reserves a slot and its weight; when either is exhausted the oldest
+ * entries are evicted until the insert fits. Lookups, inserts and evictions are O(1) and lock-free.
+ * <p>
+ * The store owns the exceptions passed to {@link #put}: each one is handed to the removal listener
+ * once the store no longer holds it, whether it was evicted, replaced, cleared or never stored.
+ * <p>
+ * Memory shared between the stored exceptions, such as pooled stack frames, is not part of their
+ * weight and can be passed as a shared weight: it also counts toward {@code maxWeight}, and inserts
+ * evict the oldest entries while the two together exceed it.
+ *
+ * @param <E> Type of stored exceptions.
+ */
+public class ExceptionStore<E> {
+
+    private static final int REPLACE_RETRY = 0;
+    private static final int REPLACE_STORED = 1;
+    private static final int REPLACE_KEPT_EXISTING = 2;
+
+    private final int capacity;
+    private final long maxWeight;
+    private final ToLongFunction<E> weigher;
+    private final BiConsumer<String, E> removalListener;
+    private final LongSupplier sharedWeight;
+    private final ConcurrentHashMap<String, E> exceptions;
+    private final ConcurrentLinkedQueue<String> insertionOrder = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger reservedSlots = new AtomicInteger();
+    private final AtomicLong reservedWeight = new AtomicLong();
+    private final LongAdder evictions = new LongAdder();
+
+    public ExceptionStore(int capacity) {
+        this(capacity, Long.MAX_VALUE, exception -> 0);
+    }
+
+    public ExceptionStore(int capacity, long maxWeight, ToLongFunction<E> weigher) {
+        this(capacity, maxWeight, weigher, (exceptionId, exception) -> {
+        });
+    }
+
+    public ExceptionStore(int capacity, long maxWeight, ToLongFunction<E> weigher,
+            BiConsumer<String, E> removalListener) {
+        this(capacity, maxWeight, weigher, removalListener, () -> 0);
+    }
+
+    /**
+     * @param sharedWeight Weight held on behalf of the stored exceptions outside of their own weight,
+     *        released as they are removed.
+     */
+    public ExceptionStore(int capacity, long maxWeight, ToLongFunction<E> weigher,
+            BiConsumer<String, E> removalListener, LongSupplier sharedWeight) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("Capacity must be positive: " + capacity);
+        }
+        if (maxWeight < 1) {
+            throw new IllegalArgumentException("Max weight must be positive: " + maxWeight);
+        }
+        this.capacity = capacity;
+        this.maxWeight = maxWeight;
+        this.weigher = weigher;
+        this.removalListener = removalListener;
+        this.sharedWeight = sharedWeight;
+        this.exceptions = new ConcurrentHashMap<>(Math.min(capacity, 1024));
+    }
+
+    public int capacity() {
+        return capacity;
+    }
+
+    public long maxWeight() {
+        return maxWeight;
+    }
+
+    public int size() {
+        return exceptions.size();
+    }
+
+    /**
+     * Total weight of the stored exceptions, including inserts in progress and the shared weight.
+     */
+    public long weight() {
+        return reservedWeight.get() + sharedWeight.getAsLong();
+    }
+
+    /**
+     * Number of exceptions evicted to make room for newer ones.
+     */
+    public long evictions() {
+        return evictions.sum();
+    }
+
+    public E get(String exceptionId) {
+        return exceptions.get(exceptionId);
+    }
+
+    /**
+     * Stores an exception, replacing any exception already stored under the same id.
+     * <p>
+     * Replacing an exception with a heavier one never evicts other exceptions: when the difference does
+     * not fit, the exception already stored is kept.
+     *
+     * @return {@code false} if the exception was not stored, because it weighs more than the store's max
+     *         weight or because the exception already stored under the same id was kept.
+     */
+    public boolean put(String exceptionId, E exception) {
+        var weight = weigher.applyAsLong(exception);
+        if (weight > maxWeight) {
+            removalListener.accept(exceptionId, exception);
+            return false;
+        }
+
+        while (true) {
+            var existing = exceptions.get(exceptionId);
+            if (existing != null) {
+                var outcome = replace(exceptionId, existing, exception, weight);
+                if (outcome != REPLACE_RETRY) {
+                    return outcome == REPLACE_STORED;
+                }
+                continue;
+            }
+
+            if (insert(exceptionId, exception, weight) == null) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Stores an exception unless an exception is already stored under the same id.
+     *
+     * @return The exception stored under the id, or {@code null} if the exception weighs more than the
+     *         store's max weight and nothing is stored under the id.
+     */
+    public E putIfAbsent(String exceptionId, E exception) {
+        var existing = exceptions.get(exceptionId);
+        var weight = weigher.applyAsLong(exception);
+        if (existing == null && weight <= maxWeight) {
+            existing = insert(exceptionId, exception, weight);
+            if (existing == null) {
+                return exception;
+            }
+        }
+        removalListener.accept(exceptionId, exception);
+        return existing;
+    }
+
+    private E insert(String exceptionId, E exception, long weight) {
+        reserveSlot();
+        reserveWeight(weight);
+
+        var existing = exceptions.putIfAbsent(exceptionId, exception);
+        if (existing == null) {
+            insertionOrder.offer(exceptionId);
+        } else {
+            // Another thread inserted the same id concurrently
+            release(weight);
+        }
+        return existing;
+    }
+
+    private int replace(String exceptionId, E existing, E exception, long weight) {
+        var delta = weight - weigher.applyAsLong(existing);
+        if (delta <= 0) {
+            if (!exceptions.replace(exceptionId, existing, exception)) {
+                return REPLACE_RETRY;
+            }
+            reservedWeight.addAndGet(delta);
+            removalListener.accept(exceptionId, existing);
+            return REPLACE_STORED;
+        }
+
+        while (true) {
+            var reserved = reservedWeight.get();
+            if (reserved + delta + sharedWeight.getAsLong() > maxWeight) {
+                if (exceptions.get(exceptionId) == null) {
+                    return REPLACE_RETRY;
+                }
+                removalListener.accept(exceptionId, exception);
+                return REPLACE_KEPT_EXISTING;
+            }
+            if (reservedWeight.compareAndSet(reserved, reserved + delta)) {
+                break;
+            }
+        }
+        if (!exceptions.replace(exceptionId, existing, exception)) {
+            reservedWeight.addAndGet(-delta);
+            return REPLACE_RETRY;
+        }
+        removalListener.accept(exceptionId, existing);
+        return REPLACE_STORED;
+    }
+
+    /**
+     * Removes all stored exceptions.
+     */
+    public void clear() {
+        String exceptionId;
+        while ((exceptionId = insertionOrder.poll()) != null) {
+            remove(exceptionId);
+        }
+    }
+
+    private void reserveSlot() {
+        while (true) {
+            int reserved = reservedSlots.get();
+            if (reserved >= capacity) {
+                evictEldest();
+            } else if (reservedSlots.compareAndSet(reserved, reserved + 1)) {
+                return;
+            }
+        }
+    }
+
+    private void reserveWeight(long weight) {
+        while (true) {
+            long reserved = reservedWeight.get();
+            if (reserved + weight > maxWeight) {
+                evictEldest();
+            } else if (reserved + weight + sharedWeight.getAsLong() > maxWeight && !insertionOrder.isEmpty()) {
+                // Only evicting releases shared weight; once nothing is left to evict, the insert goes ahead
+                evictEldest();
+            } else if (reservedWeight.compareAndSet(reserved, reserved + weight)) {
+                return;
+            }
+        }
+    }
+
+    private void evictEldest() {
+        var eldestId = insertionOrder.poll();
+        if (eldestId == null) {
+            // Everything is reserved by inserts that have not yet been published
+            Thread.onSpinWait();
+            return;
+        }
+        if (remove(eldestId)) {
+            evictions.increment();
+        }
+    }
+
+    private boolean remove(String exceptionId) {
+        var removed = exceptions.remove(exceptionId);
+        if (removed == null) {
+            return false;
+        }
+        release(weigher.applyAsLong(removed));
+        removalListener.accept(exceptionId, removed);
+        return true;
+    }
+
+    private void release(long weight) {
+        reservedWeight.addAndGet(-weight);
+        reservedSlots.decrementAndGet();
+    }
+
+}
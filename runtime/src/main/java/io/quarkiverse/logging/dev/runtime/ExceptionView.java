@@ -0,0 +1,350 @@
+package io.quarkiverse.logging.dev.runtime;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.IdentityHashMap;
+
+/**
+ * Immutable analysis of an exception, its causes and its suppressed exceptions, shared by the
+ * formatter, the {@link ExceptionCollector} and the {@link ExceptionSnapshot} of the exception.
+ * <p>
+ * The exception graph is walked once and the stack trace of each exception is captured once,
+ * since {@link Throwable#getStackTrace()} copies the trace on every call. The exception id is
+ * hashed while the frames of the exception are captured.
+ * <p>
+ * Exceptions are stored as nodes indexed in arrays, with node {@code 0} being the exception
+ * itself, so that cause and suppressed cycles are kept as they are in the original graph.
+ * <p>
+ * A view can be limited to the exceptions the formatter renders: those within a depth, taking only
+ * the first suppressed exceptions of each, and the cause chain covered by the {@link ExceptionFingerprint}.
+ * Only these {@link #analyzedSize() analyzed} nodes, numbered first, have a type, message, description and
+ * stack trace. The other exceptions are only linked, so that they can be counted, without calling their
+ * {@link Throwable#getStackTrace()} or {@link Throwable#toString()}. Past the analyzed exceptions, at most
+ * {@link #COUNT_LIMIT} more are linked, so the cost of a view is bounded by the limits whatever the size of the
+ * graph; the exceptions past them are {@link #UNCOUNTED} and the view is {@link #isTruncated() truncated}.
+ */
+final class ExceptionView {
+
+    static final int NO_CAUSE = -1;
+    /**
+     * Node of an exception past the counted ones, only known to exist.
+     */
+    static final int UNCOUNTED = -2;
+    /**
+     * Number of exceptions linked, to be counted, past the analyzed ones.
+     */
+    static final int COUNT_LIMIT = 64;
+
+    private static final int[] NO_SUPPRESSED = new int[0];
+    private static final int INITIAL_CAPACITY = 16;
+
+    private final Class<?>[] types;
+    private final String[] messages;
+    private final String[] descriptions;
+    private final StackTraceElement[][] traces;
+    private final int[] causes;
+    private final int[][] suppressed;
+    private final int[] suppressedCounts;
+    private final String id;
+    private final String fingerprint;
+    private final int maxDepth;
+    private final int maxSuppressed;
+    private final boolean truncated;
+    private final boolean complete;
+
+    private ExceptionView(Class<?>[] types, String[] messages, String[] descriptions, StackTraceElement[][] traces,
+            int[] causes, int[][] suppressed, int[] suppressedCounts, int idHash, int maxDepth, int maxSuppressed,
+            boolean truncated, boolean complete) {
+        this.types = types;
+        this.messages = messages;
+        this.descriptions = descriptions;
+        this.traces = traces;
+        this.causes = causes;
+        this.suppressed = suppressed;
+        this.suppressedCounts = suppressedCounts;
+        this.maxDepth = maxDepth;
+        this.maxSuppressed = maxSuppressed;
+        this.truncated = truncated;
+        this.complete = complete;
+        this.id = Integer.toUnsignedString(idHash);
+        this.fingerprint = ExceptionFingerprint.of(this);
+    }
+
+    /**
+     * Analyzes the whole exception graph.
+     */
+    static ExceptionView of(Throwable exception) {
+        return of(exception, Integer.MAX_VALUE, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Analyzes the exceptions within the limits of the formatter, see {@link DevFormatter#setExceptionTreeLimits}.
+     *
+     * @param maxDepth Depth of the analyzed exceptions, the exception itself being at depth {@code 1}.
+     * @param maxSuppressed Number of suppressed exceptions analyzed per exception.
+     */
+    static ExceptionView of(Throwable exception, int maxDepth, int maxSuppressed) {
+        // No more than the formatter renders, whatever the shape of the graph within the limits
+        var maxAnalyzed = (int) Math.min(maxDepth * (maxSuppressed + 1L) + 1, Integer.MAX_VALUE);
+        var nodes = new IdentityHashMap<Throwable, Integer>();
+        var pending = new ArrayList<Throwable>();
+        var levels = new int[INITIAL_CAPACITY];
+        var exceptionCauses = new ArrayList<Throwable>();
+        var exceptionSuppressed = new ArrayList<Throwable[]>();
+        nodes.put(exception, 0);
+        pending.add(exception);
+        levels[0] = 1;
+
+        // Breadth first, so each exception is reached at its lowest depth
+        for (int node = 0; node < pending.size(); ++node) {
+            var current = pending.get(node);
+            var cause = current.getCause();
+            var currentSuppressed = current.getSuppressed();
+            exceptionCauses.add(cause);
+            exceptionSuppressed.add(currentSuppressed);
+
+            int level = levels[node];
+            if (level < maxDepth && pending.size() < maxAnalyzed) {
+                if (cause != null && nodes.get(cause) == null) {
+                    levels = set(levels, nodeOf(cause, nodes, pending), level + 1);
+                }
+                var analyzed = Math.min(currentSuppressed.length, maxSuppressed);
+                for (int idx = 0; idx < analyzed && pending.size() < maxAnalyzed; ++idx) {
+                    if (nodes.get(currentSuppressed[idx]) == null) {
+                        levels = set(levels, nodeOf(currentSuppressed[idx], nodes, pending), level + 1);
+                    }
+                }
+            }
+        }
+
+        // The rest of the cause chain of the fingerprint
+        var chained = exception;
+        for (int depth = 1; depth < ExceptionFingerprint.MAX_CAUSES; ++depth) {
+            chained = exceptionCauses.get(nodes.get(chained));
+            if (chained == null) {
+                break;
+            }
+            if (nodes.get(chained) == null) {
+                nodeOf(chained, nodes, pending);
+                exceptionCauses.add(chained.getCause());
+                exceptionSuppressed.add(chained.getSuppressed());
+            }
+        }
+
+        var analyzedSize = pending.size();
+        var types = new Class<?>[analyzedSize];
+        var messages = new String[analyzedSize];
+        var descriptions = new String[analyzedSize];
+        var traces = new StackTraceElement[analyzedSize][];
+        int idHash = 1;
+        for (int node = 0; node < analyzedSize; ++node) {
+            var current = pending.get(node);
+
+            types[node] = current.getClass();
+            messages[node] = current.getMessage();
+            descriptions[node] = describe(current);
+
+            var trace = current.getStackTrace();
+            if (node == 0) {
+                // Same as Arrays.hashCode(trace), without walking the frames again
+                for (var frame : trace) {
+                    idHash = 31 * idHash + frame.hashCode();
+                }
+            }
+            traces[node] = trace;
+        }
+
+        // Links the exceptions, numbering those not analyzed after the analyzed ones. Past the analyzed
+        // exceptions, at most COUNT_LIMIT more are linked, only to be counted
+        var maxSize = analyzedSize + COUNT_LIMIT;
+        var causes = new int[Math.max(pending.size(), INITIAL_CAPACITY)];
+        var suppressed = new ArrayList<int[]>();
+        var suppressedCounts = new int[causes.length];
+        var truncated = false;
+        var cut = false;
+        for (int node = 0; node < pending.size(); ++node) {
+            var current = pending.get(node);
+            var cause = node < analyzedSize ? exceptionCauses.get(node) : current.getCause();
+            var causeNode = cause != null ? linkedNodeOf(cause, nodes, pending, maxSize) : NO_CAUSE;
+            causes = set(causes, node, causeNode);
+            truncated |= causeNode == UNCOUNTED;
+
+            var currentSuppressed = node < analyzedSize ? exceptionSuppressed.get(node) : current.getSuppressed();
+            suppressedCounts = set(suppressedCounts, node, currentSuppressed.length);
+            if (currentSuppressed.length == 0) {
+                suppressed.add(NO_SUPPRESSED);
+                continue;
+            }
+            // Only the first suppressed exceptions are kept, the others are only counted
+            var suppressedNodes = new int[Math.min(currentSuppressed.length, maxSuppressed)];
+            cut |= suppressedNodes.length < currentSuppressed.length;
+            for (int idx = 0; idx < currentSuppressed.length; ++idx) {
+                var suppressedNode = linkedNodeOf(currentSuppressed[idx], nodes, pending, maxSize);
+                if (idx < suppressedNodes.length) {
+                    suppressedNodes[idx] = suppressedNode;
+                }
+                if (suppressedNode == UNCOUNTED) {
+                    truncated = true;
+                    if (idx >= suppressedNodes.length) {
+                        break;
+                    }
+                }
+            }
+            suppressed.add(suppressedNodes);
+        }
+
+        return new ExceptionView(
+                types,
+                messages,
+                descriptions,
+                traces,
+                Arrays.copyOf(causes, pending.size()),
+                suppressed.toArray(int[][]::new),
+                Arrays.copyOf(suppressedCounts, pending.size()),
+                idHash,
+                maxDepth,
+                maxSuppressed,
+                truncated,
+                !truncated && !cut && analyzedSize == pending.size());
+    }
+
+    /**
+     * Id of the exception, the hash of its stack trace.
+     */
+    String id() {
+        return id;
+    }
+
+    /**
+     * Fingerprint of the exception, see {@link ExceptionFingerprint}.
+     */
+    String fingerprint() {
+        return fingerprint;
+    }
+
+    /**
+     * Number of exceptions linked, all the exceptions of the graph unless the view is {@link #isTruncated()
+     * truncated}.
+     */
+    int size() {
+        return causes.length;
+    }
+
+    /**
+     * Number of analyzed exceptions, nodes {@code 0} to {@code analyzedSize() - 1}. Only these have a type,
+     * message, description and stack trace.
+     */
+    int analyzedSize() {
+        return types.length;
+    }
+
+    /**
+     * Whether every exception of the graph is analyzed.
+     */
+    boolean isComplete() {
+        return complete;
+    }
+
+    /**
+     * Whether exceptions past the {@link #COUNT_LIMIT} are left {@link #UNCOUNTED}, {@link #size()} being then a
+     * lower bound.
+     */
+    boolean isTruncated() {
+        return truncated;
+    }
+
+    /**
+     * Whether the view has all the exceptions within the given limits analyzed.
+     */
+    boolean covers(int maxDepth, int maxSuppressed) {
+        return complete || (this.maxDepth >= maxDepth && this.maxSuppressed >= maxSuppressed);
+    }
+
+    Class<?> type(int node) {
+        return types[node];
+    }
+
+    String message(int node) {
+        return messages[node];
+    }
+
+    /**
+     * Description of an exception, as returned by {@link Throwable#toString()}.
+     */
+    String description(int node) {
+        return descriptions[node];
+    }
+
+    /**
+     * Stack trace of an exception. The array is shared and must not be modified.
+     */
+    StackTraceElement[] trace(int node) {
+        return traces[node];
+    }
+
+    /**
+     * Node of the cause of an exception, {@link #NO_CAUSE} or {@link #UNCOUNTED}.
+     */
+    int cause(int node) {
+        return causes[node];
+    }
+
+    /**
+     * Nodes of the first suppressed exceptions of an exception, some possibly {@link #UNCOUNTED}, as many as
+     * analyzed per exception. The array is shared and must not be modified.
+     */
+    int[] suppressed(int node) {
+        return suppressed[node];
+    }
+
+    /**
+     * Number of suppressed exceptions of an exception, including those not in {@link #suppressed(int)}.
+     */
+    int suppressedCount(int node) {
+        return suppressedCounts[node];
+    }
+
+    private static int nodeOf(Throwable exception, IdentityHashMap<Throwable, Integer> nodes,
+            ArrayList<Throwable> pending) {
+        var node = nodes.get(exception);
+        if (node == null) {
+            node = pending.size();
+            nodes.put(exception, node);
+            pending.add(exception);
+        }
+        return node;
+    }
+
+    /**
+     * Node of an exception, numbered if new and the graph has less than {@code maxSize} exceptions, otherwise
+     * {@link #UNCOUNTED}.
+     */
+    private static int linkedNodeOf(Throwable exception, IdentityHashMap<Throwable, Integer> nodes,
+            ArrayList<Throwable> pending, int maxSize) {
+        var node = nodes.get(exception);
+        if (node != null) {
+            return node;
+        }
+        return pending.size() < maxSize ? nodeOf(exception, nodes, pending) : UNCOUNTED;
+    }
+
+    /**
+     * Sets an element of a growable array, returning the array, grown if needed.
+     */
+    private static int[] set(int[] array, int idx, int value) {
+        if (idx >= array.length) {
+            array = Arrays.copyOf(array, Math.max(array.length * 2, idx + 1));
+        }
+        array[idx] = value;
+        return array;
+    }
+
+    private static String describe(Throwable exception) {
+        try {
+            return exception.toString();
+        } catch (Throwable ignored) {
+            return exception.getClass().getName();
+        }
+    }
+
+}
@@ -0,0 +1,69 @@
+package io.quarkiverse.logging.dev.runtime;
+
+import io.quarkus.runtime.annotations.ConfigGroup;
+import io.quarkus.runtime.annotations.ConfigItem;
+import io.quarkus.runtime.configuration.MemorySize;
+
+@ConfigGroup
+public class ExceptionsConfig {
+
+    /**
+     * Maximum number of logged exceptions kept available for the exception detail links.
+     * When the limit is reached, the oldest exception is evicted.
+     */
+    @ConfigItem(defaultValue = "1000")
+    public int maxCount;
+
+    /**
+     * How logged exceptions are kept.
+     * <p>
+     * `snapshot` keeps a compact copy of each exception's stack trace, releasing the exception itself
+     * and everything it references. `live` keeps the logged exceptions themselves.
+     */
+    @ConfigItem(defaultValue = "snapshot")
+    public Storage storage;
+
+    /**
+     * Maximum memory used by exception snapshots, including the stack frames they share. When exceeded,
+     * the oldest exceptions are evicted. Only applies to `snapshot` storage.
+     */
+    @ConfigItem(defaultValue = "32M")
+    public MemorySize maxMemory;
+
+    /**
+     * Number of times the same failure is logged with its full cause tree. Later occurrences are logged
+     * as a single line with the occurrence count and the exception detail link. `0` always logs the full
+     * cause tree.
+     * <p>
+     * Occurrences are the same failure when the exception and its causes have the same classes and the
+     * same top stack frames.
+     */
+    @ConfigItem(defaultValue = "10")
+    public int repeatThreshold;
+
+    /**
+     * Maximum number of nested causes and suppressed exceptions logged in the cause tree of an exception.
+     * Deeper causes are logged as a count.
+     */
+    @ConfigItem(defaultValue = "16")
+    public int maxDepth;
+
+    /**
+     * Maximum number of suppressed exceptions logged for each exception of a cause tree. Further suppressed
+     * exceptions are logged as a count.
+     */
+    @ConfigItem(defaultValue = "8")
+    public int maxSuppressed;
+
+    /**
+     * Persistent storage of collected exceptions
+     */
+    @ConfigItem
+    public PersistenceConfig persistence;
+
+    public enum Storage {
+        SNAPSHOT,
+        LIVE
+    }
+
+}
@@ -0,0 +1,243 @@
+package io.quarkiverse.logging.dev.runtime;
+
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.format.DateTimeParseException;
+
+import io.quarkiverse.logging.dev.runtime.HtmlResponseWriter.Markup;
+import io.vertx.core.Handler;
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
+import io.vertx.ext.web.RoutingContext;
+
+/**
+ * Lists the collected exceptions, newest first, a page at a time.
+ * <p>
+ * Exceptions can be filtered by {@code class}, {@code logger} and {@code since}. Each page links to the
+ * next one through an opaque {@code cursor}. The list is rendered as JSON when requested with
+ * {@code format=json} or an {@code Accept: application/json} header, as HTML otherwise.
+ */
+public class ExceptionsIndexRouteHandler implements Handler<RoutingContext> {
+
+    public static final String CLASS_PARAM = "class";
+    public static final String LOGGER_PARAM = "logger";
+    public static final String SINCE_PARAM = "since";
+    public static final String CURSOR_PARAM = "cursor";
+    public static final String LIMIT_PARAM = "limit";
+    public static final String FORMAT_PARAM = "format";
+
+    static final int DEFAULT_LIMIT = 50;
+    static final int MAX_LIMIT = 500;
+
+    private static final String JSON = "json";
+    private static final String JSON_CONTENT_TYPE = "application/json";
+    private static final String GZIP = "gzip";
+
+    @Override
+    public void handle(RoutingContext event) {
+        var start = DevLoggingMetrics.start();
+        try {
+            respond(event);
+        } finally {
+            DevLoggingMetrics.handled(DevLoggingMetrics.Route.EXCEPTIONS, start);
+        }
+    }
+
+    private void respond(RoutingContext event) {
+
+        var className = param(event, CLASS_PARAM);
+        var loggerName = param(event, LOGGER_PARAM);
+        var cursor = param(event, CURSOR_PARAM);
+        Instant since;
+        int limit;
+        ExceptionIndex.Page page;
+        try {
+            var sinceParam = param(event, SINCE_PARAM);
+            since = sinceParam != null ? Instant.parse(sinceParam) : null;
+            var limitParam = param(event, LIMIT_PARAM);
+            limit = limitParam != null ? Math.min(Integer.parseInt(limitParam), MAX_LIMIT) : DEFAULT_LIMIT;
+            if (limit < 1) {
+                throw new IllegalArgumentException("Limit must be positive: " + limit);
+            }
+            page = ExceptionCollector.list(className, loggerName, since, cursor, limit);
+        } catch (DateTimeParseException | IllegalArgumentException e) {
+            event.response()
+                    .setStatusCode(400)
+                    .setStatusMessage("BAD REQUEST")
+                    .send(e.getMessage());
+            return;
+        }
+
+        var response = event.response()
+                .setStatusCode(200)
+                .setStatusMessage("OK")
+                .putHeader("Cache-Control", "no-store");
+
+        if (isJson(event)) {
+            var entries = new JsonArray();
+            for (var entry : page.entries) {
+                entries.add(new JsonObject()
+                        .put("id", entry.exceptionId)
+                        .put("class", entry.className)
+                        .put("logger", entry.loggerName)
+                        .put("time", entry.key.instant.toString()));
+            }
+            response.putHeader("Content-Type", JSON_CONTENT_TYPE + "; charset=utf-8")
+                    .end(new JsonObject()
+                            .put("exceptions", entries)
+                            .put("nextCursor", page.nextCursor)
+                            .encode());
+            return;
+        }
+
+        var acceptEncoding = event.request().getHeader("Accept-Encoding");
+        var compress = acceptEncoding != null && acceptEncoding.contains(GZIP);
+        response.putHeader("Content-Type", "text/html; charset=utf-8")
+                .putHeader("Vary", "Accept, Accept-Encoding")
+                .setChunked(true);
+        if (compress) {
+            response.putHeader("Content-Encoding", GZIP);
+        }
+
+        try (var output = new HtmlResponseWriter(response, compress)) {
+            output.writeHtml(HTML_PRE);
+            if (page.entries.isEmpty()) {
+                output.writeHtml("<p class=\"intro\">No exceptions found</p>\n");
+            } else {
+                output.writeHtml(HTML_TABLE_PRE);
+                for (var entry : page.entries) {
+                    output.writeHtml("    <tr><td>");
+                    output.write(entry.key.instant.toString());
+                    output.writeHtml("</td><td><a href=\"" + ExceptionsRouteHandler.ROUTE_PATH + "/");
+                    output.write(entry.exceptionId);
+                    output.writeHtml("\">");
+                    output.write(entry.className);
+                    output.writeHtml("</a></td><td>");
+                    output.write(entry.loggerName);
+                    output.writeHtml("</td></tr>\n");
+                }
+                output.writeHtml(HTML_TABLE_POST);
+            }
+            if (page.nextCursor != null) {
+                output.writeHtml("<p><a href=\"");
+                output.write(nextPageQuery(className, loggerName, since, limit, page.nextCursor));
+                output.writeHtml("\">Older exceptions</a></p>\n");
+            }
+            output.writeHtml(HTML_POST);
+        }
+        response.end();
+    }
+
+    private static boolean isJson(RoutingContext event) {
+        if (JSON.equals(param(event, FORMAT_PARAM))) {
+            return true;
+        }
+        var accept = event.request().getHeader("Accept");
+        return accept != null && accept.contains(JSON_CONTENT_TYPE);
+    }
+
+    private static String param(RoutingContext event, String name) {
+        var values = event.queryParam(name);
+        if (values == null || values.isEmpty() || values.get(0).isEmpty()) {
+            return null;
+        }
+        return values.get(0);
+    }
+
+    private static String nextPageQuery(String className, String loggerName, Instant since, int limit, String cursor) {
+        var query = new StringBuilder("?");
+        appendParam(query, CLASS_PARAM, className);
+        appendParam(query, LOGGER_PARAM, loggerName);
+        appendParam(query, SINCE_PARAM, since != null ? since.toString() : null);
+        appendParam(query, LIMIT_PARAM, limit != DEFAULT_LIMIT ? Integer.toString(limit) : null);
+        appendParam(query, CURSOR_PARAM, cursor);
+        return query.toString();
+    }
+
+    private static void appendParam(StringBuilder query, String name, String value) {
+        if (value != null) {
+            if (query.length() > 1) {
+                query.append('&');
+            }
+            query.append(name).append('=').append(URLEncoder.encode(value, StandardCharsets.UTF_8));
+        }
+    }
+
+    private static final Markup HTML_PRE = new Markup("<!doctype html>\n" +
+            "<html lang=\"en\">\n" +
+            "<head>\n" +
+            "    <title>Exceptions</title>\n" +
+            "    <meta charset=\"utf-8\">\n" +
+            "    <style>\n" +
+            "html, body {\n" +
+            "    margin: 0;\n" +
+            "    padding: 0;\n" +
+            "    font-family: 'Open Sans', Helvetica, Arial, sans-serif;\n" +
+            "    font-size: 100%;\n" +
+            "    font-weight: 100;\n" +
+            "    line-height: 1.4;\n" +
+            "}\n" +
+            "\n" +
+            "body {\n" +
+            "    background: #f9f9f9;\n" +
+            "}\n" +
+            ".container {\n" +
+            "    width: 80%;\n" +
+            "    margin: 0 auto;\n" +
+            "}\n" +
+            ".content {\n" +
+            "    padding: 1em 0 1em 0;\n" +
+            "}\n" +
+            "\n" +
+            "header {\n" +
+            "    background-color: #ad1c1c;\n" +
+            "}\n" +
+            "\n" +
+            "h1 {\n" +
+            "    margin: 0;\n" +
+            "    font-size: 2rem;\n" +
+            "    color: #fff;\n" +
+            "    line-height: 3.75rem;\n" +
+            "    font-weight: 700;\n" +
+            "    padding: 0.4rem 0rem 0.4rem 0rem;\n" +
+            "}\n" +
+            "\n" +
+            ".intro {\n" +
+            "    font-size: 1.2rem;\n" +
+            "    font-weight: 400;\n" +
+            "    margin: 0.25em 0 1em 0;\n" +
+            "}\n" +
+            "\n" +
+            "table {\n" +
+            "    width: 100%;\n" +
+            "    background: #fff;\n" +
+            "    border: 1px solid #ececec;\n" +
+            "    border-collapse: collapse;\n" +
+            "}\n" +
+            "\n" +
+            "th, td {\n" +
+            "    text-align: left;\n" +
+            "    padding: 6px 15px;\n" +
+            "    border-bottom: 1px solid #ececec;\n" +
+            "    font-family: Consolas, Monaco, Menlo, \"Ubuntu Mono\", \"Liberation Mono\", monospace;\n" +
+            "    font-size: 12px;\n" +
+            "}\n" +
+            "</style>\n" +
+            "</head>\n" +
+            "<body>\n" +
+            "<header>\n" +
+            "    <h1 class=\"container\">Exceptions</h1>\n" +
+            "</header>\n" +
+            "<div class=\"container content\">\n");
+
+    private static final Markup HTML_TABLE_PRE = new Markup("<table>\n" +
+            "    <tr><th>Time</th><th>Exception</th><th>Logger</th></tr>\n");
+
+    private static final Markup HTML_TABLE_POST = new Markup("</table>\n");
+
+    private static final Markup HTML_POST = new Markup("</div>\n" +
+            "</body>\n" +
+            "</html>\n" +
+            "\n");
+}
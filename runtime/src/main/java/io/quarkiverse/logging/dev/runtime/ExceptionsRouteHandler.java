@@ -1,8 +1,9 @@
 package io.quarkiverse.logging.dev.runtime;
 
 import java.io.PrintWriter;
-import java.io.StringWriter;
 
+import io.quarkiverse.logging.dev.runtime.HtmlResponseWriter.Markup;
+import io.quarkiverse.logging.dev.runtime.PersistentExceptionStore.PersistedException;
 import io.vertx.core.Handler;
 import io.vertx.ext.web.RoutingContext;
 
@@ -11,8 +12,21 @@ public class ExceptionsRouteHandler implements Handler<RoutingContext> {
     public static final String ROUTE_PATH = "exceptions";
     public static final String ID_PARAM = "id";
 
+    private static final String NAME_PLACEHOLDER = "{{NAME}}";
+    private static final String GZIP = "gzip";
+    private static final String CACHE_CONTROL = "no-cache";
+
     @Override
     public void handle(RoutingContext event) {
+        var start = DevLoggingMetrics.start();
+        try {
+            respond(event);
+        } finally {
+            DevLoggingMetrics.handled(DevLoggingMetrics.Route.EXCEPTION, start);
+        }
+    }
+
+    private void respond(RoutingContext event) {
 
         var exceptionId = event.pathParam(ID_PARAM);
         var exception = ExceptionCollector.find(exceptionId);
@@ -24,19 +38,83 @@ public class ExceptionsRouteHandler implements Handler<RoutingContext> {
             return;
         }
 
-        var output = new StringWriter();
+        try {
+            var occurrences = ExceptionCollector.findOccurrences(exceptionId);
+            var etag = etag(exceptionId, occurrences);
+            var response = event.response()
+                    .putHeader("ETag", etag)
+                    .putHeader("Cache-Control", CACHE_CONTROL)
+                    .putHeader("Vary", "Accept-Encoding");
+
+            var ifNoneMatch = event.request().getHeader("If-None-Match");
+            if (ifNoneMatch != null && ifNoneMatch.contains(etag)) {
+                response.setStatusCode(304)
+                        .setStatusMessage("NOT MODIFIED")
+                        .end();
+                return;
+            }
 
-        output.append(HTML_PRE.replace("{{NAME}}", exception.getClass().getName()));
+            var acceptEncoding = event.request().getHeader("Accept-Encoding");
+            var compress = acceptEncoding != null && acceptEncoding.contains(GZIP);
+            response.setStatusCode(200)
+                    .setStatusMessage("OK")
+                    .putHeader("Content-Type", "text/html; charset=utf-8")
+                    .setChunked(true);
+            if (compress) {
+                response.putHeader("Content-Encoding", GZIP);
+            }
 
-        exception.printStackTrace(new PrintWriter(output));
+            try (var output = new HtmlResponseWriter(response, compress)) {
+                output.writeHtml(HTML_PRE_NAME);
+                output.write(exception.getClassName());
+                output.writeHtml(HTML_POST_NAME);
 
-        output.append(HTML_POST);
+                if (occurrences != null) {
+                    writeOccurrences(occurrences, output);
+                }
 
-        event.response()
-                .setStatusCode(200)
-                .setStatusMessage("OK")
-                .putHeader("Content-Type", "text/html")
-                .send(output.toString());
+                output.writeHtml(HTML_TRACE_PRE);
+                if (exception instanceof PersistedException) {
+                    output.writeHtml(((PersistedException) exception).stackTraceHtml());
+                } else {
+                    var trace = new PrintWriter(output);
+                    exception.printStackTrace(trace);
+                    trace.flush();
+                }
+                output.writeHtml(HTML_POST);
+            }
+            response.end();
+        } finally {
+            exception.release();
+        }
+    }
+
+    /**
+     * The page of an exception id only changes when another occurrence is collected.
+     */
+    private static String etag(String exceptionId, ExceptionOccurrences occurrences) {
+        return "\"" + exceptionId + '-' + (occurrences != null ? occurrences.getCount() : 0) + '"';
+    }
+
+    private static void writeOccurrences(ExceptionOccurrences occurrences, HtmlResponseWriter output) {
+        output.writeHtml("<p class=\"intro\">Seen ");
+        output.write(Long.toString(occurrences.getCount()));
+        output.writeHtml(" times, first at ");
+        output.write(occurrences.getFirstSeen().toString());
+        output.writeHtml(", last at ");
+        output.write(occurrences.getLastSeen().toString());
+        output.writeHtml("</p>\n");
+
+        var sampleMessages = occurrences.getSampleMessages();
+        if (!sampleMessages.isEmpty()) {
+            output.writeHtml(HTML_SAMPLES_PRE);
+            for (var message : sampleMessages) {
+                output.writeHtml("    <li>");
+                output.write(message);
+                output.writeHtml("</li>\n");
+            }
+            output.writeHtml(HTML_SAMPLES_POST);
+        }
     }
 
     private static final String HTML_PRE = "<!doctype html>\n" +
@@ -149,12 +227,23 @@ public class ExceptionsRouteHandler implements Handler<RoutingContext> {
             "        <h2 class=\"container\">{{NAME}}</h2>\n" +
             "    </div>\n" +
             "</header>\n" +
-            "<div class=\"container content\">\n" +
-            "<pre>\n";
+            "<div class=\"container content\">\n";
+
+    private static final Markup HTML_PRE_NAME = new Markup(HTML_PRE.substring(0, HTML_PRE.indexOf(NAME_PLACEHOLDER)));
+
+    private static final Markup HTML_POST_NAME = new Markup(
+            HTML_PRE.substring(HTML_PRE.indexOf(NAME_PLACEHOLDER) + NAME_PLACEHOLDER.length()));
+
+    private static final String HTML_SAMPLES_PRE = "<h3>Recent messages</h3>\n" +
+            "<ul>\n";
+
+    private static final String HTML_SAMPLES_POST = "</ul>\n";
+
+    private static final Markup HTML_TRACE_PRE = new Markup("<pre>\n");
 
-    private static final String HTML_POST = "</pre>\n" +
+    private static final Markup HTML_POST = new Markup("</pre>\n" +
             "</div>\n" +
             "</body>\n" +
             "</html>\n" +
-            "\n";
+            "\n");
 }
@@ -0,0 +1,145 @@
+package io.quarkiverse.logging.dev.runtime;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Global pool of interned stack frames shared by all collected exceptions.
+ * <p>
+ * Each distinct frame (class, method, file, line and module) is stored once and identified by an
+ * {@code int} id, so stored stack traces are plain {@code int[]} arrays. Frames are reference
+ * counted; a frame is removed, and its id reused, once no stored trace references it.
+ * <p>
+ * The pool keeps an estimate of the memory of its frames, charged when a frame is first interned
+ * and credited when it is removed, which counts toward the memory budget of the exception store.
+ */
+final class FramePool {
+
+    private static final int CHUNK_SHIFT = 12;
+    private static final int CHUNK_SIZE = 1 << CHUNK_SHIFT;
+    private static final int CHUNK_MASK = CHUNK_SIZE - 1;
+
+    // StackTraceElement, pool entry, map node and frame slot
+    private static final int FRAME_OVERHEAD = 56 + 16 + 32 + 4;
+    private static final int STRING_SIZE = 40;
+
+    private static final ConcurrentHashMap<StackTraceElement, Entry> entries = new ConcurrentHashMap<>();
+
+    private static volatile StackTraceElement[][] frames = new StackTraceElement[1][CHUNK_SIZE];
+    private static int[] freeIds = new int[64];
+    private static int freeIdCount;
+    private static int nextId;
+    private static final AtomicLong weight = new AtomicLong();
+
+    private FramePool() {
+    }
+
+    /**
+     * Interns the frames of a stack trace, adding a reference to each of them.
+     *
+     * @return Ids of the frames, in stack trace order.
+     */
+    static int[] acquire(StackTraceElement[] trace) {
+        var ids = new int[trace.length];
+        for (int idx = 0; idx < trace.length; ++idx) {
+            ids[idx] = entries.compute(trace[idx], FramePool::retain).id;
+        }
+        return ids;
+    }
+
+    /**
+     * Removes a reference from each frame of an interned stack trace.
+     */
+    static void release(int[] ids) {
+        for (var id : ids) {
+            entries.computeIfPresent(frame(id), FramePool::release);
+        }
+    }
+
+    static StackTraceElement frame(int id) {
+        return frames[id >>> CHUNK_SHIFT][id & CHUNK_MASK];
+    }
+
+    static int size() {
+        return entries.size();
+    }
+
+    /**
+     * Estimated memory of the pooled frames, in bytes.
+     */
+    static long weight() {
+        return weight.get();
+    }
+
+    private static Entry retain(StackTraceElement frame, Entry entry) {
+        if (entry == null) {
+            entry = new Entry(allocateId(frame));
+            weight.addAndGet(estimateSize(frame));
+        }
+        entry.references++;
+        return entry;
+    }
+
+    private static Entry release(StackTraceElement frame, Entry entry) {
+        if (--entry.references > 0) {
+            return entry;
+        }
+        freeId(entry.id);
+        weight.addAndGet(-estimateSize(frame));
+        return null;
+    }
+
+    /**
+     * Estimated size of a frame. Its strings are usually shared with the JVM's own, but are counted in
+     * full, as nothing guarantees they are.
+     */
+    static long estimateSize(StackTraceElement frame) {
+        return FRAME_OVERHEAD + stringSize(frame.getClassName()) + stringSize(frame.getMethodName())
+                + stringSize(frame.getFileName()) + stringSize(frame.getModuleName())
+                + stringSize(frame.getModuleVersion()) + stringSize(frame.getClassLoaderName());
+    }
+
+    private static long stringSize(String value) {
+        return value != null ? STRING_SIZE + 2L * value.length() : 0;
+    }
+
+    private static synchronized int allocateId(StackTraceElement frame) {
+        int id;
+        if (freeIdCount > 0) {
+            id = freeIds[--freeIdCount];
+        } else {
+            id = nextId++;
+            var chunk = id >>> CHUNK_SHIFT;
+            if (chunk == frames.length) {
+                var grown = new StackTraceElement[chunk + 1][];
+                System.arraycopy(frames, 0, grown, 0, chunk);
+                grown[chunk] = new StackTraceElement[CHUNK_SIZE];
+                frames = grown;
+            }
+        }
+        frames[id >>> CHUNK_SHIFT][id & CHUNK_MASK] = frame;
+        return id;
+    }
+
+    private static synchronized void freeId(int id) {
+        frames[id >>> CHUNK_SHIFT][id & CHUNK_MASK] = null;
+        if (freeIdCount == freeIds.length) {
+            var grown = new int[freeIds.length * 2];
+            System.arraycopy(freeIds, 0, grown, 0, freeIdCount);
+            freeIds = grown;
+        }
+        freeIds[freeIdCount++] = id;
+    }
+
+    private static final class Entry {
+
+        final int id;
+        // Guarded by the map's per-key compute lock
+        int references;
+
+        Entry(int id) {
+            this.id = id;
+        }
+    }
+
+}
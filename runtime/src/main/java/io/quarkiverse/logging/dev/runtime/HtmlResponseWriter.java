@@ -0,0 +1,206 @@
+package io.quarkiverse.logging.dev.runtime;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.ByteBuffer;
+import java.util.zip.GZIPOutputStream;
+
+import io.netty.buffer.Unpooled;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.http.HttpServerResponse;
+
+/**
+ * Streams an HTML response body in chunks, optionally gzip compressed.
+ * <p>
+ * Text written through the {@link Writer} methods is HTML escaped; markup written through
+ * {@link #writeHtml} is written as is. The response must be chunked; closing the writer writes
+ * the remaining output but does not end the response.
+ * <p>
+ * Streaming here only means chunked encoding: the page is written in one go on the event loop, and chunks are
+ * queued without waiting for {@link HttpServerResponse#writeQueueFull()} to clear, so a slow client has the whole
+ * page queued, as much as building the page in memory would; chunks only spare the copy into a single buffer.
+ * Lists are bounded by their page size and exception traces by the limits of {@link ExceptionSnapshot}, except
+ * for live exceptions, which are printed whole.
+ */
+final class HtmlResponseWriter extends Writer {
+
+    static final int CHUNK_SIZE = 8 * 1024;
+
+    /**
+     * Static markup, encoded once and shared by all responses.
+     */
+    static final class Markup {
+
+        final byte[] bytes;
+        final Buffer buffer;
+
+        Markup(String html) {
+            this.bytes = html.getBytes(UTF_8);
+            this.buffer = Buffer.buffer(Unpooled.unreleasableBuffer(Unpooled.wrappedBuffer(bytes).asReadOnly()));
+        }
+    }
+
+    private final HttpServerResponse response;
+    private final StringBuilder pending = new StringBuilder(CHUNK_SIZE);
+    private final ByteArrayOutputStream compressed;
+    private final GZIPOutputStream gzip;
+
+    HtmlResponseWriter(HttpServerResponse response, boolean compress) {
+        this.response = response;
+        if (compress) {
+            this.compressed = new ByteArrayOutputStream(CHUNK_SIZE);
+            try {
+                this.gzip = new GZIPOutputStream(compressed, CHUNK_SIZE);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        } else {
+            this.compressed = null;
+            this.gzip = null;
+        }
+    }
+
+    void writeHtml(Markup markup) {
+        writePending();
+        if (gzip != null) {
+            compress(markup.bytes);
+        } else {
+            response.write(markup.buffer);
+        }
+    }
+
+    /**
+     * Writes encoded markup; without compression, the buffer is written as is, without copying.
+     */
+    void writeHtml(ByteBuffer html) {
+        writePending();
+        if (gzip != null) {
+            var chunk = new byte[Math.min(CHUNK_SIZE, html.remaining())];
+            while (html.hasRemaining()) {
+                var length = Math.min(chunk.length, html.remaining());
+                html.get(chunk, 0, length);
+                try {
+                    gzip.write(chunk, 0, length);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+                writeCompressed();
+            }
+        } else {
+            response.write(Buffer.buffer(Unpooled.wrappedBuffer(html)));
+        }
+    }
+
+    void writeHtml(String html) {
+        pending.append(html);
+        writePendingIfFull();
+    }
+
+    @Override
+    public void write(int c) {
+        escape(c);
+        writePendingIfFull();
+    }
+
+    @Override
+    public void write(char[] cbuf, int off, int len) {
+        for (int idx = off; idx < off + len; ++idx) {
+            escape(cbuf[idx]);
+        }
+        writePendingIfFull();
+    }
+
+    @Override
+    public void write(String str) {
+        write(str, 0, str.length());
+    }
+
+    @Override
+    public void write(String str, int off, int len) {
+        for (int idx = off; idx < off + len; ++idx) {
+            escape(str.charAt(idx));
+        }
+        writePendingIfFull();
+    }
+
+    @Override
+    public void flush() {
+        writePending();
+    }
+
+    @Override
+    public void close() {
+        writePending();
+        if (gzip != null) {
+            try {
+                gzip.finish();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            writeCompressed();
+        }
+    }
+
+    private void escape(int c) {
+        switch (c) {
+            case '<':
+                pending.append("&lt;");
+                break;
+            case '>':
+                pending.append("&gt;");
+                break;
+            case '&':
+                pending.append("&amp;");
+                break;
+            case '"':
+                pending.append("&quot;");
+                break;
+            case '\'':
+                pending.append("&#39;");
+                break;
+            default:
+                pending.append((char) c);
+                break;
+        }
+    }
+
+    private void writePendingIfFull() {
+        if (pending.length() >= CHUNK_SIZE) {
+            writePending();
+        }
+    }
+
+    private void writePending() {
+        if (pending.length() == 0) {
+            return;
+        }
+        var bytes = pending.toString().getBytes(UTF_8);
+        pending.setLength(0);
+        if (gzip != null) {
+            compress(bytes);
+        } else {
+            response.write(Buffer.buffer(bytes));
+        }
+    }
+
+    private void compress(byte[] bytes) {
+        try {
+            gzip.write(bytes);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        writeCompressed();
+    }
+
+    private void writeCompressed() {
+        if (compressed.size() > 0) {
+            response.write(Buffer.buffer(compressed.toByteArray()));
+            compressed.reset();
+        }
+    }
+
+}
@@ -0,0 +1,234 @@
+package io.quarkiverse.logging.dev.runtime;
+
+/**
+ * Single pass parser for access log lines in the default Quarkus access log format
+ * (<code>%h %l %u %t "%r" %s %b</code>), e.g.
+ *
+ * <pre>
+ * 127.0.0.1 - user 08/Sep/2022:21:25:23 -0700 "GET /path HTTP/1.1" 200 1817
+ * </pre>
+ *
+ * Fields are reported as offsets into the parsed line so nothing is copied. A parser instance
+ * is reusable but not thread-safe.
+ */
+final class HttpAccessLogParser {
+
+    static final int INVALID_STATUS = -1;
+
+    private static final String PROTOCOL_PREFIX = "HTTP/";
+
+    int userStart;
+    int userEnd;
+    int methodStart;
+    int methodEnd;
+    int pathStart;
+    int pathEnd;
+    int protocolStart;
+    int protocolEnd;
+    int sizeStart;
+    int sizeEnd;
+    /**
+     * Parsed status code, or {@link #INVALID_STATUS} if the status field does not fit in an {@code int}.
+     */
+    int status;
+
+    /**
+     * Parses an access log line.
+     *
+     * @param line Line to parse.
+     * @return {@code true} if the line matched the access log format and the fields have been updated.
+     */
+    boolean parse(String line) {
+        int length = line.length();
+
+        // Remote host & remote logical user
+        int offset = field(line, 0, length);
+        if (offset < 0) {
+            return false;
+        }
+        offset = field(line, offset + 1, length);
+        if (offset < 0) {
+            return false;
+        }
+
+        // Remote user
+        int userStart = offset + 1;
+        offset = field(line, userStart, length);
+        if (offset < 0) {
+            return false;
+        }
+        int userEnd = offset;
+
+        // Timestamp
+        offset = timestamp(line, offset + 1, length);
+        if (offset < 0 || !at(line, offset, length, ' ') || !at(line, offset + 1, length, '"')) {
+            return false;
+        }
+
+        // Request line
+        int requestStart = offset + 2;
+        int requestEnd = requestStart;
+        while (requestEnd < length && line.charAt(requestEnd) != '"') {
+            requestEnd++;
+        }
+        if (requestEnd == requestStart || requestEnd >= length || !at(line, requestEnd + 1, length, ' ')) {
+            return false;
+        }
+
+        // Status
+        int statusStart = requestEnd + 2;
+        int statusEnd = digits(line, statusStart, length);
+        if (statusEnd == statusStart || !at(line, statusEnd, length, ' ')) {
+            return false;
+        }
+
+        // Response size
+        int sizeStart = statusEnd + 1;
+        int sizeEnd = digits(line, sizeStart, length);
+        if (sizeEnd == sizeStart || sizeEnd != length) {
+            return false;
+        }
+
+        if (!parseRequest(line, requestStart, requestEnd)) {
+            return false;
+        }
+
+        this.userStart = userStart;
+        this.userEnd = userEnd;
+        this.sizeStart = sizeStart;
+        this.sizeEnd = sizeEnd;
+        this.status = parseStatus(line, statusStart, statusEnd);
+        return true;
+    }
+
+    private boolean parseRequest(String line, int start, int end) {
+
+        int methodEnd = start;
+        while (methodEnd < end && isWordChar(line.charAt(methodEnd))) {
+            methodEnd++;
+        }
+        if (methodEnd == start || !at(line, methodEnd, end, ' ')) {
+            return false;
+        }
+
+        int pathStart = methodEnd + 1;
+        int pathEnd = field(line, pathStart, end);
+        if (pathEnd < 0) {
+            return false;
+        }
+
+        int protocolStart = pathEnd + 1;
+        if (end - protocolStart < PROTOCOL_PREFIX.length() || !line.startsWith(PROTOCOL_PREFIX, protocolStart)) {
+            return false;
+        }
+        for (int offset = protocolStart + PROTOCOL_PREFIX.length(); offset < end; ++offset) {
+            if (isLineTerminator(line.charAt(offset))) {
+                return false;
+            }
+        }
+
+        this.methodStart = start;
+        this.methodEnd = methodEnd;
+        this.pathStart = pathStart;
+        this.pathEnd = pathEnd;
+        this.protocolStart = protocolStart;
+        this.protocolEnd = end;
+        return true;
+    }
+
+    /**
+     * Scans a non-empty, space terminated field.
+     *
+     * @return Offset of the terminating space, or {@code -1} if there is no such field.
+     */
+    private static int field(String line, int start, int end) {
+        int offset = start;
+        while (offset < end && line.charAt(offset) != ' ') {
+            offset++;
+        }
+        return offset == start || offset >= end ? -1 : offset;
+    }
+
+    /**
+     * Scans a <code>dd/MMM/yyyy:HH:mm:ss Z</code> timestamp.
+     *
+     * @return Offset just past the timestamp, or {@code -1} if there is no timestamp.
+     */
+    private static int timestamp(String line, int start, int end) {
+        int offset = fixedDigits(line, start, end, 2);
+        if (offset < 0 || !at(line, offset, end, '/')) {
+            return -1;
+        }
+        int monthStart = ++offset;
+        while (offset < end && isWordChar(line.charAt(offset))) {
+            offset++;
+        }
+        if (offset == monthStart || !at(line, offset, end, '/')) {
+            return -1;
+        }
+        offset = fixedDigits(line, offset + 1, end, 4);
+        for (int part = 0; part < 3; ++part) {
+            if (offset < 0 || !at(line, offset, end, ':')) {
+                return -1;
+            }
+            offset = fixedDigits(line, offset + 1, end, 2);
+        }
+        if (offset < 0 || !at(line, offset, end, ' ')) {
+            return -1;
+        }
+        int zoneStart = ++offset;
+        if (at(line, offset, end, '+') || at(line, offset, end, '-')) {
+            zoneStart = ++offset;
+        }
+        offset = digits(line, offset, end);
+        return offset == zoneStart ? -1 : offset;
+    }
+
+    private static int fixedDigits(String line, int start, int end, int count) {
+        if (end - start < count) {
+            return -1;
+        }
+        for (int offset = start; offset < start + count; ++offset) {
+            if (!isDigit(line.charAt(offset))) {
+                return -1;
+            }
+        }
+        return start + count;
+    }
+
+    private static int digits(String line, int start, int end) {
+        int offset = start;
+        while (offset < end && isDigit(line.charAt(offset))) {
+            offset++;
+        }
+        return offset;
+    }
+
+    private static int parseStatus(String line, int start, int end) {
+        long status = 0;
+        for (int offset = start; offset < end; ++offset) {
+            status = status * 10 + (line.charAt(offset) - '0');
+            if (status > Integer.MAX_VALUE) {
+                return INVALID_STATUS;
+            }
+        }
+        return (int) status;
+    }
+
+    private static boolean at(String line, int offset, int end, char ch) {
+        return offset < end && line.charAt(offset) == ch;
+    }
+
+    private static boolean isDigit(char ch) {
+        return ch >= '0' && ch <= '9';
+    }
+
+    private static boolean isWordChar(char ch) {
+        return (ch >= 'a' && ch <= 'z') || (ch >= 'A' && ch <= 'Z') || isDigit(ch) || ch == '_';
+    }
+
+    private static boolean isLineTerminator(char ch) {
+        return ch == '\n' || ch == '\r' || ch == '\u0085' || ch == '\u2028' || ch == '\u2029';
+    }
+
+}
@@ -0,0 +1,64 @@
+package io.quarkiverse.logging.dev.runtime;
+
+import static io.quarkiverse.logging.dev.runtime.Colors.levelColor;
+import static java.util.logging.Level.INFO;
+import static org.jboss.logmanager.Level.ERROR;
+
+import io.netty.handler.codec.http.HttpResponseStatus;
+
+/**
+ * Reason phrases and colors for HTTP status codes, precomputed for the standard range.
+ */
+final class HttpStatuses {
+
+    static final String UNKNOWN_REASON_PHRASE = "Unknown";
+
+    private static final int MIN_CODE = 100;
+    private static final int MAX_CODE = 599;
+    private static final int MAX_SUCCESS_CODE = 399;
+    private static final float MESSAGE_DARKEN = 0.15f;
+
+    private static final String[] REASON_PHRASES = new String[MAX_CODE - MIN_CODE + 1];
+    static {
+        for (int code = MIN_CODE; code <= MAX_CODE; ++code) {
+            REASON_PHRASES[code - MIN_CODE] = lookupReasonPhrase(code);
+        }
+    }
+
+    private static final Color SUCCESS_COLOR = levelColor(INFO);
+    private static final Color SUCCESS_MESSAGE_COLOR = SUCCESS_COLOR.darken(MESSAGE_DARKEN);
+    private static final Color FAILURE_COLOR = levelColor(ERROR);
+    private static final Color FAILURE_MESSAGE_COLOR = FAILURE_COLOR.darken(MESSAGE_DARKEN);
+
+    private HttpStatuses() {
+    }
+
+    static String reasonPhrase(int code) {
+        if (code >= MIN_CODE && code <= MAX_CODE) {
+            return REASON_PHRASES[code - MIN_CODE];
+        }
+        return lookupReasonPhrase(code);
+    }
+
+    static Color color(int code) {
+        return isSuccess(code) ? SUCCESS_COLOR : FAILURE_COLOR;
+    }
+
+    static Color messageColor(int code) {
+        return isSuccess(code) ? SUCCESS_MESSAGE_COLOR : FAILURE_MESSAGE_COLOR;
+    }
+
+    private static boolean isSuccess(int code) {
+        return code >= MIN_CODE && code <= MAX_SUCCESS_CODE;
+    }
+
+    private static String lookupReasonPhrase(int code) {
+        try {
+            var status = HttpResponseStatus.valueOf(code);
+            return status != null ? status.reasonPhrase() : UNKNOWN_REASON_PHRASE;
+        } catch (Throwable ignored) {
+            return UNKNOWN_REASON_PHRASE;
+        }
+    }
+
+}
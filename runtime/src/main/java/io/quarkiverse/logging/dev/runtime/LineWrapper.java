@@ -0,0 +1,167 @@
+package io.quarkiverse.logging.dev.runtime;
+
+/**
+ * Wraps text at word separators by display width.
+ * <p>
+ * The text is walked once, by code point. Columns are counted with {@link DisplayWidth}, and CSI
+ * and OSC escape sequences take no columns. Words are copied to the target as they are measured,
+ * so a word is never split, surrogate pairs included.
+ */
+final class LineWrapper {
+
+    private static final String NEWLINE = "\n";
+    private static final char ESC = '\u001b';
+    private static final char CSI = '\u009b';
+    private static final char BEL = '\u0007';
+
+    private LineWrapper() {
+    }
+
+    /**
+     * Wraps text, appending the wrapped lines to {@code target}.
+     *
+     * @param str Characters to break into wrapped lines.
+     * @param wrapLength Number of columns at which to wrap lines.
+     * @param indent Indent of the wrapped lines.
+     * @param target Builder the wrapped lines are appended to.
+     * @param escapes Whether to skip escape sequences; plain text is measured without looking for them.
+     */
+    static void wrap(CharSequence str, int wrapLength, String indent, StringBuilder target, boolean escapes) {
+        target.ensureCapacity(target.length() + str.length() + 32);
+
+        int column = 0;
+        int strLength = str.length();
+        int strOffset = -1;
+        int breaks = 0;
+
+        while (strOffset < strLength) {
+
+            var wordStrOffset = Math.max(strOffset, 0);
+            var wordColumn = column;
+
+            // Advance to the next separator, which starts the next word; separators take a column
+            strOffset++;
+            scan: while (strOffset < strLength) {
+                var ch = str.charAt(strOffset);
+                switch (ch) {
+                    case ' ':
+                    case ',':
+                    case '.':
+                    case ';':
+                    case '|':
+                    case '\n':
+                        column++;
+                        break scan;
+
+                    case ESC:
+                    case CSI:
+                        var escapeEnd = escapes ? skipEscape(str, strOffset, strLength) : strOffset;
+                        if (escapeEnd != strOffset) {
+                            strOffset = escapeEnd;
+                            break;
+                        }
+                        strOffset++;
+                        column++;
+                        break;
+
+                    default:
+                        if (ch < DisplayWidth.NARROW_LIMIT) {
+                            strOffset++;
+                            column++;
+                        } else {
+                            var codePoint = Character.codePointAt(str, strOffset);
+                            strOffset += Character.charCount(codePoint);
+                            column += DisplayWidth.of(codePoint);
+                        }
+                }
+            }
+            strOffset = Math.min(strOffset, strLength);
+
+            // Handle explicit line breaks
+            if (str.charAt(wordStrOffset) == '\n') {
+                if (strOffset >= strLength) {
+                    break;
+                }
+
+                target.append(NEWLINE)
+                        .append(indent);
+                wordStrOffset++;
+                column = indent.length();
+            }
+
+            if (column >= wrapLength) {
+
+                // Ensure no dangling spaces and, if possible,
+                // keep separator on current line
+                if (str.charAt(wordStrOffset) == ' ') {
+                    wordStrOffset++;
+                } else if (wordColumn < wrapLength) {
+                    target.append(str, wordStrOffset, wordStrOffset + 1);
+                    wordStrOffset++;
+                }
+
+                target.append(NEWLINE)
+                        .append(indent)
+                        .append(str, wordStrOffset, strOffset);
+                breaks++;
+
+                var overage = column - wordColumn;
+                column = indent.length() + overage;
+
+                // Skip leading whitespace
+                if (overage == 1) {
+                    while (strOffset < strLength && str.charAt(strOffset) == ' ') {
+                        strOffset++;
+                    }
+                }
+
+            } else {
+                target.append(str, wordStrOffset, strOffset);
+            }
+        }
+        if (breaks > 0) {
+            DevLoggingMetrics.wrapped(breaks);
+        }
+    }
+
+    /**
+     * Offset after the escape sequence starting at {@code offset}, or {@code offset} if it does not
+     * start a CSI ({@code ESC [} or {@code CSI [}) or OSC ({@code ESC ]}) sequence.
+     */
+    private static int skipEscape(CharSequence str, int offset, int strLength) {
+        var next = offset + 1;
+        if (next >= strLength) {
+            return offset;
+        }
+        var introducer = str.charAt(next);
+        if (introducer == '[') {
+            // Parameter bytes, then the final byte
+            var end = next + 1;
+            while (end < strLength && isParameterByte(str.charAt(end))) {
+                end++;
+            }
+            return end + 1;
+        }
+        if (introducer == ']' && str.charAt(offset) == ESC) {
+            // Terminated by BEL or ST (ESC \)
+            var end = next + 1;
+            while (end < strLength) {
+                var ch = str.charAt(end);
+                if (ch == BEL) {
+                    return end + 1;
+                }
+                if (ch == ESC && end + 1 < strLength && str.charAt(end + 1) == '\\') {
+                    return end + 2;
+                }
+                end++;
+            }
+            return end;
+        }
+        return offset;
+    }
+
+    private static boolean isParameterByte(char ch) {
+        return ch >= '0' && ch <= '?';
+    }
+
+}
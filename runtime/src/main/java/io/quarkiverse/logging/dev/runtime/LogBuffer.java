@@ -0,0 +1,440 @@
+package io.quarkiverse.logging.dev.runtime;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Ring buffer of the most recent formatted log records, with an inverted index for searching them.
+ * <p>
+ * Formatted records are kept UTF-8 encoded in a single circular byte array and their fields in
+ * per-slot primitive arrays, so the buffer's size is bounded both by count and by bytes. Every
+ * record is indexed under the tokens of its text, its logger, its level and its trace id. Each term's
+ * postings list holds record sequence numbers in ascending order, and records are evicted oldest
+ * first, so evicting a record only drops the head of each of its postings lists.
+ */
+final class LogBuffer {
+
+    static final String TOKEN_PREFIX = "m:";
+    static final String LOGGER_PREFIX = "l:";
+    static final String LEVEL_PREFIX = "v:";
+    static final String TRACE_PREFIX = "t:";
+
+    private static final char ESC = '\u001b';
+    private static final int MIN_TOKEN_LENGTH = 2;
+    private static final int MAX_TOKEN_LENGTH = 64;
+
+    static final class Record {
+
+        final long seq;
+        final Instant instant;
+        final String level;
+        final String loggerName;
+        final String traceId;
+        final String formatted;
+
+        Record(long seq, Instant instant, String level, String loggerName, String traceId, String formatted) {
+            this.seq = seq;
+            this.instant = instant;
+            this.level = level;
+            this.loggerName = loggerName;
+            this.traceId = traceId;
+            this.formatted = formatted;
+        }
+    }
+
+    static final class Page {
+
+        final List<Record> records;
+        /**
+         * Cursor of the next page, {@code null} if this is the last page.
+         */
+        final String nextCursor;
+
+        Page(List<Record> records, String nextCursor) {
+            this.records = records;
+            this.nextCursor = nextCursor;
+        }
+    }
+
+    /**
+     * Ascending record sequence numbers of a term; records are appended at the tail and evicted
+     * from the head.
+     */
+    private static final class Postings {
+
+        final String term;
+        long[] seqs = new long[4];
+        int head;
+        int tail;
+
+        Postings(String term) {
+            this.term = term;
+        }
+
+        int size() {
+            return tail - head;
+        }
+
+        void append(long seq) {
+            if (tail == seqs.length) {
+                var size = size();
+                var target = size * 2 >= seqs.length ? new long[seqs.length * 2] : seqs;
+                System.arraycopy(seqs, head, target, 0, size);
+                seqs = target;
+                head = 0;
+                tail = size;
+            }
+            seqs[tail++] = seq;
+        }
+
+        void evict(long seq) {
+            if (head < tail && seqs[head] == seq) {
+                ++head;
+            }
+        }
+
+        boolean contains(long seq) {
+            int low = head;
+            int high = tail - 1;
+            while (low <= high) {
+                int mid = (low + high) >>> 1;
+                var value = seqs[mid];
+                if (value < seq) {
+                    low = mid + 1;
+                } else if (value > seq) {
+                    high = mid - 1;
+                } else {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        /**
+         * Index of the last sequence number lower than {@code seq}, or {@code head - 1} if none.
+         */
+        int lastBefore(long seq) {
+            int low = head;
+            int high = tail - 1;
+            while (low <= high) {
+                int mid = (low + high) >>> 1;
+                if (seqs[mid] < seq) {
+                    low = mid + 1;
+                } else {
+                    high = mid - 1;
+                }
+            }
+            return high;
+        }
+    }
+
+    private final int maxCount;
+    private final byte[] data;
+    private final long[] starts;
+    private final int[] lengths;
+    private final long[] epochSeconds;
+    private final int[] nanos;
+    private final String[] levels;
+    private final String[] loggerNames;
+    private final String[] traceIds;
+    private final Postings[][] terms;
+    private final HashMap<String, Postings> index = new HashMap<>();
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private long nextSeq;
+    private long oldestSeq;
+    private long writePosition;
+
+    LogBuffer(int maxCount, int maxBytes) {
+        if (maxCount < 1) {
+            throw new IllegalArgumentException("Max count must be positive: " + maxCount);
+        }
+        if (maxBytes < 1) {
+            throw new IllegalArgumentException("Max bytes must be positive: " + maxBytes);
+        }
+        this.maxCount = maxCount;
+        this.data = new byte[maxBytes];
+        this.starts = new long[maxCount];
+        this.lengths = new int[maxCount];
+        this.epochSeconds = new long[maxCount];
+        this.nanos = new int[maxCount];
+        this.levels = new String[maxCount];
+        this.loggerNames = new String[maxCount];
+        this.traceIds = new String[maxCount];
+        this.terms = new Postings[maxCount][];
+    }
+
+    int maxCount() {
+        return maxCount;
+    }
+
+    int maxBytes() {
+        return data.length;
+    }
+
+    int size() {
+        lock.readLock().lock();
+        try {
+            return (int) (nextSeq - oldestSeq);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Number of distinct indexed terms.
+     */
+    int termCount() {
+        lock.readLock().lock();
+        try {
+            return index.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Adds a formatted record, evicting the oldest records as needed. Records larger than the
+     * buffer are not kept.
+     */
+    void add(Instant instant, String level, String loggerName, String traceId, String formatted) {
+        var bytes = formatted.getBytes(UTF_8);
+        if (bytes.length > data.length) {
+            return;
+        }
+        var recordTerms = terms(level, loggerName, traceId, formatted);
+
+        lock.writeLock().lock();
+        try {
+            while (nextSeq - oldestSeq == maxCount
+                    || (nextSeq > oldestSeq && writePosition + bytes.length - starts[slot(oldestSeq)] > data.length)) {
+                evictOldest();
+            }
+
+            var seq = nextSeq++;
+            var slot = slot(seq);
+            starts[slot] = writePosition;
+            lengths[slot] = bytes.length;
+            epochSeconds[slot] = instant.getEpochSecond();
+            nanos[slot] = instant.getNano();
+            levels[slot] = level;
+            loggerNames[slot] = loggerName;
+            traceIds[slot] = traceId;
+            write(bytes);
+
+            var postings = new Postings[recordTerms.size()];
+            int idx = 0;
+            for (var term : recordTerms) {
+                var termPostings = index.computeIfAbsent(term, Postings::new);
+                termPostings.append(seq);
+                postings[idx++] = termPostings;
+            }
+            terms[slot] = postings;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    void clear() {
+        lock.writeLock().lock();
+        try {
+            while (nextSeq > oldestSeq) {
+                evictOldest();
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Finds the records matching all the given criteria, newest first.
+     *
+     * @param query Text whose every token must appear in the record, or {@code null}.
+     * @param level Level name to match, or {@code null}.
+     * @param loggerName Logger name to match, or {@code null}.
+     * @param traceId Trace id to match, or {@code null}.
+     * @param cursor Cursor returned with the previous page, or {@code null} for the first page.
+     * @throws IllegalArgumentException If the cursor is invalid.
+     */
+    Page search(String query, String level, String loggerName, String traceId, String cursor, int limit) {
+        var criteria = new LinkedHashSet<String>();
+        if (query != null) {
+            tokenize(query, criteria);
+        }
+        if (level != null) {
+            criteria.add(LEVEL_PREFIX + level.toUpperCase(Locale.ROOT));
+        }
+        if (loggerName != null) {
+            criteria.add(LOGGER_PREFIX + loggerName);
+        }
+        if (traceId != null) {
+            criteria.add(TRACE_PREFIX + traceId);
+        }
+        var before = cursor != null ? parseCursor(cursor) : Long.MAX_VALUE;
+
+        lock.readLock().lock();
+        try {
+            var records = new ArrayList<Record>(Math.min(limit, 64));
+            if (criteria.isEmpty()) {
+                var seq = Math.min(before, nextSeq) - 1;
+                for (; seq >= oldestSeq && records.size() < limit; --seq) {
+                    records.add(record(seq));
+                }
+                return new Page(records, seq >= oldestSeq ? Long.toString(seq + 1) : null);
+            }
+
+            // Walk the shortest postings list, newest first, probing the others
+            var postings = new Postings[criteria.size()];
+            int idx = 0;
+            for (var term : criteria) {
+                var termPostings = index.get(term);
+                if (termPostings == null) {
+                    return new Page(List.of(), null);
+                }
+                postings[idx++] = termPostings;
+            }
+            var shortest = postings[0];
+            for (var termPostings : postings) {
+                if (termPostings.size() < shortest.size()) {
+                    shortest = termPostings;
+                }
+            }
+
+            for (int pos = shortest.lastBefore(before); pos >= shortest.head; --pos) {
+                var seq = shortest.seqs[pos];
+                if (!matchesAll(postings, shortest, seq)) {
+                    continue;
+                }
+                if (records.size() == limit) {
+                    return new Page(records, Long.toString(records.get(limit - 1).seq));
+                }
+                records.add(record(seq));
+            }
+            return new Page(records, null);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private static boolean matchesAll(Postings[] postings, Postings skip, long seq) {
+        for (var termPostings : postings) {
+            if (termPostings != skip && !termPostings.contains(seq)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private Record record(long seq) {
+        var slot = slot(seq);
+        var bytes = read(starts[slot], lengths[slot]);
+        return new Record(seq, Instant.ofEpochSecond(epochSeconds[slot], nanos[slot]), levels[slot],
+                loggerNames[slot], traceIds[slot], new String(bytes, UTF_8));
+    }
+
+    private void evictOldest() {
+        var seq = oldestSeq++;
+        var slot = slot(seq);
+        for (var postings : terms[slot]) {
+            postings.evict(seq);
+            if (postings.size() == 0) {
+                index.remove(postings.term);
+            }
+        }
+        terms[slot] = null;
+        levels[slot] = null;
+        loggerNames[slot] = null;
+        traceIds[slot] = null;
+    }
+
+    private int slot(long seq) {
+        return (int) (seq % maxCount);
+    }
+
+    private void write(byte[] bytes) {
+        var offset = (int) (writePosition % data.length);
+        var first = Math.min(bytes.length, data.length - offset);
+        System.arraycopy(bytes, 0, data, offset, first);
+        System.arraycopy(bytes, first, data, 0, bytes.length - first);
+        writePosition += bytes.length;
+    }
+
+    private byte[] read(long start, int length) {
+        var bytes = new byte[length];
+        var offset = (int) (start % data.length);
+        var first = Math.min(length, data.length - offset);
+        System.arraycopy(data, offset, bytes, 0, first);
+        System.arraycopy(data, 0, bytes, first, length - first);
+        return bytes;
+    }
+
+    private static long parseCursor(String cursor) {
+        try {
+            return Long.parseLong(cursor);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid cursor: " + cursor, e);
+        }
+    }
+
+    private static Set<String> terms(String level, String loggerName, String traceId, String formatted) {
+        var terms = new LinkedHashSet<String>();
+        tokenize(formatted, terms);
+        if (level != null) {
+            terms.add(LEVEL_PREFIX + level);
+        }
+        if (loggerName != null) {
+            terms.add(LOGGER_PREFIX + loggerName);
+        }
+        if (traceId != null) {
+            terms.add(TRACE_PREFIX + traceId);
+        }
+        return terms;
+    }
+
+    /**
+     * Adds the lower-cased runs of letters and digits of the text, skipping ANSI escape sequences.
+     */
+    static void tokenize(CharSequence text, Set<String> terms) {
+        var token = new StringBuilder(MAX_TOKEN_LENGTH);
+        int idx = 0;
+        int length = text.length();
+        while (idx < length) {
+            var ch = text.charAt(idx);
+            if (ch == ESC) {
+                addToken(token, terms);
+                ++idx;
+                if (idx < length && text.charAt(idx) == '[') {
+                    while (++idx < length && !(text.charAt(idx) >= '@' && text.charAt(idx) <= '~')) {
+                        // skip parameters
+                    }
+                }
+                ++idx;
+            } else if (Character.isLetterOrDigit(ch)) {
+                if (token.length() < MAX_TOKEN_LENGTH) {
+                    token.append(Character.toLowerCase(ch));
+                }
+                ++idx;
+            } else {
+                addToken(token, terms);
+                ++idx;
+            }
+        }
+        addToken(token, terms);
+    }
+
+    private static void addToken(StringBuilder token, Set<String> terms) {
+        if (token.length() >= MIN_TOKEN_LENGTH) {
+            terms.add(TOKEN_PREFIX + token);
+        }
+        token.setLength(0);
+    }
+
+}
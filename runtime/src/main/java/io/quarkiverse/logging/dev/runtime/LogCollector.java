@@ -0,0 +1,52 @@
+package io.quarkiverse.logging.dev.runtime;
+
+import org.jboss.logmanager.ExtLogRecord;
+
+/**
+ * Keeps the most recent formatted log records searchable, when enabled.
+ */
+public class LogCollector {
+
+    private static volatile LogBuffer buffer;
+
+    /**
+     * Enables collection with the given limits, or disables it; records already collected are
+     * dropped when the limits change.
+     */
+    public static void configure(boolean enabled, int maxCount, int maxBytes) {
+        var current = buffer;
+        if (!enabled) {
+            buffer = null;
+        } else if (current == null || current.maxCount() != maxCount || current.maxBytes() != maxBytes) {
+            buffer = new LogBuffer(maxCount, maxBytes);
+        }
+    }
+
+    public static boolean isEnabled() {
+        return buffer != null;
+    }
+
+    public static void add(ExtLogRecord record, String formatted) {
+        var current = buffer;
+        if (current == null || formatted.isEmpty()) {
+            return;
+        }
+        var level = record.getLevel() != null ? record.getLevel().getName() : null;
+        current.add(record.getInstant(), level, record.getLoggerName(), record.getMdc(DevFormatter.MDC_TRACE_ID_NAME),
+                formatted);
+    }
+
+    /**
+     * @return Matching records, newest first, or {@code null} if collection is disabled.
+     * @see LogBuffer#search
+     */
+    static LogBuffer.Page search(String query, String level, String loggerName, String traceId, String cursor,
+            int limit) {
+        var current = buffer;
+        if (current == null) {
+            return null;
+        }
+        return current.search(query, level, loggerName, traceId, cursor, limit);
+    }
+
+}
@@ -0,0 +1,258 @@
+package io.quarkiverse.logging.dev.runtime;
+
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+
+import io.quarkiverse.logging.dev.runtime.HtmlResponseWriter.Markup;
+import io.vertx.core.Handler;
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
+import io.vertx.ext.web.RoutingContext;
+
+/**
+ * Searches the most recent log records, newest first, a page at a time.
+ * <p>
+ * Records are matched against every token of {@code q} and, optionally, a {@code level}, a
+ * {@code logger} and a {@code traceId}. The results are rendered as JSON when requested with
+ * {@code format=json} or an {@code Accept: application/json} header, as HTML otherwise.
+ */
+public class LogSearchRouteHandler implements Handler<RoutingContext> {
+
+    public static final String ROUTE_PATH = "logs/search";
+    public static final String QUERY_PARAM = "q";
+    public static final String LEVEL_PARAM = "level";
+    public static final String LOGGER_PARAM = "logger";
+    public static final String TRACE_ID_PARAM = "traceId";
+    public static final String CURSOR_PARAM = "cursor";
+    public static final String LIMIT_PARAM = "limit";
+    public static final String FORMAT_PARAM = "format";
+
+    static final int DEFAULT_LIMIT = 100;
+    static final int MAX_LIMIT = 1000;
+
+    private static final String JSON = "json";
+    private static final String JSON_CONTENT_TYPE = "application/json";
+    private static final String GZIP = "gzip";
+
+    @Override
+    public void handle(RoutingContext event) {
+        var start = DevLoggingMetrics.start();
+        try {
+            respond(event);
+        } finally {
+            DevLoggingMetrics.handled(DevLoggingMetrics.Route.LOG_SEARCH, start);
+        }
+    }
+
+    private void respond(RoutingContext event) {
+
+        var query = param(event, QUERY_PARAM);
+        var level = param(event, LEVEL_PARAM);
+        var loggerName = param(event, LOGGER_PARAM);
+        var traceId = param(event, TRACE_ID_PARAM);
+        int limit;
+        LogBuffer.Page page;
+        try {
+            var limitParam = param(event, LIMIT_PARAM);
+            limit = limitParam != null ? Math.min(Integer.parseInt(limitParam), MAX_LIMIT) : DEFAULT_LIMIT;
+            if (limit < 1) {
+                throw new IllegalArgumentException("Limit must be positive: " + limit);
+            }
+            page = LogCollector.search(query, level, loggerName, traceId, param(event, CURSOR_PARAM), limit);
+        } catch (IllegalArgumentException e) {
+            event.response()
+                    .setStatusCode(400)
+                    .setStatusMessage("BAD REQUEST")
+                    .send(e.getMessage());
+            return;
+        }
+        if (page == null) {
+            event.response()
+                    .setStatusCode(404)
+                    .setStatusMessage("NOT FOUND")
+                    .send("Log search is disabled, enable it with quarkus.log.dev.search.enabled=true");
+            return;
+        }
+
+        var response = event.response()
+                .setStatusCode(200)
+                .setStatusMessage("OK")
+                .putHeader("Cache-Control", "no-store");
+
+        if (isJson(event)) {
+            var records = new JsonArray();
+            for (var record : page.records) {
+                records.add(new JsonObject()
+                        .put("time", record.instant.toString())
+                        .put("level", record.level)
+                        .put("logger", record.loggerName)
+                        .put("traceId", record.traceId)
+                        .put("text", plainText(record.formatted)));
+            }
+            response.putHeader("Content-Type", JSON_CONTENT_TYPE + "; charset=utf-8")
+                    .end(new JsonObject()
+                            .put("records", records)
+                            .put("nextCursor", page.nextCursor)
+                            .encode());
+            return;
+        }
+
+        var acceptEncoding = event.request().getHeader("Accept-Encoding");
+        var compress = acceptEncoding != null && acceptEncoding.contains(GZIP);
+        response.putHeader("Content-Type", "text/html; charset=utf-8")
+                .putHeader("Vary", "Accept, Accept-Encoding")
+                .setChunked(true);
+        if (compress) {
+            response.putHeader("Content-Encoding", GZIP);
+        }
+
+        try (var output = new HtmlResponseWriter(response, compress)) {
+            output.writeHtml(HTML_PRE);
+            writeForm(query, level, loggerName, traceId, output);
+            if (page.records.isEmpty()) {
+                output.writeHtml("<p class=\"intro\">No log records found</p>\n");
+            }
+            var html = new StringBuilder();
+            for (var record : page.records) {
+                html.setLength(0);
+                AnsiHtml.toHtml(record.formatted.strip(), html);
+                output.writeHtml("<div class=\"record\">");
+                output.writeHtml(html.toString());
+                if (record.traceId != null) {
+                    output.writeHtml("\n<a href=\"");
+                    output.write(pageQuery(null, null, null, record.traceId, limit, null));
+                    output.writeHtml("\">All records of trace ");
+                    output.write(record.traceId);
+                    output.writeHtml("</a>");
+                }
+                output.writeHtml("</div>\n");
+            }
+            if (page.nextCursor != null) {
+                output.writeHtml("<p><a href=\"");
+                output.write(pageQuery(query, level, loggerName, traceId, limit, page.nextCursor));
+                output.writeHtml("\">Older records</a></p>\n");
+            }
+            output.writeHtml(HTML_POST);
+        }
+        response.end();
+    }
+
+    private static void writeForm(String query, String level, String loggerName, String traceId,
+            HtmlResponseWriter output) {
+        output.writeHtml("<form>\n");
+        writeInput(QUERY_PARAM, "Text", query, output);
+        writeInput(LEVEL_PARAM, "Level", level, output);
+        writeInput(LOGGER_PARAM, "Logger", loggerName, output);
+        writeInput(TRACE_ID_PARAM, "Trace id", traceId, output);
+        output.writeHtml("    <button type=\"submit\">Search</button>\n</form>\n");
+    }
+
+    private static void writeInput(String name, String placeholder, String value, HtmlResponseWriter output) {
+        output.writeHtml("    <input name=\"" + name + "\" placeholder=\"" + placeholder + "\" value=\"");
+        if (value != null) {
+            output.write(value);
+        }
+        output.writeHtml("\">\n");
+    }
+
+    private static boolean isJson(RoutingContext event) {
+        if (JSON.equals(param(event, FORMAT_PARAM))) {
+            return true;
+        }
+        var accept = event.request().getHeader("Accept");
+        return accept != null && accept.contains(JSON_CONTENT_TYPE);
+    }
+
+    private static String param(RoutingContext event, String name) {
+        var values = event.queryParam(name);
+        if (values == null || values.isEmpty() || values.get(0).isEmpty()) {
+            return null;
+        }
+        return values.get(0);
+    }
+
+    private static String pageQuery(String query, String level, String loggerName, String traceId, int limit,
+            String cursor) {
+        var params = new StringBuilder("?");
+        appendParam(params, QUERY_PARAM, query);
+        appendParam(params, LEVEL_PARAM, level);
+        appendParam(params, LOGGER_PARAM, loggerName);
+        appendParam(params, TRACE_ID_PARAM, traceId);
+        appendParam(params, LIMIT_PARAM, limit != DEFAULT_LIMIT ? Integer.toString(limit) : null);
+        appendParam(params, CURSOR_PARAM, cursor);
+        return params.toString();
+    }
+
+    private static void appendParam(StringBuilder params, String name, String value) {
+        if (value != null) {
+            if (params.length() > 1) {
+                params.append('&');
+            }
+            params.append(name).append('=').append(URLEncoder.encode(value, StandardCharsets.UTF_8));
+        }
+    }
+
+    /**
+     * Formatted record without its ANSI escape sequences and trailing blank lines.
+     */
+    private static String plainText(String formatted) {
+        var text = new StringBuilder(formatted.length());
+        int idx = 0;
+        int length = formatted.length();
+        while (idx < length) {
+            var ch = formatted.charAt(idx++);
+            if (ch != '\u001b') {
+                text.append(ch);
+            } else if (idx < length && formatted.charAt(idx) == '[') {
+                while (++idx < length && !(formatted.charAt(idx) >= '@' && formatted.charAt(idx) <= '~')) {
+                    // skip parameters
+                }
+                ++idx;
+            }
+        }
+        return text.toString().strip();
+    }
+
+    private static final Markup HTML_PRE = new Markup("<!doctype html>\n" +
+            "<html lang=\"en\">\n" +
+            "<head>\n" +
+            "    <title>Log Search</title>\n" +
+            "    <meta charset=\"utf-8\">\n" +
+            "    <style>\n" +
+            "html, body {\n" +
+            "    margin: 0;\n" +
+            "    padding: 0;\n" +
+            "    background: #1e1e1e;\n" +
+            "    color: #d4d4d4;\n" +
+            "    font-family: 'Open Sans', Helvetica, Arial, sans-serif;\n" +
+            "}\n" +
+            "\n" +
+            ".content {\n" +
+            "    padding: 10px;\n" +
+            "}\n" +
+            "\n" +
+            "form {\n" +
+            "    margin-bottom: 1em;\n" +
+            "}\n" +
+            "\n" +
+            ".record {\n" +
+            "    white-space: pre;\n" +
+            "    font-family: Consolas, Monaco, Menlo, \"Ubuntu Mono\", \"Liberation Mono\", monospace;\n" +
+            "    font-size: 12px;\n" +
+            "    line-height: 1.5;\n" +
+            "    margin-bottom: 1.5em;\n" +
+            "}\n" +
+            "\n" +
+            "a {\n" +
+            "    color: #4fc1ff;\n" +
+            "}\n" +
+            "</style>\n" +
+            "</head>\n" +
+            "<body>\n" +
+            "<div class=\"content\">\n");
+
+    private static final Markup HTML_POST = new Markup("</div>\n" +
+            "</body>\n" +
+            "</html>\n" +
+            "\n");
+}
@@ -0,0 +1,134 @@
+package io.quarkiverse.logging.dev.runtime;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+import io.vertx.core.Context;
+import io.vertx.core.http.HttpServerResponse;
+
+/**
+ * Fans formatted log records out to the subscribers of the live log stream.
+ * <p>
+ * Logging threads only queue the formatted record on each subscriber's bounded queue, dropping the
+ * subscriber's oldest record when the queue is full. Records are converted to HTML and written to the
+ * subscriber's response on its Vert.x context, and only while the response's write queue has room,
+ * so a slow subscriber only ever loses records and never holds up logging.
+ */
+final class LogStream {
+
+    static final int DEFAULT_QUEUE_LENGTH = 1000;
+
+    private static final int MAX_BATCH_SIZE = 64;
+    private static final String DROPPED_MESSAGE = "%d log records were dropped, the log stream fell behind";
+
+    private static final CopyOnWriteArrayList<Subscriber> subscribers = new CopyOnWriteArrayList<>();
+    private static volatile int queueLength = DEFAULT_QUEUE_LENGTH;
+
+    private LogStream() {
+    }
+
+    static void configure(int queueLength) {
+        LogStream.queueLength = queueLength;
+    }
+
+    static boolean hasSubscribers() {
+        return !subscribers.isEmpty();
+    }
+
+    /**
+     * Queues a formatted record for every subscriber.
+     */
+    static void publish(String formatted) {
+        if (formatted.isEmpty()) {
+            return;
+        }
+        for (var subscriber : subscribers) {
+            subscriber.offer(formatted);
+        }
+    }
+
+    /**
+     * Streams formatted records to a response as server-sent events, until the response is closed.
+     * Must be called on the response's context.
+     */
+    static void subscribe(Context context, HttpServerResponse response) {
+        var subscriber = new Subscriber(context, response, queueLength);
+        response.closeHandler(v -> subscribers.remove(subscriber));
+        response.drainHandler(v -> subscriber.drain());
+        subscribers.add(subscriber);
+    }
+
+    static final class Subscriber {
+
+        private final Context context;
+        private final HttpServerResponse response;
+        private final ArrayBlockingQueue<String> queue;
+        private final AtomicLong dropped = new AtomicLong();
+        private final AtomicBoolean scheduled = new AtomicBoolean();
+        private final StringBuilder events = new StringBuilder();
+
+        Subscriber(Context context, HttpServerResponse response, int queueLength) {
+            this.context = context;
+            this.response = response;
+            this.queue = new ArrayBlockingQueue<>(queueLength);
+        }
+
+        void offer(String formatted) {
+            while (!queue.offer(formatted)) {
+                if (queue.poll() != null) {
+                    dropped.incrementAndGet();
+                }
+            }
+            if (scheduled.compareAndSet(false, true)) {
+                context.runOnContext(v -> drain());
+            }
+        }
+
+        /**
+         * Writes queued records until the queue is empty or the response's write queue is full; in
+         * the latter case the response's drain handler resumes writing.
+         */
+        void drain() {
+            scheduled.set(false);
+            while (!response.closed() && !response.writeQueueFull()) {
+                var droppedCount = dropped.getAndSet(0);
+                if (droppedCount > 0) {
+                    appendEvent(String.format(DROPPED_MESSAGE, droppedCount), "dropped");
+                }
+                String formatted;
+                for (int count = 0; count < MAX_BATCH_SIZE && (formatted = queue.poll()) != null; ++count) {
+                    appendEvent(AnsiHtml.toHtml(stripTrailingNewlines(formatted)), null);
+                }
+                if (events.length() == 0) {
+                    return;
+                }
+                response.write(events.toString());
+                events.setLength(0);
+            }
+        }
+
+        private void appendEvent(String html, String type) {
+            if (type != null) {
+                events.append("event: ").append(type).append('\n');
+            }
+            int start = 0;
+            int end;
+            while ((end = html.indexOf('\n', start)) != -1) {
+                events.append("data: ").append(html, start, end).append('\n');
+                start = end + 1;
+            }
+            events.append("data: ").append(html, start, html.length()).append("\n\n");
+        }
+
+        private static String stripTrailingNewlines(String formatted) {
+            int end = formatted.length();
+            while (end > 0 && formatted.charAt(end - 1) == '\n') {
+                --end;
+            }
+            return formatted.substring(0, end);
+        }
+    }
+
+}
@@ -0,0 +1,98 @@
+package io.quarkiverse.logging.dev.runtime;
+
+import io.vertx.core.Handler;
+import io.vertx.ext.web.RoutingContext;
+
+/**
+ * Streams the formatted log as server-sent events, each record converted from ANSI colors to HTML.
+ * <p>
+ * Requests that do not accept {@code text/event-stream}, such as a browser opening the route, get a
+ * page that follows the stream.
+ */
+public class LogStreamRouteHandler implements Handler<RoutingContext> {
+
+    public static final String ROUTE_PATH = "logs/stream";
+
+    private static final String EVENT_STREAM_CONTENT_TYPE = "text/event-stream";
+    private static final String RETRY_MILLIS = "2000";
+
+    @Override
+    public void handle(RoutingContext event) {
+
+        var accept = event.request().getHeader("Accept");
+        if (accept == null || !accept.contains(EVENT_STREAM_CONTENT_TYPE)) {
+            event.response()
+                    .setStatusCode(200)
+                    .setStatusMessage("OK")
+                    .putHeader("Content-Type", "text/html; charset=utf-8")
+                    .putHeader("Cache-Control", "no-cache")
+                    .end(HTML);
+            return;
+        }
+
+        var response = event.response()
+                .setStatusCode(200)
+                .setStatusMessage("OK")
+                .putHeader("Content-Type", EVENT_STREAM_CONTENT_TYPE + "; charset=utf-8")
+                .putHeader("Cache-Control", "no-cache")
+                .setChunked(true);
+        response.write("retry: " + RETRY_MILLIS + "\n\n");
+        LogStream.subscribe(event.vertx().getOrCreateContext(), response);
+    }
+
+    private static final String HTML = "<!doctype html>\n" +
+            "<html lang=\"en\">\n" +
+            "<head>\n" +
+            "    <title>Log</title>\n" +
+            "    <meta charset=\"utf-8\">\n" +
+            "    <style>\n" +
+            "html, body {\n" +
+            "    margin: 0;\n" +
+            "    padding: 0;\n" +
+            "    background: #1e1e1e;\n" +
+            "    color: #d4d4d4;\n" +
+            "}\n" +
+            "\n" +
+            "#log {\n" +
+            "    white-space: pre;\n" +
+            "    font-family: Consolas, Monaco, Menlo, \"Ubuntu Mono\", \"Liberation Mono\", monospace;\n" +
+            "    font-size: 12px;\n" +
+            "    line-height: 1.5;\n" +
+            "    padding: 10px;\n" +
+            "}\n" +
+            "\n" +
+            "#log > div {\n" +
+            "    margin-bottom: 1.5em;\n" +
+            "}\n" +
+            "\n" +
+            "#log > .dropped {\n" +
+            "    color: #ad1c1c;\n" +
+            "}\n" +
+            "</style>\n" +
+            "</head>\n" +
+            "<body>\n" +
+            "<div id=\"log\"></div>\n" +
+            "<script>\n" +
+            "const log = document.getElementById('log');\n" +
+            "const maxEntries = 5000;\n" +
+            "function append(html, className) {\n" +
+            "    const follow = window.innerHeight + window.scrollY >= document.body.scrollHeight - 20;\n" +
+            "    const entry = document.createElement('div');\n" +
+            "    entry.className = className;\n" +
+            "    entry.innerHTML = html;\n" +
+            "    log.appendChild(entry);\n" +
+            "    while (log.childElementCount > maxEntries) {\n" +
+            "        log.removeChild(log.firstElementChild);\n" +
+            "    }\n" +
+            "    if (follow) {\n" +
+            "        window.scrollTo(0, document.body.scrollHeight);\n" +
+            "    }\n" +
+            "}\n" +
+            "const source = new EventSource(window.location.href);\n" +
+            "source.onmessage = event => append(event.data, 'record');\n" +
+            "source.addEventListener('dropped', event => append(event.data, 'dropped'));\n" +
+            "</script>\n" +
+            "</body>\n" +
+            "</html>\n" +
+            "\n";
+}
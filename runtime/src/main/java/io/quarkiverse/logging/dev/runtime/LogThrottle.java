@@ -0,0 +1,266 @@
+package io.quarkiverse.logging.dev.runtime;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Level;
+
+/**
+ * Limits the rate of records logged by each call site, identified by logger name and message template.
+ * <p>
+ * Each call site has a token bucket, implemented with the generic cell rate algorithm: a bucket only
+ * holds the time at which it will be full again, and is updated with a single compare-and-set. Buckets
+ * are timed by the instants of the records, so records formatted late, such as by the asynchronous
+ * formatter, are throttled as they were logged.
+ * <p>
+ * Records over the rate are counted instead of logged. The count is reported in summary with the next
+ * record of the call site, at most once per summary interval. Counts of call sites that log no more are
+ * {@link #takeDueSummaries taken} with the records of other call sites, and what is left is
+ * {@link #takeAllSummaries taken} on shutdown, so no count is lost.
+ */
+public final class LogThrottle {
+
+    private static final String NO_NAME = "";
+    private static final long DROP_INTERVAL = 1_000_000_000;
+    private static final long SWEEP_INTERVAL = 1_000_000_000;
+
+    private final long emissionInterval;
+    private final long limit;
+    private final long summaryInterval;
+    private final int maxCallSites;
+    private final ConcurrentHashMap<String, ConcurrentHashMap<String, Bucket>> buckets = new ConcurrentHashMap<>();
+    private final AtomicInteger size = new AtomicInteger();
+    private final AtomicLong nextDropAt = new AtomicLong(Long.MIN_VALUE);
+    private final AtomicLong nextSweepAt = new AtomicLong(Long.MIN_VALUE);
+
+    /**
+     * @param rate Records per second logged by each call site, once its burst is exhausted.
+     * @param burst Records a call site can log at once.
+     * @param summaryInterval Interval of the summaries of suppressed records.
+     * @param maxCallSites Maximum number of call sites tracked. Records of call sites beyond the limit
+     *        are not throttled until idle call sites can be dropped.
+     */
+    public LogThrottle(double rate, int burst, Duration summaryInterval, int maxCallSites) {
+        if (!(rate > 0)) {
+            throw new IllegalArgumentException("Rate must be positive: " + rate);
+        }
+        if (burst < 1) {
+            throw new IllegalArgumentException("Burst must be positive: " + burst);
+        }
+        if (maxCallSites < 1) {
+            throw new IllegalArgumentException("Max call sites must be positive: " + maxCallSites);
+        }
+        this.emissionInterval = Math.max((long) (1_000_000_000 / rate), 1);
+        this.limit = emissionInterval * burst;
+        this.summaryInterval = summaryInterval.toNanos();
+        this.maxCallSites = maxCallSites;
+    }
+
+    /**
+     * Bucket of a call site, or {@code null} if the call site is not throttled.
+     */
+    Bucket bucket(String loggerName, String template, Instant instant) {
+        loggerName = loggerName != null ? loggerName : NO_NAME;
+        template = template != null ? template : NO_NAME;
+
+        var loggerBuckets = buckets.get(loggerName);
+        var bucket = loggerBuckets != null ? loggerBuckets.get(template) : null;
+        if (bucket != null) {
+            return bucket;
+        }
+
+        if (size.get() >= maxCallSites) {
+            dropIdle(nanos(instant));
+            if (size.get() >= maxCallSites) {
+                return null;
+            }
+        }
+        return add(loggerName, template);
+    }
+
+    /**
+     * Adds the bucket of a call site, in the logger's map, atomically with {@link #dropIdle} removing the
+     * map once empty.
+     */
+    private Bucket add(String loggerName, String template) {
+        var added = new Bucket[1];
+        buckets.compute(loggerName, (name, loggerBuckets) -> {
+            if (loggerBuckets == null) {
+                loggerBuckets = new ConcurrentHashMap<>();
+            }
+            var bucket = loggerBuckets.get(template);
+            if (bucket == null) {
+                bucket = new Bucket(loggerName);
+                loggerBuckets.put(template, bucket);
+                size.incrementAndGet();
+            }
+            added[0] = bucket;
+            return loggerBuckets;
+        });
+        return added[0];
+    }
+
+    /**
+     * Takes the summaries due of all call sites, at most once per second, so the suppressed records of call
+     * sites that log no more are reported with the records of others.
+     */
+    List<Summary> takeDueSummaries(Instant instant) {
+        var now = nanos(instant);
+        var sweepAt = nextSweepAt.get();
+        if (now < sweepAt || !nextSweepAt.compareAndSet(sweepAt, now + SWEEP_INTERVAL)) {
+            return Collections.emptyList();
+        }
+        var summaries = new ArrayList<Summary>();
+        for (var loggerBuckets : buckets.values()) {
+            for (var bucket : loggerBuckets.values()) {
+                if (bucket.suppressed.get() != 0) {
+                    var suppressed = bucket.takeSummary(now);
+                    if (suppressed > 0) {
+                        summaries.add(new Summary(bucket.loggerName, bucket.level, suppressed));
+                    }
+                }
+            }
+        }
+        return summaries;
+    }
+
+    /**
+     * Takes the summaries of all call sites with suppressed records, due or not, such as on shutdown.
+     */
+    List<Summary> takeAllSummaries() {
+        var summaries = new ArrayList<Summary>();
+        for (var loggerBuckets : buckets.values()) {
+            for (var bucket : loggerBuckets.values()) {
+                var suppressed = bucket.suppressed.getAndSet(0);
+                if (suppressed > 0) {
+                    summaries.add(new Summary(bucket.loggerName, bucket.level, suppressed));
+                }
+            }
+        }
+        return summaries;
+    }
+
+    /**
+     * Number of loggers with tracked call sites.
+     */
+    int loggerCount() {
+        return buckets.size();
+    }
+
+    /**
+     * Drops the buckets that are full and have no suppressed records to report, and the loggers left without
+     * buckets, at most once per second. Buckets with suppressed records are dropped once these are reported,
+     * which {@link #takeDueSummaries} does within a summary interval.
+     */
+    private void dropIdle(long now) {
+        var dropAt = nextDropAt.get();
+        if (now < dropAt || !nextDropAt.compareAndSet(dropAt, now + DROP_INTERVAL)) {
+            return;
+        }
+        for (var loggerEntry : buckets.entrySet()) {
+            var loggerBuckets = loggerEntry.getValue();
+            for (var entry : loggerBuckets.entrySet()) {
+                var bucket = entry.getValue();
+                if (bucket.fullAt.get() <= now && bucket.suppressed.get() == 0
+                        && loggerBuckets.remove(entry.getKey(), bucket)) {
+                    size.decrementAndGet();
+                }
+            }
+            if (loggerBuckets.isEmpty()) {
+                // So loggers seen once, such as per-instance names, do not leave a map each behind
+                buckets.computeIfPresent(loggerEntry.getKey(), (name, current) -> current.isEmpty() ? null : current);
+            }
+        }
+    }
+
+    private static long nanos(Instant instant) {
+        return instant.getEpochSecond() * 1_000_000_000 + instant.getNano();
+    }
+
+    /**
+     * Number of records suppressed from a logger, to report.
+     */
+    static final class Summary {
+
+        final String loggerName;
+        final Level level;
+        final long suppressed;
+
+        Summary(String loggerName, Level level, long suppressed) {
+            this.loggerName = loggerName;
+            this.level = level;
+            this.suppressed = suppressed;
+        }
+    }
+
+    final class Bucket {
+
+        private final String loggerName;
+        // Time at which the bucket is full again
+        private final AtomicLong fullAt = new AtomicLong(Long.MIN_VALUE);
+        private final AtomicLong suppressed = new AtomicLong();
+        private final AtomicLong suppressedSince = new AtomicLong();
+        // Of the last suppressed record, for summaries reported without a record of the call site
+        private volatile Level level = Level.INFO;
+
+        Bucket(String loggerName) {
+            this.loggerName = loggerName;
+        }
+
+        /**
+         * Takes a token for a record.
+         *
+         * @return {@code false} if the bucket is empty, and the record should be suppressed.
+         */
+        boolean tryAcquire(Instant instant) {
+            var now = nanos(instant);
+            while (true) {
+                var current = fullAt.get();
+                var next = Math.max(current, now) + emissionInterval;
+                if (next - now > limit) {
+                    return false;
+                }
+                if (fullAt.compareAndSet(current, next)) {
+                    return true;
+                }
+            }
+        }
+
+        /**
+         * Counts a suppressed record.
+         *
+         * @return Number of suppressed records to report in summary now, or {@code 0}.
+         */
+        long suppress(Instant instant, Level level) {
+            this.level = level;
+            var now = nanos(instant);
+            if (suppressed.incrementAndGet() == 1) {
+                suppressedSince.set(now);
+                return 0;
+            }
+            return takeSummary(now);
+        }
+
+        /**
+         * Number of suppressed records to report in summary now, or {@code 0}. Suppressed records are
+         * reported at most once per summary interval.
+         */
+        long takeSummary(Instant instant) {
+            return suppressed.get() != 0 ? takeSummary(nanos(instant)) : 0;
+        }
+
+        private long takeSummary(long now) {
+            var since = suppressedSince.get();
+            if (now - since < summaryInterval || !suppressedSince.compareAndSet(since, now)) {
+                return 0;
+            }
+            return suppressed.getAndSet(0);
+        }
+    }
+
+}
@@ -0,0 +1,84 @@
+package io.quarkiverse.logging.dev.runtime;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+/**
+ * Bounded cache of rendered logger name fragments, by logger name.
+ * <p>
+ * Applications use a small, fixed set of loggers, so after startup every lookup is a hit. When the
+ * cache is full, the oldest logger names are evicted first.
+ */
+public final class LoggerNameCache {
+
+    private final int maxSize;
+    private final Function<String, String> renderer;
+    private final ConcurrentHashMap<String, String> fragments;
+    private final ConcurrentLinkedQueue<String> insertionOrder = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger size = new AtomicInteger();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    LoggerNameCache(int maxSize, Function<String, String> renderer) {
+        if (maxSize < 1) {
+            throw new IllegalArgumentException("Max size must be positive: " + maxSize);
+        }
+        this.maxSize = maxSize;
+        this.renderer = renderer;
+        this.fragments = new ConcurrentHashMap<>(Math.min(maxSize, 256));
+    }
+
+    String get(String loggerName) {
+        var fragment = fragments.get(loggerName);
+        if (fragment != null) {
+            hits.increment();
+            return fragment;
+        }
+
+        misses.increment();
+        fragment = renderer.apply(loggerName);
+        if (fragments.putIfAbsent(loggerName, fragment) == null) {
+            insertionOrder.offer(loggerName);
+            size.incrementAndGet();
+            while (size.get() > maxSize && evictEldest()) {
+                evictions.increment();
+            }
+        }
+        return fragment;
+    }
+
+    public int maxSize() {
+        return maxSize;
+    }
+
+    public int size() {
+        return fragments.size();
+    }
+
+    public long hits() {
+        return hits.sum();
+    }
+
+    public long misses() {
+        return misses.sum();
+    }
+
+    public long evictions() {
+        return evictions.sum();
+    }
+
+    private boolean evictEldest() {
+        var eldest = insertionOrder.poll();
+        if (eldest == null) {
+            return false;
+        }
+        fragments.remove(eldest);
+        size.decrementAndGet();
+        return true;
+    }
+
+}
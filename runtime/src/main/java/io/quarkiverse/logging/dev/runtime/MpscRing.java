@@ -0,0 +1,106 @@
+package io.quarkiverse.logging.dev.runtime;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.Consumer;
+
+/**
+ * Bounded, lock-free ring buffer with many producers and a single consumer.
+ * <p>
+ * Each slot carries a sequence number telling whether it is free for the producer claiming
+ * position {@code p} ({@code sequence == p}) or published for the consumer reading position
+ * {@code p} ({@code sequence == p + 1}). Producers claim positions by CAS on the tail; only the
+ * consumer thread may call {@link #poll()} and {@link #drain(Consumer, int)}.
+ *
+ * @param <E> Type of elements.
+ */
+final class MpscRing<E> {
+
+    private final int mask;
+    private final AtomicReferenceArray<E> elements;
+    private final AtomicLongArray sequences;
+    private final AtomicLong tail = new AtomicLong();
+    private volatile long head;
+
+    MpscRing(int minCapacity) {
+        if (minCapacity < 1) {
+            throw new IllegalArgumentException("Capacity must be positive: " + minCapacity);
+        }
+        int capacity = Integer.highestOneBit(Math.max(2, minCapacity) - 1) << 1;
+        this.mask = capacity - 1;
+        this.elements = new AtomicReferenceArray<>(capacity);
+        this.sequences = new AtomicLongArray(capacity);
+        for (int idx = 0; idx < capacity; ++idx) {
+            sequences.set(idx, idx);
+        }
+    }
+
+    int capacity() {
+        return mask + 1;
+    }
+
+    /**
+     * Number of elements, possibly including elements still being published.
+     */
+    int size() {
+        return (int) Math.max(0, tail.get() - head);
+    }
+
+    boolean isEmpty() {
+        return size() == 0;
+    }
+
+    /**
+     * Adds an element.
+     *
+     * @return {@code false} if the ring is full and the element was not added.
+     */
+    boolean offer(E element) {
+        while (true) {
+            long position = tail.get();
+            int idx = (int) position & mask;
+            long available = sequences.get(idx) - position;
+            if (available < 0) {
+                return false;
+            }
+            if (available == 0 && tail.compareAndSet(position, position + 1)) {
+                elements.lazySet(idx, element);
+                sequences.lazySet(idx, position + 1);
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Removes the oldest element, if it has been published.
+     */
+    E poll() {
+        long position = head;
+        int idx = (int) position & mask;
+        if (sequences.get(idx) != position + 1) {
+            return null;
+        }
+        var element = elements.get(idx);
+        elements.lazySet(idx, null);
+        sequences.lazySet(idx, position + mask + 1);
+        head = position + 1;
+        return element;
+    }
+
+    /**
+     * Removes up to {@code limit} published elements, oldest first.
+     *
+     * @return Number of removed elements.
+     */
+    int drain(Consumer<E> consumer, int limit) {
+        int drained = 0;
+        E element;
+        while (drained < limit && (element = poll()) != null) {
+            consumer.accept(element);
+            ++drained;
+        }
+        return drained;
+    }
+
+}
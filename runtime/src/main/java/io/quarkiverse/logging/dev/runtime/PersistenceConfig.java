@@ -0,0 +1,32 @@
+package io.quarkiverse.logging.dev.runtime;
+
+import java.nio.file.Path;
+
+import io.quarkus.runtime.annotations.ConfigGroup;
+import io.quarkus.runtime.annotations.ConfigItem;
+import io.quarkus.runtime.configuration.MemorySize;
+
+@ConfigGroup
+public class PersistenceConfig {
+
+    /**
+     * Whether collected exceptions are also kept in memory-mapped files, so the exception detail links
+     * already logged keep working after a restart or a live reload.
+     */
+    @ConfigItem(defaultValue = "false")
+    public boolean enabled;
+
+    /**
+     * Directory of the exception files.
+     */
+    @ConfigItem(defaultValue = "target/logging-dev/exceptions")
+    public Path directory;
+
+    /**
+     * Maximum size of the exception files. When reached, the oldest exceptions no longer kept in memory
+     * are dropped.
+     */
+    @ConfigItem(defaultValue = "64M")
+    public MemorySize maxSize;
+
+}
@@ -0,0 +1,617 @@
+package io.quarkiverse.logging.dev.runtime;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.nio.file.StandardOpenOption.CREATE;
+import static java.nio.file.StandardOpenOption.READ;
+import static java.nio.file.StandardOpenOption.TRUNCATE_EXISTING;
+import static java.nio.file.StandardOpenOption.WRITE;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.io.StringWriter;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+
+import org.jboss.logging.Logger;
+
+/**
+ * Keeps collected exceptions in memory-mapped files, so their detail pages survive restarts.
+ * <p>
+ * Exceptions are appended to fixed-size segment files, as their class name and their stack trace
+ * rendered as escaped HTML, so detail pages are written as they are read. An open-addressing hash
+ * table, itself a mapped file, maps exception ids to their latest record.
+ * When the last segment is full a new one is started, and once the number of segments is at its
+ * cap the oldest segment is compacted: its records that are still current and live are copied to
+ * the new segment, and the segment is retired and its file deleted. A file still mapped can't be
+ * deleted on some platforms, such as Windows, until the mapping is garbage collected, so the
+ * deletion of a retired segment is retried on later compactions and when the store is next opened.
+ * <p>
+ * Files are opened on first use, so nothing is read at startup.
+ * <p>
+ * Exceptions are rendered and written on a dedicated thread, started by the first {@link #put}, so the
+ * logging thread only queues the exception; writing may roll and compact segments, which creates and
+ * deletes files. Exceptions put while the queue is full are not persisted. Until written, exceptions
+ * are still found by {@link ExceptionCollector} in memory.
+ */
+final class PersistentExceptionStore {
+
+    static final int MAX_SEGMENTS = 4;
+    static final int QUEUE_LENGTH = 256;
+    static final String THREAD_NAME = "dev-exception-store";
+
+    private static final Logger LOG = Logger.getLogger(PersistentExceptionStore.class);
+    private static final long IDLE_WAIT_NANOS = TimeUnit.MILLISECONDS.toNanos(100);
+    private static final long FLUSH_WAIT_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
+    private static final long FLUSH_TIMEOUT_NANOS = TimeUnit.SECONDS.toNanos(5);
+
+    private static final int MAGIC = 0x4c44_4558;
+    private static final int RETIRED_MAGIC = 0x4c44_5254;
+    private static final int VERSION = 1;
+    private static final int SEGMENT_HEADER_SIZE = 8;
+    private static final int INDEX_HEADER_SIZE = 16;
+    private static final int SLOT_SIZE = 16;
+    private static final int INDEX_CAPACITY = 1 << 16;
+    private static final int INDEX_MASK = INDEX_CAPACITY - 1;
+    private static final int MAX_INDEX_SIZE = INDEX_CAPACITY / 4 * 3;
+    private static final String INDEX_FILE = "index.dat";
+    private static final String SEGMENT_PREFIX = "segment-";
+    private static final String SEGMENT_SUFFIX = ".dat";
+
+    /**
+     * An exception read back from a segment; its stack trace is copied out of the mapped segment, so
+     * it stays readable once the segment is compacted.
+     */
+    static final class PersistedException implements CollectedException {
+
+        private final String className;
+        private final ByteBuffer stackTraceHtml;
+
+        PersistedException(String className, ByteBuffer stackTraceHtml) {
+            this.className = className;
+            this.stackTraceHtml = stackTraceHtml;
+        }
+
+        @Override
+        public String getClassName() {
+            return className;
+        }
+
+        /**
+         * Stack trace as escaped HTML.
+         */
+        ByteBuffer stackTraceHtml() {
+            return stackTraceHtml.duplicate();
+        }
+
+        @Override
+        public void printStackTrace(PrintWriter writer) {
+            writer.write(unescape(UTF_8.decode(stackTraceHtml()).toString()));
+        }
+
+        @Override
+        public long estimatedSize() {
+            return 0;
+        }
+    }
+
+    private static final class Pending {
+
+        final String exceptionId;
+        final CollectedException exception;
+
+        Pending(String exceptionId, CollectedException exception) {
+            this.exceptionId = exceptionId;
+            this.exception = exception;
+        }
+    }
+
+    private static final class Segment {
+
+        final int number;
+        final Path path;
+        final MappedByteBuffer buffer;
+        int position;
+
+        Segment(int number, Path path, MappedByteBuffer buffer, int position) {
+            this.number = number;
+            this.path = path;
+            this.buffer = buffer;
+            this.position = position;
+        }
+    }
+
+    private final Path directory;
+    private final long maxSize;
+    private final int segmentSize;
+    private final Predicate<String> isLive;
+    private final TreeMap<Integer, Segment> segments = new TreeMap<>();
+    private final List<Path> retired = new ArrayList<>();
+    private final MpscRing<Pending> queue = new MpscRing<>(QUEUE_LENGTH);
+    private final AtomicBoolean started = new AtomicBoolean();
+    private final AtomicLong queued = new AtomicLong();
+    private final AtomicLong written = new AtomicLong();
+    private volatile Thread writer;
+    private volatile boolean waiting;
+    private volatile boolean closed;
+    private MappedByteBuffer index;
+    private int indexSize;
+    private Segment active;
+    private boolean opened;
+    private volatile boolean failed;
+
+    /**
+     * @param maxSize Maximum size of all segments together.
+     * @param isLive Whether the exception with an id must be kept when its segment is compacted.
+     */
+    PersistentExceptionStore(Path directory, long maxSize, Predicate<String> isLive) {
+        this.directory = directory;
+        this.maxSize = maxSize;
+        this.segmentSize = (int) Math.min(Math.max(maxSize / MAX_SEGMENTS, 64 * 1024), Integer.MAX_VALUE);
+        this.isLive = isLive;
+    }
+
+    Path directory() {
+        return directory;
+    }
+
+    long maxSize() {
+        return maxSize;
+    }
+
+    /**
+     * Queues an exception to be appended, replacing the record of any exception previously stored under
+     * the same id. The caller must have {@link CollectedException#retain() retained} the exception; the
+     * store releases it once written, or dropped.
+     */
+    void put(String exceptionId, CollectedException exception) {
+        if (failed || closed || !queue.offer(new Pending(exceptionId, exception))) {
+            exception.release();
+            return;
+        }
+        queued.incrementAndGet();
+        if (!started.get() && started.compareAndSet(false, true)) {
+            var thread = new Thread(this::run, THREAD_NAME);
+            thread.setDaemon(true);
+            writer = thread;
+            thread.start();
+        } else if (waiting) {
+            LockSupport.unpark(writer);
+        }
+    }
+
+    /**
+     * Writes the queued exceptions, then stops the writer thread and forces the files to disk.
+     * Exceptions put afterwards are not persisted.
+     */
+    void close() {
+        closed = true;
+        awaitWritten();
+        flush();
+    }
+
+    /**
+     * Finds the latest record of an exception id.
+     */
+    synchronized PersistedException find(String exceptionId) {
+        var key = key(exceptionId);
+        if (key == 0 || !open()) {
+            return null;
+        }
+        var slot = indexFind(key);
+        if (slot < 0) {
+            return null;
+        }
+        var segment = segments.get(index.getInt(slotOffset(slot) + 8));
+        if (segment == null) {
+            return null;
+        }
+        var buffer = segment.buffer.duplicate();
+        var offset = index.getInt(slotOffset(slot) + 12);
+        try {
+            if (offset < SEGMENT_HEADER_SIZE || offset >= segment.position || buffer.getInt(offset + 4) != (int) (key - 1)) {
+                return null;
+            }
+            var classNameBytes = new byte[buffer.getInt(offset + 8)];
+            buffer.position(offset + 12);
+            buffer.get(classNameBytes);
+            var html = new byte[buffer.getInt()];
+            buffer.get(html);
+            // Copied, so no view of the segment outlives its mapping
+            return new PersistedException(new String(classNameBytes, UTF_8), ByteBuffer.wrap(html).asReadOnlyBuffer());
+        } catch (RuntimeException e) {
+            // Index pointing to a torn or overwritten record
+            return null;
+        }
+    }
+
+    /**
+     * Waits for the exceptions queued so far to be written, then forces mapped changes to disk.
+     */
+    void flush() {
+        awaitWritten();
+        force();
+    }
+
+    private synchronized void force() {
+        if (opened && !failed) {
+            index.force();
+            for (var segment : segments.values()) {
+                segment.buffer.force();
+            }
+        }
+    }
+
+    private void awaitWritten() {
+        var target = queued.get();
+        var deadline = System.nanoTime() + FLUSH_TIMEOUT_NANOS;
+        while (written.get() < target && writer != null && writer.isAlive() && System.nanoTime() < deadline) {
+            LockSupport.unpark(writer);
+            LockSupport.parkNanos(this, FLUSH_WAIT_NANOS);
+        }
+    }
+
+    private void run() {
+        while (true) {
+            if (queue.drain(this::write, QUEUE_LENGTH) > 0) {
+                continue;
+            }
+            if (closed && queue.isEmpty()) {
+                return;
+            }
+            waiting = true;
+            if (queue.isEmpty() && !closed) {
+                LockSupport.parkNanos(this, IDLE_WAIT_NANOS);
+            }
+            waiting = false;
+        }
+    }
+
+    private void write(Pending pending) {
+        try {
+            append(pending.exceptionId, pending.exception);
+        } catch (RuntimeException e) {
+            LOG.debugf("Exception %s not persisted: %s", pending.exceptionId, e);
+        } finally {
+            pending.exception.release();
+            written.incrementAndGet();
+        }
+    }
+
+    /**
+     * Appends an exception; exceptions that do not fit in a segment are not stored.
+     */
+    private void append(String exceptionId, CollectedException exception) {
+        var key = key(exceptionId);
+        if (key == 0) {
+            return;
+        }
+        var className = exception.getClassName().getBytes(UTF_8);
+        var trace = new StringWriter();
+        exception.printStackTrace(new PrintWriter(trace));
+        var html = AnsiHtml.toHtml(trace.getBuffer()).getBytes(UTF_8);
+        var length = 4 + 4 + className.length + 4 + html.length;
+        if (4 + length > segmentSize - SEGMENT_HEADER_SIZE) {
+            return;
+        }
+
+        synchronized (this) {
+            if (!open()) {
+                return;
+            }
+            try {
+                if (active.position + 4 + length > active.buffer.capacity() - 4) {
+                    roll();
+                }
+                var offset = append(active, length, (int) (key - 1), className, html);
+                indexPut(key, active.number, offset);
+            } catch (IOException | RuntimeException e) {
+                fail(e);
+            }
+        }
+    }
+
+    private boolean open() {
+        if (opened) {
+            return !failed;
+        }
+        opened = true;
+        try {
+            Files.createDirectories(directory);
+            for (var number : existingSegmentNumbers()) {
+                var segment = mapSegment(number, false);
+                if (segment != null) {
+                    segments.put(number, segment);
+                }
+            }
+            if (segments.isEmpty()) {
+                segments.put(1, mapSegment(1, true));
+            }
+            active = segments.lastEntry().getValue();
+            openIndex();
+            deleteRetired();
+            return true;
+        } catch (IOException | RuntimeException e) {
+            fail(e);
+            return false;
+        }
+    }
+
+    private void fail(Exception e) {
+        failed = true;
+        // Logged without the exception as the record's thrown, so it is not collected, nor persisted
+        LOG.warnf("Persistent exception store in %s disabled: %s", directory, e);
+    }
+
+    private Iterable<Integer> existingSegmentNumbers() throws IOException {
+        try (var files = Files.list(directory)) {
+            return files.map(path -> path.getFileName().toString())
+                    .filter(name -> name.startsWith(SEGMENT_PREFIX) && name.endsWith(SEGMENT_SUFFIX))
+                    .map(name -> name.substring(SEGMENT_PREFIX.length(), name.length() - SEGMENT_SUFFIX.length()))
+                    .filter(number -> !number.isEmpty() && number.chars().allMatch(Character::isDigit))
+                    .map(Integer::valueOf)
+                    .sorted()
+                    .collect(Collectors.toList());
+        }
+    }
+
+    /**
+     * Maps a segment file, or returns {@code null} if an existing file is not a valid segment, retired
+     * segments being left to be deleted.
+     */
+    private Segment mapSegment(int number, boolean create) throws IOException {
+        var path = directory.resolve(String.format("%s%08d%s", SEGMENT_PREFIX, number, SEGMENT_SUFFIX));
+        try (var channel = create
+                ? FileChannel.open(path, READ, WRITE, CREATE, TRUNCATE_EXISTING)
+                : FileChannel.open(path, READ, WRITE)) {
+            var size = create ? segmentSize : channel.size();
+            if (size < SEGMENT_HEADER_SIZE + 4 || size > Integer.MAX_VALUE) {
+                return null;
+            }
+            if (!create) {
+                // Read rather than mapped, so a retired segment is not mapped again before being deleted
+                var header = ByteBuffer.allocate(SEGMENT_HEADER_SIZE);
+                channel.read(header, 0);
+                if (header.getInt(0) == RETIRED_MAGIC) {
+                    retired.add(path);
+                    return null;
+                }
+            }
+            var buffer = channel.map(MapMode.READ_WRITE, 0, size);
+            if (create) {
+                buffer.putInt(0, MAGIC);
+                buffer.putInt(4, VERSION);
+                return new Segment(number, path, buffer, SEGMENT_HEADER_SIZE);
+            }
+            if (buffer.getInt(0) != MAGIC || buffer.getInt(4) != VERSION) {
+                return null;
+            }
+            // Records are appended behind a zero length, which ends the segment
+            int position = SEGMENT_HEADER_SIZE;
+            int length;
+            while (position + 4 <= buffer.capacity() - 4 && (length = buffer.getInt(position)) > 0
+                    && position + 4 + length <= buffer.capacity() - 4) {
+                position += 4 + length;
+            }
+            return new Segment(number, path, buffer, position);
+        }
+    }
+
+    private void openIndex() throws IOException {
+        var path = directory.resolve(INDEX_FILE);
+        var existed = Files.exists(path);
+        var size = INDEX_HEADER_SIZE + (long) INDEX_CAPACITY * SLOT_SIZE;
+        try (var channel = FileChannel.open(path, READ, WRITE, CREATE)) {
+            var valid = existed && channel.size() == size;
+            index = channel.map(MapMode.READ_WRITE, 0, size);
+            if (valid && index.getInt(0) == MAGIC && index.getInt(4) == VERSION
+                    && index.getInt(8) == INDEX_CAPACITY) {
+                indexSize = index.getInt(12);
+                return;
+            }
+        }
+
+        // Missing or unreadable; rebuild it from the segments, later records replacing earlier ones
+        for (int slot = 0; slot < INDEX_CAPACITY; ++slot) {
+            index.putLong(slotOffset(slot), 0);
+        }
+        index.putInt(0, MAGIC);
+        index.putInt(4, VERSION);
+        index.putInt(8, INDEX_CAPACITY);
+        setIndexSize(0);
+        for (var segment : segments.values()) {
+            int position = SEGMENT_HEADER_SIZE;
+            while (position < segment.position) {
+                indexPut(key(segment.buffer.getInt(position + 4)), segment.number, position);
+                position += 4 + segment.buffer.getInt(position);
+            }
+        }
+    }
+
+    private int append(Segment segment, int length, int id, byte[] className, byte[] html) {
+        var offset = segment.position;
+        var buffer = segment.buffer.duplicate();
+        buffer.position(offset + 4);
+        buffer.putInt(id);
+        buffer.putInt(className.length);
+        buffer.put(className);
+        buffer.putInt(html.length);
+        buffer.put(html);
+        // Written last, so a partly written record still ends the segment
+        segment.buffer.putInt(offset, length);
+        segment.position = offset + 4 + length;
+        return offset;
+    }
+
+    private void roll() throws IOException {
+        var segment = mapSegment(active.number + 1, true);
+        segments.put(segment.number, segment);
+        active = segment;
+        while (segments.size() > MAX_SEGMENTS) {
+            compactOldest();
+        }
+    }
+
+    /**
+     * Copies the current, live records of the oldest segment to the active segment, as long as they
+     * fit, drops the others from the index and retires the segment.
+     */
+    private void compactOldest() throws IOException {
+        var oldest = segments.pollFirstEntry().getValue();
+        var buffer = oldest.buffer;
+        int position = SEGMENT_HEADER_SIZE;
+        while (position < oldest.position) {
+            var length = buffer.getInt(position);
+            var id = buffer.getInt(position + 4);
+            var key = key(id);
+            var slot = indexFind(key);
+            if (slot >= 0 && index.getInt(slotOffset(slot) + 8) == oldest.number
+                    && index.getInt(slotOffset(slot) + 12) == position) {
+                if (oldest != active && isLive.test(Integer.toUnsignedString(id))
+                        && active.position + 4 + length <= active.buffer.capacity() - 4) {
+                    var record = buffer.duplicate();
+                    record.position(position + 4).limit(position + 4 + length);
+                    var target = active.buffer.duplicate();
+                    target.position(active.position + 4);
+                    target.put(record);
+                    active.buffer.putInt(active.position, length);
+                    indexPut(key, active.number, active.position);
+                    active.position += 4 + length;
+                } else {
+                    indexRemove(slot);
+                }
+            }
+            position += 4 + length;
+        }
+        // Marked first, so a file left behind is known to be deleted when the store is next opened
+        buffer.putInt(0, RETIRED_MAGIC);
+        retired.add(oldest.path);
+        deleteRetired();
+    }
+
+    /**
+     * Deletes the files of retired segments, keeping those that can't be deleted yet for a later attempt.
+     */
+    private void deleteRetired() {
+        for (var iterator = retired.iterator(); iterator.hasNext();) {
+            var path = iterator.next();
+            try {
+                Files.deleteIfExists(path);
+                iterator.remove();
+            } catch (IOException e) {
+                LOG.debugf("Retired segment %s not deleted yet: %s", path, e);
+            }
+        }
+    }
+
+    /**
+     * Index key of an exception id, {@code 0} if the id is not an exception id.
+     */
+    private static long key(String exceptionId) {
+        try {
+            return key(Integer.parseUnsignedInt(exceptionId));
+        } catch (NumberFormatException e) {
+            return 0;
+        }
+    }
+
+    private static long key(int id) {
+        return (id & 0xffff_ffffL) + 1;
+    }
+
+    private static int home(long key) {
+        var hash = key * 0x9e37_79b9_7f4a_7c15L;
+        return (int) (hash >>> 32) & INDEX_MASK;
+    }
+
+    private static int slotOffset(int slot) {
+        return INDEX_HEADER_SIZE + slot * SLOT_SIZE;
+    }
+
+    private int indexFind(long key) {
+        for (int slot = home(key);; slot = (slot + 1) & INDEX_MASK) {
+            var slotKey = index.getLong(slotOffset(slot));
+            if (slotKey == key) {
+                return slot;
+            }
+            if (slotKey == 0) {
+                return -1;
+            }
+        }
+    }
+
+    private void indexPut(long key, int segment, int offset) throws IOException {
+        var existing = indexFind(key);
+        if (existing < 0) {
+            while (indexSize >= MAX_INDEX_SIZE && segments.size() > 1) {
+                compactOldest();
+            }
+            if (indexSize >= MAX_INDEX_SIZE) {
+                return;
+            }
+        }
+        int slot = home(key);
+        while (true) {
+            var slotKey = index.getLong(slotOffset(slot));
+            if (slotKey == key || slotKey == 0) {
+                break;
+            }
+            slot = (slot + 1) & INDEX_MASK;
+        }
+        if (index.getLong(slotOffset(slot)) == 0) {
+            setIndexSize(indexSize + 1);
+        }
+        index.putInt(slotOffset(slot) + 8, segment);
+        index.putInt(slotOffset(slot) + 12, offset);
+        index.putLong(slotOffset(slot), key);
+    }
+
+    /**
+     * Removes a slot, shifting back the following slots of the probe sequence.
+     */
+    private void indexRemove(int slot) {
+        int hole = slot;
+        for (int next = (hole + 1) & INDEX_MASK;; next = (next + 1) & INDEX_MASK) {
+            var key = index.getLong(slotOffset(next));
+            if (key == 0) {
+                break;
+            }
+            var home = home(key);
+            var movable = hole <= next ? home <= hole || home > next : home <= hole && home > next;
+            if (movable) {
+                index.putLong(slotOffset(hole), key);
+                index.putInt(slotOffset(hole) + 8, index.getInt(slotOffset(next) + 8));
+                index.putInt(slotOffset(hole) + 12, index.getInt(slotOffset(next) + 12));
+                hole = next;
+            }
+        }
+        index.putLong(slotOffset(hole), 0);
+        setIndexSize(indexSize - 1);
+    }
+
+    private void setIndexSize(int size) {
+        indexSize = size;
+        index.putInt(12, size);
+    }
+
+    private static String unescape(String html) {
+        return html.replace("&lt;", "<")
+                .replace("&gt;", ">")
+                .replace("&quot;", "\"")
+                .replace("&#39;", "'")
+                .replace("&amp;", "&");
+    }
+
+}
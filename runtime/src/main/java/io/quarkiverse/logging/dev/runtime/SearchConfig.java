@@ -0,0 +1,29 @@
+package io.quarkiverse.logging.dev.runtime;
+
+import io.quarkus.runtime.annotations.ConfigGroup;
+import io.quarkus.runtime.annotations.ConfigItem;
+import io.quarkus.runtime.configuration.MemorySize;
+
+@ConfigGroup
+public class SearchConfig {
+
+    /**
+     * Whether the most recent log records are kept and indexed for the log search endpoint.
+     */
+    @ConfigItem(defaultValue = "false")
+    public boolean enabled;
+
+    /**
+     * Maximum number of log records kept. When the limit is reached, the oldest record is evicted.
+     */
+    @ConfigItem(defaultValue = "10000")
+    public int maxCount;
+
+    /**
+     * Maximum memory used by the text of the kept log records, allocated up front. When exceeded,
+     * the oldest records are evicted.
+     */
+    @ConfigItem(defaultValue = "8M")
+    public MemorySize maxMemory;
+
+}
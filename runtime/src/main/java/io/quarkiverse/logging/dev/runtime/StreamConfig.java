@@ -0,0 +1,18 @@
+package io.quarkiverse.logging.dev.runtime;
+
+import io.quarkus.runtime.annotations.ConfigGroup;
+import io.quarkus.runtime.annotations.ConfigItem;
+
+@ConfigGroup
+public class StreamConfig {
+
+    /**
+     * Maximum number of log records waiting to be sent to each live log stream subscriber.
+     * <p>
+     * When a subscriber falls behind, its oldest records are dropped and it is told how many were
+     * dropped.
+     */
+    @ConfigItem(defaultValue = "1000")
+    public int queueLength;
+
+}
@@ -0,0 +1,46 @@
+package io.quarkiverse.logging.dev.runtime;
+
+import java.time.Duration;
+
+import io.quarkus.runtime.annotations.ConfigGroup;
+import io.quarkus.runtime.annotations.ConfigItem;
+
+@ConfigGroup
+public class ThrottleConfig {
+
+    /**
+     * Whether records logged faster than the rate of their call site are suppressed.
+     * <p>
+     * A call site is a logger name and a message template. Suppressed records are counted, and
+     * the count is logged in summary.
+     */
+    @ConfigItem(defaultValue = "true")
+    public boolean enabled;
+
+    /**
+     * Number of records per second logged by each call site once its burst is exhausted.
+     */
+    @ConfigItem(defaultValue = "20")
+    public double rate;
+
+    /**
+     * Number of records a call site can log at once before being limited to the rate.
+     */
+    @ConfigItem(defaultValue = "100")
+    public int burst;
+
+    /**
+     * Interval at which the number of suppressed records is logged while a call site keeps
+     * exceeding its rate.
+     */
+    @ConfigItem(defaultValue = "5s")
+    public Duration summaryInterval;
+
+    /**
+     * Maximum number of call sites tracked. Records of call sites beyond the limit are not
+     * suppressed.
+     */
+    @ConfigItem(defaultValue = "4096")
+    public int maxCallSites;
+
+}
@@ -0,0 +1,98 @@
+package io.quarkiverse.logging.dev.runtime;
+
+import static io.quarkiverse.logging.dev.runtime.ColorUtil.endFgColor;
+import static java.time.temporal.ChronoField.HOUR_OF_DAY;
+import static java.time.temporal.ChronoField.MINUTE_OF_HOUR;
+import static java.time.temporal.ChronoField.SECOND_OF_MINUTE;
+
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeFormatterBuilder;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Renders colorized, or plain, {@code HH:mm:ss} timestamps.
+ * <p>
+ * The colorized rendering of a second is cached, keyed by epoch second, so records logged within
+ * the same second only append the cached characters. A few recent seconds are kept, so records from
+ * threads racing across a second boundary do not evict each other. Daylight saving time changes are
+ * covered by the epoch second, as each second has a single offset in a given zone.
+ * <p>
+ * The default time zone is only looked up when a second is rendered, as {@link ZoneId#systemDefault()}
+ * clones the default {@link java.util.TimeZone} on every call; a change of the default time zone
+ * applies from the next second rendered.
+ */
+final class TimestampCache {
+
+    private static final DateTimeFormatter SECONDS_FORMATTER = new DateTimeFormatterBuilder()
+            .appendValue(HOUR_OF_DAY, 2)
+            .appendLiteral(':')
+            .appendValue(MINUTE_OF_HOUR, 2)
+            .appendLiteral(':')
+            .appendValue(SECOND_OF_MINUTE, 2)
+            .toFormatter();
+    private static final int SLOTS = 4;
+
+    // Color start sequence, or null for plain text
+    private final char[] colorStart;
+    private final AtomicReferenceArray<Second> seconds = new AtomicReferenceArray<>(SLOTS);
+
+    private TimestampCache(Color color, ColorMode colors) {
+        switch (colors) {
+            case NONE:
+                this.colorStart = null;
+                break;
+            case TRUECOLOR:
+                this.colorStart = color.fgTrueColor;
+                break;
+            default:
+                this.colorStart = color.fg256Color;
+        }
+    }
+
+    /**
+     * Renders {@code HH:mm:ss}.
+     */
+    static TimestampCache seconds(Color color, ColorMode colors) {
+        return new TimestampCache(color, colors);
+    }
+
+    void render(Instant instant, StringBuilder out) {
+        var epochSecond = instant.getEpochSecond();
+        var slot = (int) (epochSecond & (SLOTS - 1));
+
+        var second = seconds.get(slot);
+        if (second == null || second.epochSecond != epochSecond) {
+            second = new Second(epochSecond, renderSecond(instant, ZoneId.systemDefault()));
+            seconds.set(slot, second);
+        }
+
+        out.append(second.rendered);
+        if (colorStart != null) {
+            endFgColor(out);
+        }
+    }
+
+    private char[] renderSecond(Instant instant, ZoneId zone) {
+        var rendered = new StringBuilder();
+        if (colorStart != null) {
+            rendered.append(colorStart);
+        }
+        SECONDS_FORMATTER.formatTo(instant.atZone(zone), rendered);
+        return rendered.toString().toCharArray();
+    }
+
+    private static final class Second {
+
+        final long epochSecond;
+        // Color start sequence, if any, and HH:mm:ss
+        final char[] rendered;
+
+        Second(long epochSecond, char[] rendered) {
+            this.epochSecond = epochSecond;
+            this.rendered = rendered;
+        }
+    }
+
+}
@@ -0,0 +1,99 @@
+package io.quarkiverse.logging.dev.runtime;
+
+import java.util.ArrayDeque;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Map;
+
+/**
+ * Colors of formatted values by type.
+ * <p>
+ * A value is colored by the color of its most specific registered type: its class, then its superclasses,
+ * then its interfaces, nearest first. The color of each concrete class is resolved once and cached in a
+ * {@link ClassValue}, along with its darkened variant, so coloring a value is a single lookup however many
+ * types are registered.
+ */
+final class TypeColors {
+
+    private final Color defaultColor;
+    private final TypeColor defaultTypeColor;
+    private final Map<Class<?>, Color> colors;
+    private final float darken;
+    private final ClassValue<TypeColor> resolved = new ClassValue<>() {
+        @Override
+        protected TypeColor computeValue(Class<?> type) {
+            return typeColor(resolve(type));
+        }
+    };
+
+    /**
+     * @param defaultColor Color of values of unregistered types.
+     * @param colors Colors by registered type.
+     * @param darken Amount by which the darkened variants are darkened.
+     */
+    TypeColors(Color defaultColor, Map<Class<?>, Color> colors, float darken) {
+        this.defaultColor = defaultColor;
+        this.colors = Map.copyOf(colors);
+        this.darken = darken;
+        this.defaultTypeColor = typeColor(defaultColor);
+    }
+
+    Color color(Object value) {
+        return typeColor(value).color;
+    }
+
+    Color darkened(Object value) {
+        return typeColor(value).darkened;
+    }
+
+    private TypeColor typeColor(Object value) {
+        if (value == null || colors.isEmpty()) {
+            return defaultTypeColor;
+        }
+        return resolved.get(value.getClass());
+    }
+
+    private TypeColor typeColor(Color color) {
+        return new TypeColor(color, darken != 0 ? color.darken(darken) : color);
+    }
+
+    private Color resolve(Class<?> type) {
+        for (Class<?> superclass = type; superclass != null; superclass = superclass.getSuperclass()) {
+            var color = colors.get(superclass);
+            if (color != null) {
+                return color;
+            }
+        }
+
+        // Interfaces breadth first, so nearer interfaces win
+        var pending = new ArrayDeque<Class<?>>();
+        for (Class<?> superclass = type; superclass != null; superclass = superclass.getSuperclass()) {
+            Collections.addAll(pending, superclass.getInterfaces());
+        }
+        var visited = new HashSet<Class<?>>();
+        while (!pending.isEmpty()) {
+            var iface = pending.poll();
+            if (!visited.add(iface)) {
+                continue;
+            }
+            var color = colors.get(iface);
+            if (color != null) {
+                return color;
+            }
+            Collections.addAll(pending, iface.getInterfaces());
+        }
+        return defaultColor;
+    }
+
+    private static final class TypeColor {
+
+        final Color color;
+        final Color darkened;
+
+        TypeColor(Color color, Color darkened) {
+            this.color = color;
+            this.darkened = darkened;
+        }
+    }
+
+}
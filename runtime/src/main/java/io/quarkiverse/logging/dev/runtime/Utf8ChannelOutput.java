@@ -0,0 +1,83 @@
+package io.quarkiverse.logging.dev.runtime;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.WritableByteChannel;
+
+/**
+ * Encodes text as UTF-8 into a reusable direct buffer, written to a channel when full or flushed.
+ * <p>
+ * Text is encoded char by char straight from the formatter's buffer, without an intermediate
+ * {@code String}, {@code byte[]} or {@code Writer}. ASCII, which includes every escape sequence of
+ * the formatter, is a single byte store per char. Not thread-safe.
+ */
+final class Utf8ChannelOutput {
+
+    private static final byte REPLACEMENT = '?';
+
+    private final WritableByteChannel channel;
+    private final ByteBuffer buffer;
+
+    Utf8ChannelOutput(WritableByteChannel channel, int bufferSize) {
+        if (bufferSize < 4) {
+            throw new IllegalArgumentException("Buffer size must hold a code point: " + bufferSize);
+        }
+        this.channel = channel;
+        this.buffer = ByteBuffer.allocateDirect(bufferSize);
+    }
+
+    void append(CharSequence text) throws IOException {
+        var buffer = this.buffer;
+        int length = text.length();
+        for (int idx = 0; idx < length; ++idx) {
+            char ch = text.charAt(idx);
+            if (ch < 0x80) {
+                if (!buffer.hasRemaining()) {
+                    flush();
+                }
+                buffer.put((byte) ch);
+                continue;
+            }
+            if (buffer.remaining() < 4) {
+                flush();
+            }
+            if (ch < 0x800) {
+                buffer.put((byte) (0xc0 | ch >> 6));
+                buffer.put((byte) (0x80 | ch & 0x3f));
+            } else if (!Character.isSurrogate(ch)) {
+                buffer.put((byte) (0xe0 | ch >> 12));
+                buffer.put((byte) (0x80 | ch >> 6 & 0x3f));
+                buffer.put((byte) (0x80 | ch & 0x3f));
+            } else if (Character.isHighSurrogate(ch) && idx + 1 < length
+                    && Character.isLowSurrogate(text.charAt(idx + 1))) {
+                int codePoint = Character.toCodePoint(ch, text.charAt(++idx));
+                buffer.put((byte) (0xf0 | codePoint >> 18));
+                buffer.put((byte) (0x80 | codePoint >> 12 & 0x3f));
+                buffer.put((byte) (0x80 | codePoint >> 6 & 0x3f));
+                buffer.put((byte) (0x80 | codePoint & 0x3f));
+            } else {
+                // Unpaired surrogate, as String.getBytes(UTF_8) encodes it
+                buffer.put(REPLACEMENT);
+            }
+        }
+    }
+
+    /**
+     * Writes the buffered bytes to the channel.
+     */
+    void flush() throws IOException {
+        buffer.flip();
+        try {
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+        } finally {
+            buffer.clear();
+        }
+    }
+
+    boolean isEmpty() {
+        return buffer.position() == 0;
+    }
+
+}